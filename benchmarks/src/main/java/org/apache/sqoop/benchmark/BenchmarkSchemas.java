@@ -0,0 +1,206 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Array;
+import org.apache.sqoop.schema.type.Binary;
+import org.apache.sqoop.schema.type.Bit;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.Date;
+import org.apache.sqoop.schema.type.DateTime;
+import org.apache.sqoop.schema.type.Decimal;
+import org.apache.sqoop.schema.type.Enum;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.apache.sqoop.schema.type.Set;
+import org.apache.sqoop.schema.type.Text;
+import org.apache.sqoop.schema.type.Time;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+
+/**
+ * Schemas and rows shared by the benchmarks. A shape is the name given to the
+ * {@code shape} parameter of the benchmarks:
+ * <ul>
+ * <li>narrow-numeric, wide-numeric: integers, floating points, decimals and booleans</li>
+ * <li>narrow-text, wide-text: short texts with the odd character to escape</li>
+ * <li>temporal: date times, dates and times</li>
+ * <li>complex: arrays, sets, enums and binaries</li>
+ * </ul>
+ * Narrow shapes have {@value #NARROW} columns, the others {@value #WIDE}.
+ *
+ * Maps are left out as the AVRO intermediate data format cannot write them,
+ * and texts in arrays have no character to escape as the CSV codec does not
+ * escape them.
+ */
+public final class BenchmarkSchemas {
+
+  public static final int NARROW = 8;
+  public static final int WIDE = 200;
+
+  private static final String SPECIAL_CHARACTERS = "'\"\\\n,";
+  private static final String[] ENUM_OPTIONS = { "RED", "GREEN", "BLUE" };
+
+  private BenchmarkSchemas() {
+  }
+
+  public static Schema schema(String shape) {
+    // AVRO names only allow letters, digits and underscores
+    Schema schema = new Schema(shape.replace('-', '_'));
+    if (shape.equals("narrow-numeric")) {
+      addNumericColumns(schema, NARROW);
+    } else if (shape.equals("wide-numeric")) {
+      addNumericColumns(schema, WIDE);
+    } else if (shape.equals("narrow-text")) {
+      addTextColumns(schema, NARROW);
+    } else if (shape.equals("wide-text")) {
+      addTextColumns(schema, WIDE);
+    } else if (shape.equals("temporal")) {
+      for (int i = 0; i < WIDE; i++) {
+        switch (i % 3) {
+        case 0:
+          schema.addColumn(new DateTime("c" + i, true, false));
+          break;
+        case 1:
+          schema.addColumn(new Date("c" + i));
+          break;
+        default:
+          schema.addColumn(new Time("c" + i, false));
+          break;
+        }
+      }
+    } else if (shape.equals("complex")) {
+      for (int i = 0; i < WIDE; i++) {
+        switch (i % 4) {
+        case 0:
+          schema.addColumn(new Array("c" + i, new Text("element")));
+          break;
+        case 1:
+          schema.addColumn(new Set("c" + i, new FixedPoint("element", 8L, true)));
+          break;
+        case 2:
+          schema.addColumn(new Enum("c" + i).setOptions(new HashSet<String>(Arrays.asList(ENUM_OPTIONS))));
+          break;
+        default:
+          schema.addColumn(new Binary("c" + i));
+          break;
+        }
+      }
+    } else {
+      throw new IllegalArgumentException("Unknown schema shape: " + shape);
+    }
+    return schema;
+  }
+
+  private static void addNumericColumns(Schema schema, int count) {
+    for (int i = 0; i < count; i++) {
+      switch (i % 4) {
+      case 0:
+        schema.addColumn(new FixedPoint("c" + i, 8L, true));
+        break;
+      case 1:
+        schema.addColumn(new FloatingPoint("c" + i, 8L));
+        break;
+      case 2:
+        schema.addColumn(new Decimal("c" + i, 18, 4));
+        break;
+      default:
+        schema.addColumn(new Bit("c" + i));
+        break;
+      }
+    }
+  }
+
+  private static void addTextColumns(Schema schema, int count) {
+    for (int i = 0; i < count; i++) {
+      schema.addColumn(new Text("c" + i));
+    }
+  }
+
+  /**
+   * Create a row of object data for the given schema, the same for the same seed.
+   */
+  public static Object[] row(Schema schema, long seed) {
+    Random random = new Random(seed);
+    Column[] columns = schema.getColumnsArray();
+    Object[] row = new Object[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      row[i] = value(columns[i], random);
+    }
+    return row;
+  }
+
+  private static Object value(Column column, Random random) {
+    switch (column.getType()) {
+    case FIXED_POINT:
+      return random.nextLong();
+    case FLOATING_POINT:
+      return random.nextDouble();
+    case DECIMAL:
+      return BigDecimal.valueOf(random.nextInt(), 4);
+    case BIT:
+      return random.nextBoolean();
+    case TEXT:
+      return text(random, 16);
+    case DATE_TIME:
+      return new LocalDateTime(2000 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28),
+          random.nextInt(24), random.nextInt(60), random.nextInt(60), random.nextInt(1000));
+    case DATE:
+      return new LocalDate(2000 + random.nextInt(30), 1 + random.nextInt(12), 1 + random.nextInt(28));
+    case TIME:
+      return new LocalTime(random.nextInt(24), random.nextInt(60), random.nextInt(60));
+    case ARRAY:
+      return new Object[] { word(random, 8), word(random, 8), word(random, 8) };
+    case SET:
+      return new Object[] { random.nextLong(), random.nextLong(), random.nextLong() };
+    case ENUM:
+      return ENUM_OPTIONS[random.nextInt(ENUM_OPTIONS.length)];
+    case BINARY:
+      byte[] bytes = new byte[32];
+      random.nextBytes(bytes);
+      return bytes;
+    default:
+      throw new IllegalArgumentException("Unsupported column type: " + column.getType());
+    }
+  }
+
+  private static String word(Random random, int length) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append((char) ('a' + random.nextInt(26)));
+    }
+    return builder.toString();
+  }
+
+  private static String text(Random random, int length) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      if (random.nextInt(32) == 0) {
+        builder.append(SPECIAL_CHARACTERS.charAt(random.nextInt(SPECIAL_CHARACTERS.length())));
+      } else {
+        builder.append((char) ('a' + random.nextInt(26)));
+      }
+    }
+    return builder.toString();
+  }
+}
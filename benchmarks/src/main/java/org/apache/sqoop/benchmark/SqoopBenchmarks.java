@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.benchmark;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmark jar, built with the benchmark profile:
+ * <pre>
+ * mvn package -Pbenchmark -DskipTests -pl benchmarks -am
+ * java -jar benchmarks/target/sqoop-benchmarks.jar [JMH options] [benchmark regexps]
+ * </pre>
+ * It accepts the usual JMH command line options. Unless a result file is
+ * given with -rff, the results are written to sqoop-benchmarks-&lt;version&gt;.json,
+ * or to the extension of the format chosen with -rf, so that they can be kept and compared
+ * from one release to the next.
+ */
+public final class SqoopBenchmarks {
+
+  private SqoopBenchmarks() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListProfilers()
+        || commandLine.shouldListResultFormats()) {
+      Main.main(args);
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (!commandLine.getResult().hasValue()) {
+      ResultFormatType format = commandLine.getResultFormat().orElse(ResultFormatType.JSON);
+      options.resultFormat(format);
+      options.result("sqoop-benchmarks-" + version() + "." + format.toString().toLowerCase());
+    }
+    new Runner(options.build()).run();
+  }
+
+  private static String version() {
+    String version = SqoopBenchmarks.class.getPackage().getImplementationVersion();
+    return version == null ? "dev" : version;
+  }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.common;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.ColumnType;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares the sqoop CSV codec of {@link SqoopIDFUtils} with the previous
+ * implementation, kept in {@link LegacyCSVCodec} of the connector-sdk test
+ * sources, on wide rows made of numbers and short texts and on rows made of
+ * long texts with characters to escape. The legacy codec only handles TEXT
+ * and FIXED_POINT columns, hence the shapes of its own.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegacyCSVCodecBenchmark {
+
+  @Param({ "wide", "text" })
+  public String shape;
+
+  private Schema schema;
+  private Object[] row;
+  private String csv;
+  private String[] fields;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    schema = new Schema("benchmark");
+    if (shape.equals("wide")) {
+      // 200 columns alternating numbers and short texts
+      for (int i = 0; i < 200; i++) {
+        if (i % 2 == 0) {
+          schema.addColumn(new FixedPoint("c" + i, 8L, true));
+        } else {
+          schema.addColumn(new Text("c" + i));
+        }
+      }
+    } else {
+      // 10 columns of 2KB texts containing quotes, new lines and escapes
+      for (int i = 0; i < 10; i++) {
+        schema.addColumn(new Text("c" + i));
+      }
+    }
+
+    Column[] columns = schema.getColumnsArray();
+    row = new Object[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      if (columns[i].getType() == ColumnType.FIXED_POINT) {
+        row[i] = random.nextLong();
+      } else {
+        row[i] = randomText(random, shape.equals("wide") ? 12 : 2048);
+      }
+    }
+    csv = SqoopIDFUtils.toCSV(row, schema);
+    fields = SqoopIDFUtils.parseCSVString(csv);
+  }
+
+  private static String randomText(Random random, int length) {
+    String special = "'\"\\\n,";
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      if (random.nextInt(32) == 0) {
+        builder.append(special.charAt(random.nextInt(special.length())));
+      } else {
+        builder.append((char) ('a' + random.nextInt(26)));
+      }
+    }
+    return builder.toString();
+  }
+
+  @Benchmark
+  public String encodeRow() {
+    return SqoopIDFUtils.toCSV(row, schema);
+  }
+
+  @Benchmark
+  public String encodeRowLegacy() {
+    return LegacyCSVCodec.toCSV(row, schema);
+  }
+
+  @Benchmark
+  public String[] parseRow() {
+    return SqoopIDFUtils.parseCSVString(csv);
+  }
+
+  @Benchmark
+  public String[] parseRowLegacy() {
+    return LegacyCSVCodec.parseCSVString(csv);
+  }
+
+  @Benchmark
+  public void decodeTexts(Blackhole blackhole) {
+    Column[] columns = schema.getColumnsArray();
+    for (int i = 0; i < fields.length; i++) {
+      if (columns[i].getType() == ColumnType.TEXT) {
+        blackhole.consume(SqoopIDFUtils.toText(fields[i]));
+      }
+    }
+  }
+
+  @Benchmark
+  public void decodeTextsLegacy(Blackhole blackhole) {
+    Column[] columns = schema.getColumnsArray();
+    for (int i = 0; i < fields.length; i++) {
+      if (columns[i].getType() == ColumnType.TEXT) {
+        blackhole.consume(LegacyCSVCodec.toText(fields[i]));
+      }
+    }
+  }
+}
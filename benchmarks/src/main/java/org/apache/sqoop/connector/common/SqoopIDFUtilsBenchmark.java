@@ -0,0 +1,86 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.common;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sqoop.benchmark.BenchmarkSchemas;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the sqoop CSV codec of {@link SqoopIDFUtils}: encoding a row,
+ * cutting a row into fields and decoding the fields.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqoopIDFUtilsBenchmark {
+
+  @Param({ "narrow-numeric", "wide-numeric", "narrow-text", "wide-text", "temporal", "complex" })
+  public String shape;
+
+  private Schema schema;
+  private Object[] row;
+  private String csv;
+  private String[] fields;
+
+  @Setup
+  public void setUp() {
+    schema = BenchmarkSchemas.schema(shape);
+    row = BenchmarkSchemas.row(schema, 42);
+    csv = SqoopIDFUtils.toCSV(row, schema);
+    fields = SqoopIDFUtils.parseCSVString(csv);
+  }
+
+  @Benchmark
+  public String encodeRow() {
+    return SqoopIDFUtils.toCSV(row, schema);
+  }
+
+  @Benchmark
+  public String[] parseRow() {
+    return SqoopIDFUtils.parseCSVString(csv);
+  }
+
+  @Benchmark
+  public void decodeFields(Blackhole blackhole) {
+    Column[] columns = schema.getColumnsArray();
+    for (int i = 0; i < fields.length; i++) {
+      blackhole.consume(SqoopIDFUtils.fromCSVField(fields[i], columns[i]));
+    }
+  }
+
+  @Benchmark
+  public Object[] decodeRow() {
+    return SqoopIDFUtils.fromCSV(csv, schema);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.idf;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.io.DataInputBuffer;
+import org.apache.hadoop.io.DataOutputBuffer;
+import org.apache.sqoop.benchmark.BenchmarkSchemas;
+import org.apache.sqoop.schema.Schema;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the conversions an intermediate data format goes through for every
+ * row of a job: object data from the extractor, native data and CSV text, and
+ * the serialization between the map and the reduce side.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntermediateDataFormatBenchmark {
+
+  @Param({ "csv", "json", "avro" })
+  public String format;
+
+  @Param({ "narrow-numeric", "wide-numeric", "narrow-text", "wide-text", "temporal", "complex" })
+  public String shape;
+
+  private IntermediateDataFormat<Object> idf;
+  private IntermediateDataFormat<Object> other;
+  private Object[] row;
+  private Object data;
+  private String csv;
+  private DataOutputBuffer out;
+  private DataInputBuffer in;
+
+  @Setup
+  public void setUp() throws IOException {
+    Schema schema = BenchmarkSchemas.schema(shape);
+    row = BenchmarkSchemas.row(schema, 42);
+    idf = create(format, schema);
+    other = create(format, schema);
+
+    // native data and CSV text of the row held by their own IDF, never touched by the benchmarks
+    IntermediateDataFormat<Object> source = create(format, schema);
+    source.setObjectData(row);
+    data = source.getData();
+    csv = source.getCSVTextData();
+
+    out = new DataOutputBuffer();
+    in = new DataInputBuffer();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static IntermediateDataFormat<Object> create(String format, Schema schema) {
+    if (format.equals("csv")) {
+      return (IntermediateDataFormat<Object>) (IntermediateDataFormat<?>) new CSVIntermediateDataFormat(schema);
+    } else if (format.equals("json")) {
+      return (IntermediateDataFormat<Object>) (IntermediateDataFormat<?>) new JSONIntermediateDataFormat(schema);
+    } else if (format.equals("avro")) {
+      return (IntermediateDataFormat<Object>) (IntermediateDataFormat<?>) new AVROIntermediateDataFormat(schema);
+    }
+    throw new IllegalArgumentException("Unknown intermediate data format: " + format);
+  }
+
+  @Benchmark
+  public Object objectDataToData() {
+    idf.setObjectData(row);
+    return idf.getData();
+  }
+
+  @Benchmark
+  public Object[] dataToObjectData() {
+    idf.setData(data);
+    return idf.getObjectData();
+  }
+
+  @Benchmark
+  public Object csvTextToData() {
+    idf.setCSVTextData(csv);
+    return idf.getData();
+  }
+
+  @Benchmark
+  public String dataToCSVText() {
+    idf.setData(data);
+    return idf.getCSVTextData();
+  }
+
+  @Benchmark
+  public Object writeAndRead() throws IOException {
+    idf.setData(data);
+    out.reset();
+    idf.write(out);
+    in.reset(out.getData(), out.getLength());
+    other.read(in);
+    return other.getData();
+  }
+
+  @Benchmark
+  public Object setDataFrom() {
+    idf.setData(data);
+    other.setDataFrom(idf);
+    return other.getData();
+  }
+}
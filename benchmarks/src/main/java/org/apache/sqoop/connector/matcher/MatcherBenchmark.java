@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.matcher;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the projection of a FROM row onto a TO schema made of the same
+ * columns in reverse order followed by one nullable column without source,
+ * for the name and the location matchers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatcherBenchmark {
+
+  @Param({ "10", "100", "1000" })
+  public int columns;
+
+  private Matcher nameMatcher;
+  private Matcher locationMatcher;
+  private Object[] row;
+  private CSVIntermediateDataFormat fromIDF;
+
+  @Setup
+  public void setUp() {
+    Schema from = new Schema("from");
+    Schema to = new Schema("to");
+    for (int i = 0; i < columns; i++) {
+      from.addColumn(column(i));
+      to.addColumn(column(columns - 1 - i));
+    }
+    to.addColumn(new Text("extra"));
+
+    row = new Object[columns];
+    for (int i = 0; i < columns; i++) {
+      row[i] = (i % 2 == 0) ? Long.valueOf(i) : "value" + i;
+    }
+    nameMatcher = new NameMatcher(from, to);
+    locationMatcher = new LocationMatcher(from, to);
+    fromIDF = new CSVIntermediateDataFormat(from);
+    fromIDF.setObjectData(row);
+  }
+
+  private static Column column(int index) {
+    if (index % 2 == 0) {
+      return new FixedPoint("c" + index, 8L, true);
+    }
+    return new Text("c" + index);
+  }
+
+  @Benchmark
+  public Object[] matchByName() {
+    return nameMatcher.getMatchingData(row);
+  }
+
+  @Benchmark
+  public Object[] matchByLocation() {
+    return locationMatcher.getMatchingData(row);
+  }
+
+  @Benchmark
+  public Object[] matchByNameFromIDF() {
+    return nameMatcher.getMatchingData(fromIDF);
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.job.mr;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.hadoop.io.NullWritable;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapreduce.Counter;
+import org.apache.hadoop.mapreduce.Counters;
+import org.apache.hadoop.mapreduce.RecordWriter;
+import org.apache.hadoop.mapreduce.StatusReporter;
+import org.apache.hadoop.mapreduce.TaskAttemptContext;
+import org.apache.hadoop.mapreduce.TaskAttemptID;
+import org.apache.hadoop.mapreduce.task.TaskAttemptContextImpl;
+import org.apache.sqoop.benchmark.BenchmarkSchemas;
+import org.apache.sqoop.connector.idf.AVROIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.connector.idf.JSONIntermediateDataFormat;
+import org.apache.sqoop.connector.matcher.Matcher;
+import org.apache.sqoop.connector.matcher.MatcherFactory;
+import org.apache.sqoop.job.etl.Loader;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.job.io.SqoopWritable;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a synthetic in-memory extractor to loader pipeline: rows are
+ * written the way the {@link SqoopMapper} does, matched into the TO
+ * intermediate data format and handed over to a loader thread through the
+ * {@link SqoopOutputFormatLoadExecutor}. The score is the time per row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqoopOutputFormatLoadExecutorBenchmark {
+
+  private static final int ROWS = 10000;
+  private static final int DISTINCT_ROWS = 64;
+
+  @Param({ "csv", "json", "avro" })
+  public String format;
+
+  @Param({ "narrow-numeric", "wide-numeric", "narrow-text", "wide-text", "temporal", "complex" })
+  public String shape;
+
+  private Schema schema;
+  private Matcher matcher;
+  private Object[][] rows;
+  private IntermediateDataFormat<Object> fromIDF;
+  private IntermediateDataFormat<Object> toIDF;
+  private SqoopWritable writable;
+  private TaskAttemptContext context;
+
+  @Setup
+  public void setUp() {
+    schema = BenchmarkSchemas.schema(shape);
+    matcher = MatcherFactory.getMatcher(schema, schema);
+    rows = new Object[DISTINCT_ROWS][];
+    for (int i = 0; i < DISTINCT_ROWS; i++) {
+      rows[i] = BenchmarkSchemas.row(schema, i);
+    }
+    fromIDF = create(format, schema);
+    toIDF = create(format, schema);
+    writable = new SqoopWritable(toIDF);
+    context = new TaskAttemptContextImpl(new JobConf(), new TaskAttemptID(), new CountersReporter());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static IntermediateDataFormat<Object> create(String format, Schema schema) {
+    if (format.equals("csv")) {
+      return (IntermediateDataFormat<Object>) (IntermediateDataFormat<?>) new CSVIntermediateDataFormat(schema);
+    } else if (format.equals("json")) {
+      return (IntermediateDataFormat<Object>) (IntermediateDataFormat<?>) new JSONIntermediateDataFormat(schema);
+    } else if (format.equals("avro")) {
+      return (IntermediateDataFormat<Object>) (IntermediateDataFormat<?>) new AVROIntermediateDataFormat(schema);
+    }
+    throw new IllegalArgumentException("Unknown intermediate data format: " + format);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public long extractAndLoad() throws Exception {
+    SqoopOutputFormatLoadExecutor executor = new SqoopOutputFormatLoadExecutor(context,
+        ReadingLoader.class.getName(), create(format, schema), matcher);
+    RecordWriter<SqoopWritable, NullWritable> writer = executor.getRecordWriter();
+    for (int i = 0; i < ROWS; i++) {
+      fromIDF.setObjectData(rows[i % DISTINCT_ROWS]);
+      toIDF.setObjectData(matcher.getMatchingData(fromIDF));
+      writer.write(writable, NullWritable.get());
+    }
+    writer.close(context);
+    return context.getCounter(SqoopCounters.ROWS_WRITTEN).getValue();
+  }
+
+  /**
+   * Loader reading every row as object data, as most loaders do.
+   */
+  public static class ReadingLoader extends Loader<Object, Object> {
+
+    private long rowsWritten = 0;
+
+    @Override
+    public void load(LoaderContext context, Object linkConfiguration, Object jobConfiguration) throws Exception {
+      while (context.getDataReader().readArrayRecord() != null) {
+        rowsWritten++;
+      }
+    }
+
+    @Override
+    public long getRowsWritten() {
+      return rowsWritten;
+    }
+  }
+
+  private static class CountersReporter extends StatusReporter {
+
+    private final Counters counters = new Counters();
+
+    @Override
+    public Counter getCounter(Enum<?> name) {
+      return counters.findCounter(name);
+    }
+
+    @Override
+    public Counter getCounter(String group, String name) {
+      return counters.findCounter(group, name);
+    }
+
+    @Override
+    public void progress() {
+    }
+
+    @Override
+    public float getProgress() {
+      return 0;
+    }
+
+    @Override
+    public void setStatus(String status) {
+    }
+  }
+}
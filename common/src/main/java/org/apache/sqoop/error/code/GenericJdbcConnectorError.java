@@ -81,6 +81,12 @@ public enum GenericJdbcConnectorError implements ErrorCode {
 
   GENERIC_JDBC_CONNECTOR_0025("No primary key"),
 
+  GENERIC_JDBC_CONNECTOR_0026("Bulk load protocol isn't supported by the JDBC driver"),
+
+  GENERIC_JDBC_CONNECTOR_0027("Value can't be stored in the database"),
+
+  GENERIC_JDBC_CONNECTOR_0028("Rows were rejected by the database"),
+
   ;
 
   private final String message;
@@ -36,6 +36,15 @@ public enum HdfsConnectorError implements ErrorCode{
 
   GENERIC_HDFS_CONNECTOR_0008("Error occurs during destroyer run"),
 
+  /** Parquet and ORC files are written and read with a schema */
+  GENERIC_HDFS_CONNECTOR_0009("Schema is required for columnar files"),
+
+  /** The compression codec can't be used by the output format */
+  GENERIC_HDFS_CONNECTOR_0010("Unsupported compression codec for the output format"),
+
+  /** A column of the schema is not stored in the columnar file */
+  GENERIC_HDFS_CONNECTOR_0011("Column not found in the columnar file"),
+
   ;
 
   private final String message;
@@ -77,6 +77,9 @@ public enum MRExecutionError implements ErrorCode {
   /** Got invalid number of partitions from Partitioner */
   MAPRED_EXEC_0025("Retrieved invalid number of partitions from Partitioner"),
 
+  /** The job staging directory holding the partition queue is not known */
+  MAPRED_EXEC_0026("Unknown job staging directory for the partition queue"),
+
   ;
 
   private final String message;
@@ -49,4 +49,22 @@ public abstract class DataReader {
    */
   public abstract Object readContent() throws Exception;
 
+  /**
+   * Read data from the execution engine into a batch. The batch is reset
+   * before being filled with at most {@link RowBatch#getCapacity()} rows.
+   * Execution engines may override this method to hand over the rows
+   * without going through {@link #readArrayRecord()} one row at a time.
+   * @param batch - batch receiving the rows
+   * @return - number of rows read, 0 if there is no more data
+   * @throws Exception
+   */
+  public int readBatch(RowBatch batch) throws Exception {
+    batch.reset();
+    Object[] array;
+    while (!batch.isFull() && (array = readArrayRecord()) != null) {
+      batch.addRow(array);
+    }
+    return batch.size();
+  }
+
 }
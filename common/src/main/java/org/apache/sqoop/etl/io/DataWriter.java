@@ -46,4 +46,17 @@ public abstract class DataWriter {
    */
   public abstract void writeRecord(Object obj);
 
+  /**
+   * Write all the rows of a batch into the execution framework. The batch
+   * can be reset and reused by the caller once this method returns.
+   * Execution engines may override this method to move the rows without
+   * going through {@link #writeArrayRecord(Object[])} one row at a time.
+   * @param batch - rows to be written
+   */
+  public void writeBatch(RowBatch batch) {
+    for (int i = 0; i < batch.size(); i++) {
+      writeArrayRecord(batch.getRow(i));
+    }
+  }
+
 }
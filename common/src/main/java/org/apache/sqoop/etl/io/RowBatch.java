@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.etl.io;
+
+import java.util.Arrays;
+
+import org.apache.sqoop.classification.InterfaceAudience;
+import org.apache.sqoop.classification.InterfaceStability;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.DateTime;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+
+/**
+ * Reusable batch of rows stored column by column, used by the batch variants
+ * of {@link DataWriter} and {@link DataReader}.
+ * <p>
+ * FIXED_POINT, FLOATING_POINT and BIT columns, as well as DATE_TIME columns
+ * without time zone, are kept in primitive vectors so that connectors can
+ * produce and consume them without boxing. All the other column types, and
+ * unsigned 64 bit FIXED_POINT columns whose values may not fit a long, are
+ * kept as objects using the Sqoop object representation.
+ * <p>
+ * When a row is materialized as an object array, every value is returned in
+ * the representation the intermediate data formats expect for its column
+ * (for instance Integer or Long for FIXED_POINT depending on its byte size).
+ */
+@InterfaceAudience.Public
+@InterfaceStability.Unstable
+public class RowBatch {
+
+  public static final int DEFAULT_CAPACITY = 1024;
+
+  /**
+   * Storage used for a column of the batch.
+   */
+  public enum VectorType {
+    LONG,
+    DOUBLE,
+    BOOLEAN,
+    LOCAL_DATE_TIME,
+    OBJECT
+  }
+
+  private final Schema schema;
+  private final Column[] columns;
+  private final VectorType[] vectorTypes;
+  private final int capacity;
+  private int size;
+
+  private final long[][] longVectors;
+  private final double[][] doubleVectors;
+  private final boolean[][] booleanVectors;
+  private final Object[][] objectVectors;
+  private final boolean[][] nulls;
+
+  public RowBatch(Schema schema) {
+    this(schema, DEFAULT_CAPACITY);
+  }
+
+  public RowBatch(Schema schema, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Row batch capacity must be positive: " + capacity);
+    }
+    this.schema = schema;
+    this.columns = schema.getColumnsArray();
+    this.capacity = capacity;
+    this.vectorTypes = new VectorType[columns.length];
+    this.longVectors = new long[columns.length][];
+    this.doubleVectors = new double[columns.length][];
+    this.booleanVectors = new boolean[columns.length][];
+    this.objectVectors = new Object[columns.length][];
+    this.nulls = new boolean[columns.length][capacity];
+
+    for (int i = 0; i < columns.length; i++) {
+      vectorTypes[i] = getVectorType(columns[i]);
+      switch (vectorTypes[i]) {
+      case LONG:
+      case LOCAL_DATE_TIME:
+        longVectors[i] = new long[capacity];
+        break;
+      case DOUBLE:
+        doubleVectors[i] = new double[capacity];
+        break;
+      case BOOLEAN:
+        booleanVectors[i] = new boolean[capacity];
+        break;
+      default:
+        objectVectors[i] = new Object[capacity];
+      }
+    }
+  }
+
+  public Schema getSchema() {
+    return schema;
+  }
+
+  public int getColumnCount() {
+    return columns.length;
+  }
+
+  public VectorType getVectorType(int column) {
+    return vectorTypes[column];
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * @return number of rows currently held by the batch
+   */
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public boolean isFull() {
+    return size == capacity;
+  }
+
+  /**
+   * Discard all the rows so that the batch can be filled again. Object
+   * references are released so they can be garbage collected.
+   */
+  public void reset() {
+    for (int i = 0; i < columns.length; i++) {
+      if (objectVectors[i] != null) {
+        Arrays.fill(objectVectors[i], 0, size, null);
+      }
+    }
+    size = 0;
+  }
+
+  /**
+   * Append an empty row whose values must be set through the typed setters.
+   *
+   * @return index of the new row
+   */
+  public int addRow() {
+    if (size == capacity) {
+      throw new IllegalStateException("Row batch is full: " + capacity);
+    }
+    int row = size++;
+    for (int i = 0; i < columns.length; i++) {
+      nulls[i][row] = false;
+    }
+    return row;
+  }
+
+  /**
+   * Append a row represented as an object array.
+   *
+   * @param values one value per column, using the Sqoop object representation
+   * @return index of the new row
+   */
+  public int addRow(Object[] values) {
+    if (values.length != columns.length) {
+      throw new IllegalArgumentException("The row has " + values.length
+          + " fields while the schema has " + columns.length + " columns");
+    }
+    int row = addRow();
+    for (int i = 0; i < values.length; i++) {
+      setObject(i, row, values[i]);
+    }
+    return row;
+  }
+
+  /**
+   * Materialize a row as a new object array.
+   */
+  public Object[] getRow(int row) {
+    return getRow(row, new Object[columns.length]);
+  }
+
+  /**
+   * Materialize a row into the given object array.
+   *
+   * @param row index of the row
+   * @param values array receiving one value per column
+   * @return the given array
+   */
+  public Object[] getRow(int row, Object[] values) {
+    checkRow(row);
+    for (int i = 0; i < columns.length; i++) {
+      values[i] = getObject(i, row);
+    }
+    return values;
+  }
+
+  public boolean isNull(int column, int row) {
+    return nulls[column][row];
+  }
+
+  public void setNull(int column, int row) {
+    nulls[column][row] = true;
+    if (objectVectors[column] != null) {
+      objectVectors[column][row] = null;
+    }
+  }
+
+  public long getLong(int column, int row) {
+    return longVectors[column][row];
+  }
+
+  public void setLong(int column, int row, long value) {
+    longVectors[column][row] = value;
+    nulls[column][row] = false;
+  }
+
+  public double getDouble(int column, int row) {
+    return doubleVectors[column][row];
+  }
+
+  public void setDouble(int column, int row, double value) {
+    doubleVectors[column][row] = value;
+    nulls[column][row] = false;
+  }
+
+  public boolean getBoolean(int column, int row) {
+    return booleanVectors[column][row];
+  }
+
+  public void setBoolean(int column, int row, boolean value) {
+    booleanVectors[column][row] = value;
+    nulls[column][row] = false;
+  }
+
+  /**
+   * Get a value in the Sqoop object representation of its column.
+   */
+  public Object getObject(int column, int row) {
+    if (nulls[column][row]) {
+      return null;
+    }
+    switch (vectorTypes[column]) {
+    case LONG:
+      long longValue = longVectors[column][row];
+      if (isInteger(columns[column])) {
+        return Integer.valueOf((int) longValue);
+      }
+      return Long.valueOf(longValue);
+    case DOUBLE:
+      double doubleValue = doubleVectors[column][row];
+      if (isFloat(columns[column])) {
+        return Float.valueOf((float) doubleValue);
+      }
+      return Double.valueOf(doubleValue);
+    case BOOLEAN:
+      return Boolean.valueOf(booleanVectors[column][row]);
+    case LOCAL_DATE_TIME:
+      return new LocalDateTime(longVectors[column][row], DateTimeZone.UTC);
+    default:
+      return objectVectors[column][row];
+    }
+  }
+
+  /**
+   * Set a value given in the Sqoop object representation of its column.
+   */
+  public void setObject(int column, int row, Object value) {
+    if (value == null) {
+      setNull(column, row);
+      return;
+    }
+    switch (vectorTypes[column]) {
+    case LONG:
+      setLong(column, row, ((Number) value).longValue());
+      break;
+    case DOUBLE:
+      setDouble(column, row, ((Number) value).doubleValue());
+      break;
+    case BOOLEAN:
+      setBoolean(column, row, toBoolean(value));
+      break;
+    case LOCAL_DATE_TIME:
+      LocalDateTime dateTime = (value instanceof org.joda.time.DateTime)
+          ? ((org.joda.time.DateTime) value).toLocalDateTime() : (LocalDateTime) value;
+      setLong(column, row, dateTime.toDateTime(DateTimeZone.UTC).getMillis());
+      break;
+    default:
+      objectVectors[column][row] = value;
+      nulls[column][row] = false;
+    }
+  }
+
+  /**
+   * Store a time zone less date time given as its local milliseconds, as
+   * returned by <code>LocalDateTime.toDateTime(DateTimeZone.UTC).getMillis()</code>.
+   */
+  public void setLocalDateTimeMillis(int column, int row, long localMillis) {
+    setLong(column, row, localMillis);
+  }
+
+  private void checkRow(int row) {
+    if (row < 0 || row >= size) {
+      throw new IndexOutOfBoundsException("Row " + row + " is out of the batch of size " + size);
+    }
+  }
+
+  private static VectorType getVectorType(Column column) {
+    switch (column.getType()) {
+    case FIXED_POINT:
+      // unsigned 64 bit values do not fit a long, hence are stored as objects
+      return isUnsignedLong(column) ? VectorType.OBJECT : VectorType.LONG;
+    case FLOATING_POINT:
+      return VectorType.DOUBLE;
+    case BIT:
+      return VectorType.BOOLEAN;
+    case DATE_TIME:
+      Boolean timezone = ((DateTime) column).hasTimezone();
+      // values with time zone keep their zone, hence are stored as objects
+      return (timezone != null && timezone) ? VectorType.OBJECT : VectorType.LOCAL_DATE_TIME;
+    default:
+      return VectorType.OBJECT;
+    }
+  }
+
+  private static boolean isInteger(Column column) {
+    Long byteSize = ((FixedPoint) column).getByteSize();
+    Boolean signed = ((FixedPoint) column).isSigned();
+    if (byteSize == null) {
+      return false;
+    }
+    if (signed != null && !signed) {
+      byteSize *= 2;
+    }
+    return byteSize <= (Integer.SIZE / Byte.SIZE);
+  }
+
+  private static boolean isUnsignedLong(Column column) {
+    Long byteSize = ((FixedPoint) column).getByteSize();
+    Boolean signed = ((FixedPoint) column).isSigned();
+    return signed != null && !signed && (byteSize == null || byteSize >= (Long.SIZE / Byte.SIZE));
+  }
+
+  private static boolean isFloat(Column column) {
+    Long byteSize = ((FloatingPoint) column).getByteSize();
+    return byteSize != null && byteSize <= (Float.SIZE / Byte.SIZE);
+  }
+
+  private static boolean toBoolean(Object value) {
+    if (value instanceof Boolean) {
+      return (Boolean) value;
+    }
+    String text = value.toString();
+    if (text.equalsIgnoreCase("true") || text.equals("1")) {
+      return true;
+    }
+    if (text.equalsIgnoreCase("false") || text.equals("0")) {
+      return false;
+    }
+    throw new IllegalArgumentException("Invalid bit value: " + text);
+  }
+}
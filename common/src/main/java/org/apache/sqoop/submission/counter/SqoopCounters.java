@@ -25,5 +25,13 @@
 @InterfaceStability.Unstable
 public enum SqoopCounters {
   ROWS_READ,
-  ROWS_WRITTEN
+  ROWS_WRITTEN,
+  // Sum of the mapper to loader ring buffer depth sampled on every row
+  ROW_BUFFER_DEPTH_TOTAL,
+  // Time the mapper spent waiting for a free slot in the ring buffer
+  ROW_BUFFER_WRITE_STALL_MILLIS,
+  // Time the loader spent waiting for a filled slot in the ring buffer
+  ROW_BUFFER_READ_STALL_MILLIS,
+  // UTF-8 size of the rows sent from the extractors to the loaders through a Spark shuffle
+  BYTES_SHUFFLED
 }
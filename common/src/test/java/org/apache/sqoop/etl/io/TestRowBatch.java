@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.etl.io;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Bit;
+import org.apache.sqoop.schema.type.DateTime;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.joda.time.LocalDateTime;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TestRowBatch {
+
+  private Schema schema;
+
+  @BeforeMethod(alwaysRun = true)
+  public void setUp() {
+    schema = new Schema("test")
+        .addColumn(new FixedPoint("int", 4L, true))
+        .addColumn(new FixedPoint("long", 8L, true))
+        .addColumn(new FloatingPoint("float", 4L))
+        .addColumn(new FloatingPoint("double", 8L))
+        .addColumn(new Bit("bit"))
+        .addColumn(new DateTime("dt", true, false))
+        .addColumn(new DateTime("dtz", true, true))
+        .addColumn(new Text("text"));
+  }
+
+  @Test
+  public void testVectorTypes() {
+    RowBatch batch = new RowBatch(schema, 4);
+    assertEquals(batch.getVectorType(0), RowBatch.VectorType.LONG);
+    assertEquals(batch.getVectorType(1), RowBatch.VectorType.LONG);
+    assertEquals(batch.getVectorType(2), RowBatch.VectorType.DOUBLE);
+    assertEquals(batch.getVectorType(3), RowBatch.VectorType.DOUBLE);
+    assertEquals(batch.getVectorType(4), RowBatch.VectorType.BOOLEAN);
+    assertEquals(batch.getVectorType(5), RowBatch.VectorType.LOCAL_DATE_TIME);
+    assertEquals(batch.getVectorType(6), RowBatch.VectorType.OBJECT);
+    assertEquals(batch.getVectorType(7), RowBatch.VectorType.OBJECT);
+
+    batch = new RowBatch(new Schema("unsigned")
+        .addColumn(new FixedPoint("uint", 4L, false))
+        .addColumn(new FixedPoint("ulong", 8L, false)), 4);
+    assertEquals(batch.getVectorType(0), RowBatch.VectorType.LONG);
+    assertEquals(batch.getVectorType(1), RowBatch.VectorType.OBJECT);
+  }
+
+  @Test
+  public void testRowRoundTrip() {
+    RowBatch batch = new RowBatch(schema, 4);
+    LocalDateTime localDateTime = new LocalDateTime(2014, 10, 1, 12, 0, 0, 123);
+    org.joda.time.DateTime dateTime = new org.joda.time.DateTime(2014, 10, 1, 12, 0, 0);
+    Object[] row = new Object[] { 1, 2L, 1.5f, 2.5d, true, localDateTime, dateTime, "text" };
+
+    batch.addRow(row);
+    assertEquals(batch.size(), 1);
+    Object[] result = batch.getRow(0);
+    assertEquals(result, row);
+    assertEquals(result[0].getClass(), Integer.class);
+    assertEquals(result[1].getClass(), Long.class);
+    assertEquals(result[2].getClass(), Float.class);
+    assertEquals(result[3].getClass(), Double.class);
+  }
+
+  @Test
+  public void testValuesAreCanonicalized() {
+    RowBatch batch = new RowBatch(schema, 4);
+    batch.addRow(new Object[] { 1L, 2, 1.5d, 2.5f, "1", null, null, null });
+    Object[] result = batch.getRow(0);
+    assertEquals(result[0], Integer.valueOf(1));
+    assertEquals(result[1], Long.valueOf(2));
+    assertEquals(result[2], Float.valueOf(1.5f));
+    assertEquals(result[3], Double.valueOf(2.5d));
+    assertEquals(result[4], Boolean.TRUE);
+  }
+
+  @Test
+  public void testNulls() {
+    RowBatch batch = new RowBatch(schema, 4);
+    batch.addRow(new Object[8]);
+    for (int i = 0; i < 8; i++) {
+      assertTrue(batch.isNull(i, 0));
+      assertNull(batch.getObject(i, 0));
+    }
+    int row = batch.addRow();
+    batch.setLong(0, row, 7);
+    assertFalse(batch.isNull(0, row));
+    assertEquals(batch.getObject(0, row), Integer.valueOf(7));
+  }
+
+  @Test
+  public void testResetAndCapacity() {
+    RowBatch batch = new RowBatch(schema, 2);
+    batch.addRow(new Object[8]);
+    batch.addRow(new Object[8]);
+    assertTrue(batch.isFull());
+    batch.reset();
+    assertTrue(batch.isEmpty());
+    assertEquals(batch.getCapacity(), 2);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void testAddRowWhenFull() {
+    RowBatch batch = new RowBatch(schema, 1);
+    batch.addRow();
+    batch.addRow();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidBit() {
+    RowBatch batch = new RowBatch(schema, 1);
+    batch.addRow(new Object[] { null, null, null, null, "maybe", null, null, null });
+  }
+
+  @Test
+  public void testDefaultReaderAndWriterShims() throws Exception {
+    final List<Object[]> written = new ArrayList<Object[]>();
+    DataWriter writer = new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        written.add(array);
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+      }
+    };
+    RowBatch batch = new RowBatch(schema, 2);
+    batch.addRow(new Object[] { 1, 1L, null, null, null, null, null, "a" });
+    batch.addRow(new Object[] { 2, 2L, null, null, null, null, null, "b" });
+    writer.writeBatch(batch);
+    assertEquals(written.size(), 2);
+    assertEquals(written.get(1)[7], "b");
+
+    final int[] position = new int[] { 0 };
+    DataReader reader = new DataReader() {
+      @Override
+      public Object[] readArrayRecord() {
+        return position[0] < written.size() ? written.get(position[0]++) : null;
+      }
+
+      @Override
+      public String readTextRecord() {
+        return null;
+      }
+
+      @Override
+      public Object readContent() {
+        return null;
+      }
+    };
+    RowBatch readBatch = new RowBatch(schema, 1);
+    assertEquals(reader.readBatch(readBatch), 1);
+    assertEquals(readBatch.getObject(7, 0), "a");
+    assertEquals(reader.readBatch(readBatch), 1);
+    assertEquals(readBatch.getObject(7, 0), "b");
+    assertEquals(reader.readBatch(readBatch), 0);
+  }
+}
@@ -41,6 +41,12 @@ public final class GenericJdbcConnectorConstants implements Serializable {
       PREFIX_CONNECTOR_JDBC_CONFIG + "partition.minvalue";
   public static final String CONNECTOR_JDBC_PARTITION_MAXVALUE =
       PREFIX_CONNECTOR_JDBC_CONFIG + "partition.maxvalue";
+  // Sorted values of the partition column, separated by commas, that
+  // equi-depth partitioning takes its boundaries from
+  public static final String CONNECTOR_JDBC_PARTITION_SAMPLE =
+      PREFIX_CONNECTOR_JDBC_CONFIG + "partition.sample";
+
+  public static final int DEFAULT_PARTITION_SAMPLE_SIZE = 10000;
   public static final String CONNECTOR_JDBC_LAST_INCREMENTAL_VALUE =
     PREFIX_CONNECTOR_JDBC_CONFIG + "incremental.last_value";
 
@@ -48,6 +54,11 @@ public final class GenericJdbcConnectorConstants implements Serializable {
       PREFIX_CONNECTOR_JDBC_CONFIG + "from.data.sql";
   public static final String CONNECTOR_JDBC_TO_DATA_SQL =
       PREFIX_CONNECTOR_JDBC_CONFIG + "to.data.sql";
+  // Table the loader writes into, and its columns when not all are written
+  public static final String CONNECTOR_JDBC_TO_TABLE =
+      PREFIX_CONNECTOR_JDBC_CONFIG + "to.table";
+  public static final String CONNECTOR_JDBC_TO_COLUMNS =
+      PREFIX_CONNECTOR_JDBC_CONFIG + "to.columns";
 
   public static final String SQL_CONDITIONS_TOKEN = "${CONDITIONS}";
 
@@ -37,6 +37,7 @@
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
 import org.apache.sqoop.error.code.GenericJdbcConnectorError;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.schema.type.Column;
 import org.apache.sqoop.utils.ClassUtils;
@@ -308,35 +309,7 @@ public void addBatch(Object[] array, Schema schema) {
     try {
       Column[] schemaColumns = schema.getColumnsArray();
       for (int i = 0; i < array.length; i++) {
-        Column schemaColumn = schemaColumns[i];
-        switch (schemaColumn.getType()) {
-        case DATE:
-          // convert the JODA date to sql date
-          LocalDate date = (LocalDate) array[i];
-          java.sql.Date sqlDate = new java.sql.Date(date.toDateTimeAtCurrentTime().getMillis());
-          preparedStatement.setObject(i + 1, sqlDate);
-          break;
-        case DATE_TIME:
-          // convert the JODA date time to sql date
-          DateTime dateTime = null;
-          if (array[i] instanceof org.joda.time.LocalDateTime) {
-            dateTime = ((org.joda.time.LocalDateTime) array[i]).toDateTime();
-          } else {
-            dateTime = (DateTime) array[i];
-          }
-          Timestamp timestamp = new Timestamp(dateTime.getMillis());
-          preparedStatement.setObject(i + 1, timestamp);
-          break;
-        case TIME:
-          // convert the JODA time to sql date
-          LocalTime time = (LocalTime) array[i];
-          java.sql.Time sqlTime = new java.sql.Time(time.toDateTimeToday().getMillis());
-          preparedStatement.setObject(i + 1, sqlTime);
-          break;
-        default:
-          // for anything else
-          preparedStatement.setObject(i + 1, array[i]);
-        }
+        setParameter(preparedStatement, i + 1, array[i], schemaColumns[i]);
       }
       preparedStatement.addBatch();
     } catch (SQLException e) {
@@ -345,6 +318,92 @@ public void addBatch(Object[] array, Schema schema) {
     }
   }
 
+  /**
+   * Bind one row of a batch, using primitive setters for the columns the
+   * batch keeps in primitive vectors.
+   *
+   * @param batch Batch holding the row
+   * @param row Index of the row in the batch
+   */
+  public void addBatch(RowBatch batch, int row) {
+    try {
+      bindRow(preparedStatement, 0, batch, row);
+      preparedStatement.addBatch();
+    } catch (SQLException e) {
+      logSQLException(e);
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0002, e);
+    }
+  }
+
+  /**
+   * Bind one row of a batch to the parameters of a statement, starting after
+   * the given number of parameters.
+   *
+   * @param statement Statement to bind to
+   * @param offset Number of parameters preceding the row
+   * @param batch Batch holding the row
+   * @param row Index of the row in the batch
+   */
+  public void bindRow(PreparedStatement statement, int offset, RowBatch batch, int row) throws SQLException {
+    Column[] schemaColumns = batch.getSchema().getColumnsArray();
+    for (int i = 0; i < schemaColumns.length; i++) {
+      int index = offset + i + 1;
+      if (batch.isNull(i, row)) {
+        statement.setObject(index, null);
+        continue;
+      }
+      switch (batch.getVectorType(i)) {
+      case LONG:
+        statement.setLong(index, batch.getLong(i, row));
+        break;
+      case DOUBLE:
+        statement.setDouble(index, batch.getDouble(i, row));
+        break;
+      case BOOLEAN:
+        statement.setBoolean(index, batch.getBoolean(i, row));
+        break;
+      default:
+        setParameter(statement, index, batch.getObject(i, row), schemaColumns[i]);
+      }
+    }
+  }
+
+  private void setParameter(PreparedStatement statement, int index, Object value, Column schemaColumn)
+      throws SQLException {
+    if (value == null) {
+      statement.setObject(index, null);
+      return;
+    }
+    switch (schemaColumn.getType()) {
+    case DATE:
+      // convert the JODA date to sql date
+      LocalDate date = (LocalDate) value;
+      java.sql.Date sqlDate = new java.sql.Date(date.toDateTimeAtCurrentTime().getMillis());
+      statement.setObject(index, sqlDate);
+      break;
+    case DATE_TIME:
+      // convert the JODA date time to sql date
+      DateTime dateTime = null;
+      if (value instanceof org.joda.time.LocalDateTime) {
+        dateTime = ((org.joda.time.LocalDateTime) value).toDateTime();
+      } else {
+        dateTime = (DateTime) value;
+      }
+      Timestamp timestamp = new Timestamp(dateTime.getMillis());
+      statement.setObject(index, timestamp);
+      break;
+    case TIME:
+      // convert the JODA time to sql date
+      LocalTime time = (LocalTime) value;
+      java.sql.Time sqlTime = new java.sql.Time(time.toDateTimeToday().getMillis());
+      statement.setObject(index, sqlTime);
+      break;
+    default:
+      // for anything else
+      statement.setObject(index, value);
+    }
+  }
+
   public void executeBatch(boolean commit) {
     try {
       preparedStatement.executeBatch();
@@ -357,6 +416,15 @@ public void executeBatch(boolean commit) {
     }
   }
 
+  public void commit() {
+    try {
+      connection.commit();
+    } catch (SQLException e) {
+      logSQLException(e);
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0002, e);
+    }
+  }
+
   public void endBatch() {
     try {
       if (preparedStatement != null) {
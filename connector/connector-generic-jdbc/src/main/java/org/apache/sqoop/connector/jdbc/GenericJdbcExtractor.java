@@ -16,6 +16,7 @@
 package org.apache.sqoop.connector.jdbc;
 
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
@@ -23,13 +24,17 @@
 
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
 import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
 import org.apache.sqoop.error.code.GenericJdbcConnectorError;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.job.etl.Extractor;
 import org.apache.sqoop.job.etl.ExtractorContext;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.schema.type.Column;
+import org.joda.time.DateTimeZone;
 import org.joda.time.LocalDate;
 import org.joda.time.LocalDateTime;
 import org.joda.time.LocalTime;
@@ -61,36 +66,25 @@ public void extract(ExtractorContext context, LinkConfiguration linkConfig, From
       if (schemaColumns.length != columnCount) {
         throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0021, schemaColumns.length + ":" + columnCount);
       }
+      DataWriter writer = context.getDataWriter();
+      RowBatch batch = new RowBatch(schema);
+      ColumnReader[] readers = new ColumnReader[columnCount];
+      for (int i = 0; i < columnCount; i++) {
+        readers[i] = ColumnReader.forColumn(schemaColumns[i], batch.getVectorType(i));
+      }
       while (resultSet.next()) {
-        Object[] array = new Object[columnCount];
+        int row = batch.addRow();
         for (int i = 0; i < columnCount; i++) {
-          if(resultSet.getObject(i + 1) == null) {
-            array[i] = null ;
-            continue;
-          }
-          // check type of the column
-          Column schemaColumn = schemaColumns[i];
-          switch (schemaColumn.getType()) {
-          case DATE:
-            // convert the sql date to JODA time as prescribed the Sqoop IDF spec
-            array[i] = LocalDate.fromDateFields((java.sql.Date)resultSet.getObject(i + 1));
-            break;
-          case DATE_TIME:
-            // convert the sql date time to JODA time as prescribed the Sqoop IDF spec
-            array[i] = LocalDateTime.fromDateFields((java.sql.Timestamp)resultSet.getObject(i + 1));
-            break;
-          case TIME:
-            // convert the sql time to JODA time as prescribed the Sqoop IDF spec
-            array[i] = LocalTime.fromDateFields((java.sql.Time)resultSet.getObject(i + 1));
-            break;
-          default:
-            //for anything else
-            array[i] = resultSet.getObject(i + 1);
-
-          }
+          readers[i].read(resultSet, i, batch, row);
         }
-        context.getDataWriter().writeArrayRecord(array);
         rowsRead++;
+        if (batch.isFull()) {
+          writer.writeBatch(batch);
+          batch.reset();
+        }
+      }
+      if (!batch.isEmpty()) {
+        writer.writeBatch(batch);
       }
     } catch (SQLException e) {
       throw new SqoopException(
@@ -106,4 +100,150 @@ public long getRowsRead() {
     return rowsRead;
   }
 
+  /**
+   * Copies one column of the current result set row into the batch, with a
+   * single driver call per value. One reader is picked per column before the
+   * first row, so the column types are not looked at again for every value.
+   */
+  private enum ColumnReader {
+    LONG {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        long value = resultSet.getLong(i + 1);
+        if (resultSet.wasNull()) {
+          batch.setNull(i, row);
+        } else {
+          batch.setLong(i, row, value);
+        }
+      }
+    },
+    DOUBLE {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        double value = resultSet.getDouble(i + 1);
+        if (resultSet.wasNull()) {
+          batch.setNull(i, row);
+        } else {
+          batch.setDouble(i, row, value);
+        }
+      }
+    },
+    BOOLEAN {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        boolean value = resultSet.getBoolean(i + 1);
+        if (resultSet.wasNull()) {
+          batch.setNull(i, row);
+        } else {
+          batch.setBoolean(i, row, value);
+        }
+      }
+    },
+    LOCAL_DATE_TIME {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        // convert the sql date time to JODA time as prescribed the Sqoop IDF spec
+        java.sql.Timestamp timestamp = resultSet.getTimestamp(i + 1);
+        if (timestamp == null) {
+          batch.setNull(i, row);
+        } else {
+          batch.setLocalDateTimeMillis(i, row,
+              LocalDateTime.fromDateFields(timestamp).toDateTime(DateTimeZone.UTC).getMillis());
+        }
+      }
+    },
+    DATE_TIME {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        java.sql.Timestamp timestamp = resultSet.getTimestamp(i + 1);
+        batch.setObject(i, row, (timestamp == null) ? null : LocalDateTime.fromDateFields(timestamp));
+      }
+    },
+    DATE {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        // convert the sql date to JODA time as prescribed the Sqoop IDF spec
+        java.sql.Date date = resultSet.getDate(i + 1);
+        batch.setObject(i, row, (date == null) ? null : LocalDate.fromDateFields(date));
+      }
+    },
+    TIME {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        // convert the sql time to JODA time as prescribed the Sqoop IDF spec
+        java.sql.Time time = resultSet.getTime(i + 1);
+        batch.setObject(i, row, (time == null) ? null : LocalTime.fromDateFields(time));
+      }
+    },
+    DECIMAL {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        batch.setObject(i, row, resultSet.getBigDecimal(i + 1));
+      }
+    },
+    UNSIGNED_LONG {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        // getLong would overflow on unsigned 64 bit values beyond the long range
+        BigDecimal value = resultSet.getBigDecimal(i + 1);
+        batch.setObject(i, row, (value == null) ? null : SqoopIDFUtils.toUnsignedLong(value));
+      }
+    },
+    TEXT {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        batch.setObject(i, row, resultSet.getString(i + 1));
+      }
+    },
+    BINARY {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        batch.setObject(i, row, resultSet.getBytes(i + 1));
+      }
+    },
+    OBJECT {
+      @Override
+      void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException {
+        //for anything else
+        batch.setObject(i, row, resultSet.getObject(i + 1));
+      }
+    };
+
+    abstract void read(ResultSet resultSet, int i, RowBatch batch, int row) throws SQLException;
+
+    static ColumnReader forColumn(Column column, RowBatch.VectorType vectorType) {
+      switch (vectorType) {
+      case LONG:
+        return LONG;
+      case DOUBLE:
+        return DOUBLE;
+      case BOOLEAN:
+        return BOOLEAN;
+      case LOCAL_DATE_TIME:
+        return LOCAL_DATE_TIME;
+      default:
+        break;
+      }
+      switch (column.getType()) {
+      case FIXED_POINT:
+        // only unsigned 64 bit values are not kept in a long vector
+        return UNSIGNED_LONG;
+      case DATE_TIME:
+        return DATE_TIME;
+      case DATE:
+        return DATE;
+      case TIME:
+        return TIME;
+      case DECIMAL:
+        return DECIMAL;
+      case TEXT:
+        return TEXT;
+      case BINARY:
+        return BINARY;
+      default:
+        return OBJECT;
+      }
+    }
+  }
+
 }
@@ -21,7 +21,11 @@
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import org.apache.commons.lang.StringUtils;
@@ -30,6 +34,7 @@
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.jdbc.configuration.PartitioningMode;
 import org.apache.sqoop.connector.jdbc.util.SqlTypesUtils;
 import org.apache.sqoop.error.code.GenericJdbcConnectorError;
 import org.apache.sqoop.job.Constants;
@@ -47,6 +52,15 @@ public class GenericJdbcFromInitializer extends Initializer<LinkConfiguration, F
   private static final Logger LOG =
     Logger.getLogger(GenericJdbcFromInitializer.class);
 
+  // Most quantiles of the partition column kept for equi-depth partitioning
+  private static final int MAX_PARTITION_QUANTILES = 1000;
+
+  private static final int SAMPLE_FETCH_SIZE = 1000;
+
+  // Most rows of the partition column read per sampled value, so that sampling
+  // a large table doesn't turn into a full scan of its partition column
+  private static final int SAMPLE_SCAN_FACTOR = 100;
+
   private GenericJdbcExecutor executor;
 
   @Override
@@ -238,6 +252,10 @@ private void configurePartitionProperties(MutableContext context, LinkConfigurat
       context.setInteger(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_COLUMNTYPE, columnType);
       context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_MINVALUE, min);
       context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_MAXVALUE, max);
+
+      if (jobConf.fromJobConfig.partitioningMode == PartitioningMode.EQUI_DEPTH && min != null && max != null) {
+        configurePartitionSample(context, jobConf, partitionColumnName, fromFragment, incrementalMaxValue, columnType);
+      }
     } finally {
       if(ps != null) {
         ps.close();
@@ -248,6 +266,147 @@ private void configurePartitionProperties(MutableContext context, LinkConfigurat
     }
   }
 
+  /**
+   * Stores quantiles of the partition column for equi-depth partitioning. They
+   * are taken from the histogram of the column when the database keeps one,
+   * and from a random sample of the column values otherwise.
+   */
+  private void configurePartitionSample(MutableContext context, FromJobConfiguration jobConf, String partitionColumnName,
+      String fromFragment, String incrementalMaxValue, int columnType) throws SQLException {
+    Comparator<String> comparator = SqlTypesUtils.getValueComparator(columnType);
+    if (comparator == null) {
+      LOG.warn("Equi-depth partitioning isn't supported for column type " + columnType + ", using equal width ranges");
+      return;
+    }
+
+    List<String> sample = getHistogram(jobConf, partitionColumnName);
+    if (sample == null) {
+      int sampleSize = jobConf.fromJobConfig.partitionSampleSize == null
+          ? GenericJdbcConnectorConstants.DEFAULT_PARTITION_SAMPLE_SIZE : jobConf.fromJobConfig.partitionSampleSize;
+      sample = sampleColumn(jobConf, partitionColumnName, fromFragment, incrementalMaxValue, sampleSize);
+    }
+    if (sample.isEmpty()) {
+      return;
+    }
+    try {
+      Collections.sort(sample, comparator);
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Can't compare the sampled values of partition column " + partitionColumnName
+          + ", using equal width ranges", e);
+      return;
+    }
+
+    // Only evenly spaced quantiles of large samples are kept in the context
+    int quantiles = Math.min(sample.size(), MAX_PARTITION_QUANTILES);
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < quantiles; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append(sample.get((int) ((long) i * sample.size() / quantiles)));
+    }
+    context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_SAMPLE, sb.toString());
+  }
+
+  /**
+   * Returns the bounds of the equi-depth histogram PostgreSQL keeps of the
+   * partition column of a table, null when there is none.
+   */
+  private List<String> getHistogram(FromJobConfiguration jobConf, String partitionColumnName) throws SQLException {
+    if (jobConf.fromJobConfig.tableName == null
+        || !"PostgreSQL".equals(executor.getConnection().getMetaData().getDatabaseProductName())) {
+      return null;
+    }
+
+    String histogramQuery = "SELECT histogram_bounds::text FROM pg_stats WHERE "
+        + (jobConf.fromJobConfig.schemaName == null ? "schemaname = current_schema()" : "schemaname = ?")
+        + " AND tablename = ? AND attname = ?";
+    try (PreparedStatement ps = executor.prepareStatement(histogramQuery)) {
+      int index = 1;
+      if (jobConf.fromJobConfig.schemaName != null) {
+        ps.setString(index++, jobConf.fromJobConfig.schemaName);
+      }
+      ps.setString(index++, jobConf.fromJobConfig.tableName);
+      ps.setString(index, partitionColumnName);
+      try (ResultSet rs = ps.executeQuery()) {
+        if (!rs.next() || rs.getString(1) == null) {
+          return null;
+        }
+        // Array literal such as {1,5,9} or {"2015-01-01 00:00:00",...}
+        String bounds = rs.getString(1);
+        List<String> histogram = new ArrayList<>();
+        for (String bound : bounds.substring(1, bounds.length() - 1).split(",")) {
+          histogram.add(StringUtils.strip(bound, "\""));
+        }
+        LOG.info("Using histogram of " + histogram.size() + " bounds of partition column " + partitionColumnName);
+        return histogram;
+      }
+    }
+  }
+
+  /**
+   * Draws a uniform random sample of the non null values of the partition
+   * column, reading the column once. At most sampleSize * SAMPLE_SCAN_FACTOR
+   * rows are read. A larger column would only be sampled from the first rows
+   * returned by the database, which are usually clustered at one end of its
+   * range, so the sample is empty then and equal width ranges are used.
+   */
+  private List<String> sampleColumn(FromJobConfiguration jobConf, String partitionColumnName, String fromFragment,
+      String incrementalMaxValue, int sampleSize) throws SQLException {
+    StringBuilder sb = new StringBuilder();
+    sb.append("SELECT ").append(partitionColumnName);
+    sb.append(" FROM ").append(fromFragment);
+    sb.append(" WHERE ").append(partitionColumnName).append(" IS NOT NULL");
+    boolean incrementalImport = jobConf.incrementalRead.checkColumn != null;
+    if (incrementalImport) {
+      sb.append(" AND ");
+      sb.append(executor.encloseIdentifier(jobConf.incrementalRead.checkColumn)).append(" > ?");
+      sb.append(" AND ");
+      sb.append(executor.encloseIdentifier(jobConf.incrementalRead.checkColumn)).append(" <= ?");
+    }
+    String sampleQuery = sb.toString();
+    LOG.info("Using sample query: " + sampleQuery);
+
+    List<String> sample = new ArrayList<>(Math.min(sampleSize, MAX_PARTITION_QUANTILES));
+    Random random = new Random();
+    long rows = 0;
+    try (PreparedStatement ps = executor.prepareStatement(sampleQuery)) {
+      if (incrementalImport) {
+        ps.setString(1, jobConf.incrementalRead.lastValue);
+        ps.setString(2, incrementalMaxValue);
+      }
+      int maxRows = (int) Math.min(Integer.MAX_VALUE - 1, (long) sampleSize * SAMPLE_SCAN_FACTOR);
+      // One more row tells whether the column is larger than the scan allows
+      ps.setMaxRows(maxRows + 1);
+      // MySQL Connector/J holds the whole result in memory unless asked to stream it
+      if ("MySQL".equals(executor.getConnection().getMetaData().getDatabaseProductName())) {
+        ps.setFetchSize(Integer.MIN_VALUE);
+      } else {
+        ps.setFetchSize(Math.min(SAMPLE_FETCH_SIZE, maxRows));
+      }
+      try (ResultSet rs = ps.executeQuery()) {
+        // Reservoir sampling
+        while (rs.next()) {
+          if (++rows > maxRows) {
+            LOG.warn("Partition column " + partitionColumnName + " has more than " + maxRows
+                + " values to sample, using equal width ranges");
+            return Collections.emptyList();
+          }
+          if (sample.size() < sampleSize) {
+            sample.add(rs.getString(1));
+          } else {
+            long replaced = (long) (random.nextDouble() * rows);
+            if (replaced < sampleSize) {
+              sample.set((int) replaced, rs.getString(1));
+            }
+          }
+        }
+      }
+    }
+    LOG.info("Sampled " + sample.size() + " of " + rows + " values of partition column " + partitionColumnName);
+    return sample;
+  }
+
   private void configureTableProperties(MutableContext context, LinkConfiguration linkConfig, FromJobConfiguration fromJobConfig) {
     String dataSql;
     String fieldNames;
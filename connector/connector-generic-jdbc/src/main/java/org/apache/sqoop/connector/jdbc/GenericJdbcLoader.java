@@ -16,9 +16,23 @@
 package org.apache.sqoop.connector.jdbc;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.sqoop.connector.jdbc.bulk.BulkWriter;
+import org.apache.sqoop.connector.jdbc.configuration.BulkLoadMode;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.jdbc.configuration.ToJobConfiguration;
+import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.job.etl.Loader;
 import org.apache.sqoop.job.etl.LoaderContext;
 
@@ -31,43 +45,195 @@ public class GenericJdbcLoader extends Loader<LinkConfiguration, ToJobConfigurat
   private int batchesPerTransaction = DEFAULT_BATCHES_PER_TRANSACTION;
   private long rowsWritten = 0;
 
+  // How long the reading thread waits on a queue before checking the writers
+  private static final long QUEUE_POLL_MILLIS = 100;
+
   @Override
   public void load(LoaderContext context, LinkConfiguration linkConfig, ToJobConfiguration toJobConfig) throws Exception{
+    BulkLoadMode bulkLoadMode = toJobConfig.toJobConfig.bulkLoadMode;
+    Integer writerConnections = toJobConfig.toJobConfig.writerConnections;
+    if (writerConnections != null && writerConnections > 1) {
+      loadParallel(context, linkConfig, bulkLoadMode, writerConnections);
+      return;
+    }
+
     GenericJdbcExecutor executor = new GenericJdbcExecutor(linkConfig);
     executor.setAutoCommit(false);
-    String sql = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_DATA_SQL);
-    executor.beginBatch(sql);
+    BulkWriter writer = null;
     try {
-      int numberOfRowsPerBatch = 0;
-      int numberOfBatchesPerTransaction = 0;
-      Object[] array;
-
-      while ((array = context.getDataReader().readArrayRecord()) != null) {
-        numberOfRowsPerBatch++;
-        executor.addBatch(array, context.getSchema());
-
-        if (numberOfRowsPerBatch == rowsPerBatch) {
-          numberOfBatchesPerTransaction++;
-          if (numberOfBatchesPerTransaction == batchesPerTransaction) {
-            executor.executeBatch(true);
-            numberOfBatchesPerTransaction = 0;
-          } else {
-            executor.executeBatch(false);
+      writer = BulkWriter.create(bulkLoadMode, executor, context.getSchema());
+      writer.initialize(executor, context, rowsPerBatch);
+
+      int rowsPerTransaction = rowsPerBatch * batchesPerTransaction;
+      int numberOfRowsPerTransaction = 0;
+      DataReader reader = context.getDataReader();
+      RowBatch batch = new RowBatch(context.getSchema());
+
+      while (reader.readBatch(batch) > 0) {
+        for (int row = 0; row < batch.size(); row++) {
+          writer.write(batch, row);
+          rowsWritten ++;
+
+          if (++numberOfRowsPerTransaction == rowsPerTransaction) {
+            writer.flush();
+            executor.commit();
+            numberOfRowsPerTransaction = 0;
           }
-          numberOfRowsPerBatch = 0;
         }
-        rowsWritten ++;
       }
 
-      if (numberOfRowsPerBatch != 0 || numberOfBatchesPerTransaction != 0) {
-        // execute and commit the remaining rows
-        executor.executeBatch(true);
+      // write and commit the remaining rows
+      writer.flush();
+      executor.commit();
+    } finally {
+      // Also gives up a load still running after a failure
+      if (writer != null) {
+        writer.destroy();
       }
+      executor.close();
+    }
+  }
 
-      executor.endBatch();
+  /**
+   * Hands batches of rows from the data reader to several writer threads,
+   * each with its own connection, so that rows are decoded while earlier
+   * batches are executing in the database. Every batch read holds
+   * rowsPerBatch rows, and every connection commits after its own
+   * batchesPerTransaction batches.
+   */
+  private void loadParallel(LoaderContext context, LinkConfiguration linkConfig, BulkLoadMode bulkLoadMode,
+      int writerConnections) throws Exception {
+    // Batches are recycled between the reader and the writers
+    int numberOfBatches = 2 * writerConnections + 1;
+    BlockingQueue<RowBatch> freeBatches = new ArrayBlockingQueue<>(numberOfBatches);
+    for (int i = 0; i < numberOfBatches; i++) {
+      freeBatches.add(new RowBatch(context.getSchema(), rowsPerBatch));
+    }
+    BlockingQueue<RowBatch> filledBatches = new ArrayBlockingQueue<>(writerConnections);
+    RowBatch endOfData = new RowBatch(context.getSchema(), 1);
 
+    ExecutorService writerService = Executors.newFixedThreadPool(writerConnections);
+    try {
+      List<Future<Long>> writers = new ArrayList<>(writerConnections);
+      for (int i = 0; i < writerConnections; i++) {
+        writers.add(writerService.submit(new ConnectionWriter(context, linkConfig, bulkLoadMode, filledBatches, freeBatches, endOfData)));
+      }
+
+      DataReader reader = context.getDataReader();
+      RowBatch batch = takeBatch(freeBatches, writers);
+      while (reader.readBatch(batch) > 0) {
+        putBatch(filledBatches, batch, writers);
+        batch = takeBatch(freeBatches, writers);
+      }
+      for (int i = 0; i < writerConnections; i++) {
+        putBatch(filledBatches, endOfData, writers);
+      }
+
+      for (Future<Long> writer : writers) {
+        rowsWritten += getWriterResult(writer);
+      }
     } finally {
-      executor.close();
+      // Interrupts the other writers when one of them failed
+      writerService.shutdownNow();
+    }
+  }
+
+  private static RowBatch takeBatch(BlockingQueue<RowBatch> queue, List<Future<Long>> writers) throws Exception {
+    RowBatch batch;
+    while ((batch = queue.poll(QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) == null) {
+      checkWriters(writers);
+    }
+    return batch;
+  }
+
+  private static void putBatch(BlockingQueue<RowBatch> queue, RowBatch batch, List<Future<Long>> writers)
+      throws Exception {
+    while (!queue.offer(batch, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+      checkWriters(writers);
+    }
+  }
+
+  /**
+   * Rethrows the failure of any writer, which would otherwise leave the
+   * reading thread waiting on the queues forever.
+   */
+  private static void checkWriters(List<Future<Long>> writers) throws Exception {
+    for (Future<Long> writer : writers) {
+      if (writer.isDone()) {
+        getWriterResult(writer);
+      }
+    }
+  }
+
+  private static long getWriterResult(Future<Long> writer) throws Exception {
+    try {
+      return writer.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Writes the batches taken from the queue through its own connection and
+   * returns the number of rows written.
+   */
+  private class ConnectionWriter implements Callable<Long> {
+    private final LoaderContext context;
+    private final LinkConfiguration linkConfig;
+    private final BulkLoadMode bulkLoadMode;
+    private final BlockingQueue<RowBatch> filledBatches;
+    private final BlockingQueue<RowBatch> freeBatches;
+    private final RowBatch endOfData;
+
+    ConnectionWriter(LoaderContext context, LinkConfiguration linkConfig, BulkLoadMode bulkLoadMode,
+        BlockingQueue<RowBatch> filledBatches, BlockingQueue<RowBatch> freeBatches, RowBatch endOfData) {
+      this.context = context;
+      this.linkConfig = linkConfig;
+      this.bulkLoadMode = bulkLoadMode;
+      this.filledBatches = filledBatches;
+      this.freeBatches = freeBatches;
+      this.endOfData = endOfData;
+    }
+
+    @Override
+    public Long call() throws Exception {
+      GenericJdbcExecutor executor = new GenericJdbcExecutor(linkConfig);
+      BulkWriter writer = null;
+      long rows = 0;
+      try {
+        executor.setAutoCommit(false);
+        writer = BulkWriter.create(bulkLoadMode, executor, context.getSchema());
+        writer.initialize(executor, context, rowsPerBatch);
+        int numberOfBatchesPerTransaction = 0;
+
+        RowBatch batch;
+        while ((batch = filledBatches.take()) != endOfData) {
+          for (int row = 0; row < batch.size(); row++) {
+            writer.write(batch, row);
+          }
+          rows += batch.size();
+          freeBatches.put(batch);
+
+          if (++numberOfBatchesPerTransaction == batchesPerTransaction) {
+            writer.flush();
+            executor.commit();
+            numberOfBatchesPerTransaction = 0;
+          }
+        }
+
+        // write and commit the remaining batches
+        writer.flush();
+        executor.commit();
+      } finally {
+        if (writer != null) {
+          writer.destroy();
+        }
+        executor.close();
+      }
+      return rows;
     }
   }
 
@@ -22,13 +22,16 @@
 import java.sql.Timestamp;
 import java.sql.Types;
 import java.text.SimpleDateFormat;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.TimeZone;
 
+import org.apache.log4j.Logger;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.jdbc.util.SqlTypesUtils;
 import org.apache.sqoop.error.code.GenericJdbcConnectorError;
 import org.apache.sqoop.job.etl.Partition;
 import org.apache.sqoop.job.etl.Partitioner;
@@ -37,6 +40,8 @@
 public class GenericJdbcPartitioner extends Partitioner<LinkConfiguration, FromJobConfiguration> implements
         Serializable {
 
+  private static final Logger LOG = Logger.getLogger(GenericJdbcPartitioner.class);
+
   private static final BigDecimal NUMERIC_MIN_INCREMENT = BigDecimal.valueOf(10000 * Double.MIN_VALUE);
 
 
@@ -81,6 +86,14 @@ public List<Partition> getPartitions(PartitionerContext context, LinkConfigurati
             }
         }
 
+        // Equi-depth ranges when the initializer collected quantiles of the column
+        String sample = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_SAMPLE);
+        Comparator<String> comparator = SqlTypesUtils.getValueComparator(partitionColumnType);
+        if (sample != null && comparator != null) {
+            partitions.addAll(partitionSampledColumn(sample.split(","), comparator));
+            return partitions;
+        }
+
         switch (partitionColumnType) {
         case Types.TINYINT:
         case Types.SMALLINT:
@@ -131,6 +144,51 @@ public List<Partition> getPartitions(PartitionerContext context, LinkConfigurati
         return partitions;
     }
 
+    /**
+     * Splits the column at the quantiles of the sorted sample so that every
+     * range holds about the same number of rows, however the values are
+     * distributed between min and max.
+     */
+    protected List<Partition> partitionSampledColumn(String[] sample, Comparator<String> comparator) {
+        List<Partition> partitions = new LinkedList<Partition>();
+
+        List<String> boundaries = new LinkedList<String>();
+        String lowerBound = partitionMinValue;
+        for (int i = 1; i < numberPartitions; i++) {
+            String boundary = sample[(int) (i * sample.length / numberPartitions)];
+            // Repeated values can't be split, neither can values out of [min, max]
+            if (comparator.compare(boundary, lowerBound) > 0 && comparator.compare(boundary, partitionMaxValue) < 0) {
+                boundaries.add(boundary);
+                lowerBound = boundary;
+            }
+        }
+        LOG.info("Equi-depth boundaries of partition column " + partitionColumnName + ": " + boundaries);
+
+        lowerBound = partitionMinValue;
+        for (String boundary : boundaries) {
+            GenericJdbcPartition partition = new GenericJdbcPartition();
+            partition.setConditions(constructConditions(quoteValue(lowerBound), quoteValue(boundary), false));
+            partitions.add(partition);
+            lowerBound = boundary;
+        }
+
+        GenericJdbcPartition partition = new GenericJdbcPartition();
+        partition.setConditions(constructConditions(quoteValue(lowerBound), quoteValue(partitionMaxValue), true));
+        partitions.add(partition);
+        return partitions;
+    }
+
+    private String quoteValue(String value) {
+        switch (partitionColumnType) {
+        case Types.DATE:
+        case Types.TIME:
+        case Types.TIMESTAMP:
+            return "'" + value + "'";
+        default:
+            return value;
+        }
+    }
+
     protected List<Partition> partitionDateTimeColumn() {
         List<Partition> partitions = new LinkedList<Partition>();
 
@@ -151,5 +151,11 @@ private void configureTableProperties(MutableContext context, LinkConfiguration
 
     LOG.info("Using query to insert data: " + dataSql);
     context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_DATA_SQL, dataSql);
+
+    // For the bulk load protocols
+    context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_TABLE, fullTableName);
+    if (tableColumns != null && tableColumns.size() > 0) {
+      context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_COLUMNS, StringUtils.join(tableColumns, ", "));
+    }
   }
 }
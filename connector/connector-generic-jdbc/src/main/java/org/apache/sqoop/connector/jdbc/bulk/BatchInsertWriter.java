@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.bulk;
+
+import org.apache.sqoop.connector.jdbc.GenericJdbcConnectorConstants;
+import org.apache.sqoop.connector.jdbc.GenericJdbcExecutor;
+import org.apache.sqoop.etl.io.RowBatch;
+import org.apache.sqoop.job.etl.LoaderContext;
+
+/**
+ * Writes rows as JDBC batches of the single row INSERT statement prepared by
+ * the initializer. Works with every database.
+ */
+public class BatchInsertWriter extends BulkWriter {
+
+  private GenericJdbcExecutor executor;
+  private int rowsPerBatch;
+  private int numberOfRows;
+
+  @Override
+  public void initialize(GenericJdbcExecutor executor, LoaderContext context, int rowsPerBatch) {
+    this.executor = executor;
+    this.rowsPerBatch = rowsPerBatch;
+    executor.beginBatch(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_DATA_SQL));
+  }
+
+  @Override
+  public void write(RowBatch batch, int row) {
+    executor.addBatch(batch, row);
+    if (++numberOfRows == rowsPerBatch) {
+      flush();
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (numberOfRows > 0) {
+      executor.executeBatch(false);
+      numberOfRows = 0;
+    }
+  }
+
+  @Override
+  public void destroy() {
+    executor.endBatch();
+  }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.bulk;
+
+import java.sql.SQLException;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.jdbc.GenericJdbcExecutor;
+import org.apache.sqoop.connector.jdbc.configuration.BulkLoadMode;
+import org.apache.sqoop.etl.io.RowBatch;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.schema.Schema;
+
+/**
+ * Writes the rows of a loader into the table through one connection.
+ * <p>
+ * The loader hands over rows one at a time and calls {@link #flush()} before
+ * every commit of the connection. Implementations are free to buffer rows in
+ * between and to send them through whatever protocol suits the database.
+ */
+public abstract class BulkWriter {
+
+  private static final Logger LOG = Logger.getLogger(BulkWriter.class);
+
+  /**
+   * Create the writer of the given mode. AUTO picks the bulk protocol of the
+   * database, and every mode falls back to batches of INSERT statements when
+   * it can't write the schema.
+   *
+   * @param mode Configured mode, null for BATCH
+   * @param executor Executor holding the connection
+   * @param schema Schema of the rows to write
+   * @return Writer to initialize
+   */
+  public static BulkWriter create(BulkLoadMode mode, GenericJdbcExecutor executor, Schema schema) {
+    if (mode == BulkLoadMode.AUTO) {
+      mode = getDatabaseMode(executor);
+    }
+
+    BulkWriter writer;
+    if (mode == null) {
+      writer = new BatchInsertWriter();
+    } else {
+      switch (mode) {
+      case MULTI_ROW_INSERT:
+        writer = new MultiRowInsertWriter();
+        break;
+      case POSTGRESQL_COPY:
+        writer = new PostgresqlCopyWriter();
+        break;
+      case MYSQL_LOAD_DATA:
+        writer = new MysqlLoadDataWriter();
+        break;
+      default:
+        writer = new BatchInsertWriter();
+      }
+    }
+
+    if (!writer.supports(schema)) {
+      LOG.warn(mode + " can't write schema " + schema.getName() + ", using INSERT batches");
+      writer = new BatchInsertWriter();
+    }
+    LOG.info("Writing rows with " + writer.getClass().getSimpleName());
+    return writer;
+  }
+
+  private static BulkLoadMode getDatabaseMode(GenericJdbcExecutor executor) {
+    try {
+      String product = executor.getConnection().getMetaData().getDatabaseProductName();
+      if ("PostgreSQL".equals(product)) {
+        return BulkLoadMode.POSTGRESQL_COPY;
+      }
+      if ("MySQL".equals(product)) {
+        return BulkLoadMode.MYSQL_LOAD_DATA;
+      }
+    } catch (SQLException e) {
+      LOG.warn("Can't get the database product name, using INSERT batches", e);
+    }
+    return BulkLoadMode.BATCH;
+  }
+
+  /**
+   * Whether rows of the schema can be written. Writers that can't are
+   * replaced by batches of INSERT statements.
+   */
+  public boolean supports(Schema schema) {
+    return true;
+  }
+
+  /**
+   * Prepare writing rows.
+   *
+   * @param executor Executor holding the connection, which doesn't auto commit
+   * @param context Loader context with the table and statement of the initializer
+   * @param rowsPerBatch Number of rows to send to the database in one call
+   */
+  public abstract void initialize(GenericJdbcExecutor executor, LoaderContext context, int rowsPerBatch);
+
+  /**
+   * Write a row of the batch. The batch is reused once the call returns.
+   */
+  public abstract void write(RowBatch batch, int row);
+
+  /**
+   * Send all rows written so far to the database.
+   */
+  public abstract void flush();
+
+  /**
+   * Release the statements of the writer.
+   */
+  public abstract void destroy();
+}
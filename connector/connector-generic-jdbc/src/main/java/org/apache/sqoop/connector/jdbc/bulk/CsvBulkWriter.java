@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.bulk;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.InvocationTargetException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.jdbc.GenericJdbcConnectorConstants;
+import org.apache.sqoop.connector.jdbc.GenericJdbcExecutor;
+import org.apache.sqoop.error.code.GenericJdbcConnectorError;
+import org.apache.sqoop.etl.io.RowBatch;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+
+/**
+ * Base of the writers that send rows as CSV text through a bulk protocol of
+ * the database. Every transaction runs one load, which the rows are streamed
+ * into as they are written, and which completes when the writer is flushed.
+ * <p>
+ * Values other than numbers are enclosed in double quotes, and double quotes
+ * within them are doubled. Date time values are written in the time zone of
+ * the JVM, as the INSERT statements do.
+ */
+public abstract class CsvBulkWriter extends BulkWriter {
+
+  private static final Logger LOG = Logger.getLogger(CsvBulkWriter.class);
+
+  private static final String DATE_TIME_PATTERN = "yyyy-MM-dd HH:mm:ss.SSS";
+
+  // Row being encoded
+  private final StringBuilder data = new StringBuilder();
+  private Column[] schemaColumns;
+  // Rows of the running load, null in between loads, and how many there are
+  private Writer rows;
+  private long loadRows;
+
+  protected GenericJdbcExecutor executor;
+  protected String tableName;
+  protected String columns;
+
+  @Override
+  public boolean supports(Schema schema) {
+    for (Column column : schema.getColumnsArray()) {
+      switch (column.getType()) {
+      case FIXED_POINT:
+      case FLOATING_POINT:
+      case DECIMAL:
+      case BIT:
+      case TEXT:
+      case DATE:
+      case DATE_TIME:
+      case TIME:
+        break;
+      default:
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public void initialize(GenericJdbcExecutor executor, LoaderContext context, int rowsPerBatch) {
+    this.executor = executor;
+    tableName = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_TABLE);
+    columns = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_COLUMNS);
+    schemaColumns = context.getSchema().getColumnsArray();
+  }
+
+  @Override
+  public void write(RowBatch batch, int row) {
+    data.setLength(0);
+    for (int i = 0; i < schemaColumns.length; i++) {
+      if (i > 0) {
+        data.append(',');
+      }
+      if (batch.isNull(i, row)) {
+        data.append(getNullValue());
+        continue;
+      }
+      switch (batch.getVectorType(i)) {
+      case LONG:
+        data.append(batch.getLong(i, row));
+        break;
+      case DOUBLE:
+        double value = batch.getDouble(i, row);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+          data.append(getNonFiniteValue(schemaColumns[i], value));
+        } else {
+          data.append(value);
+        }
+        break;
+      case BOOLEAN:
+        data.append(batch.getBoolean(i, row) ? '1' : '0');
+        break;
+      default:
+        appendQuoted(toText(batch.getObject(i, row)));
+      }
+    }
+    data.append('\n');
+
+    try {
+      if (rows == null) {
+        loadRows = 0;
+        rows = new OutputStreamWriter(startLoad(), StandardCharsets.UTF_8);
+      }
+      rows.append(data);
+      loadRows++;
+    } catch (SqoopException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0002, e);
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (rows == null) {
+      return;
+    }
+    try {
+      rows.close();
+    } catch (IOException e) {
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0002, e);
+    } finally {
+      rows = null;
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (rows != null) {
+      rows = null;
+      try {
+        abortLoad();
+      } catch (Exception e) {
+        LOG.warn("Can't abort the running load", e);
+      }
+    }
+  }
+
+  /**
+   * Text standing for a null value, written without quotes.
+   */
+  protected abstract String getNullValue();
+
+  /**
+   * Text standing for NaN or an infinite value of the given column.
+   */
+  protected String getNonFiniteValue(Column column, double value) {
+    return Double.toString(value);
+  }
+
+  /**
+   * Start loading rows into the table. The UTF-8 encoded CSV rows are written
+   * to the returned stream as they arrive, and closing it completes the load.
+   */
+  protected abstract OutputStream startLoad() throws Exception;
+
+  /**
+   * Give up the running load after a failure.
+   */
+  protected abstract void abortLoad() throws Exception;
+
+  /**
+   * Get the number of rows written into the running load.
+   */
+  protected long getLoadRows() {
+    return loadRows;
+  }
+
+  /**
+   * Find the class of the given name among the classes of the JDBC driver.
+   */
+  protected Class<?> getDriverClass(String... names) {
+    ClassLoader loader = executor.getConnection().getClass().getClassLoader();
+    for (String name : names) {
+      try {
+        return Class.forName(name, true, loader);
+      } catch (ClassNotFoundException e) {
+        // Try the next name
+      }
+    }
+    throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0026, names[0]);
+  }
+
+  /**
+   * Get the exception thrown by a driver method called by reflection.
+   */
+  protected static Exception unwrap(InvocationTargetException e) {
+    return e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+  }
+
+  private void appendQuoted(String value) {
+    data.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"') {
+        data.append('"');
+      }
+      data.append(c);
+    }
+    data.append('"');
+  }
+
+  private static String toText(Object value) {
+    if (value instanceof LocalDateTime) {
+      return ((LocalDateTime) value).toString(DATE_TIME_PATTERN);
+    }
+    if (value instanceof DateTime) {
+      return ((DateTime) value).withZone(DateTimeZone.getDefault()).toString(DATE_TIME_PATTERN);
+    }
+    if (value instanceof LocalDate || value instanceof LocalTime) {
+      return value.toString();
+    }
+    if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).toPlainString();
+    }
+    return value.toString();
+  }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.bulk;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.jdbc.GenericJdbcConnectorConstants;
+import org.apache.sqoop.connector.jdbc.GenericJdbcExecutor;
+import org.apache.sqoop.error.code.GenericJdbcConnectorError;
+import org.apache.sqoop.etl.io.RowBatch;
+import org.apache.sqoop.job.etl.LoaderContext;
+
+/**
+ * Writes rows with INSERT statements holding one VALUES tuple per row, which
+ * most databases parse and execute faster than the same rows sent as a JDBC
+ * batch of single row statements.
+ */
+@edu.umd.cs.findbugs.annotations.SuppressWarnings("SQL_PREPARED_STATEMENT_GENERATED_FROM_NONCONSTANT_STRING")
+public class MultiRowInsertWriter extends BulkWriter {
+
+  private static final Logger LOG = Logger.getLogger(MultiRowInsertWriter.class);
+
+  // Most parameters the drivers can bind in one statement
+  private static final int POSTGRESQL_MAX_PARAMETERS = 32767;
+  private static final int MYSQL_MAX_PARAMETERS = 65535;
+  // SQL Server accepts fewer than 2100 parameters per request
+  private static final int SQLSERVER_MAX_PARAMETERS = 2099;
+
+  private GenericJdbcExecutor executor;
+  private String tableName;
+  private String columns;
+  private int numberOfColumns;
+  private PreparedStatement statement;
+  // Rows are kept until a statement of all of them is executed
+  private RowBatch pendingRows;
+  private Object[] row;
+
+  @Override
+  public void initialize(GenericJdbcExecutor executor, LoaderContext context, int rowsPerBatch) {
+    this.executor = executor;
+    tableName = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_TABLE);
+    columns = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_COLUMNS);
+    numberOfColumns = context.getSchema().getColumnsCount();
+    int rowsPerStatement = getRowsPerStatement(getDatabaseProduct(), rowsPerBatch, numberOfColumns);
+    if (rowsPerStatement < rowsPerBatch) {
+      LOG.info("Inserting " + rowsPerStatement + " rows per statement to stay within the parameter limit");
+    }
+    pendingRows = new RowBatch(context.getSchema(), rowsPerStatement);
+    row = new Object[numberOfColumns];
+    statement = prepareStatement(rowsPerStatement);
+  }
+
+  @Override
+  public void write(RowBatch batch, int row) {
+    pendingRows.addRow(batch.getRow(row, this.row));
+    if (pendingRows.isFull()) {
+      execute(statement);
+    }
+  }
+
+  @Override
+  public void flush() {
+    if (!pendingRows.isEmpty()) {
+      PreparedStatement remainder = prepareStatement(pendingRows.size());
+      try {
+        execute(remainder);
+      } finally {
+        close(remainder);
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (statement != null) {
+      close(statement);
+    }
+  }
+
+  /**
+   * Get the number of rows of one statement, capped so that their parameters
+   * don't exceed the limit of the database.
+   *
+   * @param product Database product name, null if unknown
+   * @param rowsPerBatch Configured number of rows
+   * @param numberOfColumns Number of parameters per row
+   */
+  static int getRowsPerStatement(String product, int rowsPerBatch, int numberOfColumns) {
+    int maxParameters;
+    if ("PostgreSQL".equals(product)) {
+      maxParameters = POSTGRESQL_MAX_PARAMETERS;
+    } else if ("MySQL".equals(product)) {
+      maxParameters = MYSQL_MAX_PARAMETERS;
+    } else if ("Microsoft SQL Server".equals(product)) {
+      maxParameters = SQLSERVER_MAX_PARAMETERS;
+    } else {
+      return rowsPerBatch;
+    }
+    return Math.max(1, Math.min(rowsPerBatch, maxParameters / Math.max(1, numberOfColumns)));
+  }
+
+  private String getDatabaseProduct() {
+    try {
+      return executor.getConnection().getMetaData().getDatabaseProductName();
+    } catch (SQLException e) {
+      LOG.warn("Can't get the database product name, not limiting the rows per statement", e);
+      return null;
+    }
+  }
+
+  private PreparedStatement prepareStatement(int numberOfRows) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("INSERT INTO ").append(tableName);
+    if (columns != null) {
+      sb.append(" (").append(columns).append(")");
+    }
+    sb.append(" VALUES ");
+    for (int i = 0; i < numberOfRows; i++) {
+      sb.append(i == 0 ? "(" : ", (");
+      for (int j = 0; j < numberOfColumns; j++) {
+        sb.append(j == 0 ? "?" : ",?");
+      }
+      sb.append(")");
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Preparing INSERT statement of " + numberOfRows + " rows");
+    }
+    try {
+      return executor.getConnection().prepareStatement(sb.toString());
+    } catch (SQLException e) {
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0002, e);
+    }
+  }
+
+  private void execute(PreparedStatement statement) {
+    try {
+      for (int i = 0; i < pendingRows.size(); i++) {
+        executor.bindRow(statement, i * numberOfColumns, pendingRows, i);
+      }
+      statement.executeUpdate();
+      pendingRows.reset();
+    } catch (SQLException e) {
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0002, e);
+    }
+  }
+
+  private void close(PreparedStatement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      LOG.warn("Can't close INSERT statement", e);
+    }
+  }
+}
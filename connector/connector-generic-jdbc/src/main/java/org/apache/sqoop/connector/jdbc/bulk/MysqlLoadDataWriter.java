@@ -0,0 +1,273 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.bulk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.jdbc.GenericJdbcExecutor;
+import org.apache.sqoop.error.code.GenericJdbcConnectorError;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.ColumnType;
+
+/**
+ * Writes rows with MySQL LOAD DATA LOCAL INFILE, handing the driver a pipe
+ * instead of a file. The statement runs in a thread of its own, which reads
+ * the rows from the pipe as they are written. Connector/J is accessed by
+ * reflection, so that the connector doesn't depend on it.
+ * <p>
+ * LOCAL makes MySQL skip the rows it rejects with a warning instead of
+ * failing, so a load fails on any warning, and when fewer rows were loaded
+ * than written.
+ */
+@edu.umd.cs.findbugs.annotations.SuppressWarnings("SQL_NONCONSTANT_STRING_PASSED_TO_EXECUTE")
+public class MysqlLoadDataWriter extends CsvBulkWriter {
+
+  private static final int PIPE_SIZE = 64 * 1024;
+
+  private Class<?> mysqlStatementClass;
+  private Method setLocalInfileInputStream;
+  private String loadSql;
+  private ExecutorService loadService;
+  // Pipe and statement of the running load
+  private PipedInputStream pipe;
+  private Future<Long> load;
+
+  @Override
+  public void initialize(GenericJdbcExecutor executor, LoaderContext context, int rowsPerBatch) {
+    super.initialize(executor, context, rowsPerBatch);
+    initializeDriver();
+
+    Column[] schemaColumns = context.getSchema().getColumnsArray();
+    String[] columnNames = null;
+    for (Column column : schemaColumns) {
+      if (column.getType() == ColumnType.BIT && columnNames == null) {
+        columnNames = columns != null ? columns.split(",\\s*")
+            : executor.getQueryColumns("SELECT * FROM " + tableName + " WHERE 1 = 0");
+      }
+    }
+    loadSql = getLoadSql(tableName, columns, schemaColumns, columnNames);
+
+    loadService = Executors.newSingleThreadExecutor(new ThreadFactory() {
+      @Override
+      public Thread newThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "MySQL LOAD DATA");
+        thread.setDaemon(true);
+        return thread;
+      }
+    });
+  }
+
+  /**
+   * Look up the statement methods of Connector/J.
+   */
+  protected void initializeDriver() {
+    // Connector/J 5 and 8 respectively
+    mysqlStatementClass = getDriverClass("com.mysql.jdbc.Statement", "com.mysql.cj.jdbc.JdbcStatement");
+    try {
+      setLocalInfileInputStream = mysqlStatementClass.getMethod("setLocalInfileInputStream", InputStream.class);
+    } catch (NoSuchMethodException e) {
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0026, "MySQL LOAD DATA", e);
+    }
+  }
+
+  /**
+   * Build the LOAD DATA statement. The '0' and '1' written for BIT columns
+   * would be loaded as characters, so they are read into user variables
+   * and converted to numbers, which needs the names of all the columns.
+   */
+  static String getLoadSql(String tableName, String columns, Column[] schemaColumns, String[] columnNames) {
+    StringBuilder sb = new StringBuilder();
+    sb.append("LOAD DATA LOCAL INFILE 'sqoop.csv' INTO TABLE ").append(tableName);
+    sb.append(" CHARACTER SET utf8mb4");
+    sb.append(" FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''");
+    sb.append(" LINES TERMINATED BY '\\n'");
+    if (columnNames == null) {
+      if (columns != null) {
+        sb.append(" (").append(columns).append(")");
+      }
+      return sb.toString();
+    }
+
+    StringBuilder set = new StringBuilder();
+    sb.append(" (");
+    for (int i = 0; i < columnNames.length; i++) {
+      if (i > 0) {
+        sb.append(", ");
+      }
+      if (i < schemaColumns.length && schemaColumns[i].getType() == ColumnType.BIT) {
+        sb.append("@bit").append(i);
+        set.append(set.length() == 0 ? " SET " : ", ");
+        set.append(columnNames[i]).append(" = CAST(@bit").append(i).append(" AS UNSIGNED)");
+      } else {
+        sb.append(columnNames[i]);
+      }
+    }
+    sb.append(")").append(set);
+    return sb.toString();
+  }
+
+  @Override
+  protected String getNullValue() {
+    // Read as NULL when not enclosed in quotes
+    return "NULL";
+  }
+
+  @Override
+  protected String getNonFiniteValue(Column column, double value) {
+    // Rejected by MySQL whichever way they are written
+    throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0027,
+        value + " in column " + column.getName());
+  }
+
+  @Override
+  protected OutputStream startLoad() throws IOException {
+    final PipedInputStream rows = new PipedInputStream(PIPE_SIZE);
+    final PipedOutputStream out = new PipedOutputStream(rows);
+    pipe = rows;
+    load = loadService.submit(new Callable<Long>() {
+      @Override
+      public Long call() throws Exception {
+        try {
+          return load(rows);
+        } finally {
+          // Fails the writes of the rows not read
+          rows.close();
+        }
+      }
+    });
+
+    return new OutputStream() {
+      @Override
+      public void write(int b) throws IOException {
+        try {
+          out.write(b);
+        } catch (IOException e) {
+          throw getFailure(e);
+        }
+      }
+
+      @Override
+      public void write(byte[] b, int off, int len) throws IOException {
+        try {
+          out.write(b, off, len);
+        } catch (IOException e) {
+          throw getFailure(e);
+        }
+      }
+
+      @Override
+      public void close() throws IOException {
+        out.close();
+        long loaded = awaitLoad();
+        if (loaded != getLoadRows()) {
+          throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0028,
+              loaded + " of " + getLoadRows() + " rows were loaded");
+        }
+      }
+    };
+  }
+
+  @Override
+  protected void abortLoad() throws Exception {
+    // The statement fails reading the closed pipe
+    pipe.close();
+    try {
+      awaitLoad();
+    } catch (IOException | SqoopException e) {
+      // Expected
+    }
+  }
+
+  @Override
+  public void destroy() {
+    super.destroy();
+    if (loadService != null) {
+      loadService.shutdownNow();
+    }
+  }
+
+  /**
+   * Run one LOAD DATA statement reading the UTF-8 encoded CSV rows of the
+   * given stream until its end, and get the number of rows loaded.
+   */
+  protected long load(InputStream rows) throws Exception {
+    try (Statement statement = executor.createStatement()) {
+      Object mysqlStatement = statement.unwrap(mysqlStatementClass);
+      setLocalInfileInputStream.invoke(mysqlStatement, rows);
+      statement.execute(loadSql);
+      return getLoadedRows(statement);
+    } catch (InvocationTargetException e) {
+      throw unwrap(e);
+    }
+  }
+
+  /**
+   * Get the number of rows loaded by a completed LOAD DATA statement,
+   * failing on the warnings of the rows it skipped.
+   */
+  static long getLoadedRows(Statement statement) throws SQLException {
+    SQLWarning warning = statement.getWarnings();
+    if (warning != null) {
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0028, warning.getMessage(), warning);
+    }
+    return statement.getUpdateCount();
+  }
+
+  private long awaitLoad() throws IOException {
+    try {
+      return load.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof SqoopException) {
+        throw (SqoopException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /**
+   * Get the failure of the statement that closed the pipe, if any.
+   */
+  private IOException getFailure(IOException e) {
+    if (load.isDone()) {
+      try {
+        awaitLoad();
+      } catch (IOException failure) {
+        return failure;
+      }
+    }
+    return e;
+  }
+}
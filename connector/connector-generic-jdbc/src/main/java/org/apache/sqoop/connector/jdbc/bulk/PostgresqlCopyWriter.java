@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.bulk;
+
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.sql.Connection;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.jdbc.GenericJdbcExecutor;
+import org.apache.sqoop.error.code.GenericJdbcConnectorError;
+import org.apache.sqoop.job.etl.LoaderContext;
+
+/**
+ * Writes rows with PostgreSQL COPY FROM STDIN, sending them through the copy
+ * stream of the driver as they arrive. The copy API of the driver is looked up
+ * by reflection, so that the connector doesn't depend on it.
+ */
+public class PostgresqlCopyWriter extends CsvBulkWriter {
+
+  private Object pgConnection;
+  private Constructor<?> copyStreamConstructor;
+  private String copySql;
+  // Copy stream of the running load
+  private OutputStream copyStream;
+
+  @Override
+  public void initialize(GenericJdbcExecutor executor, LoaderContext context, int rowsPerBatch) {
+    super.initialize(executor, context, rowsPerBatch);
+    try {
+      Class<?> pgConnectionClass = getDriverClass("org.postgresql.PGConnection");
+      Class<?> copyStreamClass = getDriverClass("org.postgresql.copy.PGCopyOutputStream");
+      Connection connection = executor.getConnection();
+      pgConnection = connection.unwrap(pgConnectionClass);
+      copyStreamConstructor = copyStreamClass.getConstructor(pgConnectionClass, String.class);
+    } catch (SqoopException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new SqoopException(GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0026, "PostgreSQL COPY", e);
+    }
+
+    StringBuilder sb = new StringBuilder();
+    sb.append("COPY ").append(tableName);
+    if (columns != null) {
+      sb.append(" (").append(columns).append(")");
+    }
+    sb.append(" FROM STDIN WITH (FORMAT csv)");
+    copySql = sb.toString();
+  }
+
+  @Override
+  protected String getNullValue() {
+    // Unquoted empty field, while empty strings are quoted
+    return "";
+  }
+
+  @Override
+  protected OutputStream startLoad() throws Exception {
+    try {
+      copyStream = (OutputStream) copyStreamConstructor.newInstance(pgConnection, copySql);
+    } catch (InvocationTargetException e) {
+      throw unwrap(e);
+    }
+    return copyStream;
+  }
+
+  @Override
+  protected void abortLoad() throws Exception {
+    try {
+      copyStream.getClass().getMethod("cancelCopy").invoke(copyStream);
+    } catch (InvocationTargetException e) {
+      throw unwrap(e);
+    }
+  }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.configuration;
+
+/**
+ * How the loader writes rows into the database.
+ */
+public enum BulkLoadMode {
+  /**
+   * Batches of parameterized single row INSERT statements.
+   */
+  BATCH,
+
+  /**
+   * Parameterized INSERT statements with one VALUES tuple per row of a batch.
+   */
+  MULTI_ROW_INSERT,
+
+  /**
+   * PostgreSQL COPY FROM STDIN in CSV format.
+   */
+  POSTGRESQL_COPY,
+
+  /**
+   * MySQL LOAD DATA LOCAL INFILE streamed from memory. Needs local_infile on
+   * the server and allowLoadLocalInfile on the connection.
+   */
+  MYSQL_LOAD_DATA,
+
+  /**
+   * The bulk protocol of the database when there is one, BATCH otherwise.
+   */
+  AUTO,
+}
@@ -53,6 +53,12 @@ public class FromJobConfig implements Serializable{
   @Input(size = 50)
   public String boundaryQuery;
 
+  @Input
+  public PartitioningMode partitioningMode;
+
+  @Input
+  public Integer partitionSampleSize;
+
   public FromJobConfig() {
     columnList = new LinkedList<>();
   }
@@ -75,6 +81,12 @@ public void validate(FromJobConfig config) {
       if(config.sql != null && (config.columnList != null && !config.columnList.isEmpty())) {
         addMessage(Status.ERROR, "Can't use sql import and specify columnList at the same time");
       }
+      if (config.partitionSampleSize != null && config.partitionSampleSize < 2) {
+        addMessage(Status.ERROR, "Partition sample size should be at least 2");
+      }
+      if (config.partitionSampleSize != null && config.partitioningMode != PartitioningMode.EQUI_DEPTH) {
+        addMessage(Status.ERROR, "Partition sample size can only be used with " + PartitioningMode.EQUI_DEPTH + " partitioning");
+      }
     }
   }
 }
@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.configuration;
+
+/**
+ * How the range of the partition column is split into partitions.
+ */
+public enum PartitioningMode {
+  /**
+   * Ranges of equal width between the minimal and maximal values.
+   */
+  EQUAL_WIDTH,
+
+  /**
+   * Ranges holding about the same number of rows, bounded by quantiles of
+   * the partition column taken from the database statistics or a sample.
+   */
+  EQUI_DEPTH,
+}
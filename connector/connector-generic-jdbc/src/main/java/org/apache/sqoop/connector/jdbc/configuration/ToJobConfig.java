@@ -45,6 +45,12 @@ public class ToJobConfig {
   @Input
   public Boolean shouldClearStageTable;
 
+  @Input
+  public Integer writerConnections;
+
+  @Input
+  public BulkLoadMode bulkLoadMode;
+
   public ToJobConfig() {
     columnList = new LinkedList<>();
   }
@@ -56,6 +62,9 @@ public void validate(ToJobConfig config) {
         addMessage(Status.ERROR,
             "Should Clear stage table cannot be specified without specifying the name of the stage table.");
       }
+      if (config.writerConnections != null && config.writerConnections < 1) {
+        addMessage(Status.ERROR, "Number of writer connections must be at least 1.");
+      }
     }
   }
 }
@@ -27,13 +27,24 @@
 import org.apache.sqoop.schema.type.Time;
 import org.apache.sqoop.schema.type.Unknown;
 
+import java.math.BigDecimal;
+import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.Comparator;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Utility class to work with SQL types.
  */
 public class SqlTypesUtils {
 
+  // Date, time, and optional UTC offset of the text of a timestamp
+  private static final Pattern TIMESTAMP_OFFSET = Pattern.compile(
+      "(\\d+-\\d+-\\d+)[ T](\\d+:\\d+:\\d+(?:\\.\\d+)?)\\s*(?:([+-])(\\d{2}):?(\\d{2})?:?(\\d{2})?|(Z))?");
+
   /**
    * Convert given java.sql.Types number into internal data type.
    *
@@ -97,6 +108,114 @@ public static Column sqlTypeToSchemaType(int sqlType, String columnName, int pre
     }
   }
 
+  /**
+   * Return comparator ordering the string representation of values of given
+   * java.sql.Types number, as returned by ResultSet.getString, or null if
+   * values of the type aren't ordered by their numeric or temporal value.
+   *
+   * @param sqlType java.sql.Types constant
+   *
+   * @return Comparator of values or null
+   */
+  public static Comparator<String> getValueComparator(int sqlType) {
+    switch (sqlType) {
+      case Types.TINYINT:
+      case Types.SMALLINT:
+      case Types.INTEGER:
+      case Types.BIGINT:
+        return new Comparator<String>() {
+          @Override
+          public int compare(String a, String b) {
+            return Long.compare(Long.parseLong(a), Long.parseLong(b));
+          }
+        };
+
+      case Types.REAL:
+      case Types.FLOAT:
+      case Types.DOUBLE:
+        return new Comparator<String>() {
+          @Override
+          public int compare(String a, String b) {
+            return Double.compare(Double.parseDouble(a), Double.parseDouble(b));
+          }
+        };
+
+      case Types.NUMERIC:
+      case Types.DECIMAL:
+        return new Comparator<String>() {
+          @Override
+          public int compare(String a, String b) {
+            return new BigDecimal(a).compareTo(new BigDecimal(b));
+          }
+        };
+
+      case Types.DATE:
+        return new Comparator<String>() {
+          @Override
+          public int compare(String a, String b) {
+            return java.sql.Date.valueOf(a).compareTo(java.sql.Date.valueOf(b));
+          }
+        };
+
+      case Types.TIME:
+        return new Comparator<String>() {
+          @Override
+          public int compare(String a, String b) {
+            return java.sql.Time.valueOf(a).compareTo(java.sql.Time.valueOf(b));
+          }
+        };
+
+      case Types.TIMESTAMP:
+        return new Comparator<String>() {
+          @Override
+          public int compare(String a, String b) {
+            return parseTimestamp(a).compareTo(parseTimestamp(b));
+          }
+        };
+
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * Parses the text of a timestamp, as in the JDBC escape format, optionally
+   * with 'T' between the date and the time and followed by a UTC offset such
+   * as the "+00" or "+05:30" PostgreSQL appends to timestamps with time zone.
+   * Timestamps with an offset are converted to the local time zone.
+   *
+   * @throws IllegalArgumentException if the text isn't a timestamp
+   */
+  static Timestamp parseTimestamp(String text) {
+    Matcher matcher = TIMESTAMP_OFFSET.matcher(text.trim());
+    if (!matcher.matches()) {
+      throw new IllegalArgumentException("Timestamp format must be yyyy-mm-dd hh:mm:ss[.fffffffff][+hh[:mm]]: "
+          + text);
+    }
+    Timestamp timestamp = Timestamp.valueOf(matcher.group(1) + " " + matcher.group(2));
+    if (matcher.group(3) == null && matcher.group(7) == null) {
+      return timestamp;
+    }
+    long offsetMillis = 0;
+    if (matcher.group(3) != null) {
+      offsetMillis = TimeUnit.HOURS.toMillis(Integer.parseInt(matcher.group(4)));
+      if (matcher.group(5) != null) {
+        offsetMillis += TimeUnit.MINUTES.toMillis(Integer.parseInt(matcher.group(5)));
+      }
+      if (matcher.group(6) != null) {
+        offsetMillis += TimeUnit.SECONDS.toMillis(Integer.parseInt(matcher.group(6)));
+      }
+      if ("-".equals(matcher.group(3))) {
+        offsetMillis = -offsetMillis;
+      }
+    }
+    // valueOf read the date and time in the local time zone
+    long localOffsetMillis = TimeZone.getDefault().getOffset(timestamp.getTime());
+    Timestamp converted = new Timestamp(timestamp.getTime() + localOffsetMillis - offsetMillis);
+    converted.setNanos(timestamp.getNanos());
+    return converted;
+  }
+
   private SqlTypesUtils() {
     // Instantiation is prohibited
   }
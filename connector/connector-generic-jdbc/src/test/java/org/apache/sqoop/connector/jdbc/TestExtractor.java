@@ -16,6 +16,11 @@
 package org.apache.sqoop.connector.jdbc;
 
 import static org.testng.Assert.assertNull;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
 import org.apache.sqoop.common.MutableContext;
 import org.apache.sqoop.common.MutableMapContext;
 import org.apache.sqoop.common.SqoopException;
@@ -25,11 +30,18 @@
 import org.apache.sqoop.job.etl.Extractor;
 import org.apache.sqoop.job.etl.ExtractorContext;
 import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Binary;
+import org.apache.sqoop.schema.type.Bit;
 import org.apache.sqoop.schema.type.Date;
+import org.apache.sqoop.schema.type.DateTime;
 import org.apache.sqoop.schema.type.Decimal;
 import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
 import org.apache.sqoop.schema.type.Text;
+import org.apache.sqoop.schema.type.Time;
 import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -223,6 +235,85 @@ public void testNullValueExtracted() throws Exception {
 
   }
 
+  @Test
+  public void testTypedColumnsExtracted() throws Exception {
+    String typedTableName = getClass().getSimpleName().toUpperCase() + "TYPED";
+    if (!executor.existTable(typedTableName)) {
+      executor.executeUpdate("CREATE TABLE " + executor.encloseIdentifier(typedTableName)
+          + "(ICOL INTEGER PRIMARY KEY, LCOL BIGINT, DCOL DOUBLE, BCOL BOOLEAN, NCOL DECIMAL(5,2),"
+          + " TSCOL TIMESTAMP, TCOL TIME, BINCOL VARCHAR(4) FOR BIT DATA, VCOL VARCHAR(20),"
+          + " UCOL DECIMAL(20,0), USCOL DECIMAL(20,0))");
+      executor.executeUpdate("INSERT INTO " + executor.encloseIdentifier(typedTableName)
+          + " VALUES(1, 5000000000, 1.5, true, 12.34, '2004-10-19 10:23:54', '10:23:54',"
+          + " X'01FF', 'text', 18446744073709551615, 42)");
+      executor.executeUpdate("INSERT INTO " + executor.encloseIdentifier(typedTableName)
+          + " VALUES(2, null, null, null, null, null, null, null, null, null, null)");
+    }
+    MutableContext context = new MutableMapContext();
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+
+    linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
+    linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
+
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+    context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_FROM_DATA_SQL,
+        "SELECT * FROM " + executor.encloseIdentifier(typedTableName) + " WHERE ${CONDITIONS}"
+        + " ORDER BY ICOL");
+
+    Extractor extractor = new GenericJdbcExtractor();
+    final List<Object[]> rows = new ArrayList<Object[]>();
+    DataWriter writer = new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        rows.add(array.clone());
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+        fail("This method should not be invoked.");
+      }
+
+      @Override
+      public void writeRecord(Object content) {
+        fail("This method should not be invoked.");
+      }
+    };
+    Schema schema = new Schema("TestExtractor");
+    schema.addColumn(new FixedPoint("c1", 4L, true)).addColumn(new FixedPoint("c2", 8L, true))
+        .addColumn(new FloatingPoint("c3", 8L)).addColumn(new Bit("c4"))
+        .addColumn(new Decimal("c5", 5, 2)).addColumn(new DateTime("c6", true, false))
+        .addColumn(new Time("c7", true)).addColumn(new Binary("c8")).addColumn(new Text("c9"))
+        .addColumn(new FixedPoint("c10", 8L, false)).addColumn(new FixedPoint("c11", 8L, false));
+
+    ExtractorContext extractorContext = new ExtractorContext(context, writer, schema, "test_user");
+
+    GenericJdbcPartition partition = new GenericJdbcPartition();
+    partition.setConditions("1 = 1");
+    extractor.extract(extractorContext, linkConfig, jobConfig, partition);
+
+    assertEquals(rows.size(), 2);
+    Object[] row = rows.get(0);
+    assertEquals(row[0], 1);
+    assertEquals(row[1], 5000000000L);
+    assertEquals(row[2], 1.5d);
+    assertEquals(row[3], true);
+    assertEquals(row[4], new BigDecimal("12.34"));
+    assertEquals(row[5], new LocalDateTime(2004, 10, 19, 10, 23, 54));
+    assertEquals(row[6], new LocalTime(10, 23, 54));
+    assertEquals((byte[]) row[7], new byte[] { 1, (byte) 0xFF });
+    assertEquals(row[8], "text");
+    // unsigned 64 bit values beyond the long range do not overflow
+    assertEquals(row[9], new BigDecimal("18446744073709551615"));
+    assertEquals(row[10], 42L);
+
+    row = rows.get(1);
+    assertEquals(row[0], 2);
+    for (int i = 1; i < row.length; i++) {
+      assertNull(row[i]);
+    }
+  }
+
   public class DummyWriter extends DataWriter {
     int indx = START;
 
@@ -16,6 +16,8 @@
 package org.apache.sqoop.connector.jdbc;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 import java.sql.Types;
 import java.util.LinkedList;
@@ -26,6 +28,7 @@
 import org.apache.sqoop.common.MutableMapContext;
 import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.jdbc.configuration.PartitioningMode;
 import org.apache.sqoop.job.Constants;
 import org.apache.sqoop.job.etl.Initializer;
 import org.apache.sqoop.job.etl.InitializerContext;
@@ -144,6 +147,97 @@ public void testTableName() throws Exception {
         String.valueOf(START+NUMBER_OF_ROWS-1));
   }
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testTableNameEquiDepth() throws Exception {
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
+    linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
+    jobConfig.fromJobConfig.tableName = schemalessTableName;
+    jobConfig.fromJobConfig.partitioningMode = PartitioningMode.EQUI_DEPTH;
+
+    MutableContext context = new MutableMapContext();
+    InitializerContext initializerContext = new InitializerContext(context, testUser);
+
+    @SuppressWarnings("rawtypes")
+    Initializer initializer = new GenericJdbcFromInitializer();
+    initializer.initialize(initializerContext, linkConfig, jobConfig);
+
+    // The whole column fits in the default sample
+    List<String> values = new LinkedList<>();
+    for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+      values.add(String.valueOf(START + i));
+    }
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_SAMPLE),
+        StringUtils.join(values, ','));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testTableNameEquiDepthWithSmallSample() throws Exception {
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
+    linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
+    jobConfig.fromJobConfig.tableName = schemalessTableName;
+    jobConfig.fromJobConfig.partitioningMode = PartitioningMode.EQUI_DEPTH;
+    jobConfig.fromJobConfig.partitionSampleSize = 2;
+
+    MutableContext context = new MutableMapContext();
+    InitializerContext initializerContext = new InitializerContext(context, testUser);
+
+    @SuppressWarnings("rawtypes")
+    Initializer initializer = new GenericJdbcFromInitializer();
+    initializer.initialize(initializerContext, linkConfig, jobConfig);
+
+    // The sample holds values of the column
+    String[] sample = context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_SAMPLE).split(",");
+    assertEquals(sample.length, 2);
+    for (String value : sample) {
+      int intValue = Integer.parseInt(value);
+      assertTrue(intValue >= START && intValue < START + NUMBER_OF_ROWS);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testTableNameEquiDepthLargerThanSampleScan() throws Exception {
+    // Values inserted in order, more than the 200 rows read for a sample of 2
+    String clusteredTableName = getClass().getSimpleName().toUpperCase() + "CLUSTERED";
+    if (!executor.existTable(clusteredTableName)) {
+      executor.executeUpdate("CREATE TABLE " + executor.encloseIdentifier(clusteredTableName)
+          + "(ICOL INTEGER PRIMARY KEY)");
+      for (int i = 0; i < 300; i++) {
+        executor.executeUpdate("INSERT INTO " + executor.encloseIdentifier(clusteredTableName)
+            + " VALUES(" + i + ")");
+      }
+    }
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
+    linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
+    jobConfig.fromJobConfig.tableName = clusteredTableName;
+    jobConfig.fromJobConfig.partitioningMode = PartitioningMode.EQUI_DEPTH;
+    jobConfig.fromJobConfig.partitionSampleSize = 2;
+
+    MutableContext context = new MutableMapContext();
+    InitializerContext initializerContext = new InitializerContext(context, testUser);
+
+    @SuppressWarnings("rawtypes")
+    Initializer initializer = new GenericJdbcFromInitializer();
+    initializer.initialize(initializerContext, linkConfig, jobConfig);
+
+    // A sample of the first rows would be skewed, equal width ranges are used
+    assertNull(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_SAMPLE));
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_MINVALUE), "0");
+    assertEquals(context.getString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_PARTITION_MAXVALUE), "299");
+  }
+
   @Test
   @SuppressWarnings("unchecked")
   public void testIncrementalTableNameFullRange() throws Exception {
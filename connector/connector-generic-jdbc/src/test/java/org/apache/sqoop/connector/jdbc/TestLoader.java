@@ -20,6 +20,7 @@
 
 import org.apache.sqoop.common.MutableContext;
 import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.connector.jdbc.configuration.BulkLoadMode;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.jdbc.configuration.ToJobConfiguration;
 import org.apache.sqoop.etl.io.DataReader;
@@ -83,9 +84,36 @@ public void tearDown() {
     executor.close();
   }
 
-  @SuppressWarnings({ "rawtypes", "unchecked" })
   @Test
   public void testInsert() throws Exception {
+    insertAndVerify(new ToJobConfiguration());
+  }
+
+  @Test
+  public void testInsertWithWriterConnections() throws Exception {
+    ToJobConfiguration jobConfig = new ToJobConfiguration();
+    jobConfig.toJobConfig.writerConnections = 3;
+    insertAndVerify(jobConfig);
+  }
+
+  @Test
+  public void testInsertWithMultiRowInsert() throws Exception {
+    ToJobConfiguration jobConfig = new ToJobConfiguration();
+    jobConfig.toJobConfig.bulkLoadMode = BulkLoadMode.MULTI_ROW_INSERT;
+    insertAndVerify(jobConfig);
+  }
+
+  @Test
+  public void testInsertWithAutoBulkLoadMode() throws Exception {
+    // Derby has no bulk protocol, so INSERT batches are used
+    ToJobConfiguration jobConfig = new ToJobConfiguration();
+    jobConfig.toJobConfig.bulkLoadMode = BulkLoadMode.AUTO;
+    jobConfig.toJobConfig.writerConnections = 2;
+    insertAndVerify(jobConfig);
+  }
+
+  @SuppressWarnings({ "rawtypes", "unchecked" })
+  private void insertAndVerify(ToJobConfiguration jobConfig) throws Exception {
     MutableContext context = new MutableMapContext();
 
     LinkConfiguration linkConfig = new LinkConfiguration();
@@ -93,10 +121,9 @@ public void testInsert() throws Exception {
     linkConfig.linkConfig.jdbcDriver = GenericJdbcTestConstants.DRIVER;
     linkConfig.linkConfig.connectionString = GenericJdbcTestConstants.URL;
 
-    ToJobConfiguration jobConfig = new ToJobConfiguration();
-
     context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_DATA_SQL,
         "INSERT INTO " + executor.encloseIdentifier(tableName) + " VALUES (?,?,?,?,?,?,?)");
+    context.setString(GenericJdbcConnectorConstants.CONNECTOR_JDBC_TO_TABLE, executor.encloseIdentifier(tableName));
 
 
     Loader loader = new GenericJdbcLoader();
@@ -107,6 +134,7 @@ public void testInsert() throws Exception {
         .addColumn(new DateTime("c5", false, false)).addColumn(new Time("c6", false)).addColumn(new DateTime("c7", false, false));
     LoaderContext loaderContext = new LoaderContext(context, reader, schema, "test_user");
     loader.load(loaderContext, linkConfig, jobConfig);
+    assertEquals(loader.getRowsWritten(), numberOfRows);
 
     int index = START;
     try (Statement statement = executor.createStatement();
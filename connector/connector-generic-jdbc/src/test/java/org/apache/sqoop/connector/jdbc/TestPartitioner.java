@@ -16,12 +16,14 @@
 package org.apache.sqoop.connector.jdbc;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.math.BigDecimal;
 import java.sql.Date;
 import java.sql.Time;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 
@@ -29,6 +31,7 @@
 import org.apache.sqoop.common.MutableMapContext;
 import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.jdbc.util.SqlTypesUtils;
 import org.apache.sqoop.job.etl.Partition;
 import org.apache.sqoop.job.etl.Partitioner;
 import org.apache.sqoop.job.etl.PartitionerContext;
@@ -507,6 +510,107 @@ public void testPartitionWithNullValues() throws Exception {
 
   }*/
 
+  @Test
+  public void testIntegerSampledPartition() throws Exception {
+    MutableContext context = new MutableMapContext();
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_COLUMNNAME, "ICOL");
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_COLUMNTYPE, String.valueOf(Types.INTEGER));
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_MINVALUE, "1");
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_MAXVALUE, "1000");
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_SAMPLE, "1,1,1,1,2,2,3,5,100,1000");
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    Partitioner partitioner = new GenericJdbcPartitioner();
+    PartitionerContext partitionerContext = new PartitionerContext(context, 4, null, "test_user");
+    List<Partition> partitions = partitioner.getPartitions(partitionerContext, linkConfig, jobConfig);
+
+    // The repeated minimum can't be split any further
+    verifyResult(partitions, new String[] {
+        "1 <= ICOL AND ICOL < 2",
+        "2 <= ICOL AND ICOL < 5",
+        "5 <= ICOL AND ICOL <= 1000"
+    });
+  }
+
+  @Test
+  public void testTimestampSampledPartition() throws Exception {
+    MutableContext context = new MutableMapContext();
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_COLUMNNAME, "TSCOL");
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_COLUMNTYPE, String.valueOf(Types.TIMESTAMP));
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_MINVALUE, "2013-01-01 00:00:00.0");
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_MAXVALUE, "2014-01-01 00:00:00.0");
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_SAMPLE,
+        "2013-01-01 00:00:00.0,2013-12-30 00:00:00.0,2013-12-31 00:00:00.0,2014-01-01 00:00:00.0");
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    Partitioner partitioner = new GenericJdbcPartitioner();
+    PartitionerContext partitionerContext = new PartitionerContext(context, 2, null, "test_user");
+    List<Partition> partitions = partitioner.getPartitions(partitionerContext, linkConfig, jobConfig);
+
+    verifyResult(partitions, new String[] {
+        "'2013-01-01 00:00:00.0' <= TSCOL AND TSCOL < '2013-12-31 00:00:00.0'",
+        "'2013-12-31 00:00:00.0' <= TSCOL AND TSCOL <= '2014-01-01 00:00:00.0'"
+    });
+  }
+
+  @Test
+  public void testTimestampWithTimeZoneSampledPartition() throws Exception {
+    MutableContext context = new MutableMapContext();
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_COLUMNNAME, "TSCOL");
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_COLUMNTYPE, String.valueOf(Types.TIMESTAMP));
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_MINVALUE, "2013-01-01 00:00:00+00");
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_MAXVALUE, "2014-01-01 00:00:00+00");
+    // Bounds of a PostgreSQL histogram of a timestamp with time zone column
+    context.setString(GenericJdbcConnectorConstants
+        .CONNECTOR_JDBC_PARTITION_SAMPLE,
+        "2013-01-01 00:00:00+00,2013-12-30 00:00:00+00,2013-12-31 01:00:00+01,2014-01-01 00:00:00+00");
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+
+    Partitioner partitioner = new GenericJdbcPartitioner();
+    PartitionerContext partitionerContext = new PartitionerContext(context, 2, null, "test_user");
+    List<Partition> partitions = partitioner.getPartitions(partitionerContext, linkConfig, jobConfig);
+
+    verifyResult(partitions, new String[] {
+        "'2013-01-01 00:00:00+00' <= TSCOL AND TSCOL < '2013-12-31 01:00:00+01'",
+        "'2013-12-31 01:00:00+01' <= TSCOL AND TSCOL <= '2014-01-01 00:00:00+00'"
+    });
+  }
+
+  @Test
+  public void testTimestampComparator() {
+    Comparator<String> comparator = SqlTypesUtils.getValueComparator(Types.TIMESTAMP);
+    assertEquals(comparator.compare("2015-01-01 01:00:00+01", "2015-01-01 00:00:00+00"), 0);
+    assertEquals(comparator.compare("2015-01-01 05:30:00+05:30", "2015-01-01T00:00:00Z"), 0);
+    assertTrue(comparator.compare("2015-01-01 00:00:00-01", "2015-01-01 00:30:00+00") > 0);
+    assertTrue(comparator.compare("2015-01-01 00:00:00.5+00", "2015-01-01 00:00:00.25+00") > 0);
+    assertTrue(comparator.compare("2015-01-01 00:00:00.0", "2015-01-02 00:00:00.0") < 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testTimestampComparatorWithInvalidValue() {
+    SqlTypesUtils.getValueComparator(Types.TIMESTAMP).compare("infinity", "2015-01-01 00:00:00+00");
+  }
+
   private void verifyResult(List<Partition> partitions,
       String[] expected) {
     assertEquals(expected.length, partitions.size());
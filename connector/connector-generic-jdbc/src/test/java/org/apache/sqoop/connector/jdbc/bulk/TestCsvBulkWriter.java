@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.bulk;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLWarning;
+import java.sql.Statement;
+
+import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.error.code.GenericJdbcConnectorError;
+import org.apache.sqoop.etl.io.RowBatch;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Binary;
+import org.apache.sqoop.schema.type.Bit;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.Date;
+import org.apache.sqoop.schema.type.DateTime;
+import org.apache.sqoop.schema.type.Decimal;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.testng.annotations.Test;
+
+public class TestCsvBulkWriter {
+
+  /**
+   * Statement of a completed load, with the given update count and warnings.
+   */
+  private static Statement createLoadStatement(final int updateCount, final SQLWarning warning) {
+    return (Statement) Proxy.newProxyInstance(TestCsvBulkWriter.class.getClassLoader(),
+        new Class<?>[] {Statement.class}, new InvocationHandler() {
+          @Override
+          public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+            case "getUpdateCount":
+              return updateCount;
+            case "getWarnings":
+              return warning;
+            default:
+              throw new UnsupportedOperationException(method.getName());
+            }
+          }
+        });
+  }
+
+  private static class RecordingWriter extends CsvBulkWriter {
+    // Rows of the running load, and of the last completed one
+    private ByteArrayOutputStream load;
+    private String rows;
+    private int aborted;
+
+    @Override
+    protected String getNullValue() {
+      return "";
+    }
+
+    @Override
+    protected OutputStream startLoad() {
+      load = new ByteArrayOutputStream() {
+        @Override
+        public void close() {
+          rows = new String(toByteArray(), StandardCharsets.UTF_8);
+        }
+      };
+      return load;
+    }
+
+    @Override
+    protected void abortLoad() {
+      aborted++;
+    }
+  }
+
+  @Test
+  public void testEncoding() {
+    Schema schema = new Schema("TestCsvBulkWriter")
+        .addColumn(new FixedPoint("c1", 4L, true))
+        .addColumn(new Decimal("c2", 10, 2))
+        .addColumn(new Text("c3"))
+        .addColumn(new Bit("c4"))
+        .addColumn(new Date("c5"))
+        .addColumn(new DateTime("c6", false, false));
+
+    RecordingWriter writer = new RecordingWriter();
+    assertTrue(writer.supports(schema));
+    writer.initialize(null, new LoaderContext(new MutableMapContext(), null, schema, "test_user"), 100);
+
+    RowBatch batch = new RowBatch(schema);
+    batch.addRow(new Object[] {1, new BigDecimal("1E+2"), "say \"hi\", bye", true,
+        new LocalDate(2004, 10, 19), new LocalDateTime(2004, 10, 19, 10, 23, 34)});
+    batch.addRow(new Object[] {2, null, "", false, null, null});
+    writer.write(batch, 0);
+    writer.write(batch, 1);
+
+    // Nothing is loaded before the flush
+    assertNull(writer.rows);
+    writer.flush();
+    assertEquals(writer.rows,
+        "1,\"100\",\"say \"\"hi\"\", bye\",1,\"2004-10-19\",\"2004-10-19 10:23:34.000\"\n"
+        + "2,,\"\",0,,\n");
+
+    // Flushing again doesn't load the same rows twice
+    writer.rows = null;
+    writer.flush();
+    assertNull(writer.rows);
+  }
+
+  @Test
+  public void testRowsAreStreamedBeforeFlush() {
+    Schema schema = new Schema("TestCsvBulkWriter").addColumn(new Text("c1"));
+    RecordingWriter writer = new RecordingWriter();
+    writer.initialize(null, new LoaderContext(new MutableMapContext(), null, schema, "test_user"), 100);
+
+    RowBatch batch = new RowBatch(schema);
+    batch.addRow(new Object[] {"0123456789"});
+    for (int i = 0; i < 10000; i++) {
+      writer.write(batch, 0);
+    }
+    // Only the last rows are still buffered
+    assertTrue(writer.load.size() > 100000);
+    assertNull(writer.rows);
+
+    writer.flush();
+    assertEquals(writer.rows.length(), 130000);
+    writer.destroy();
+    assertEquals(writer.aborted, 0);
+  }
+
+  @Test
+  public void testDestroyAbortsRunningLoad() {
+    Schema schema = new Schema("TestCsvBulkWriter").addColumn(new Text("c1"));
+    RecordingWriter writer = new RecordingWriter();
+    writer.initialize(null, new LoaderContext(new MutableMapContext(), null, schema, "test_user"), 100);
+
+    RowBatch batch = new RowBatch(schema);
+    batch.addRow(new Object[] {"a"});
+    writer.write(batch, 0);
+    writer.destroy();
+    assertEquals(writer.aborted, 1);
+    assertNull(writer.rows);
+  }
+
+  @Test
+  public void testNonFiniteValues() {
+    Schema schema = new Schema("TestCsvBulkWriter").addColumn(new FloatingPoint("c1", 8L));
+    RecordingWriter writer = new RecordingWriter();
+    writer.initialize(null, new LoaderContext(new MutableMapContext(), null, schema, "test_user"), 100);
+
+    RowBatch batch = new RowBatch(schema);
+    batch.addRow(new Object[] {Double.NaN});
+    batch.addRow(new Object[] {Double.POSITIVE_INFINITY});
+    batch.addRow(new Object[] {Double.NEGATIVE_INFINITY});
+    for (int row = 0; row < batch.size(); row++) {
+      writer.write(batch, row);
+    }
+    writer.flush();
+    // Spelled as PostgreSQL reads them
+    assertEquals(writer.rows, "NaN\nInfinity\n-Infinity\n");
+  }
+
+  @Test(expectedExceptions = SqoopException.class)
+  public void testNonFiniteValuesForMysql() {
+    new MysqlLoadDataWriter().getNonFiniteValue(new FloatingPoint("c1", 8L), Double.NaN);
+  }
+
+  @Test
+  public void testMysqlLoadSql() {
+    Column[] schemaColumns = new Column[] {new FixedPoint("c1", 4L, true), new Bit("c2")};
+    assertEquals(MysqlLoadDataWriter.getLoadSql("t", "a, b", schemaColumns, null),
+        "LOAD DATA LOCAL INFILE 'sqoop.csv' INTO TABLE t CHARACTER SET utf8mb4"
+        + " FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''"
+        + " LINES TERMINATED BY '\\n' (a, b)");
+    // BIT columns are loaded as numbers
+    assertEquals(MysqlLoadDataWriter.getLoadSql("t", null, schemaColumns, new String[] {"a", "b"}),
+        "LOAD DATA LOCAL INFILE 'sqoop.csv' INTO TABLE t CHARACTER SET utf8mb4"
+        + " FIELDS TERMINATED BY ',' OPTIONALLY ENCLOSED BY '\"' ESCAPED BY ''"
+        + " LINES TERMINATED BY '\\n' (a, @bit1) SET b = CAST(@bit1 AS UNSIGNED)");
+  }
+
+  @Test
+  public void testMysqlLoadedRows() throws Exception {
+    assertEquals(MysqlLoadDataWriter.getLoadedRows(createLoadStatement(3, null)), 3L);
+    try {
+      // Duplicate keys are skipped with a warning under LOCAL
+      MysqlLoadDataWriter.getLoadedRows(createLoadStatement(2, new SQLWarning("Duplicate entry '1' for key 'PRIMARY'")));
+      fail("The skipped row wasn't reported");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0028);
+    }
+  }
+
+  @Test
+  public void testMysqlRowsMissingFromLoad() {
+    Schema schema = new Schema("TestCsvBulkWriter").addColumn(new Text("c1"));
+    MysqlLoadDataWriter writer = new MysqlLoadDataWriter() {
+      @Override
+      protected void initializeDriver() {
+      }
+
+      @Override
+      protected long load(InputStream rows) throws Exception {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(rows, StandardCharsets.UTF_8));
+        long lines = 0;
+        while (reader.readLine() != null) {
+          lines++;
+        }
+        // The database drops the first row
+        return lines - 1;
+      }
+    };
+    writer.initialize(null, new LoaderContext(new MutableMapContext(), null, schema, "test_user"), 100);
+
+    RowBatch batch = new RowBatch(schema);
+    batch.addRow(new Object[] {"a"});
+    try {
+      writer.write(batch, 0);
+      writer.write(batch, 0);
+      writer.flush();
+      fail("The missing row wasn't reported");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0028);
+    } finally {
+      writer.destroy();
+    }
+  }
+
+  @Test
+  public void testUnsupportedSchema() {
+    Schema schema = new Schema("TestCsvBulkWriter").addColumn(new Binary("c1"));
+    assertFalse(new RecordingWriter().supports(schema));
+  }
+}
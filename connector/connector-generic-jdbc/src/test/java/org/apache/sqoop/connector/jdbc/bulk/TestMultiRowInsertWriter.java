@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.bulk;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+public class TestMultiRowInsertWriter {
+
+  @Test
+  public void testRowsPerStatement() {
+    // Within the limits
+    assertEquals(MultiRowInsertWriter.getRowsPerStatement("PostgreSQL", 100, 10), 100);
+    assertEquals(MultiRowInsertWriter.getRowsPerStatement("Apache Derby", 10000, 100), 10000);
+    assertEquals(MultiRowInsertWriter.getRowsPerStatement(null, 10000, 100), 10000);
+
+    // Capped by the parameters of the database
+    assertEquals(MultiRowInsertWriter.getRowsPerStatement("PostgreSQL", 10000, 10), 3276);
+    assertEquals(MultiRowInsertWriter.getRowsPerStatement("MySQL", 10000, 10), 6553);
+    assertEquals(MultiRowInsertWriter.getRowsPerStatement("Microsoft SQL Server", 100, 30), 69);
+
+    // At least one row, even if it can't be bound
+    assertEquals(MultiRowInsertWriter.getRowsPerStatement("Microsoft SQL Server", 100, 3000), 1);
+  }
+}
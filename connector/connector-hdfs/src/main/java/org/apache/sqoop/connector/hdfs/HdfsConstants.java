@@ -36,4 +36,32 @@ public final class HdfsConstants extends Constants implements Serializable {
   public static final String MAX_IMPORT_DATE = PREFIX + "max_import_date";
 
   public static final String DELEGATION_TOKENS = PREFIX + "delegation_tokens";
+
+  // Number of files of a partition the extractor reads ahead concurrently,
+  // can be set through the link's configuration overrides
+  public static final String EXTRACTOR_PREFETCH_FILES = PREFIX + "extractor.prefetch.files";
+
+  public static final int DEFAULT_EXTRACTOR_PREFETCH_FILES = 4;
+
+  // Number of lines buffered for each file being read ahead
+  public static final String EXTRACTOR_PREFETCH_LINES = PREFIX + "extractor.prefetch.lines";
+
+  public static final int DEFAULT_EXTRACTOR_PREFETCH_LINES = 1024;
+
+  // Size of the buffer rows of text files are encoded into before being written
+  public static final String TEXT_WRITER_BUFFER_SIZE = PREFIX + "text.writer.buffer.size";
+
+  public static final int DEFAULT_TEXT_WRITER_BUFFER_SIZE = 1024 * 1024;
+
+  // Megabytes of text after which written data is flushed out to the datanodes,
+  // no checkpoints are made when 0
+  public static final String TEXT_WRITER_CHECKPOINT_MB = PREFIX + "text.writer.checkpoint.mb";
+
+  public static final int DEFAULT_TEXT_WRITER_CHECKPOINT_MB = 0;
+
+  // Whether checkpoints sync data to disk (hsync) rather than only flush it (hflush)
+  public static final String TEXT_WRITER_CHECKPOINT_SYNC = PREFIX + "text.writer.checkpoint.sync";
+
+  // Key of the Sqoop schema, as JSON, in the metadata of Parquet and ORC files
+  public static final String SCHEMA_METADATA_KEY = "sqoop.schema";
 }
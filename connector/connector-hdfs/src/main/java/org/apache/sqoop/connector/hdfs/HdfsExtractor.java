@@ -18,45 +18,110 @@
 import java.io.IOException;
 import java.io.Serializable;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.apache.avro.generic.GenericRecord;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.fs.Seekable;
+import org.apache.hadoop.hive.ql.io.orc.OrcFile;
+import org.apache.hadoop.hive.ql.io.orc.Reader;
+import org.apache.hadoop.hive.ql.io.orc.RecordReader;
+import org.apache.hadoop.hive.serde2.objectinspector.StructField;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.compress.CodecPool;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.io.compress.Decompressor;
+import org.apache.hadoop.io.compress.SplitCompressionInputStream;
+import org.apache.hadoop.io.compress.SplittableCompressionCodec;
+import org.apache.hadoop.mapreduce.lib.input.CompressedSplitLineReader;
+import org.apache.hadoop.mapreduce.lib.input.SplitLineReader;
 import org.apache.hadoop.security.UserGroupInformation;
-import org.apache.hadoop.util.LineReader;
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopAvroUtils;
 import org.apache.sqoop.connector.common.SqoopIDFUtils;
 import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.hdfs.security.SecurityUtils;
 import org.apache.sqoop.error.code.HdfsConnectorError;
+import org.apache.sqoop.connector.idf.AVROIntermediateDataFormat;
 import org.apache.sqoop.etl.io.DataWriter;
 import org.apache.sqoop.job.etl.Extractor;
 import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.json.util.SchemaSerialization;
 import org.apache.sqoop.schema.ByteArraySchema;
 import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+import org.json.simple.JSONObject;
+import org.json.simple.JSONValue;
+import parquet.avro.AvroParquetReader;
+import parquet.avro.AvroReadSupport;
+import parquet.hadoop.ParquetFileReader;
+import parquet.hadoop.metadata.ParquetMetadata;
 
 /**
  * Extract from HDFS.
  * Default field delimiter of a record is comma.
+ *
+ * Files of a partition are read ahead concurrently by a bounded pool of
+ * threads (see {@link HdfsConstants#EXTRACTOR_PREFETCH_FILES}), while rows
+ * are still handed to the data writer one file after another.
  */
 public class HdfsExtractor extends Extractor<LinkConfiguration, FromJobConfiguration, HdfsPartition> implements
         Serializable {
 
   public static final Logger LOG = Logger.getLogger(HdfsExtractor.class);
 
+  /**
+   * Bytes read from the file system, compressed size for compressed files.
+   */
+  public static final String BYTES_READ = "BYTES_READ";
+
+  /**
+   * Time spent reading and decompressing records, excluding row processing.
+   */
+  public static final String DECODE_MILLIS = "DECODE_MILLIS";
+
+  // Marks the end of the records of a prefetched file
+  private static final Object END_OF_FILE = new Object();
+
   private Configuration conf = new Configuration();
   private DataWriter dataWriter;
   private Schema schema;
   private long rowsRead = 0;
+  private final AtomicLong bytesRead = new AtomicLong();
+  private final AtomicLong decodeNanos = new AtomicLong();
+
+  /**
+   * Receives the records of a file in order: the Text lines of text and
+   * sequence files, or the Object[] rows of columnar files projected on the
+   * extracted schema.
+   */
+  private interface RecordHandler {
+    void handle(Object record) throws IOException, InterruptedException;
+  }
 
   @Override
   public void extract(final ExtractorContext context, final LinkConfiguration linkConfiguration, final FromJobConfiguration jobConfiguration, final HdfsPartition partition) {
@@ -66,11 +131,27 @@ public Void run() throws Exception {
           HdfsUtils.contextToConfiguration(context.getContext(), conf);
           dataWriter = context.getDataWriter();
           schema = context.getSchema();
+          rowsRead = 0;
+          bytesRead.set(0);
+          decodeNanos.set(0);
           HdfsPartition p = partition;
           LOG.info("Working on partition: " + p);
           int numFiles = p.getNumberOfFiles();
-          for (int i = 0; i < numFiles; i++) {
-            extractFile(linkConfiguration, jobConfiguration, p.getFile(i), p.getOffset(i), p.getLength(i));
+          int prefetchFiles = Math.min(numFiles,
+              conf.getInt(HdfsConstants.EXTRACTOR_PREFETCH_FILES, HdfsConstants.DEFAULT_EXTRACTOR_PREFETCH_FILES));
+          if (prefetchFiles > 1) {
+            extractFilesConcurrently(linkConfiguration, jobConfiguration, p, prefetchFiles);
+          } else {
+            RecordHandler rowHandler = new RecordHandler() {
+              @Override
+              public void handle(Object record) throws IOException {
+                rowsRead++;
+                extractRecord(linkConfiguration, jobConfiguration, record);
+              }
+            };
+            for (int i = 0; i < numFiles; i++) {
+              extractFile(p.getFile(i), p.getOffset(i), p.getLength(i), rowHandler);
+            }
           }
           return null;
         }
@@ -80,19 +161,275 @@ public Void run() throws Exception {
     }
   }
 
-  private void extractFile(LinkConfiguration linkConfiguration,
-                           FromJobConfiguration fromJobConfiguration,
-                           Path file, long start, long length)
-      throws IOException {
+  /**
+   * Reads up to the given number of files at a time on a thread pool, each
+   * into its own bounded queue, and extracts the rows of the files in the
+   * order of the partition on the calling thread. Files are started in that
+   * order too, so the file being drained has always been started once the
+   * files before it are done.
+   */
+  private void extractFilesConcurrently(LinkConfiguration linkConfiguration,
+                                        FromJobConfiguration fromJobConfiguration,
+                                        HdfsPartition partition, int threads)
+      throws IOException, InterruptedException {
+    int numFiles = partition.getNumberOfFiles();
+    int capacity = conf.getInt(HdfsConstants.EXTRACTOR_PREFETCH_LINES, HdfsConstants.DEFAULT_EXTRACTOR_PREFETCH_LINES);
+    UserGroupInformation user = UserGroupInformation.getCurrentUser();
+    ExecutorService prefetchPool = Executors.newFixedThreadPool(threads, new PrefetchThreadFactory());
+    try {
+      List<FilePrefetch> prefetches = new ArrayList<FilePrefetch>(numFiles);
+      List<Future<Void>> results = new ArrayList<Future<Void>>(numFiles);
+      for (int i = 0; i < numFiles; i++) {
+        FilePrefetch prefetch = new FilePrefetch(user, partition.getFile(i),
+            partition.getOffset(i), partition.getLength(i), capacity);
+        prefetches.add(prefetch);
+        results.add(prefetchPool.submit(prefetch));
+      }
+      for (int i = 0; i < numFiles; i++) {
+        BlockingQueue<Object> records = prefetches.get(i).records;
+        for (Object record = records.take(); record != END_OF_FILE; record = records.take()) {
+          rowsRead++;
+          extractRecord(linkConfiguration, fromJobConfiguration, record);
+        }
+        try {
+          results.get(i).get();
+        } catch (ExecutionException e) {
+          throw new IOException("Can't read file " + partition.getFile(i), e.getCause());
+        }
+      }
+    } finally {
+      // Stops the readers still blocked on a full queue if extraction failed
+      prefetchPool.shutdownNow();
+      prefetchPool.awaitTermination(5, TimeUnit.SECONDS);
+    }
+  }
+
+  /**
+   * Reads one file of the partition into a bounded queue of records, ended
+   * by {@link #END_OF_FILE} even if reading fails.
+   */
+  private class FilePrefetch implements Callable<Void>, RecordHandler {
+    private final UserGroupInformation user;
+    private final Path file;
+    private final long start;
+    private final long length;
+    private final BlockingQueue<Object> records;
+
+    FilePrefetch(UserGroupInformation user, Path file, long start, long length, int capacity) {
+      this.user = user;
+      this.file = file;
+      this.start = start;
+      this.length = length;
+      this.records = new ArrayBlockingQueue<Object>(capacity);
+    }
+
+    @Override
+    public Void call() throws Exception {
+      try {
+        return user.doAs(new PrivilegedExceptionAction<Void>() {
+          public Void run() throws Exception {
+            extractFile(file, start, length, FilePrefetch.this);
+            return null;
+          }
+        });
+      } finally {
+        records.put(END_OF_FILE);
+      }
+    }
+
+    @Override
+    public void handle(Object record) throws InterruptedException {
+      records.put(record);
+    }
+  }
+
+  private static class PrefetchThreadFactory implements ThreadFactory {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Thread newThread(Runnable runnable) {
+      Thread thread = new Thread(runnable, "HdfsExtractor-prefetch-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }
+  }
+
+  private void extractFile(Path file, long start, long length, RecordHandler handler)
+      throws IOException, InterruptedException {
     long end = start + length;
     LOG.info("Extracting file " + file);
     LOG.info("\t from offset " + start);
     LOG.info("\t to offset " + end);
     LOG.info("\t of length " + length);
-    if(isSequenceFile(file)) {
-      extractSequenceFile(linkConfiguration, fromJobConfiguration, file, start, length);
+    switch (HdfsUtils.getFileFormat(conf, file)) {
+      case PARQUET_FILE:
+        extractParquetFile(file, start, length, handler);
+        break;
+      case ORC_FILE:
+        extractOrcFile(file, start, length, handler);
+        break;
+      case SEQUENCE_FILE:
+        extractSequenceFile(file, start, length, handler);
+        break;
+      default:
+        extractTextFile(file, start, length, handler);
+        break;
+    }
+  }
+
+  /**
+   * Extracts Parquet file, read whole by the partition starting at its
+   * beginning since Parquet files are not split.
+   * @param file
+   * @param start
+   * @param length
+   * @param handler
+   * @throws IOException
+   */
+  private void extractParquetFile(Path file, long start, long length, RecordHandler handler)
+      throws IOException, InterruptedException {
+    LOG.info("Extracting parquet file");
+    if (start != 0) {
+      return;
+    }
+    ParquetMetadata footer = ParquetFileReader.readFooter(conf, file);
+    Schema readSchema = getReadSchema(file,
+        footer.getFileMetaData().getKeyValueMetaData().get(HdfsConstants.SCHEMA_METADATA_KEY));
+    for (Column column : readSchema.getColumnsArray()) {
+      if (!footer.getFileMetaData().getSchema().containsField(column.getName())) {
+        throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0011,
+            column.getName() + " in " + file);
+      }
+    }
+
+    // only the columns of the read schema are decoded
+    Configuration readConf = new Configuration(conf);
+    org.apache.avro.Schema avroSchema = SqoopAvroUtils.createAvroSchema(readSchema);
+    AvroReadSupport.setRequestedProjection(readConf, avroSchema);
+    AvroReadSupport.setAvroReadSchema(readConf, avroSchema);
+    AVROIntermediateDataFormat avroIntermediateDataFormat = new AVROIntermediateDataFormat(readSchema);
+    AvroParquetReader<GenericRecord> filereader = new AvroParquetReader<GenericRecord>(readConf, file);
+    try {
+      long decodeStart = System.nanoTime();
+      GenericRecord record = filereader.read();
+      long decodeTime = System.nanoTime() - decodeStart;
+      while (record != null) {
+        avroIntermediateDataFormat.setData(record);
+        handleRow(avroIntermediateDataFormat.getObjectData(), readSchema, handler);
+        decodeStart = System.nanoTime();
+        record = filereader.read();
+        decodeTime += System.nanoTime() - decodeStart;
+      }
+      bytesRead.addAndGet(file.getFileSystem(conf).getFileStatus(file).getLen());
+      decodeNanos.addAndGet(decodeTime);
+    } finally {
+      filereader.close();
+    }
+  }
+
+  /**
+   * Extracts the stripes of ORC file starting in the given range.
+   * @param file
+   * @param start
+   * @param length
+   * @param handler
+   * @throws IOException
+   */
+  private void extractOrcFile(Path file, long start, long length, RecordHandler handler)
+      throws IOException, InterruptedException {
+    LOG.info("Extracting ORC file");
+    // ORC classes are only loaded for ORC files as Hive is an optional dependency
+    new OrcFileExtractor().extract(file, start, length, handler);
+  }
+
+  private class OrcFileExtractor {
+    void extract(Path file, long start, long length, RecordHandler handler)
+        throws IOException, InterruptedException {
+      Reader reader = OrcFile.createReader(file.getFileSystem(conf), file);
+      String storedSchema = null;
+      if (reader.hasMetadataValue(HdfsConstants.SCHEMA_METADATA_KEY)) {
+        ByteBuffer value = reader.getMetadataValue(HdfsConstants.SCHEMA_METADATA_KEY).duplicate();
+        byte[] bytes = new byte[value.remaining()];
+        value.get(bytes);
+        storedSchema = new String(bytes, "UTF-8");
+      }
+      Schema readSchema = getReadSchema(file, storedSchema);
+
+      // Hive lower cases the field names of the files it writes
+      StructObjectInspector inspector = (StructObjectInspector) reader.getObjectInspector();
+      List<? extends StructField> fileFields = inspector.getAllStructFieldRefs();
+      Column[] columns = readSchema.getColumnsArray();
+      StructField[] fields = new StructField[columns.length];
+      int[] fieldIndexes = new int[columns.length];
+      for (int i = 0; i < columns.length; i++) {
+        for (int j = 0; j < fileFields.size() && fields[i] == null; j++) {
+          if (fileFields.get(j).getFieldName().equalsIgnoreCase(columns[i].getName())) {
+            fields[i] = fileFields.get(j);
+            fieldIndexes[i] = j;
+          }
+        }
+        if (fields[i] == null) {
+          throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0011,
+              columns[i].getName() + " in " + file);
+        }
+      }
+
+      RecordReader filereader = reader.rows(start, length,
+          OrcUtils.getIncludedColumns(reader.getTypes(), fieldIndexes));
+      try {
+        Object row = null;
+        long decodeTime = 0;
+        while (true) {
+          long decodeStart = System.nanoTime();
+          if (!filereader.hasNext()) {
+            decodeTime += System.nanoTime() - decodeStart;
+            break;
+          }
+          row = filereader.next(row);
+          Object[] data = new Object[columns.length];
+          for (int i = 0; i < columns.length; i++) {
+            data[i] = OrcUtils.toSqoop(inspector.getStructFieldData(row, fields[i]),
+                fields[i].getFieldObjectInspector(), columns[i]);
+          }
+          decodeTime += System.nanoTime() - decodeStart;
+          handleRow(data, readSchema, handler);
+        }
+        bytesRead.addAndGet(length);
+        decodeNanos.addAndGet(decodeTime);
+      } finally {
+        filereader.close();
+      }
+    }
+  }
+
+  /**
+   * Returns the schema to read columnar file with: the extracted schema that
+   * projects the columns of the file, or the schema stored in the file.
+   */
+  private Schema getReadSchema(Path file, String storedSchema) {
+    if (isProjected()) {
+      return schema;
+    }
+    if (storedSchema == null) {
+      throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0009, file.toString());
+    }
+    return SchemaSerialization.restoreSchema((JSONObject) JSONValue.parse(storedSchema));
+  }
+
+  private boolean isProjected() {
+    return schema != null && !schema.isEmpty() && !(schema instanceof ByteArraySchema);
+  }
+
+  /**
+   * Hands a row of columnar file over as is when projected on the extracted
+   * schema, and as a CSV line otherwise.
+   */
+  private void handleRow(Object[] row, Schema readSchema, RecordHandler handler)
+      throws IOException, InterruptedException {
+    if (isProjected()) {
+      handler.handle(row);
     } else {
-      extractTextFile(linkConfiguration, fromJobConfiguration, file, start, length);
+      handler.handle(new Text(SqoopIDFUtils.toCSV(row, readSchema)));
     }
   }
 
@@ -101,13 +438,12 @@ private void extractFile(LinkConfiguration linkConfiguration,
    * @param file
    * @param start
    * @param length
+   * @param handler
    * @throws IOException
    */
   @SuppressWarnings("deprecation")
-  private void extractSequenceFile(LinkConfiguration linkConfiguration,
-                                   FromJobConfiguration fromJobConfiguration,
-                                   Path file, long start, long length)
-      throws IOException {
+  private void extractSequenceFile(Path file, long start, long length, RecordHandler handler)
+      throws IOException, InterruptedException {
     LOG.info("Extracting sequence file");
     long end = start + length;
     SequenceFile.Reader filereader = new SequenceFile.Reader(
@@ -116,18 +452,23 @@ private void extractSequenceFile(LinkConfiguration linkConfiguration,
     if (start > filereader.getPosition()) {
       filereader.sync(start); // sync to start
     }
+    long decodeStart = System.nanoTime();
 
     Text line = new Text();
     boolean hasNext = filereader.next(line);
+    long decodeTime = System.nanoTime() - decodeStart;
     while (hasNext) {
-      rowsRead++;
-      extractRow(linkConfiguration, fromJobConfiguration, line);
+      handler.handle(line);
       line = new Text();
+      decodeStart = System.nanoTime();
       hasNext = filereader.next(line);
+      decodeTime += System.nanoTime() - decodeStart;
       if (filereader.getPosition() >= end && filereader.syncSeen()) {
         break;
       }
     }
+    bytesRead.addAndGet(filereader.getPosition() - start);
+    decodeNanos.addAndGet(decodeTime);
     filereader.close();
   }
 
@@ -136,58 +477,73 @@ private void extractSequenceFile(LinkConfiguration linkConfiguration,
    * @param file
    * @param start
    * @param length
+   * @param handler
    * @throws IOException
    */
   @SuppressWarnings("resource")
-  private void extractTextFile(LinkConfiguration linkConfiguration,
-                               FromJobConfiguration fromJobConfiguration,
-                               Path file, long start, long length)
-      throws IOException {
+  private void extractTextFile(Path file, long start, long length, RecordHandler handler)
+      throws IOException, InterruptedException {
     LOG.info("Extracting text file");
     long end = start + length;
     FileSystem fs = file.getFileSystem(conf);
     FSDataInputStream filestream = fs.open(file);
     CompressionCodec codec = (new CompressionCodecFactory(conf)).getCodec(file);
-    LineReader filereader;
+    Decompressor decompressor = null;
+    SplitLineReader filereader;
     Seekable fileseeker = filestream;
+    long position = start;
 
-    // Hadoop 1.0 does not have support for custom record delimiter and thus
-    // we
-    // are supporting only default one.
-    // We might add another "else if" case for SplittableCompressionCodec once
-    // we drop support for Hadoop 1.0.
-    if (codec == null) {
-      filestream.seek(start);
-      filereader = new LineReader(filestream);
-    } else {
-      filereader = new LineReader(codec.createInputStream(filestream,
-          codec.createDecompressor()), conf);
-      fileseeker = filestream;
-    }
-    if (start != 0) {
-      // always throw away first record because
-      // one extra line is read in previous split
-      start += filereader.readLine(new Text(), 0);
-    }
-    int size;
-    LOG.info("Start position: " + String.valueOf(start));
-    long next = start;
-    while (next <= end) {
-      Text line = new Text();
-      size = filereader.readLine(line, Integer.MAX_VALUE);
-      if (size == 0) {
-        break;
-      }
+    try {
       if (codec == null) {
-        next += size;
+        filestream.seek(start);
+        filereader = new SplitLineReader(filestream, conf, null);
+      } else if (codec instanceof SplittableCompressionCodec) {
+        // Splits of splittable codecs start and end on compression blocks
+        decompressor = CodecPool.getDecompressor(codec);
+        SplitCompressionInputStream cIn = ((SplittableCompressionCodec) codec).createInputStream(filestream,
+            decompressor, start, end, SplittableCompressionCodec.READ_MODE.BYBLOCK);
+        filereader = new CompressedSplitLineReader(cIn, conf, null);
+        start = cIn.getAdjustedStart();
+        end = cIn.getAdjustedEnd();
+        fileseeker = cIn;
       } else {
-        next = fileseeker.getPos();
+        decompressor = CodecPool.getDecompressor(codec);
+        filereader = new SplitLineReader(codec.createInputStream(filestream, decompressor), conf, null);
+      }
+      long decodeStart = System.nanoTime();
+      if (start != 0) {
+        // always throw away first record because
+        // one extra line is read in previous split
+        start += filereader.readLine(new Text(), 0);
+      }
+      long decodeTime = System.nanoTime() - decodeStart;
+      int size;
+      LOG.info("Start position: " + String.valueOf(start));
+      long next = start;
+      while (next <= end || filereader.needAdditionalRecordAfterSplit()) {
+        Text line = new Text();
+        decodeStart = System.nanoTime();
+        size = filereader.readLine(line, Integer.MAX_VALUE);
+        decodeTime += System.nanoTime() - decodeStart;
+        if (size == 0) {
+          break;
+        }
+        if (codec == null) {
+          next += size;
+        } else {
+          next = fileseeker.getPos();
+        }
+        handler.handle(line);
+      }
+      LOG.info("Extracting ended on position: " + fileseeker.getPos());
+      bytesRead.addAndGet(filestream.getPos() - position);
+      decodeNanos.addAndGet(decodeTime);
+    } finally {
+      filestream.close();
+      if (decompressor != null) {
+        CodecPool.returnDecompressor(decompressor);
       }
-      rowsRead++;
-      extractRow(linkConfiguration, fromJobConfiguration, line);
     }
-    LOG.info("Extracting ended on position: " + fileseeker.getPos());
-    filestream.close();
   }
 
   @Override
@@ -195,21 +551,20 @@ public long getRowsRead() {
     return rowsRead;
   }
 
-  /**
-   * Returns true if given file is sequence
-   * @param file
-   * @return boolean
-   */
-  @SuppressWarnings("deprecation")
-  private boolean isSequenceFile(Path file) {
-    SequenceFile.Reader filereader = null;
-    try {
-      filereader = new SequenceFile.Reader(file.getFileSystem(conf), file, conf);
-      filereader.close();
-    } catch (IOException e) {
-      return false;
+  @Override
+  public Map<String, Long> getCounters() {
+    Map<String, Long> counters = new HashMap<String, Long>();
+    counters.put(BYTES_READ, bytesRead.get());
+    counters.put(DECODE_MILLIS, TimeUnit.NANOSECONDS.toMillis(decodeNanos.get()));
+    return counters;
+  }
+
+  private void extractRecord(LinkConfiguration linkConfiguration, FromJobConfiguration fromJobConfiguration, Object record) throws UnsupportedEncodingException {
+    if (record instanceof Text) {
+      extractRow(linkConfiguration, fromJobConfiguration, (Text) record);
+    } else {
+      dataWriter.writeArrayRecord(HdfsUtils.formatRecord(linkConfiguration, fromJobConfiguration, (Object[]) record));
     }
-    return true;
   }
 
   private void extractRow(LinkConfiguration linkConfiguration, FromJobConfiguration fromJobConfiguration, Text line) throws UnsupportedEncodingException {
@@ -16,10 +16,21 @@
 package org.apache.sqoop.connector.hdfs;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.Serializable;
 import java.security.PrivilegedExceptionAction;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 
+import com.google.common.base.Throwables;
 import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
@@ -31,19 +42,34 @@
 import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
 import org.apache.sqoop.connector.hdfs.configuration.ToJobConfiguration;
 import org.apache.sqoop.connector.hdfs.hdfsWriter.GenericHdfsWriter;
+import org.apache.sqoop.connector.hdfs.hdfsWriter.HdfsOrcWriter;
+import org.apache.sqoop.connector.hdfs.hdfsWriter.HdfsParquetWriter;
 import org.apache.sqoop.connector.hdfs.hdfsWriter.HdfsSequenceWriter;
 import org.apache.sqoop.connector.hdfs.hdfsWriter.HdfsTextWriter;
 import org.apache.sqoop.connector.hdfs.security.SecurityUtils;
 import org.apache.sqoop.error.code.HdfsConnectorError;
 import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.job.etl.Loader;
 import org.apache.sqoop.job.etl.LoaderContext;
 import org.apache.sqoop.schema.ByteArraySchema;
+import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.utils.ClassUtils;
 
 public class HdfsLoader extends Loader<LinkConfiguration, ToJobConfiguration> implements Serializable {
 
+  /**
+   * Bytes written to the file system, compressed size for compressed files.
+   */
+  public static final String BYTES_WRITTEN = "BYTES_WRITTEN";
+
+  /**
+   * Time spent encoding rows, excluding writing them out.
+   */
+  public static final String ENCODE_MILLIS = "ENCODE_MILLIS";
+
   private long rowsWritten = 0;
+  private Map<String, Long> counters = Collections.emptyMap();
 
   /**
    * Load data to target.
@@ -60,38 +86,29 @@ public void load(final LoaderContext context, final LinkConfiguration linkConfig
       public Void run() throws Exception {
         Configuration conf = new Configuration();
         HdfsUtils.contextToConfiguration(context.getContext(), conf);
+        rowsWritten = 0;
 
         DataReader reader = context.getDataReader();
         String directoryName = context.getString(HdfsConstants.WORK_DIRECTORY);
-        String codecname = getCompressionCodecName(toJobConfig);
-
-        CompressionCodec codec = null;
-        if (codecname != null) {
-          Class<?> clz = ClassUtils.loadClass(codecname);
-          if (clz == null) {
-            throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0003, codecname);
-          }
-
-          try {
-            codec = (CompressionCodec) clz.newInstance();
-            if (codec instanceof Configurable) {
-              ((Configurable) codec).setConf(conf);
-            }
-          } catch (RuntimeException|InstantiationException|IllegalAccessException e) {
-            throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0004, codecname, e);
-          }
-        }
-
-        String filename = directoryName + "/" + UUID.randomUUID() + getExtension(toJobConfig,codec);
+        CompressionCodec codec = createCompressionCodec(toJobConfig, conf);
 
+        RollingWriter filewriter = null;
         try {
-          Path filepath = new Path(filename);
+          filewriter = new RollingWriter(new Path(directoryName), context.getSchema(), conf, codec, toJobConfig);
 
-          GenericHdfsWriter filewriter = getWriter(toJobConfig);
+      if (filewriter.isColumnar()) {
+        RowBatch batch = new RowBatch(context.getSchema());
+        // columnar writers store nulls natively, so records are not formatted
+        Object[] record = new Object[batch.getColumnCount()];
 
-          filewriter.initialize(filepath, conf, codec);
-
-      if (!HdfsUtils.hasCustomFormat(linkConfiguration, toJobConfig) || (context.getSchema() instanceof ByteArraySchema)) {
+        while (reader.readBatch(batch) > 0) {
+          for (int row = 0; row < batch.size(); row++) {
+            filewriter.write(batch.getRow(row, record));
+            rowsWritten++;
+            filewriter.rollIfFull();
+          }
+        }
+      } else if (!HdfsUtils.hasCustomFormat(linkConfiguration, toJobConfig) || (context.getSchema() instanceof ByteArraySchema)) {
         String record;
         while ((record = reader.readTextRecord()) != null) {
           if (context.getSchema() instanceof ByteArraySchema) {
@@ -100,34 +117,216 @@ public Void run() throws Exception {
             filewriter.write(record);
           }
           rowsWritten++;
+          filewriter.rollIfFull();
         }
       } else {
-        Object[] record;
+        RowBatch batch = new RowBatch(context.getSchema());
+        // the record is encoded right away, so a single array is reused for every row
+        Object[] record = new Object[batch.getColumnCount()];
 
-        while ((record = reader.readArrayRecord()) != null) {
-          filewriter.write(
-            SqoopIDFUtils.toCSV(
-              HdfsUtils.formatRecord(linkConfiguration, toJobConfig, record),
-              context.getSchema()));
-          rowsWritten++;
+        while (reader.readBatch(batch) > 0) {
+          for (int row = 0; row < batch.size(); row++) {
+            filewriter.write(
+              SqoopIDFUtils.toCSV(
+                HdfsUtils.formatRecord(linkConfiguration, toJobConfig, batch.getRow(row, record)),
+                context.getSchema()));
+            rowsWritten++;
+            filewriter.rollIfFull();
+          }
         }
       }
-      filewriter.destroy();
+      filewriter.close();
+      counters = filewriter.getCounters();
 
         } catch (IOException e) {
           throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0005, e);
+        } finally {
+          if (filewriter != null) {
+            filewriter.shutdown();
+          }
         }
       return null;
     }
   });
   }
 
-  private GenericHdfsWriter getWriter(ToJobConfiguration toJobConf) {
-    return (toJobConf.toJobConfig.outputFormat == ToFormat.SEQUENCE_FILE) ? new HdfsSequenceWriter()
-        : new HdfsTextWriter();
+  /**
+   * Writes the rows of a loader into files of the working directory, starting
+   * a new file once the current one reaches the maximal size or number of rows
+   * of the job. Full files are closed by a background thread while the next
+   * one is being written.
+   */
+  private static final class RollingWriter {
+    private final Path directory;
+    private final Schema schema;
+    private final Configuration conf;
+    private final CompressionCodec codec;
+    private final ToJobConfiguration toJobConfig;
+    private final long maxFileSize;
+    private final long maxFileRows;
+    private final ExecutorService closer;
+    private final Map<String, Long> counters = new HashMap<String, Long>();
+    private final boolean columnar;
+    private GenericHdfsWriter filewriter;
+    private Future<Map<String, Long>> pendingClose;
+    private long fileRows;
+
+    RollingWriter(Path directory, Schema schema, Configuration conf, CompressionCodec codec,
+                  ToJobConfiguration toJobConfig) throws IOException {
+      this.directory = directory;
+      this.schema = schema;
+      this.conf = conf;
+      this.codec = codec;
+      this.toJobConfig = toJobConfig;
+      this.maxFileSize = toJobConfig.toJobConfig.maxFileSize == null ? Long.MAX_VALUE : toJobConfig.toJobConfig.maxFileSize;
+      this.maxFileRows = toJobConfig.toJobConfig.maxFileRows == null ? Long.MAX_VALUE : toJobConfig.toJobConfig.maxFileRows;
+      this.closer = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+          Thread thread = new Thread(runnable, "HdfsLoader file closer");
+          thread.setDaemon(true);
+          return thread;
+        }
+      });
+      // a file is written even when there are no rows
+      openFile();
+      this.columnar = filewriter.isColumnar();
+    }
+
+    boolean isColumnar() {
+      return columnar;
+    }
+
+    void write(String csv) throws IOException {
+      nextFile().write(csv);
+      fileRows++;
+    }
+
+    void write(Object[] record) throws IOException {
+      nextFile().write(record);
+      fileRows++;
+    }
+
+    private GenericHdfsWriter nextFile() throws IOException {
+      if (filewriter == null) {
+        openFile();
+      }
+      return filewriter;
+    }
+
+    private void openFile() throws IOException {
+      Path filepath = new Path(directory, UUID.randomUUID() + getExtension(toJobConfig, codec));
+      filewriter = getWriter(toJobConfig);
+      filewriter.initialize(filepath, schema, conf, codec);
+      fileRows = 0;
+    }
+
+    /**
+     * Hands the current file over to the closer once it is full, the next
+     * file is opened on the next row.
+     */
+    void rollIfFull() throws IOException {
+      if (fileRows >= maxFileRows || (maxFileSize != Long.MAX_VALUE && filewriter.getLength() >= maxFileSize)) {
+        closeFile();
+      }
+    }
+
+    private void closeFile() throws IOException {
+      // at most one file is being closed so that full files don't pile up in memory
+      awaitPendingClose();
+      final GenericHdfsWriter fullWriter = filewriter;
+      filewriter = null;
+      pendingClose = closer.submit(new Callable<Map<String, Long>>() {
+        @Override
+        public Map<String, Long> call() throws IOException {
+          fullWriter.destroy();
+          return fullWriter.getCounters();
+        }
+      });
+    }
+
+    private void awaitPendingClose() throws IOException {
+      if (pendingClose == null) {
+        return;
+      }
+      try {
+        for (Map.Entry<String, Long> counter : pendingClose.get().entrySet()) {
+          Long value = counters.get(counter.getKey());
+          counters.put(counter.getKey(), value == null ? counter.getValue() : value + counter.getValue());
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while closing a file");
+      } catch (ExecutionException e) {
+        Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
+        throw Throwables.propagate(e.getCause());
+      } finally {
+        pendingClose = null;
+      }
+    }
+
+    void close() throws IOException {
+      try {
+        if (filewriter != null) {
+          closeFile();
+        }
+        awaitPendingClose();
+      } finally {
+        shutdown();
+      }
+    }
+
+    void shutdown() {
+      closer.shutdownNow();
+    }
+
+    Map<String, Long> getCounters() {
+      return counters;
+    }
   }
 
-  private String getCompressionCodecName(ToJobConfiguration toJobConf) {
+  static GenericHdfsWriter getWriter(ToJobConfiguration toJobConf) {
+    if (toJobConf.toJobConfig.outputFormat == null) {
+      return new HdfsTextWriter(toJobConf.toJobConfig.blockSize, toJobConf.toJobConfig.replication);
+    }
+    switch (toJobConf.toJobConfig.outputFormat) {
+      case SEQUENCE_FILE:
+        return new HdfsSequenceWriter(toJobConf.toJobConfig.blockSize, toJobConf.toJobConfig.replication);
+      case PARQUET_FILE:
+        return new HdfsParquetWriter(toJobConf.toJobConfig.rowGroupSize);
+      case ORC_FILE:
+        return new HdfsOrcWriter(toJobConf.toJobConfig.stripeSize);
+      default:
+        return new HdfsTextWriter(toJobConf.toJobConfig.blockSize, toJobConf.toJobConfig.replication);
+    }
+  }
+
+  /**
+   * Creates the codec of the compression of the job, null when not compressed.
+   */
+  static CompressionCodec createCompressionCodec(ToJobConfiguration toJobConfig, Configuration conf) {
+    String codecname = getCompressionCodecName(toJobConfig);
+    if (codecname == null) {
+      return null;
+    }
+
+    Class<?> clz = ClassUtils.loadClass(codecname);
+    if (clz == null) {
+      throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0003, codecname);
+    }
+
+    try {
+      CompressionCodec codec = (CompressionCodec) clz.newInstance();
+      if (codec instanceof Configurable) {
+        ((Configurable) codec).setConf(conf);
+      }
+      return codec;
+    } catch (RuntimeException|InstantiationException|IllegalAccessException e) {
+      throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0004, codecname, e);
+    }
+  }
+
+  private static String getCompressionCodecName(ToJobConfiguration toJobConf) {
     if(toJobConf.toJobConfig.compression == null)
       return null;
     switch(toJobConf.toJobConfig.compression) {
@@ -154,9 +353,14 @@ private String getCompressionCodecName(ToJobConfiguration toJobConf) {
   }
 
   //TODO: We should probably support configurable extensions at some point
-  private static String getExtension(ToJobConfiguration toJobConf, CompressionCodec codec) {
+  static String getExtension(ToJobConfiguration toJobConf, CompressionCodec codec) {
     if (toJobConf.toJobConfig.outputFormat == ToFormat.SEQUENCE_FILE)
       return ".seq";
+    // compression is internal to the columnar formats
+    if (toJobConf.toJobConfig.outputFormat == ToFormat.PARQUET_FILE)
+      return ".parquet";
+    if (toJobConf.toJobConfig.outputFormat == ToFormat.ORC_FILE)
+      return ".orc";
     if (codec == null)
       return ".txt";
     return codec.getDefaultExtension();
@@ -170,4 +374,9 @@ public long getRowsWritten() {
     return rowsWritten;
   }
 
+  @Override
+  public Map<String, Long> getCounters() {
+    return counters;
+  }
+
 }
@@ -35,6 +35,7 @@
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.CompressionCodecFactory;
+import org.apache.hadoop.io.compress.SplittableCompressionCodec;
 import org.apache.hadoop.net.NetworkTopology;
 import org.apache.hadoop.net.NodeBase;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -43,6 +44,7 @@
 import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.IncrementalType;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
 import org.apache.sqoop.connector.hdfs.security.SecurityUtils;
 import org.apache.sqoop.error.code.HdfsConnectorError;
 import org.apache.sqoop.job.etl.Partition;
@@ -211,7 +213,7 @@ private void getMoreSplits(Configuration conf, List<Path> paths,
 
     // populate all the blocks for all files
     for (int i = 0; i < paths.size(); i++) {
-      new OneFileInfo(paths.get(i), conf, isSplitable(conf, paths.get(i)),
+      new OneFileInfo(paths.get(i), conf,
                                  rackToBlocks, blockToNodes, nodeToBlocks,
                                  rackToNodes, maxSize);
     }
@@ -371,14 +373,19 @@ private void getMoreSplits(Configuration conf, List<Path> paths,
     }
   }
 
-  private boolean isSplitable(Configuration conf, Path file) {
-    final CompressionCodec codec =
-        new CompressionCodecFactory(conf).getCodec(file);
+  private static boolean isSplitable(Configuration conf, FileStatus stat) throws IOException {
+    // Parquet files are read whole, ORC files are read by the stripes that
+    // start in each split
+    if (HdfsUtils.getFileFormat(conf, stat) == ToFormat.PARQUET_FILE) {
+      return false;
+    }
 
-    // This method might be improved for SplittableCompression codec when we
-    // drop support for Hadoop 1.0
-    return null == codec;
+    final CompressionCodec codec =
+        new CompressionCodecFactory(conf).getCodec(stat.getPath());
 
+    // Splits of a splittable codec are aligned to its compression blocks
+    // by the extractor
+    return null == codec || codec instanceof SplittableCompressionCodec;
   }
 
   /**
@@ -432,7 +439,6 @@ private static class OneFileInfo {
     private OneBlockInfo[] blocks;       // all blocks in this file
 
     OneFileInfo(Path path, Configuration conf,
-                boolean isSplitable,
                 HashMap<String, List<OneBlockInfo>> rackToBlocks,
                 HashMap<OneBlockInfo, String[]> blockToNodes,
                 HashMap<String, List<OneBlockInfo>> nodeToBlocks,
@@ -444,6 +450,7 @@ private static class OneFileInfo {
       // get block locations from file system
       FileSystem fs = path.getFileSystem(conf);
       FileStatus stat = fs.getFileStatus(path);
+      boolean isSplitable = isSplitable(conf, stat);
       BlockLocation[] locations = fs.getFileBlockLocations(stat, 0,
                                                            stat.getLen());
       // create a list of all block and their locations
@@ -19,19 +19,30 @@
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.SequenceFile;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.apache.hadoop.security.UserGroupInformation;
+import org.apache.hadoop.util.LineReader;
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
 import org.apache.sqoop.connector.hdfs.configuration.ToJobConfiguration;
+import org.apache.sqoop.connector.hdfs.hdfsWriter.GenericHdfsWriter;
 import org.apache.sqoop.connector.hdfs.security.SecurityUtils;
 import org.apache.sqoop.error.code.HdfsConnectorError;
 import org.apache.sqoop.job.etl.Destroyer;
 import org.apache.sqoop.job.etl.DestroyerContext;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Serializable;
 import java.security.PrivilegedExceptionAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 
 public class HdfsToDestroyer extends Destroyer<LinkConfiguration, ToJobConfiguration> implements Serializable {
 
@@ -56,6 +67,9 @@ public Void run() throws Exception {
 
           // If we succeeded, we need to move all files from working directory
           if (context.isSuccess()) {
+            if (jobConfig.toJobConfig.minFileSize != null) {
+              compact(fs, configuration, new Path(workingDirectory), jobConfig);
+            }
             FileStatus[] fileStatuses = fs.listStatus(new Path
               (workingDirectory));
             for (FileStatus status : fileStatuses) {
@@ -75,4 +89,88 @@ public Void run() throws Exception {
       throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0008, e);
     }
   }
+
+  /**
+   * Merges the files of the working directory that are smaller than the
+   * minimal file size of the job into files of at least that size.
+   */
+  private void compact(FileSystem fs, Configuration configuration, Path workingDirectory,
+                       ToJobConfiguration jobConfig) throws IOException {
+    long minFileSize = jobConfig.toJobConfig.minFileSize;
+    List<Path> files = new ArrayList<Path>();
+    long size = 0;
+    for (FileStatus status : fs.listStatus(workingDirectory)) {
+      if (status.getLen() >= minFileSize) {
+        continue;
+      }
+      files.add(status.getPath());
+      size += status.getLen();
+      if (size >= minFileSize) {
+        merge(fs, configuration, workingDirectory, files, jobConfig);
+        files.clear();
+        size = 0;
+      }
+    }
+    merge(fs, configuration, workingDirectory, files, jobConfig);
+  }
+
+  /**
+   * Rewrites the rows of the given files into a single file, with the format
+   * and compression of the job, and deletes them.
+   */
+  private void merge(FileSystem fs, Configuration configuration, Path workingDirectory,
+                     List<Path> files, ToJobConfiguration jobConfig) throws IOException {
+    if (files.size() < 2) {
+      return;
+    }
+    CompressionCodec codec = HdfsLoader.createCompressionCodec(jobConfig, configuration);
+    Path merged = new Path(workingDirectory, UUID.randomUUID() + HdfsLoader.getExtension(jobConfig, codec));
+    LOG.info("Merging " + files.size() + " files into " + merged);
+
+    GenericHdfsWriter filewriter = HdfsLoader.getWriter(jobConfig);
+    filewriter.initialize(merged, null, configuration, codec);
+    for (Path file : files) {
+      if (jobConfig.toJobConfig.outputFormat == ToFormat.SEQUENCE_FILE) {
+        copySequenceFile(configuration, file, filewriter);
+      } else {
+        copyTextFile(fs, configuration, file, filewriter);
+      }
+    }
+    filewriter.destroy();
+
+    for (Path file : files) {
+      fs.delete(file, false);
+    }
+  }
+
+  private void copySequenceFile(Configuration configuration, Path file, GenericHdfsWriter filewriter)
+      throws IOException {
+    SequenceFile.Reader filereader = new SequenceFile.Reader(configuration, SequenceFile.Reader.file(file));
+    try {
+      Text line = new Text();
+      while (filereader.next(line)) {
+        filewriter.write(line.toString());
+      }
+    } finally {
+      filereader.close();
+    }
+  }
+
+  private void copyTextFile(FileSystem fs, Configuration configuration, Path file, GenericHdfsWriter filewriter)
+      throws IOException {
+    CompressionCodec codec = new CompressionCodecFactory(configuration).getCodec(file);
+    InputStream filestream = fs.open(file);
+    if (codec != null) {
+      filestream = codec.createInputStream(filestream);
+    }
+    LineReader filereader = new LineReader(filestream, configuration);
+    try {
+      Text line = new Text();
+      while (filereader.readLine(line) > 0) {
+        filewriter.write(line.toString());
+      }
+    } finally {
+      filereader.close();
+    }
+  }
 }
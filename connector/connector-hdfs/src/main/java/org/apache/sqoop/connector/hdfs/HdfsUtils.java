@@ -17,15 +17,22 @@
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodecFactory;
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.ImmutableContext;
 import org.apache.sqoop.common.MutableContext;
 import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
 import org.apache.sqoop.connector.hdfs.configuration.ToJobConfiguration;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.IOException;
 import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.util.Map;
@@ -38,6 +45,13 @@ public class HdfsUtils implements Serializable {
   public static final String DEFAULT_HADOOP_CONF_DIR = "/etc/hadoop/conf";
 
   private static final Logger LOG = Logger.getLogger(HdfsUtils.class);
+
+  // Magic bytes at the start of sequence files and at the start and near the
+  // end of columnar files
+  private static final byte[] SEQUENCE_MAGIC = {'S', 'E', 'Q'};
+  private static final byte[] PARQUET_MAGIC = {'P', 'A', 'R', '1'};
+  private static final byte[] ORC_MAGIC = {'O', 'R', 'C'};
+
   /**
    * Create Hadoop configuration object
    */
@@ -170,4 +184,70 @@ public static Object[] formatRecord(LinkConfiguration linkConfiguration,
 
     return record;
   }
+
+  /**
+   * Returns the format of the given file. Files known to be text from their
+   * name, i.e. with the ".txt" extension written by the loader or the extension
+   * of a compression codec, are not opened. The other files are recognized
+   * from their magic bytes, read with a single open.
+   * @param conf Hadoop configuration
+   * @param file File to look at
+   * @return ToFormat
+   * @throws IOException
+   */
+  public static ToFormat getFileFormat(Configuration conf, Path file) throws IOException {
+    if (isTextFileName(conf, file)) {
+      return ToFormat.TEXT_FILE;
+    }
+    return getFileFormat(conf, file.getFileSystem(conf).getFileStatus(file));
+  }
+
+  /**
+   * Returns the format of the given file, see {@link #getFileFormat(Configuration, Path)}.
+   * @param conf Hadoop configuration
+   * @param status Status of the file to look at
+   * @return ToFormat
+   * @throws IOException
+   */
+  public static ToFormat getFileFormat(Configuration conf, FileStatus status) throws IOException {
+    Path file = status.getPath();
+    long fileLength = status.getLen();
+    if (isTextFileName(conf, file) || fileLength < 2 * PARQUET_MAGIC.length) {
+      return ToFormat.TEXT_FILE;
+    }
+
+    byte[] head = new byte[PARQUET_MAGIC.length];
+    byte[] tail = new byte[PARQUET_MAGIC.length];
+    FSDataInputStream filestream = file.getFileSystem(conf).open(file);
+    try {
+      filestream.readFully(0, head);
+      filestream.readFully(fileLength - tail.length, tail);
+    } finally {
+      filestream.close();
+    }
+    if (startsWith(head, PARQUET_MAGIC) && startsWith(tail, PARQUET_MAGIC)) {
+      return ToFormat.PARQUET_FILE;
+    }
+    // ORC files end with their postscript, whose magic precedes its length byte
+    if (startsWith(head, ORC_MAGIC) && startsWith(tail, ORC_MAGIC)) {
+      return ToFormat.ORC_FILE;
+    }
+    if (startsWith(head, SEQUENCE_MAGIC)) {
+      return ToFormat.SEQUENCE_FILE;
+    }
+    return ToFormat.TEXT_FILE;
+  }
+
+  private static boolean isTextFileName(Configuration conf, Path file) {
+    return file.getName().endsWith(".txt") || new CompressionCodecFactory(conf).getCodec(file) != null;
+  }
+
+  private static boolean startsWith(byte[] bytes, byte[] prefix) {
+    for (int i = 0; i < prefix.length; i++) {
+      if (bytes[i] != prefix[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -0,0 +1,263 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs;
+
+import org.apache.hadoop.hive.common.type.HiveDecimal;
+import org.apache.hadoop.hive.ql.io.orc.CompressionKind;
+import org.apache.hadoop.hive.ql.io.orc.OrcProto;
+import org.apache.hadoop.hive.serde2.objectinspector.ListObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.MapObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.ObjectInspectorFactory;
+import org.apache.hadoop.hive.serde2.objectinspector.PrimitiveObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.StructObjectInspector;
+import org.apache.hadoop.hive.serde2.objectinspector.primitive.PrimitiveObjectInspectorFactory;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.io.compress.SnappyCodec;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
+import org.apache.sqoop.error.code.HdfsConnectorError;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.AbstractComplexListType;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.DateTime;
+import org.apache.sqoop.schema.type.Decimal;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.joda.time.LocalDate;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mapping between Sqoop columns and the types of ORC files.
+ *
+ * Values are converted between the objects of the Sqoop object array format
+ * and the java objects of Hive's standard object inspectors. TIME columns,
+ * which have no ORC type, are stored as strings in the ISO 8601 format.
+ */
+public final class OrcUtils {
+
+  private OrcUtils() {
+  }
+
+  /**
+   * Creates the inspector of rows given as arrays of {@link #toOrc} values.
+   */
+  public static StructObjectInspector createObjectInspector(Schema schema) {
+    List<String> names = new ArrayList<String>();
+    List<ObjectInspector> inspectors = new ArrayList<ObjectInspector>();
+    for (Column column : schema.getColumnsArray()) {
+      names.add(column.getName());
+      inspectors.add(createObjectInspector(column));
+    }
+    return ObjectInspectorFactory.getStandardStructObjectInspector(names, inspectors);
+  }
+
+  private static ObjectInspector createObjectInspector(Column column) {
+    switch (column.getType()) {
+    case ARRAY:
+    case SET:
+      return ObjectInspectorFactory.getStandardListObjectInspector(
+          createObjectInspector(((AbstractComplexListType) column).getListType()));
+    case MAP:
+      org.apache.sqoop.schema.type.Map mapColumn = (org.apache.sqoop.schema.type.Map) column;
+      return ObjectInspectorFactory.getStandardMapObjectInspector(
+          createObjectInspector(mapColumn.getKey()), createObjectInspector(mapColumn.getValue()));
+    case UNKNOWN:
+    case BINARY:
+      return PrimitiveObjectInspectorFactory.javaByteArrayObjectInspector;
+    case BIT:
+      return PrimitiveObjectInspectorFactory.javaBooleanObjectInspector;
+    case DATE:
+      return PrimitiveObjectInspectorFactory.javaDateObjectInspector;
+    case DATE_TIME:
+      return PrimitiveObjectInspectorFactory.javaTimestampObjectInspector;
+    case DECIMAL:
+      return PrimitiveObjectInspectorFactory.javaHiveDecimalObjectInspector;
+    case FIXED_POINT:
+      return SqoopIDFUtils.isInteger(column) ? PrimitiveObjectInspectorFactory.javaIntObjectInspector
+          : PrimitiveObjectInspectorFactory.javaLongObjectInspector;
+    case FLOATING_POINT:
+      return isFloat(column) ? PrimitiveObjectInspectorFactory.javaFloatObjectInspector
+          : PrimitiveObjectInspectorFactory.javaDoubleObjectInspector;
+    case ENUM:
+    case TEXT:
+    case TIME:
+      return PrimitiveObjectInspectorFactory.javaStringObjectInspector;
+    default:
+      throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0002, column.getType().name());
+    }
+  }
+
+  /**
+   * Converts a value of the object array format to the java object stored in ORC.
+   */
+  public static Object toOrc(Object value, Column column) {
+    if (value == null) {
+      return null;
+    }
+    switch (column.getType()) {
+    case ARRAY:
+    case SET:
+      Column elementColumn = ((AbstractComplexListType) column).getListType();
+      Object[] elements = (Object[]) value;
+      List<Object> list = new ArrayList<Object>(elements.length);
+      for (Object element : elements) {
+        list.add(toOrc(element, elementColumn));
+      }
+      return list;
+    case MAP:
+      org.apache.sqoop.schema.type.Map mapColumn = (org.apache.sqoop.schema.type.Map) column;
+      Map<Object, Object> map = new HashMap<Object, Object>();
+      for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        map.put(toOrc(entry.getKey(), mapColumn.getKey()), toOrc(entry.getValue(), mapColumn.getValue()));
+      }
+      return map;
+    case DATE:
+      return new java.sql.Date(((LocalDate) value).toDate().getTime());
+    case DATE_TIME:
+      if (value instanceof org.joda.time.DateTime) {
+        return new Timestamp(((org.joda.time.DateTime) value).getMillis());
+      }
+      return new Timestamp(((LocalDateTime) value).toDate().getTime());
+    case TIME:
+      return value.toString();
+    case DECIMAL:
+      return HiveDecimal.create((BigDecimal) value);
+    case FIXED_POINT:
+      return SqoopIDFUtils.isInteger(column) ? (Object) ((Number) value).intValue() : (Object) ((Number) value).longValue();
+    case FLOATING_POINT:
+      return isFloat(column) ? (Object) ((Number) value).floatValue() : (Object) ((Number) value).doubleValue();
+    case ENUM:
+    case TEXT:
+      return value.toString();
+    default:
+      // BIT, BINARY and UNKNOWN are stored as they are
+      return value;
+    }
+  }
+
+  /**
+   * Converts a value read from ORC, as seen by the given inspector, to the
+   * object array format.
+   */
+  public static Object toSqoop(Object data, ObjectInspector inspector, Column column) {
+    if (data == null) {
+      return null;
+    }
+    switch (column.getType()) {
+    case ARRAY:
+    case SET:
+      ListObjectInspector listInspector = (ListObjectInspector) inspector;
+      Column elementColumn = ((AbstractComplexListType) column).getListType();
+      List<?> list = listInspector.getList(data);
+      Object[] elements = new Object[list.size()];
+      for (int i = 0; i < elements.length; i++) {
+        elements[i] = toSqoop(list.get(i), listInspector.getListElementObjectInspector(), elementColumn);
+      }
+      return elements;
+    case MAP:
+      MapObjectInspector mapInspector = (MapObjectInspector) inspector;
+      org.apache.sqoop.schema.type.Map mapColumn = (org.apache.sqoop.schema.type.Map) column;
+      Map<Object, Object> map = new HashMap<Object, Object>();
+      for (Map.Entry<?, ?> entry : mapInspector.getMap(data).entrySet()) {
+        map.put(toSqoop(entry.getKey(), mapInspector.getMapKeyObjectInspector(), mapColumn.getKey()),
+            toSqoop(entry.getValue(), mapInspector.getMapValueObjectInspector(), mapColumn.getValue()));
+      }
+      return map;
+    default:
+      break;
+    }
+
+    Object value = ((PrimitiveObjectInspector) inspector).getPrimitiveJavaObject(data);
+    switch (column.getType()) {
+    case DATE:
+      return LocalDate.fromDateFields((java.sql.Date) value);
+    case DATE_TIME:
+      if (((DateTime) column).hasTimezone()) {
+        return new org.joda.time.DateTime(((Timestamp) value).getTime());
+      }
+      return LocalDateTime.fromDateFields((Timestamp) value);
+    case TIME:
+      return LocalTime.parse(value.toString());
+    case DECIMAL:
+      BigDecimal decimal = ((HiveDecimal) value).bigDecimalValue();
+      // Hive decimals drop trailing zeros
+      Integer scale = ((Decimal) column).getScale();
+      return scale == null ? decimal : decimal.setScale(scale, RoundingMode.HALF_UP);
+    case FIXED_POINT:
+      return SqoopIDFUtils.isInteger(column) ? (Object) ((Number) value).intValue() : (Object) ((Number) value).longValue();
+    case FLOATING_POINT:
+      return isFloat(column) ? (Object) ((Number) value).floatValue() : (Object) ((Number) value).doubleValue();
+    case ENUM:
+    case TEXT:
+      return value.toString();
+    default:
+      // BIT, BINARY and UNKNOWN are read as they are
+      return value;
+    }
+  }
+
+  /**
+   * Returns the columns of the file to read for the given top level fields,
+   * indexed by ORC column id: the root, the fields and all their children.
+   */
+  public static boolean[] getIncludedColumns(List<OrcProto.Type> types, int[] fields) {
+    boolean[] included = new boolean[types.size()];
+    included[0] = true;
+    for (int field : fields) {
+      includeColumn(types, types.get(0).getSubtypes(field), included);
+    }
+    return included;
+  }
+
+  private static void includeColumn(List<OrcProto.Type> types, int id, boolean[] included) {
+    included[id] = true;
+    for (int child : types.get(id).getSubtypesList()) {
+      includeColumn(types, child, included);
+    }
+  }
+
+  /**
+   * Returns the ORC compression matching a Hadoop codec.
+   */
+  public static CompressionKind getCompressionKind(CompressionCodec codec) {
+    if (codec == null) {
+      return CompressionKind.NONE;
+    } else if (codec instanceof DefaultCodec) {
+      // default, deflate and gzip codecs all compress with deflate
+      return CompressionKind.ZLIB;
+    } else if (codec instanceof SnappyCodec) {
+      return CompressionKind.SNAPPY;
+    } else if (codec.getClass().getName().equals("com.hadoop.compression.lzo.LzoCodec")) {
+      return CompressionKind.LZO;
+    }
+    throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0010, codec.getClass().getName());
+  }
+
+  private static boolean isFloat(Column column) {
+    Long byteSize = ((FloatingPoint) column).getByteSize();
+    return byteSize != null && byteSize <= (Float.SIZE / Byte.SIZE);
+  }
+}
@@ -30,4 +30,14 @@ public enum ToFormat implements Serializable {
    * Sequence file
    */
   SEQUENCE_FILE,
+
+  /**
+   * Parquet file
+   */
+  PARQUET_FILE,
+
+  /**
+   * ORC file
+   */
+  ORC_FILE,
 }
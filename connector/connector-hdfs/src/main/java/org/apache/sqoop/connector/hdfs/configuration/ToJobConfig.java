@@ -39,6 +39,20 @@ public class ToJobConfig implements Serializable {
 
   @Input(size = 255) public String customCompression;
 
+  @Input public Long rowGroupSize;
+
+  @Input public Long stripeSize;
+
+  @Input public Long blockSize;
+
+  @Input public Integer replication;
+
+  @Input public Long maxFileSize;
+
+  @Input public Long maxFileRows;
+
+  @Input public Long minFileSize;
+
   @Input(size = 255, validators = { @Validator(NotEmpty.class)}) public String outputDirectory;
 
   @Input public Boolean appendMode;
@@ -56,6 +70,45 @@ public void validate(ToJobConfig conf) {
          (conf.customCompression == null || conf.customCompression.trim().length() == 0)) {
         addMessage(Status.ERROR, "Custom compression field is blank.");
       }
+
+      if ((conf.outputFormat == ToFormat.PARQUET_FILE || conf.outputFormat == ToFormat.ORC_FILE) &&
+          (conf.compression == ToCompression.BZIP2 ||
+           conf.compression == ToCompression.LZ4 ||
+           conf.compression == ToCompression.CUSTOM)) {
+        addMessage(Status.ERROR, conf.compression + " compression can't be used with " + conf.outputFormat);
+      }
+
+      if (conf.rowGroupSize != null && (conf.rowGroupSize <= 0 || conf.rowGroupSize > Integer.MAX_VALUE)) {
+        addMessage(Status.ERROR, "Row group size should be between 1 and " + Integer.MAX_VALUE + " bytes.");
+      }
+
+      if (conf.stripeSize != null && conf.stripeSize <= 0) {
+        addMessage(Status.ERROR, "Stripe size should be positive.");
+      }
+
+      if (conf.blockSize != null && conf.blockSize <= 0) {
+        addMessage(Status.ERROR, "Block size should be positive.");
+      }
+
+      if (conf.replication != null && (conf.replication <= 0 || conf.replication > Short.MAX_VALUE)) {
+        addMessage(Status.ERROR, "Replication should be between 1 and " + Short.MAX_VALUE + ".");
+      }
+
+      if (conf.maxFileSize != null && conf.maxFileSize <= 0) {
+        addMessage(Status.ERROR, "Maximal file size should be positive.");
+      }
+
+      if (conf.maxFileRows != null && conf.maxFileRows <= 0) {
+        addMessage(Status.ERROR, "Maximal number of rows per file should be positive.");
+      }
+
+      if (conf.minFileSize != null) {
+        if (conf.minFileSize <= 0) {
+          addMessage(Status.ERROR, "Minimal file size should be positive.");
+        } else if (conf.outputFormat == ToFormat.PARQUET_FILE || conf.outputFormat == ToFormat.ORC_FILE) {
+          addMessage(Status.ERROR, "Files can't be compacted with " + conf.outputFormat);
+        }
+      }
     }
   }
 }
@@ -18,16 +18,51 @@
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.sqoop.schema.Schema;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 
 public abstract class GenericHdfsWriter implements Serializable {
 
-  public abstract void initialize(Path filepath, Configuration conf, CompressionCodec codec) throws IOException;
+  public abstract void initialize(Path filepath, Schema schema, Configuration conf, CompressionCodec codec) throws IOException;
 
   public abstract void write(String csv) throws IOException;
 
+  /**
+   * Whether the writer stores the typed columns of the schema, in which case
+   * rows should be given to {@link #write(Object[])} rather than as CSV text.
+   */
+  public boolean isColumnar() {
+    return false;
+  }
+
+  /**
+   * Writes a row in the order of the schema given to initialize. The array
+   * may be reused by the caller once the method returns.
+   */
+  public void write(Object[] record) throws IOException {
+    throw new UnsupportedOperationException(getClass().getName() + " only writes CSV text");
+  }
+
   public abstract void destroy() throws IOException;
 
+  /**
+   * Approximate length in bytes of the file written so far, -1 when the
+   * writer can't tell it before being destroyed.
+   */
+  public long getLength() throws IOException {
+    return -1;
+  }
+
+  /**
+   * Counters of the file written since initialize, keyed by the counter names
+   * of {@link org.apache.sqoop.connector.hdfs.HdfsLoader}.
+   */
+  public Map<String, Long> getCounters() {
+    return Collections.emptyMap();
+  }
+
 }
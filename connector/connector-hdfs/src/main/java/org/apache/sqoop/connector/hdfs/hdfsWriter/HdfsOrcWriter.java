@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs.hdfsWriter;
+
+import com.google.common.base.Charsets;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hive.ql.io.orc.OrcFile;
+import org.apache.hadoop.hive.ql.io.orc.Writer;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
+import org.apache.sqoop.connector.hdfs.HdfsConstants;
+import org.apache.sqoop.connector.hdfs.OrcUtils;
+import org.apache.sqoop.error.code.HdfsConnectorError;
+import org.apache.sqoop.json.util.SchemaSerialization;
+import org.apache.sqoop.schema.ByteArraySchema;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes rows as ORC rows, see {@link OrcUtils} for the mapping of the
+ * columns. The Sqoop schema is stored in the file metadata so that the file
+ * can be read back with the same types.
+ */
+public class HdfsOrcWriter extends GenericHdfsWriter implements Serializable {
+
+  private final Long stripeSize;
+  private Schema schema;
+  private Column[] columns;
+  private Object[] row;
+  private Writer filewriter;
+
+  /**
+   * @param stripeSize size in bytes of the stripes, the ORC default if null
+   */
+  public HdfsOrcWriter(Long stripeSize) {
+    this.stripeSize = stripeSize;
+  }
+
+  @Override
+  public void initialize(Path filepath, Schema schema, Configuration conf, CompressionCodec codec) throws IOException {
+    if (schema == null || schema.isEmpty() || schema instanceof ByteArraySchema) {
+      throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0009, filepath.toString());
+    }
+    this.schema = schema;
+    columns = schema.getColumnsArray();
+    row = new Object[columns.length];
+
+    OrcFile.WriterOptions options = OrcFile.writerOptions(conf)
+        .inspector(OrcUtils.createObjectInspector(schema))
+        .compress(OrcUtils.getCompressionKind(codec));
+    if (stripeSize != null) {
+      options.stripeSize(stripeSize);
+    }
+    filewriter = OrcFile.createWriter(filepath, options);
+    filewriter.addUserMetadata(HdfsConstants.SCHEMA_METADATA_KEY,
+        ByteBuffer.wrap(SchemaSerialization.extractSchema(schema).toJSONString().getBytes(Charsets.UTF_8)));
+  }
+
+  @Override
+  public void write(String csv) throws IOException {
+    write(SqoopIDFUtils.fromCSV(csv, schema));
+  }
+
+  @Override
+  public boolean isColumnar() {
+    return true;
+  }
+
+  @Override
+  public void write(Object[] record) throws IOException {
+    // values are encoded by addRow, so the same row is used for every record
+    for (int i = 0; i < columns.length; i++) {
+      row[i] = OrcUtils.toOrc(record[i], columns[i]);
+    }
+    filewriter.addRow(row);
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    filewriter.close();
+  }
+}
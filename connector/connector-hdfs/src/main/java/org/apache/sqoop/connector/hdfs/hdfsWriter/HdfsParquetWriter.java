@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs.hdfsWriter;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.hadoop.io.compress.SnappyCodec;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopAvroUtils;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
+import org.apache.sqoop.connector.hdfs.HdfsConstants;
+import org.apache.sqoop.connector.idf.AVROIntermediateDataFormat;
+import org.apache.sqoop.error.code.HdfsConnectorError;
+import org.apache.sqoop.json.util.SchemaSerialization;
+import org.apache.sqoop.schema.ByteArraySchema;
+import parquet.avro.AvroSchemaConverter;
+import parquet.avro.AvroWriteSupport;
+import parquet.column.ParquetProperties;
+import parquet.hadoop.ParquetOutputFormat;
+import parquet.hadoop.ParquetWriter;
+import parquet.hadoop.metadata.CompressionCodecName;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes rows as Parquet records through their Avro representation, the one
+ * of the Avro intermediate data format. The Sqoop schema is stored in the
+ * file metadata so that the file can be read back with the same types.
+ */
+public class HdfsParquetWriter extends GenericHdfsWriter implements Serializable {
+
+  private final Long rowGroupSize;
+  private org.apache.sqoop.schema.Schema schema;
+  private AVROIntermediateDataFormat avroIntermediateDataFormat;
+  private ParquetWriter<IndexedRecord> filewriter;
+
+  /**
+   * @param rowGroupSize size in bytes of the row groups, the Parquet default if null
+   */
+  public HdfsParquetWriter(Long rowGroupSize) {
+    this.rowGroupSize = rowGroupSize;
+  }
+
+  @Override
+  public void initialize(Path filepath, org.apache.sqoop.schema.Schema schema, Configuration conf, CompressionCodec codec) throws IOException {
+    if (schema == null || schema.isEmpty() || schema instanceof ByteArraySchema) {
+      throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0009, filepath.toString());
+    }
+    this.schema = schema;
+    avroIntermediateDataFormat = new AVROIntermediateDataFormat(schema);
+    Schema avroSchema = SqoopAvroUtils.createAvroSchema(schema);
+    int blockSize = rowGroupSize == null ? ParquetWriter.DEFAULT_BLOCK_SIZE : rowGroupSize.intValue();
+    int pageSize = conf.getInt(ParquetOutputFormat.PAGE_SIZE, ParquetWriter.DEFAULT_PAGE_SIZE);
+
+    filewriter = new ParquetWriter<IndexedRecord>(filepath,
+        new SchemaWriteSupport(avroSchema, SchemaSerialization.extractSchema(schema).toJSONString()),
+        getCompressionCodecName(codec),
+        blockSize,
+        pageSize,
+        conf.getInt(ParquetOutputFormat.DICTIONARY_PAGE_SIZE, pageSize),
+        conf.getBoolean(ParquetOutputFormat.ENABLE_DICTIONARY, ParquetWriter.DEFAULT_IS_DICTIONARY_ENABLED),
+        ParquetWriter.DEFAULT_IS_VALIDATING_ENABLED,
+        ParquetProperties.WriterVersion.PARQUET_1_0,
+        conf);
+  }
+
+  @Override
+  public void write(String csv) throws IOException {
+    write(SqoopIDFUtils.fromCSV(csv, schema));
+  }
+
+  @Override
+  public boolean isColumnar() {
+    return true;
+  }
+
+  @Override
+  public void write(Object[] record) throws IOException {
+    // the record is written right away, so it can be the one reused by the IDF
+    avroIntermediateDataFormat.setObjectData(record);
+    filewriter.write(avroIntermediateDataFormat.getData());
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    filewriter.close();
+  }
+
+  private static CompressionCodecName getCompressionCodecName(CompressionCodec codec) {
+    if (codec == null) {
+      return CompressionCodecName.UNCOMPRESSED;
+    } else if (codec instanceof DefaultCodec) {
+      // default, deflate and gzip codecs all compress with deflate
+      return CompressionCodecName.GZIP;
+    } else if (codec instanceof SnappyCodec) {
+      return CompressionCodecName.SNAPPY;
+    } else if (codec.getClass().getName().equals("com.hadoop.compression.lzo.LzoCodec")) {
+      return CompressionCodecName.LZO;
+    }
+    throw new SqoopException(HdfsConnectorError.GENERIC_HDFS_CONNECTOR_0010, codec.getClass().getName());
+  }
+
+  /**
+   * Adds the Sqoop schema to the metadata written by the Avro write support.
+   */
+  private static class SchemaWriteSupport extends AvroWriteSupport {
+    private final String sqoopSchema;
+
+    SchemaWriteSupport(Schema avroSchema, String sqoopSchema) {
+      super(new AvroSchemaConverter().convert(avroSchema), avroSchema);
+      this.sqoopSchema = sqoopSchema;
+    }
+
+    @Override
+    public WriteContext init(Configuration configuration) {
+      WriteContext context = super.init(configuration);
+      Map<String, String> metadata = new HashMap<String, String>(context.getExtraMetaData());
+      metadata.put(HdfsConstants.SCHEMA_METADATA_KEY, sqoopSchema);
+      return new WriteContext(context.getSchema(), metadata);
+    }
+  }
+}
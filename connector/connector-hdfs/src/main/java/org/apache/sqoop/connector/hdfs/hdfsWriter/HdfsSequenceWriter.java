@@ -16,30 +16,49 @@
 package org.apache.sqoop.connector.hdfs.hdfsWriter;
 
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.NullWritable;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.io.Text;
 import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.sqoop.schema.Schema;
 
 import java.io.IOException;
 import java.io.Serializable;
 
 public class HdfsSequenceWriter  extends GenericHdfsWriter implements Serializable {
 
+  private final Long blockSize;
+  private final Integer replication;
   private SequenceFile.Writer filewriter;
   private Text text;
 
-  @SuppressWarnings("deprecation")
-  public void initialize(Path filepath, Configuration conf, CompressionCodec codec) throws IOException {
-    if (codec != null) {
-      filewriter = SequenceFile.createWriter(filepath.getFileSystem(conf),
-              conf, filepath, Text.class, NullWritable.class,
-              SequenceFile.CompressionType.BLOCK, codec);
-    } else {
-      filewriter = SequenceFile.createWriter(filepath.getFileSystem(conf),
-              conf, filepath, Text.class, NullWritable.class, SequenceFile.CompressionType.NONE);
-    }
+  public HdfsSequenceWriter() {
+    this(null, null);
+  }
+
+  /**
+   * @param blockSize block size of the file, the file system default if null
+   * @param replication replication of the file, the file system default if null
+   */
+  public HdfsSequenceWriter(Long blockSize, Integer replication) {
+    this.blockSize = blockSize;
+    this.replication = replication;
+  }
+
+  public void initialize(Path filepath, Schema schema, Configuration conf, CompressionCodec codec) throws IOException {
+    FileSystem fs = filepath.getFileSystem(conf);
+    SequenceFile.Writer.Option compression = codec != null
+        ? SequenceFile.Writer.compression(SequenceFile.CompressionType.BLOCK, codec)
+        : SequenceFile.Writer.compression(SequenceFile.CompressionType.NONE);
+    filewriter = SequenceFile.createWriter(conf,
+        SequenceFile.Writer.file(filepath),
+        SequenceFile.Writer.keyClass(Text.class),
+        SequenceFile.Writer.valueClass(NullWritable.class),
+        SequenceFile.Writer.blockSize(blockSize == null ? fs.getDefaultBlockSize(filepath) : blockSize),
+        SequenceFile.Writer.replication(replication == null ? fs.getDefaultReplication(filepath) : replication.shortValue()),
+        compression);
 
     text = new Text();
   }
@@ -50,6 +69,11 @@ public void write(String csv) throws IOException {
       filewriter.append(text, NullWritable.get());
   }
 
+  @Override
+  public long getLength() throws IOException {
+    return filewriter.getLength();
+  }
+
   public void destroy() throws IOException {
     filewriter.close();
   }
@@ -15,46 +15,185 @@
  */
 package org.apache.sqoop.connector.hdfs.hdfsWriter;
 
-import com.google.common.base.Charsets;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.compress.CodecPool;
 import org.apache.hadoop.io.compress.CompressionCodec;
+import org.apache.hadoop.io.compress.Compressor;
 import org.apache.sqoop.connector.hdfs.HdfsConstants;
+import org.apache.sqoop.connector.hdfs.HdfsLoader;
+import org.apache.sqoop.schema.Schema;
 
-import java.io.BufferedWriter;
-import java.io.DataOutputStream;
 import java.io.IOException;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Writes rows as lines of UTF-8 text. Rows are encoded straight into a large
+ * byte buffer (see {@link HdfsConstants#TEXT_WRITER_BUFFER_SIZE}) that is
+ * handed to the file or compressor stream once full, and written data can be
+ * flushed out every few megabytes (see
+ * {@link HdfsConstants#TEXT_WRITER_CHECKPOINT_MB}).
+ */
 public class HdfsTextWriter extends GenericHdfsWriter implements Serializable {
 
-  private BufferedWriter filewriter;
+  // Longest UTF-8 encoding of a character, the one of supplementary characters
+  private static final int MAX_CHAR_BYTES = 4;
+
+  private final Long blockSize;
+  private final Integer replication;
+  private FSDataOutputStream filestream;
+  private OutputStream out;
+  private Compressor compressor;
+  private byte[] buffer;
+  private int position;
+  private long checkpointBytes;
+  private boolean checkpointSync;
+  private long bytesSinceCheckpoint;
+  private long bytesWritten;
+  // time spent encoding rows, and writing them out to the file
+  private long encodeNanos;
+  private long flushNanos;
+
+  public HdfsTextWriter() {
+    this(null, null);
+  }
+
+  /**
+   * @param blockSize block size of the file, the file system default if null
+   * @param replication replication of the file, the file system default if null
+   */
+  public HdfsTextWriter(Long blockSize, Integer replication) {
+    this.blockSize = blockSize;
+    this.replication = replication;
+  }
 
   @Override
-  public void initialize(Path filepath, Configuration conf, CompressionCodec codec) throws IOException {
+  public void initialize(Path filepath, Schema schema, Configuration conf, CompressionCodec codec) throws IOException {
     FileSystem fs = filepath.getFileSystem(conf);
 
-    DataOutputStream filestream = fs.create(filepath, false);
+    filestream = fs.create(filepath, false,
+        conf.getInt("io.file.buffer.size", 4096),
+        replication == null ? fs.getDefaultReplication(filepath) : replication.shortValue(),
+        blockSize == null ? fs.getDefaultBlockSize(filepath) : blockSize);
     if (codec != null) {
-      filewriter = new BufferedWriter(new OutputStreamWriter(
-              codec.createOutputStream(filestream, codec.createCompressor()),
-              Charsets.UTF_8));
+      compressor = CodecPool.getCompressor(codec, conf);
+      out = codec.createOutputStream(filestream, compressor);
     } else {
-      filewriter = new BufferedWriter(new OutputStreamWriter(
-              filestream, Charsets.UTF_8));
+      out = filestream;
     }
+
+    buffer = new byte[Math.max(MAX_CHAR_BYTES,
+        conf.getInt(HdfsConstants.TEXT_WRITER_BUFFER_SIZE, HdfsConstants.DEFAULT_TEXT_WRITER_BUFFER_SIZE))];
+    position = 0;
+    checkpointBytes = conf.getLong(HdfsConstants.TEXT_WRITER_CHECKPOINT_MB,
+        HdfsConstants.DEFAULT_TEXT_WRITER_CHECKPOINT_MB) * 1024 * 1024;
+    checkpointSync = conf.getBoolean(HdfsConstants.TEXT_WRITER_CHECKPOINT_SYNC, false);
+    bytesSinceCheckpoint = 0;
+    bytesWritten = 0;
+    encodeNanos = 0;
+    flushNanos = 0;
   }
 
   @Override
   public void write(String csv) throws IOException {
-    filewriter.write(csv + HdfsConstants.DEFAULT_RECORD_DELIMITER);
+    long writeStart = System.nanoTime();
+    long flushedBefore = flushNanos;
+    int length = csv.length();
+    for (int i = 0; i < length; i++) {
+      if (position > buffer.length - MAX_CHAR_BYTES) {
+        flushBuffer();
+      }
+      char c = csv.charAt(i);
+      if (c < 0x80) {
+        buffer[position++] = (byte) c;
+      } else if (c < 0x800) {
+        buffer[position++] = (byte) (0xc0 | (c >> 6));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(csv.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, csv.charAt(++i));
+        buffer[position++] = (byte) (0xf0 | (codePoint >> 18));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (codePoint & 0x3f));
+      } else if (Character.isSurrogate(c)) {
+        // unpaired surrogates are replaced like the JDK encoder does
+        buffer[position++] = '?';
+      } else {
+        buffer[position++] = (byte) (0xe0 | (c >> 12));
+        buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+        buffer[position++] = (byte) (0x80 | (c & 0x3f));
+      }
+    }
+    if (position == buffer.length) {
+      flushBuffer();
+    }
+    buffer[position++] = HdfsConstants.DEFAULT_RECORD_DELIMITER;
+
+    // checkpoints are only made at the end of rows
+    if (checkpointBytes > 0 && bytesSinceCheckpoint + position >= checkpointBytes) {
+      checkpoint();
+    }
+    // only the flushes made by this row are taken out of its time
+    encodeNanos += System.nanoTime() - writeStart - (flushNanos - flushedBefore);
+  }
 
+  private void flushBuffer() throws IOException {
+    long flushStart = System.nanoTime();
+    out.write(buffer, 0, position);
+    bytesSinceCheckpoint += position;
+    position = 0;
+    flushNanos += System.nanoTime() - flushStart;
+  }
+
+  /**
+   * Makes the rows written so far visible to readers, or durable when
+   * syncing. Rows still held by a compressor are not part of the checkpoint.
+   */
+  private void checkpoint() throws IOException {
+    flushBuffer();
+    long flushStart = System.nanoTime();
+    out.flush();
+    if (checkpointSync) {
+      filestream.hsync();
+    } else {
+      filestream.hflush();
+    }
+    bytesSinceCheckpoint = 0;
+    flushNanos += System.nanoTime() - flushStart;
   }
 
   @Override
   public void destroy() throws IOException {
-    filewriter.close();
+    try {
+      flushBuffer();
+      out.close();
+      // the position is kept once closed, and includes the codec trailer
+      bytesWritten = filestream.getPos();
+    } finally {
+      if (compressor != null) {
+        CodecPool.returnCompressor(compressor);
+        compressor = null;
+      }
+    }
+  }
+
+  @Override
+  public long getLength() throws IOException {
+    // compressed bytes out of the compressor so far, plus the buffered rows
+    return filestream.getPos() + position;
+  }
+
+  @Override
+  public Map<String, Long> getCounters() {
+    Map<String, Long> counters = new HashMap<String, Long>();
+    counters.put(HdfsLoader.BYTES_WRITTEN, bytesWritten);
+    counters.put(HdfsLoader.ENCODE_MILLIS, TimeUnit.NANOSECONDS.toMillis(encodeNanos));
+    return counters;
   }
 }
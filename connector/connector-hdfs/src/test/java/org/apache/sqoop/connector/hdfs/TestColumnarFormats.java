@@ -0,0 +1,277 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.hdfs;
+
+
+import static org.apache.sqoop.connector.hdfs.configuration.ToFormat.ORC_FILE;
+import static org.apache.sqoop.connector.hdfs.configuration.ToFormat.PARQUET_FILE;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sqoop.common.MapContext;
+import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.hdfs.configuration.ToCompression;
+import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
+import org.apache.sqoop.connector.hdfs.configuration.ToJobConfiguration;
+import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.PartitionerContext;
+import org.apache.sqoop.schema.NullSchema;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Date;
+import org.apache.sqoop.schema.type.Decimal;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.joda.time.LocalDate;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+public class TestColumnarFormats extends TestHdfsBase {
+  private static final String INPUT_ROOT = System.getProperty("maven.build.directory", "/tmp") + "/sqoop/warehouse/";
+  private static final int NUMBER_OF_ROWS_PER_FILE = 1000;
+  private static final LocalDate FIRST_DATE = new LocalDate(2015, 1, 1);
+
+  private final ToFormat outputFormat;
+  private final ToCompression compression;
+  private final String outputDirectory;
+  private final Schema schema;
+  private final String user = "test_user";
+
+  @Factory(dataProvider="test-hdfs-columnar")
+  public TestColumnarFormats(ToFormat outputFormat, ToCompression compression) {
+    this.outputDirectory = INPUT_ROOT + getClass().getSimpleName();
+    this.outputFormat = outputFormat;
+    this.compression = compression;
+    this.schema = new Schema("schema").addColumn(new FixedPoint("col1", 8L, true))
+        .addColumn(new FloatingPoint("col2", 8L))
+        .addColumn(new Text("col3"))
+        .addColumn(new Decimal("col4", 10, 2))
+        .addColumn(new Date("col5"));
+  }
+
+  @DataProvider(name="test-hdfs-columnar")
+  public static Object[][] data() {
+    List<Object[]> parameters = new ArrayList<Object[]>();
+    for (ToCompression compression : new ToCompression[]{
+        ToCompression.DEFAULT,
+        ToCompression.SNAPPY,
+        ToCompression.NONE
+    }) {
+      for (Object outputFileType : new Object[]{PARQUET_FILE, ORC_FILE}) {
+        parameters.add(new Object[]{outputFileType, compression});
+      }
+    }
+    return parameters.toArray(new Object[0][]);
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void tearDown() throws IOException {
+    FileUtils.delete(outputDirectory);
+  }
+
+  @Test
+  public void testExtractAllColumns() throws Exception {
+    load(schema);
+
+    final boolean[] visited = new boolean[NUMBER_OF_ROWS_PER_FILE];
+    extract(schema, new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        int index = ((Long) array[0]).intValue();
+        Assert.assertFalse(visited[index - 1], "Index " + index + " was visited twice");
+        visited[index - 1] = true;
+        Assert.assertEquals(array, createRow(index));
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+        throw new AssertionError("Should not be writing string.");
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+        throw new AssertionError("Should not be writing object.");
+      }
+    });
+    assertAllVisited(visited);
+  }
+
+  @Test
+  public void testExtractProjectedColumns() throws Exception {
+    load(schema);
+
+    Schema projection = new Schema("projection").addColumn(new Decimal("col4", 10, 2))
+        .addColumn(new FixedPoint("col1", 8L, true));
+    final boolean[] visited = new boolean[NUMBER_OF_ROWS_PER_FILE];
+    extract(projection, new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        Assert.assertEquals(array.length, 2);
+        int index = ((Long) array[1]).intValue();
+        visited[index - 1] = true;
+        Assert.assertEquals(array[0], createRow(index)[3]);
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+        throw new AssertionError("Should not be writing string.");
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+        throw new AssertionError("Should not be writing object.");
+      }
+    });
+    assertAllVisited(visited);
+  }
+
+  @Test
+  public void testExtractWithStoredSchema() throws Exception {
+    load(schema);
+
+    final boolean[] visited = new boolean[NUMBER_OF_ROWS_PER_FILE];
+    extract(NullSchema.instance, new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        throw new AssertionError("Should not be writing array.");
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+        int index = Integer.parseInt(text.split(",")[0]);
+        visited[index - 1] = true;
+        Assert.assertEquals(text, index + "," + (double) index + ",'" + index + "'," + index + ".50,'"
+            + FIRST_DATE.plusDays(index) + "'");
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+        throw new AssertionError("Should not be writing object.");
+      }
+    });
+    assertAllVisited(visited);
+  }
+
+  @Test(expectedExceptions = SqoopException.class)
+  public void testExtractMissingColumn() throws Exception {
+    load(schema);
+
+    extract(new Schema("projection").addColumn(new Text("col6")), new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+      }
+    });
+  }
+
+  @Test(expectedExceptions = SqoopException.class)
+  public void testLoadWithoutSchema() throws Exception {
+    load(NullSchema.instance);
+  }
+
+  private Object[] createRow(int index) {
+    return new Object[] {
+        (long) index,
+        (double) index,
+        String.valueOf(index),
+        new BigDecimal(index + ".50"),
+        FIRST_DATE.plusDays(index)
+    };
+  }
+
+  private void load(Schema loadSchema) throws Exception {
+    MutableMapContext mutableContext = new MutableMapContext(new HashMap<String, String>());
+    mutableContext.setString(HdfsConstants.WORK_DIRECTORY, outputDirectory);
+    LoaderContext context = new LoaderContext(mutableContext, new DataReader() {
+      private int index = 0;
+
+      @Override
+      public Object[] readArrayRecord() {
+        assertTestUser(user);
+        if (index++ < NUMBER_OF_ROWS_PER_FILE) {
+          return createRow(index);
+        } else {
+          return null;
+        }
+      }
+
+      @Override
+      public String readTextRecord() {
+        throw new AssertionError("should not be at readTextRecord");
+      }
+
+      @Override
+      public Object readContent() {
+        throw new AssertionError("should not be at readContent");
+      }
+    }, loadSchema, user);
+    ToJobConfiguration jobConf = new ToJobConfiguration();
+    jobConf.toJobConfig.compression = compression;
+    jobConf.toJobConfig.outputFormat = outputFormat;
+
+    new HdfsLoader().load(context, new LinkConfiguration(), jobConf);
+
+    FileSystem fs = FileSystem.get(new Configuration());
+    FileStatus[] files = fs.listStatus(new Path(outputDirectory));
+    Assert.assertEquals(files.length, 1);
+    Assert.assertTrue(files[0].getPath().getName().endsWith(outputFormat == PARQUET_FILE ? ".parquet" : ".orc"));
+  }
+
+  private void extract(Schema extractSchema, DataWriter writer) throws Exception {
+    ExtractorContext context = new ExtractorContext(new MutableMapContext(new HashMap<String, String>()),
+        writer, extractSchema, user);
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+    jobConfig.fromJobConfig.inputDirectory = outputDirectory;
+    PartitionerContext partitionerContext = new PartitionerContext(new MapContext(new HashMap<String, String>()), 4, null, user);
+    List<Partition> partitions = new HdfsPartitioner().getPartitions(partitionerContext, linkConfig, jobConfig);
+
+    for (Partition partition : partitions) {
+      new HdfsExtractor().extract(context, linkConfig, jobConfig, (HdfsPartition) partition);
+    }
+  }
+
+  private void assertAllVisited(boolean[] visited) {
+    for (int index = 0; index < visited.length; ++index) {
+      Assert.assertTrue(visited[index], "Index " + (index + 1) + " was not visited");
+    }
+  }
+}
@@ -17,16 +17,22 @@
 
 import static org.apache.sqoop.connector.hdfs.configuration.ToFormat.SEQUENCE_FILE;
 import static org.apache.sqoop.connector.hdfs.configuration.ToFormat.TEXT_FILE;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.compress.BZip2Codec;
 import org.apache.hadoop.io.compress.CompressionCodec;
 import org.apache.hadoop.io.compress.DefaultCodec;
+import org.apache.sqoop.common.MapContext;
 import org.apache.sqoop.common.MutableMapContext;
 import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
@@ -34,6 +40,8 @@
 import org.apache.sqoop.etl.io.DataWriter;
 import org.apache.sqoop.job.etl.Extractor;
 import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.PartitionerContext;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.schema.type.FixedPoint;
 import org.apache.sqoop.schema.type.FloatingPoint;
@@ -209,4 +217,83 @@ public void writeRecord(Object obj) {
       assertTrue(visited[index], "Index " + (index + 1) + " was not visited");
     }
   }
+
+  @Test
+  public void testExtractorOverRangePartitions() throws Exception {
+    final boolean[] visited = new boolean[NUMBER_OF_FILES * NUMBER_OF_ROWS_PER_FILE];
+    Schema schema = new Schema("schema").addColumn(new FixedPoint("col1", 4L, true))
+        .addColumn(new FloatingPoint("col2", 4L))
+        .addColumn(new Text("col3"))
+        .addColumn(new Text("col4"))
+        .addColumn(new Text("col5"));
+    ExtractorContext context = new ExtractorContext(new MutableMapContext(new HashMap<String, String>()), new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+        throw new AssertionError("Should not be writing array.");
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+        int index = Integer.parseInt(text.split(",")[0]);
+        // Rows at the boundaries of two ranges must be read exactly once
+        Assert.assertFalse(visited[index - 1], "Index " + index + " was visited twice");
+        visited[index - 1] = true;
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+        throw new AssertionError("Should not be writing object.");
+      }
+    }, schema, TEST_USER);
+
+    LinkConfiguration emptyLinkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+    jobConfig.fromJobConfig.inputDirectory = inputDirectory;
+    // Many more partitions than files so that splittable files are read in ranges
+    PartitionerContext partitionerContext = new PartitionerContext(new MapContext(new HashMap<String, String>()), 10 * NUMBER_OF_FILES, null, TEST_USER);
+    List<Partition> partitions = new HdfsPartitioner().getPartitions(partitionerContext, emptyLinkConfig, jobConfig);
+
+    for (Partition partition : partitions) {
+      new HdfsExtractor().extract(context, emptyLinkConfig, jobConfig, (HdfsPartition) partition);
+    }
+
+    for (int index = 0; index < NUMBER_OF_FILES * NUMBER_OF_ROWS_PER_FILE; ++index) {
+      assertTrue(visited[index], "Index " + (index + 1) + " was not visited");
+    }
+  }
+
+  @Test
+  public void testCounters() throws Exception {
+    MutableMapContext mutableContext = new MutableMapContext(new HashMap<String, String>());
+    // Read the files one after another on the extracting thread
+    mutableContext.setInteger(HdfsConstants.EXTRACTOR_PREFETCH_FILES, 1);
+    Schema schema = new Schema("schema").addColumn(new Text("col1"));
+    ExtractorContext context = new ExtractorContext(mutableContext, new DataWriter() {
+      @Override
+      public void writeArrayRecord(Object[] array) {
+      }
+
+      @Override
+      public void writeStringRecord(String text) {
+      }
+
+      @Override
+      public void writeRecord(Object obj) {
+      }
+    }, schema, TEST_USER);
+
+    Path[] files = FileUtils.listDir(inputDirectory);
+    FileSystem fs = FileSystem.get(new Configuration());
+    long inputSize = 0;
+    for (Path file : files) {
+      inputSize += fs.getFileStatus(file).getLen();
+    }
+
+    extractor.extract(context, new LinkConfiguration(), new FromJobConfiguration(), createPartition(files));
+
+    Map<String, Long> counters = extractor.getCounters();
+    assertEquals(extractor.getRowsRead(), NUMBER_OF_FILES * NUMBER_OF_ROWS_PER_FILE);
+    assertEquals(counters.get(HdfsExtractor.BYTES_READ).longValue(), inputSize);
+    assertTrue(counters.get(HdfsExtractor.DECODE_MILLIS) >= 0);
+  }
 }
@@ -15,9 +15,17 @@
  */
 package org.apache.sqoop.connector.hdfs;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileUtil;
+import org.apache.hadoop.fs.Path;
 import org.apache.sqoop.connector.hdfs.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.hdfs.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.hdfs.configuration.ToFormat;
 import org.apache.sqoop.connector.hdfs.configuration.ToJobConfiguration;
 import org.testng.annotations.Test;
 
@@ -87,4 +95,47 @@ public void testTransformRecord() throws Exception {
     assertEquals(toRecord, HdfsUtils.formatRecord(linkConfiguration, fromJobConfiguration, fromRecord));
     assertEquals(fromRecord, HdfsUtils.formatRecord(linkConfiguration, toJobConfiguration, toRecord));
   }
-}
\ No newline at end of file
+
+  private static Path writeFile(File directory, String name, String content) throws IOException {
+    File file = new File(directory, name);
+    FileOutputStream out = new FileOutputStream(file);
+    try {
+      out.write(content.getBytes(StandardCharsets.ISO_8859_1));
+    } finally {
+      out.close();
+    }
+    return new Path(file.toURI());
+  }
+
+  @Test
+  public void testGetFileFormat() throws Exception {
+    Configuration conf = new Configuration();
+    File directory = new File(System.getProperty("maven.build.directory", "/tmp"),
+        "TestHdfsUtils-" + System.nanoTime());
+    assertTrue(directory.mkdirs());
+    try {
+      assertEquals(HdfsUtils.getFileFormat(conf, writeFile(directory, "data.parquet", "PAR1 rows PAR1")),
+          ToFormat.PARQUET_FILE);
+      assertEquals(HdfsUtils.getFileFormat(conf, writeFile(directory, "data", "ORC rows ORC\u0017")),
+          ToFormat.ORC_FILE);
+      assertEquals(HdfsUtils.getFileFormat(conf, writeFile(directory, "data.seq", "SEQ\u0006 rows")),
+          ToFormat.SEQUENCE_FILE);
+      assertEquals(HdfsUtils.getFileFormat(conf, writeFile(directory, "lines", "1,'one'\n2,'two'\n")),
+          ToFormat.TEXT_FILE);
+      assertEquals(HdfsUtils.getFileFormat(conf, writeFile(directory, "short", "PAR1")),
+          ToFormat.TEXT_FILE);
+    } finally {
+      FileUtil.fullyDelete(directory);
+    }
+  }
+
+  @Test
+  public void testGetFileFormatDoesNotOpenTextFiles() throws Exception {
+    Configuration conf = new Configuration();
+    // not opened, hence not recognized from their content
+    Path missing = new Path("file:///non/existing/directory/data.txt");
+    assertEquals(HdfsUtils.getFileFormat(conf, missing), ToFormat.TEXT_FILE);
+    missing = new Path("file:///non/existing/directory/data.gz");
+    assertEquals(HdfsUtils.getFileFormat(conf, missing), ToFormat.TEXT_FILE);
+  }
+}
@@ -20,11 +20,14 @@
 
 import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
+import com.google.common.base.Charsets;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileStatus;
@@ -212,6 +215,203 @@ public Object readContent() {
     Assert.assertEquals(5, fs.listStatus(outputPath).length);
   }
 
+  @Test
+  public void testMultiByteTextAndCounters() throws Exception {
+    FileSystem fs = FileSystem.get(new Configuration());
+    final int numberOfRows = 60000;
+
+    MutableMapContext mutableContext = new MutableMapContext(new HashMap<String, String>());
+    mutableContext.setString(HdfsConstants.WORK_DIRECTORY, outputDirectory);
+    // A buffer smaller than a row, and rows spanning more than a checkpoint
+    mutableContext.setInteger(HdfsConstants.TEXT_WRITER_BUFFER_SIZE, 7);
+    mutableContext.setInteger(HdfsConstants.TEXT_WRITER_CHECKPOINT_MB, 1);
+    LoaderContext context = new LoaderContext(mutableContext, new DataReader() {
+      private int index = 0;
+
+      @Override
+      public Object[] readArrayRecord() {
+        throw new AssertionError("should not be at readArrayRecord");
+      }
+
+      @Override
+      public String readTextRecord() {
+        if (index++ < numberOfRows) {
+          return multiByteRow(index);
+        } else {
+          return null;
+        }
+      }
+
+      @Override
+      public Object readContent() {
+        throw new AssertionError("should not be at readContent");
+      }
+    }, null, user);
+    LinkConfiguration linkConf = new LinkConfiguration();
+    ToJobConfiguration jobConf = new ToJobConfiguration();
+    jobConf.toJobConfig.compression = compression;
+    jobConf.toJobConfig.outputFormat = outputFormat;
+    jobConf.toJobConfig.replication = 1;
+
+    loader.load(context, linkConf, jobConf);
+    FileStatus[] files = fs.listStatus(new Path(outputDirectory));
+    Assert.assertEquals(files.length, 1);
+
+    List<String> lines = readLines(fs, files[0].getPath());
+    Assert.assertEquals(lines.size(), numberOfRows);
+    for (int i = 1; i <= numberOfRows; ++i) {
+      Assert.assertEquals(lines.get(i - 1), multiByteRow(i));
+    }
+
+    Map<String, Long> counters = loader.getCounters();
+    if (outputFormat == TEXT_FILE) {
+      Assert.assertEquals(counters.get(HdfsLoader.BYTES_WRITTEN), (Long) files[0].getLen());
+      Assert.assertTrue(counters.get(HdfsLoader.ENCODE_MILLIS) >= 0);
+    }
+  }
+
+  @Test
+  public void testRollingFiles() throws Exception {
+    FileSystem fs = FileSystem.get(new Configuration());
+
+    MutableMapContext mutableContext = new MutableMapContext(new HashMap<String, String>());
+    mutableContext.setString(HdfsConstants.WORK_DIRECTORY, outputDirectory);
+    LoaderContext context = new LoaderContext(mutableContext, new DataReader() {
+      private long index = 0L;
+
+      @Override
+      public Object[] readArrayRecord() {
+        throw new AssertionError("should not be at readArrayRecord");
+      }
+
+      @Override
+      public String readTextRecord() {
+        assertTestUser(user);
+        if (index++ < NUMBER_OF_ROWS_PER_FILE) {
+          return index + "," + (double)index + ",'" + index + "'";
+        } else {
+          return null;
+        }
+      }
+
+      @Override
+      public Object readContent() {
+        throw new AssertionError("should not be at readContent");
+      }
+    }, null, user);
+    LinkConfiguration linkConf = new LinkConfiguration();
+    ToJobConfiguration jobConf = new ToJobConfiguration();
+    jobConf.toJobConfig.compression = compression;
+    jobConf.toJobConfig.outputFormat = outputFormat;
+    jobConf.toJobConfig.maxFileRows = 300L;
+    Path outputPath = new Path(outputDirectory);
+
+    loader.load(context, linkConf, jobConf);
+    Assert.assertEquals(loader.getRowsWritten(), NUMBER_OF_ROWS_PER_FILE);
+
+    // 300, 300, 300 and 100 rows
+    FileStatus[] files = fs.listStatus(outputPath);
+    Assert.assertEquals(files.length, 4);
+    int rows = 0;
+    for (FileStatus status : files) {
+      int fileRows = readLines(fs, status.getPath()).size();
+      Assert.assertTrue(fileRows == 300 || fileRows == 100, "Unexpected number of rows " + fileRows);
+      rows += fileRows;
+    }
+    Assert.assertEquals(rows, NUMBER_OF_ROWS_PER_FILE);
+
+    // bytes of every file are counted
+    if (outputFormat == TEXT_FILE) {
+      long length = 0;
+      for (FileStatus status : files) {
+        length += status.getLen();
+      }
+      Assert.assertEquals(loader.getCounters().get(HdfsLoader.BYTES_WRITTEN), length);
+    }
+  }
+
+  @Test
+  public void testRollingFilesBySize() throws Exception {
+    FileSystem fs = FileSystem.get(new Configuration());
+
+    MutableMapContext mutableContext = new MutableMapContext(new HashMap<String, String>());
+    mutableContext.setString(HdfsConstants.WORK_DIRECTORY, outputDirectory);
+    // buffered rows are counted in the size of text files
+    mutableContext.setInteger(HdfsConstants.TEXT_WRITER_BUFFER_SIZE, 1024);
+    LoaderContext context = new LoaderContext(mutableContext, new DataReader() {
+      private long index = 0L;
+
+      @Override
+      public Object[] readArrayRecord() {
+        throw new AssertionError("should not be at readArrayRecord");
+      }
+
+      @Override
+      public String readTextRecord() {
+        if (index++ < NUMBER_OF_ROWS_PER_FILE) {
+          return index + "," + (double)index + ",'" + index + "'";
+        } else {
+          return null;
+        }
+      }
+
+      @Override
+      public Object readContent() {
+        throw new AssertionError("should not be at readContent");
+      }
+    }, null, user);
+    LinkConfiguration linkConf = new LinkConfiguration();
+    ToJobConfiguration jobConf = new ToJobConfiguration();
+    jobConf.toJobConfig.compression = compression;
+    jobConf.toJobConfig.outputFormat = outputFormat;
+    jobConf.toJobConfig.maxFileSize = 4096L;
+    Path outputPath = new Path(outputDirectory);
+
+    loader.load(context, linkConf, jobConf);
+
+    FileStatus[] files = fs.listStatus(outputPath);
+    // compressed sizes are only known once the compressor outputs blocks
+    if (compression == ToCompression.NONE) {
+      Assert.assertTrue(files.length > 1, "Expected several files, found " + files.length);
+    }
+    int rows = 0;
+    for (FileStatus status : files) {
+      rows += readLines(fs, status.getPath()).size();
+    }
+    Assert.assertEquals(rows, NUMBER_OF_ROWS_PER_FILE);
+  }
+
+  private static String multiByteRow(int index) {
+    // Two, three and four byte characters
+    return index + ",'\u00e9\u65e5\u672c\ud83d\ude00" + index + "'";
+  }
+
+  private List<String> readLines(FileSystem fs, Path file) throws IOException {
+    Configuration conf = new Configuration();
+    List<String> lines = new ArrayList<String>();
+    if (outputFormat == SEQUENCE_FILE) {
+      SequenceFile.Reader sequenceReader = new SequenceFile.Reader(fs, file, conf);
+      org.apache.hadoop.io.Text line = new org.apache.hadoop.io.Text();
+      while (sequenceReader.next(line)) {
+        lines.add(line.toString());
+      }
+      sequenceReader.close();
+      return lines;
+    }
+
+    CompressionCodec codec = (new CompressionCodecFactory(conf)).getCodec(file);
+    InputStream in = fs.open(file);
+    if (codec != null) {
+      in = codec.createInputStream(in);
+    }
+    BufferedReader textReader = new BufferedReader(new InputStreamReader(in, Charsets.UTF_8));
+    for (String line = textReader.readLine(); line != null; line = textReader.readLine()) {
+      lines.add(line);
+    }
+    textReader.close();
+    return lines;
+  }
+
   private void verifyOutput(FileSystem fs, Path file, String format) throws IOException {
     Configuration conf = new Configuration();
     FSDataInputStream fsin = fs.open(file);
@@ -15,6 +15,7 @@
  */
 package org.apache.sqoop.connector.hdfs;
 
+import com.google.common.base.Charsets;
 import com.google.common.io.Files;
 import org.apache.sqoop.common.MutableContext;
 import org.apache.sqoop.common.MutableMapContext;
@@ -25,6 +26,9 @@
 import org.testng.annotations.Test;
 
 import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertFalse;
@@ -109,4 +113,48 @@ public void testDestroyOnFailure() throws Exception {
     assertFalse(workDir.exists());
   }
 
+  @Test
+  public void testCompactOnSuccess() throws Exception {
+    File workDir = Files.createTempDir();
+    File targetDir = Files.createTempDir();
+
+    Files.write("1\n2\n", File.createTempFile("part-01-", ".txt", workDir), Charsets.UTF_8);
+    Files.write("3\n", File.createTempFile("part-02-", ".txt", workDir), Charsets.UTF_8);
+    Files.write("4\n5\n", File.createTempFile("part-03-", ".txt", workDir), Charsets.UTF_8);
+    Files.write("6\n7\n8\n9\n10\n11\n", File.createTempFile("part-04-", ".txt", workDir), Charsets.UTF_8);
+
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    ToJobConfiguration jobConfig = new ToJobConfiguration();
+    jobConfig.toJobConfig.outputDirectory = targetDir.getAbsolutePath();
+    jobConfig.toJobConfig.minFileSize = 10L;
+
+    MutableContext context = new MutableMapContext();
+    context.setString(HdfsConstants.WORK_DIRECTORY, workDir.getAbsolutePath());
+
+    Destroyer destroyer = new HdfsToDestroyer();
+    destroyer.destroy(new DestroyerContext(context, true, null, "test_user"), linkConfig, jobConfig);
+
+    // The three small files are merged, the large one is kept as is
+    List<String> merged = null;
+    int numberOfFiles = 0;
+    for (File f : targetDir.listFiles()) {
+      if (f.getName().startsWith(".")) {
+        // checksums of the local file system
+        continue;
+      }
+      numberOfFiles++;
+      if (f.getName().startsWith("part-04-")) {
+        assertEquals(Files.readLines(f, Charsets.UTF_8).size(), 6);
+      } else {
+        assertFalse(f.getName().startsWith("part-"));
+        merged = Files.readLines(f, Charsets.UTF_8);
+      }
+    }
+    assertEquals(numberOfFiles, 2);
+    assertNotNull(merged);
+    Collections.sort(merged);
+    assertEquals(merged, Arrays.asList("1", "2", "3", "4", "5"));
+
+    assertFalse(workDir.exists());
+  }
 }
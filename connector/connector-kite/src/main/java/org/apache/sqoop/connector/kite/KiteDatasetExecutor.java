@@ -18,14 +18,17 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.io.Closeables;
 import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.commons.lang.StringUtils;
+import org.apache.hadoop.fs.Path;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.common.FileFormat;
 import org.apache.sqoop.connector.common.AvroDataTypeUtil;
 import org.apache.sqoop.connector.kite.configuration.ConfigUtil;
 import org.apache.sqoop.connector.kite.configuration.LinkConfig;
 import org.apache.sqoop.connector.kite.util.KiteDataTypeUtil;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.error.code.KiteConnectorError;
 import org.kitesdk.data.Dataset;
 import org.kitesdk.data.DatasetDescriptor;
@@ -33,12 +36,22 @@
 import org.kitesdk.data.DatasetWriter;
 import org.kitesdk.data.Datasets;
 import org.kitesdk.data.Format;
+import org.kitesdk.data.RefinableView;
 import org.kitesdk.data.URIBuilder;
+import org.kitesdk.data.View;
+import org.kitesdk.data.impl.Accessor;
+import org.kitesdk.data.spi.FieldPartitioner;
+import org.kitesdk.data.spi.PartitionKey;
+import org.kitesdk.data.spi.SizeAccessor;
 import org.kitesdk.data.spi.filesystem.FileSystemDataset;
 
 import java.io.Serializable;
 import java.net.URI;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -51,10 +64,18 @@ public class KiteDatasetExecutor implements Serializable {
 
   private final Dataset<GenericRecord> dataset;
 
+  private final View<GenericRecord> view;
+
   private DatasetWriter<GenericRecord> writer;
 
   private DatasetReader<GenericRecord> reader;
 
+  // The record written is filled again for every row, as the writers encode
+  // it before write() returns
+  private GenericRecord record;
+
+  private Object[] batchRow;
+
   /**
    * Creates a new dataset.
    */
@@ -72,6 +93,15 @@ public static Dataset<GenericRecord> createDataset(String uri, org.apache.sqoop.
 
   public KiteDatasetExecutor(Dataset<GenericRecord> dataset) {
     this.dataset = dataset;
+    this.view = dataset;
+  }
+
+  /**
+   * Creates an executor reading the records of a view only.
+   */
+  public KiteDatasetExecutor(View<GenericRecord> view) {
+    this.dataset = view.getDataset();
+    this.view = view;
   }
 
   /**
@@ -81,11 +111,28 @@ public KiteDatasetExecutor(Dataset<GenericRecord> dataset) {
    * going to be written.
    */
   public void writeRecord(Object[] data) {
-    Schema schema = dataset.getDescriptor().getSchema();
-    GenericRecord record = KiteDataTypeUtil.createGenericRecord(data, schema);
+    if (record == null) {
+      record = new GenericData.Record(dataset.getDescriptor().getSchema());
+    }
+    KiteDataTypeUtil.fillGenericRecord(data, record);
     getOrNewWriter().write(record);
   }
 
+  /**
+   * Writes all the rows of a batch into dataset.
+   *
+   * Note that `closeWriter()` should be called explicitly, when no more data is
+   * going to be written.
+   */
+  public void writeBatch(RowBatch batch) {
+    if (batchRow == null || batchRow.length != batch.getColumnCount()) {
+      batchRow = new Object[batch.getColumnCount()];
+    }
+    for (int row = 0; row < batch.size(); row++) {
+      writeRecord(batch.getRow(row, batchRow));
+    }
+  }
+
   private DatasetWriter<GenericRecord> getOrNewWriter() {
     if (writer == null) {
       writer = dataset.newWriter();
@@ -118,7 +165,7 @@ public Object[] readRecord() {
 
   private DatasetReader<GenericRecord> getOrNewReader() {
     if (reader == null) {
-      reader = dataset.newReader();
+      reader = view.newReader();
     }
     return reader;
   }
@@ -135,6 +182,44 @@ public void closeReader() {
     }
   }
 
+  /**
+   * Lists the leaf partitions of a partitioned dataset in a file system as
+   * view uris, with the size in bytes of their files. The map is empty, if
+   * the dataset is not partitioned or not stored in a file system, or if a
+   * partition has a null value, which a view can't select.
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, Long> listPartitionViews() {
+    Map<String, Long> result = new LinkedHashMap<String, Long>();
+    if (!(dataset instanceof FileSystemDataset)
+        || !dataset.getDescriptor().isPartitioned()) {
+      return result;
+    }
+
+    FileSystemDataset<GenericRecord> fsDataset =
+        (FileSystemDataset<GenericRecord>) dataset;
+    List<FieldPartitioner> fieldPartitioners = Accessor.getDefault()
+        .getFieldPartitioners(dataset.getDescriptor().getPartitionStrategy());
+    Iterator<Path> directories = fsDataset.dirIterator();
+    while (directories.hasNext()) {
+      PartitionKey key = fsDataset.keyFromDirectory(directories.next());
+      RefinableView<GenericRecord> partitionView = fsDataset;
+      for (int i = 0; i < fieldPartitioners.size(); i++) {
+        Object value = key.get(i);
+        if (value == null) {
+          result.clear();
+          return result;
+        }
+        partitionView = partitionView.with(
+            fieldPartitioners.get(i).getName(), value);
+      }
+      long size = partitionView instanceof SizeAccessor
+          ? ((SizeAccessor) partitionView).getSize() : 0L;
+      result.put(partitionView.getUri().toString(), size);
+    }
+    return result;
+  }
+
   /**
    * Deletes current dataset physically.
    */
@@ -21,6 +21,8 @@
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A part of the input data partitioned by the Partitioner.
@@ -30,6 +32,12 @@ public class KiteDatasetPartition extends Partition implements Serializable {
   /** The uri to the dataset */
   private String uri;
 
+  /** The uris to the partition views to read, or none for the whole dataset */
+  private List<String> viewUris = new ArrayList<String>();
+
+  /** The size in bytes of the partition views */
+  private long size;
+
   public KiteDatasetPartition() {
   }
 
@@ -41,19 +49,46 @@ public void setUri(String uri) {
     this.uri = uri;
   }
 
+  public List<String> getViewUris() {
+    return viewUris;
+  }
+
+  public void addViewUri(String viewUri, long viewSize) {
+    viewUris.add(viewUri);
+    size += viewSize;
+  }
+
+  public long getSize() {
+    return size;
+  }
+
   @Override
   public void readFields(DataInput in) throws IOException {
     uri = in.readUTF();
+    int numberOfViews = in.readInt();
+    viewUris = new ArrayList<String>(numberOfViews);
+    for (int i = 0; i < numberOfViews; i++) {
+      viewUris.add(in.readUTF());
+    }
+    size = in.readLong();
   }
 
   @Override
   public void write(DataOutput out) throws IOException {
     out.writeUTF(uri);
+    out.writeInt(viewUris.size());
+    for (String viewUri : viewUris) {
+      out.writeUTF(viewUri);
+    }
+    out.writeLong(size);
   }
 
   @Override
   public String toString() {
-    return String.format("{uri=%s}", uri);
+    if (viewUris.isEmpty()) {
+      return String.format("{uri=%s}", uri);
+    }
+    return String.format("{uri=%s, views=%s, size=%d}", uri, viewUris, size);
   }
 
 }
\ No newline at end of file
@@ -15,16 +15,25 @@
  */
 package org.apache.sqoop.connector.kite;
 
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.log4j.Logger;
 import org.apache.sqoop.connector.kite.configuration.ConfigUtil;
 import org.apache.sqoop.connector.kite.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
 import org.apache.sqoop.job.etl.Partition;
 import org.apache.sqoop.job.etl.Partitioner;
 import org.apache.sqoop.job.etl.PartitionerContext;
+import org.kitesdk.data.Dataset;
+import org.kitesdk.data.Datasets;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 /**
  * This allows connector to define how input data from the FROM source can be
@@ -34,19 +43,70 @@
 public class KiteDatasetPartitioner extends Partitioner<LinkConfiguration,
     FromJobConfiguration> implements Serializable {
 
+  private static final Logger LOG =
+      Logger.getLogger(KiteDatasetPartitioner.class);
+
+  @VisibleForTesting
+  KiteDatasetExecutor getExecutor(String uri) {
+    Dataset<GenericRecord> dataset = Datasets.load(uri);
+    return new KiteDatasetExecutor(dataset);
+  }
+
   @Override
   public List<Partition> getPartitions(PartitionerContext context,
       LinkConfiguration linkConfiguration, FromJobConfiguration fromJobConfig) {
-    // There is no way to create partitions of an un-partitioned dataset.
-    // TODO: SQOOP-1942 will create partitions, if dataset is partitioned.
-    KiteDatasetPartition partition = new KiteDatasetPartition();
     String uri = ConfigUtil.buildDatasetUri(
         linkConfiguration.linkConfig, fromJobConfig.fromJobConfig.uri);
-    partition.setUri(uri);
 
-    List<Partition> partitions = new LinkedList<Partition>();
-    partitions.add(partition);
-    return partitions;
+    // There is no way to create partitions of an un-partitioned dataset.
+    Map<String, Long> views = getExecutor(uri).listPartitionViews();
+    if (views.isEmpty()) {
+      KiteDatasetPartition partition = new KiteDatasetPartition();
+      partition.setUri(uri);
+
+      List<Partition> partitions = new LinkedList<Partition>();
+      partitions.add(partition);
+      return partitions;
+    }
+
+    int numberOfPartitions =
+        (int) Math.min(context.getMaxPartitions(), views.size());
+    List<KiteDatasetPartition> partitions =
+        new ArrayList<KiteDatasetPartition>(numberOfPartitions);
+    for (int i = 0; i < numberOfPartitions; i++) {
+      KiteDatasetPartition partition = new KiteDatasetPartition();
+      partition.setUri(uri);
+      partitions.add(partition);
+    }
+
+    // The largest views go first, each to the partition with the least
+    // bytes so far, which balances the partitions by size.
+    List<Map.Entry<String, Long>> sortedViews =
+        new ArrayList<Map.Entry<String, Long>>(views.entrySet());
+    Collections.sort(sortedViews, new Comparator<Map.Entry<String, Long>>() {
+      @Override
+      public int compare(Map.Entry<String, Long> view1,
+          Map.Entry<String, Long> view2) {
+        return view2.getValue().compareTo(view1.getValue());
+      }
+    });
+    for (Map.Entry<String, Long> view : sortedViews) {
+      KiteDatasetPartition smallest = partitions.get(0);
+      for (KiteDatasetPartition partition : partitions) {
+        if (partition.getSize() < smallest.getSize()
+            || (partition.getSize() == smallest.getSize()
+                && partition.getViewUris().size()
+                    < smallest.getViewUris().size())) {
+          smallest = partition;
+        }
+      }
+      smallest.addViewUri(view.getKey(), view.getValue());
+    }
+
+    LOG.info(String.format("Dataset %s has %d partition views, "
+        + "which are read by %d extractors.", uri, views.size(),
+        numberOfPartitions));
+    return new ArrayList<Partition>(partitions);
   }
 
-}
\ No newline at end of file
+}
@@ -16,6 +16,8 @@
 package org.apache.sqoop.connector.kite;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.avro.generic.GenericRecord;
@@ -26,8 +28,8 @@
 import org.apache.sqoop.etl.io.DataWriter;
 import org.apache.sqoop.job.etl.Extractor;
 import org.apache.sqoop.job.etl.ExtractorContext;
-import org.kitesdk.data.Dataset;
 import org.kitesdk.data.Datasets;
+import org.kitesdk.data.View;
 
 /**
  * This allows connector to extract data from a source system based on each
@@ -42,30 +44,36 @@ public class KiteExtractor extends Extractor<LinkConfiguration,
 
   @VisibleForTesting
   KiteDatasetExecutor getExecutor(String uri) {
-    Dataset<GenericRecord> dataset = Datasets.load(uri);
-    return new KiteDatasetExecutor(dataset);
+    View<GenericRecord> view = Datasets.load(uri, GenericRecord.class);
+    return new KiteDatasetExecutor(view);
   }
 
   @Override
   public void extract(ExtractorContext context, LinkConfiguration linkConfig,
       FromJobConfiguration fromJobConfig, KiteDatasetPartition partition) {
-    String uri = ConfigUtil.buildDatasetUri(
-        linkConfig.linkConfig, partition.getUri());
-    LOG.info("Loading data from " + uri);
-
-    KiteDatasetExecutor executor = getExecutor(uri);
+    // Either the partition views assigned to this extractor or the whole
+    // dataset. The view uris are complete, as listed by the loaded dataset.
+    List<String> uris = partition.getViewUris().isEmpty()
+        ? Collections.singletonList(ConfigUtil.buildDatasetUri(
+            linkConfig.linkConfig, partition.getUri()))
+        : partition.getViewUris();
     DataWriter writer = context.getDataWriter();
-    Object[] array;
     rowsRead = 0L;
 
-    try {
-      while ((array = executor.readRecord()) != null) {
-        // TODO: SQOOP-1616 will cover more column data types. Use schema and do data type conversion (e.g. datatime).
-        writer.writeArrayRecord(array);
-        rowsRead++;
+    for (String uri : uris) {
+      LOG.info("Loading data from " + uri);
+
+      KiteDatasetExecutor executor = getExecutor(uri);
+      Object[] array;
+      try {
+        while ((array = executor.readRecord()) != null) {
+          // TODO: SQOOP-1616 will cover more column data types. Use schema and do data type conversion (e.g. datatime).
+          writer.writeArrayRecord(array);
+          rowsRead++;
+        }
+      } finally {
+        executor.closeReader();
       }
-    } finally {
-      executor.closeReader();
     }
   }
 
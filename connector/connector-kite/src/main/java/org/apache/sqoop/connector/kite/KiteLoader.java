@@ -25,6 +25,7 @@
 import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.kite.configuration.ToJobConfiguration;
 import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.job.etl.Loader;
 import org.apache.sqoop.job.etl.LoaderContext;
 import org.apache.sqoop.schema.Schema;
@@ -64,13 +65,13 @@ public void load(LoaderContext context, LinkConfiguration linkConfiguration,
     LOG.info("Temporary dataset created.");
 
     DataReader reader = context.getDataReader();
-    Object[] array;
+    RowBatch batch = new RowBatch(context.getSchema());
     boolean success = false;
 
     try {
-      while ((array = reader.readArrayRecord()) != null) {
-        executor.writeRecord(array);
-        rowsWritten++;
+      while (reader.readBatch(batch) > 0) {
+        executor.writeBatch(batch);
+        rowsWritten += batch.size();
       }
       LOG.info(rowsWritten + " data record(s) have been written into dataset.");
       success = true;
@@ -167,15 +167,19 @@ private static Schema.Type toAvroType(Column column) throws IllegalArgumentExcep
   public static GenericRecord createGenericRecord(Object[] array,
       Schema schema) {
     GenericRecord record = new GenericData.Record(schema);
-    List<Schema.Field> fields = schema.getFields();
+    fillGenericRecord(array, record);
+    return record;
+  }
 
-    assert array.length == fields.size();
+  /**
+   * Sets every field of a GenericRecord instance from a Sqoop record, so that
+   * the same instance can be reused for every record written.
+   */
+  public static void fillGenericRecord(Object[] array, GenericRecord record) {
+    assert array.length == record.getSchema().getFields().size();
     for (int i = 0; i < array.length; i++) {
-      String key = fields.get(i).name();
-      Object value = toAvro(array[i]);
-      record.put(key, value);
+      record.put(i, toAvro(array[i]));
     }
-    return record;
   }
 
   private static Object toAvro(Object o) {
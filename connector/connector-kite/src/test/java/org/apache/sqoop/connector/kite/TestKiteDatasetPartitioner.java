@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.kite;
+
+import org.apache.sqoop.connector.kite.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.PartitionerContext;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class TestKiteDatasetPartitioner {
+
+  private KiteDatasetPartitioner partitioner;
+
+  private FromJobConfiguration jobConfig;
+
+  @org.mockito.Mock
+  private KiteDatasetExecutor executorMock;
+
+  @BeforeMethod(alwaysRun = true)
+  public void setUp() {
+    initMocks(this);
+
+    partitioner = new KiteDatasetPartitioner() {
+      @Override
+      protected KiteDatasetExecutor getExecutor(String uri) {
+        return executorMock;
+      }
+    };
+    jobConfig = new FromJobConfiguration();
+    jobConfig.fromJobConfig.uri = "dataset:file:/path/to/dataset";
+  }
+
+  @Test
+  public void testUnpartitionedDataset() {
+    when(executorMock.listPartitionViews()).thenReturn(
+        new LinkedHashMap<String, Long>());
+
+    List<Partition> partitions = partitioner.getPartitions(
+        new PartitionerContext(null, 4, null, "test_user"),
+        new LinkConfiguration(), jobConfig);
+
+    assertEquals(partitions.size(), 1);
+    KiteDatasetPartition partition = (KiteDatasetPartition) partitions.get(0);
+    assertEquals(partition.getUri(), "dataset:file:/path/to/dataset");
+    assertTrue(partition.getViewUris().isEmpty());
+  }
+
+  @Test
+  public void testPartitionsBalancedBySize() {
+    Map<String, Long> views = new LinkedHashMap<String, Long>();
+    long[] sizes = { 100, 700, 300, 400, 600, 200, 500, 0 };
+    for (int i = 0; i < sizes.length; i++) {
+      views.put("view:file:/path/to/dataset?id=" + i, sizes[i]);
+    }
+    when(executorMock.listPartitionViews()).thenReturn(views);
+
+    List<Partition> partitions = partitioner.getPartitions(
+        new PartitionerContext(null, 4, null, "test_user"),
+        new LinkConfiguration(), jobConfig);
+
+    assertEquals(partitions.size(), 4);
+    Set<String> viewUris = new HashSet<String>();
+    for (Partition partition : partitions) {
+      KiteDatasetPartition kitePartition = (KiteDatasetPartition) partition;
+      assertEquals(kitePartition.getSize(), 700L);
+      assertTrue(kitePartition.getViewUris().size() > 0);
+      viewUris.addAll(kitePartition.getViewUris());
+    }
+    assertEquals(viewUris, views.keySet());
+  }
+
+  @Test
+  public void testFewerViewsThanPartitions() {
+    Map<String, Long> views = new LinkedHashMap<String, Long>();
+    views.put("view:file:/path/to/dataset?id=0", 10L);
+    views.put("view:file:/path/to/dataset?id=1", 20L);
+    when(executorMock.listPartitionViews()).thenReturn(views);
+
+    List<Partition> partitions = partitioner.getPartitions(
+        new PartitionerContext(null, 10, null, "test_user"),
+        new LinkConfiguration(), jobConfig);
+
+    assertEquals(partitions.size(), 2);
+  }
+
+}
@@ -15,14 +15,34 @@
  */
 package org.apache.sqoop.connector.kite;
 
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.GenericRecordBuilder;
+import org.apache.commons.io.FileUtils;
+import org.apache.hadoop.fs.Path;
 import org.apache.sqoop.connector.kite.configuration.LinkConfig;
+import org.apache.sqoop.etl.io.RowBatch;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
 import org.kitesdk.data.Dataset;
 import org.kitesdk.data.DatasetDescriptor;
 import org.kitesdk.data.DatasetReader;
 import org.kitesdk.data.DatasetWriter;
+import org.kitesdk.data.Datasets;
+import org.kitesdk.data.PartitionStrategy;
+import org.kitesdk.data.View;
+import org.kitesdk.data.spi.PartitionKey;
+import org.kitesdk.data.spi.filesystem.FileSystemDataset;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 import org.testng.Assert;
 import org.testng.IObjectFactory;
 import org.testng.annotations.AfterMethod;
@@ -30,7 +50,11 @@
 import org.testng.annotations.ObjectFactory;
 import org.testng.annotations.Test;
 
+import com.google.common.io.Files;
+
 import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -95,6 +119,33 @@ public void testWriteRecord() {
     verifyNoMoreInteractions(writerMock);
   }
 
+  @Test
+  public void testWriteBatch() {
+    // setup
+    when(descriptorMock.getSchema()).thenReturn(createTwoFieldSchema());
+    org.apache.sqoop.schema.Schema schema =
+        new org.apache.sqoop.schema.Schema("testWriteBatch");
+    schema.addColumn(new FixedPoint("f1", 4L, true));
+    schema.addColumn(new Text("f2"));
+    RowBatch batch = new RowBatch(schema, 10);
+    for (int i = 0; i < 3; i++) {
+      batch.addRow(new Object[]{i, "foo" + i});
+    }
+
+    // exercise
+    executor.writeBatch(batch);
+
+    // verify
+    ArgumentCaptor<GenericRecord> records =
+        ArgumentCaptor.forClass(GenericRecord.class);
+    verify(writerMock, times(3)).write(records.capture());
+    // The same record is filled again for every row
+    assertTrue(records.getAllValues().get(0) == records.getAllValues().get(2));
+    assertEquals(records.getValue().get("f1"), 2);
+    assertEquals(records.getValue().get("f2"), "foo2");
+    verify(descriptorMock, times(1)).getSchema();
+  }
+
   @Test
   public void testCloseWriter() {
     // setup
@@ -187,6 +238,83 @@ public void testSuggestTemporaryDatasetUri() {
     assertFalse(suggestedUri.contains("/"));
   }
 
+  @Test
+  public void testListPartitionViews() throws Exception {
+    File directory = Files.createTempDir();
+    try {
+      Dataset<GenericRecord> dataset = createPartitionedDataset(directory);
+
+      Map<String, Long> views = new KiteDatasetExecutor(dataset).listPartitionViews();
+      assertEquals(views.size(), 3);
+
+      // Every record is read through exactly one of the views
+      List<Integer> values = new ArrayList<Integer>();
+      for (Map.Entry<String, Long> view : views.entrySet()) {
+        assertTrue(view.getValue() > 0L, view.getKey());
+        View<GenericRecord> partitionView = Datasets.load(view.getKey(), GenericRecord.class);
+        KiteDatasetExecutor viewExecutor = new KiteDatasetExecutor(partitionView);
+        Object[] record;
+        while ((record = viewExecutor.readRecord()) != null) {
+          values.add((Integer) record[0]);
+        }
+        viewExecutor.closeReader();
+      }
+      Collections.sort(values);
+      assertEquals(values, Arrays.asList(1, 2, 3, 4));
+    } finally {
+      FileUtils.deleteDirectory(directory);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testListPartitionViewsWithNullValue() throws Exception {
+    File directory = Files.createTempDir();
+    try {
+      // Kite can't write a null partition value itself, so one of the
+      // directories of a real dataset is read as such a partition
+      FileSystemDataset<GenericRecord> dataset =
+          spy((FileSystemDataset<GenericRecord>) createPartitionedDataset(directory));
+      doAnswer(new Answer<PartitionKey>() {
+        @Override
+        public PartitionKey answer(InvocationOnMock invocation) throws Throwable {
+          Path partition = (Path) invocation.getArguments()[0];
+          return partition.getName().endsWith("=c")
+              ? new PartitionKey((Object) null)
+              : (PartitionKey) invocation.callRealMethod();
+        }
+      }).when(dataset).keyFromDirectory(any(Path.class));
+
+      // No view can select the null partition, so the dataset is read whole
+      assertTrue(new KiteDatasetExecutor(dataset).listPartitionViews().isEmpty());
+    } finally {
+      FileUtils.deleteDirectory(directory);
+    }
+  }
+
+  private static Dataset<GenericRecord> createPartitionedDataset(File directory) {
+    Schema schema = createTwoFieldSchema();
+    // The namespace of a dataset is the name of its parent directory
+    Dataset<GenericRecord> dataset = Datasets.create(
+        "dataset:" + new File(directory, "sqoop/partitioned").toURI(),
+        new DatasetDescriptor.Builder()
+            .schema(schema)
+            .partitionStrategy(new PartitionStrategy.Builder()
+                .identity("f2").build())
+            .build(),
+        GenericRecord.class);
+    DatasetWriter<GenericRecord> writer = dataset.newWriter();
+    try {
+      writer.write(new GenericRecordBuilder(schema).set("f1", 1).set("f2", "a").build());
+      writer.write(new GenericRecordBuilder(schema).set("f1", 2).set("f2", "a").build());
+      writer.write(new GenericRecordBuilder(schema).set("f1", 3).set("f2", "b").build());
+      writer.write(new GenericRecordBuilder(schema).set("f1", 4).set("f2", "c").build());
+    } finally {
+      writer.close();
+    }
+    return dataset;
+  }
+
   private static Schema createTwoFieldSchema() {
     return new Schema.Parser().parse("{" +
         "\"name\":\"test\",\"type\":\"record\"," +
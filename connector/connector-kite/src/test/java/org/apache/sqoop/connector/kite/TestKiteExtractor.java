@@ -15,6 +15,10 @@
  */
 package org.apache.sqoop.connector.kite;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.apache.sqoop.connector.kite.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
 import org.apache.sqoop.etl.io.DataWriter;
@@ -30,6 +34,7 @@
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertEquals;
 
 public class TestKiteExtractor {
 
@@ -91,4 +96,60 @@ public void testExtractor() throws Exception {
         any(Object[].class));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void testExtractorPartitionViews() throws Exception {
+    // setup
+    Schema schema = new Schema("testExtractor");
+    schema.addColumn(new Text("TextCol"));
+    ExtractorContext context = new ExtractorContext(null, writerMock, schema, "test_user");
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+    KiteDatasetPartition partition = new KiteDatasetPartition();
+    partition.setUri("dataset:hdfs:/path/to/dataset");
+    partition.addViewUri("view:hdfs:/path/to/dataset?year=2014", 10L);
+    partition.addViewUri("view:hdfs:/path/to/dataset?year=2015", 10L);
+    // every view reads two records
+    when(executorMock.readRecord()).thenReturn(new Object[]{}, new Object[]{}, null,
+        new Object[]{}, new Object[]{}, null);
+
+    // exercise
+    extractor.extract(context, linkConfig, jobConfig, partition);
+
+    // verify
+    verify(writerMock, times(4)).writeArrayRecord(any(Object[].class));
+    verify(executorMock, times(2)).closeReader();
+    assertEquals(extractor.getRowsRead(), 4L);
+  }
+
+  @Test
+  public void testExtractorPartitionViewsWithAuthority() throws Exception {
+    // setup
+    final List<String> loadedUris = new ArrayList<String>();
+    extractor = new KiteExtractor() {
+      @Override
+      protected KiteDatasetExecutor getExecutor(String uri) {
+        loadedUris.add(uri);
+        return executorMock;
+      }
+    };
+    Schema schema = new Schema("testExtractor");
+    schema.addColumn(new Text("TextCol"));
+    ExtractorContext context = new ExtractorContext(null, writerMock, schema, "test_user");
+    LinkConfiguration linkConfig = new LinkConfiguration();
+    linkConfig.linkConfig.authority = "metastore:9083";
+    FromJobConfiguration jobConfig = new FromJobConfiguration();
+    KiteDatasetPartition partition = new KiteDatasetPartition();
+    partition.setUri("dataset:hive:ns/tbl");
+    partition.addViewUri("view:hive:ns/tbl?year=2014", 10L);
+    partition.addViewUri("view:hive:ns/tbl?year=2015", 10L);
+    when(executorMock.readRecord()).thenReturn(null);
+
+    // exercise
+    extractor.extract(context, linkConfig, jobConfig, partition);
+
+    // verify: the views are loaded as listed, never widened to the dataset
+    assertEquals(loadedUris, Arrays.asList(
+        "view:hive:ns/tbl?year=2014", "view:hive:ns/tbl?year=2015"));
+  }
+
+}
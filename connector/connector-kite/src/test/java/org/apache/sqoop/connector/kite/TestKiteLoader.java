@@ -19,6 +19,7 @@
 import org.apache.sqoop.connector.kite.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.kite.configuration.ToJobConfiguration;
 import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.job.etl.LoaderContext;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.schema.type.Text;
@@ -26,9 +27,10 @@
 import org.testng.annotations.Test;
 
 import static org.mockito.Mockito.any;
-import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.verify;
 import static org.mockito.MockitoAnnotations.initMocks;
+import static org.testng.Assert.assertEquals;
 
 public class TestKiteLoader {
 
@@ -86,8 +88,9 @@ public Object readContent() {
     loader.load(context, linkConfig, toJobConfig);
 
     // verify
-    verify(executorMock, times(NUMBER_OF_ROWS)).writeRecord(
-        any(Object[].class));
+    verify(executorMock, atLeastOnce()).writeBatch(any(RowBatch.class));
+    verify(executorMock).closeWriter();
+    assertEquals(loader.getRowsWritten(), NUMBER_OF_ROWS);
   }
 
 }
\ No newline at end of file
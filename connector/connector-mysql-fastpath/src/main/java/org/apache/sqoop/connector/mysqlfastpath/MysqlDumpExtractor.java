@@ -0,0 +1,237 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.jdbc.GenericJdbcExtractor;
+import org.apache.sqoop.connector.jdbc.GenericJdbcPartition;
+import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.jdbc.configuration.LinkConfig;
+import org.apache.sqoop.connector.mysqlfastpath.configuration.MysqlFastPathLinkConfiguration;
+import org.apache.sqoop.job.etl.Extractor;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.schema.Schema;
+
+/**
+ * Reads each partition by running mysqldump with the conditions of the
+ * partition as WHERE clause, and writes the rows of the INSERT statements it
+ * prints as Sqoop CSV text.
+ * <p>
+ * mysqldump can only dump whole tables, so imports of a free form query or
+ * of some of the columns are read through JDBC by the generic JDBC
+ * extractor, as are the tables with columns the dump can't be converted for.
+ */
+public class MysqlDumpExtractor extends Extractor<MysqlFastPathLinkConfiguration, FromJobConfiguration, GenericJdbcPartition> {
+
+  private static final Logger LOG = Logger.getLogger(MysqlDumpExtractor.class);
+
+  // jdbc:mysql://host[:port][,other hosts]/database[?properties]
+  private static final Pattern CONNECTION_STRING =
+      Pattern.compile("jdbc:mysql://([^/:,?]+)(?::(\\d+))?[^/]*/([^?;]*).*");
+
+  private long rowsRead = 0;
+
+  @Override
+  public void extract(ExtractorContext context, MysqlFastPathLinkConfiguration linkConfig,
+      FromJobConfiguration fromJobConfig, GenericJdbcPartition partition) {
+    if (!canDump(context.getSchema(), fromJobConfig)) {
+      LOG.info("Reading the partition through JDBC, as mysqldump can't be used for this job");
+      GenericJdbcExtractor extractor = new GenericJdbcExtractor();
+      try {
+        extractor.extract(context, linkConfig.toLinkConfiguration(), fromJobConfig, partition);
+      } finally {
+        rowsRead = extractor.getRowsRead();
+      }
+      return;
+    }
+
+    rowsRead = 0;
+    Path optionsFile = null;
+    Process process = null;
+    try {
+      optionsFile = writeOptionsFile(linkConfig.linkConfig);
+      List<String> command = getCommand(optionsFile, linkConfig, fromJobConfig, partition);
+      LOG.info("Running " + command);
+      process = new ProcessBuilder(command).start();
+
+      ErrorReader errorReader = new ErrorReader(process.getErrorStream());
+      errorReader.start();
+      try (BufferedReader reader = new BufferedReader(
+          new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+        MysqlDumpParser parser = new MysqlDumpParser(context.getSchema());
+        rowsRead = parser.parse(reader, context.getDataWriter());
+      }
+
+      int exitCode = process.waitFor();
+      errorReader.join();
+      if (exitCode != 0) {
+        throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0003,
+            "Exit code " + exitCode + ": " + errorReader.getLastLine());
+      }
+    } catch (IOException e) {
+      throw new SqoopException(process == null
+          ? MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0002
+          : MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0003, e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0003, e);
+    } finally {
+      if (process != null) {
+        process.destroy();
+      }
+      deleteQuietly(optionsFile);
+    }
+  }
+
+  @Override
+  public long getRowsRead() {
+    return rowsRead;
+  }
+
+  private static boolean canDump(Schema schema, FromJobConfiguration fromJobConfig) {
+    List<String> columnList = fromJobConfig.fromJobConfig.columnList;
+    return fromJobConfig.fromJobConfig.tableName != null
+        && (columnList == null || columnList.isEmpty())
+        && MysqlDumpParser.supports(schema);
+  }
+
+  /**
+   * Command line of mysqldump printing the rows of the partition. The
+   * options file holding the credentials has to be the first option.
+   */
+  static List<String> getCommand(Path optionsFile, MysqlFastPathLinkConfiguration linkConfig,
+      FromJobConfiguration fromJobConfig, GenericJdbcPartition partition) {
+    String connectionString = linkConfig.linkConfig.connectionString;
+    Matcher matcher = CONNECTION_STRING.matcher(connectionString);
+    if (!matcher.matches()) {
+      throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0001, connectionString);
+    }
+    String database = fromJobConfig.fromJobConfig.schemaName != null
+        ? fromJobConfig.fromJobConfig.schemaName : matcher.group(3);
+    if (database.isEmpty()) {
+      throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0001,
+          "No database in " + connectionString);
+    }
+
+    List<String> command = new ArrayList<String>();
+    String mysqldumpPath = linkConfig.dumpConfig.mysqldumpPath;
+    command.add(mysqldumpPath != null ? mysqldumpPath : MysqlFastPathConstants.DEFAULT_MYSQLDUMP);
+    command.add("--defaults-extra-file=" + optionsFile);
+    command.add("--host=" + matcher.group(1));
+    command.add("--port=" + (matcher.group(2) != null ? matcher.group(2) : MysqlFastPathConstants.DEFAULT_PORT));
+    command.add("--protocol=TCP");
+    command.add("--default-character-set=utf8mb4");
+    // Only the rows, as extended INSERT statements streamed from the server
+    command.add("--compact");
+    command.add("--no-create-info");
+    command.add("--skip-triggers");
+    command.add("--extended-insert");
+    command.add("--quick");
+    command.add("--single-transaction");
+    command.add("--hex-blob");
+    command.add("--skip-tz-utc");
+    if (linkConfig.dumpConfig.extraArguments != null) {
+      command.addAll(linkConfig.dumpConfig.extraArguments);
+    }
+    command.add("--where=" + partition.getConditions());
+    command.add(database);
+    command.add(fromJobConfig.fromJobConfig.tableName);
+    return command;
+  }
+
+  /**
+   * Write the credentials into an options file readable by the current user
+   * only, so that they don't show on the command line.
+   */
+  private static Path writeOptionsFile(LinkConfig linkConfig) throws IOException {
+    StringBuilder options = new StringBuilder("[client]\n");
+    if (linkConfig.username != null) {
+      options.append("user=").append(quoteOption(linkConfig.username)).append('\n');
+    }
+    if (linkConfig.password != null) {
+      options.append("password=").append(quoteOption(linkConfig.password)).append('\n');
+    }
+    Path optionsFile = Files.createTempFile("sqoop-mysqldump", ".cnf");
+    try {
+      Files.write(optionsFile, options.toString().getBytes(StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      deleteQuietly(optionsFile);
+      throw e;
+    }
+    return optionsFile;
+  }
+
+  private static String quoteOption(String value) {
+    return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+  }
+
+  private static void deleteQuietly(Path file) {
+    if (file == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOG.warn("Can't delete " + file, e);
+    }
+  }
+
+  /**
+   * Logs what mysqldump writes to its standard error, so that it can't
+   * block on a full pipe, and keeps the last line for the error message.
+   */
+  private static class ErrorReader extends Thread {
+
+    private final InputStream stream;
+    private volatile String lastLine;
+
+    ErrorReader(InputStream stream) {
+      super("mysqldump stderr reader");
+      setDaemon(true);
+      this.stream = stream;
+    }
+
+    @Override
+    public void run() {
+      try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+        String line;
+        while ((line = reader.readLine()) != null) {
+          LOG.warn("mysqldump: " + line);
+          lastLine = line;
+        }
+      } catch (IOException e) {
+        LOG.warn("Can't read the error output of mysqldump", e);
+      }
+    }
+
+    String getLastLine() {
+      return lastLine;
+    }
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+
+/**
+ * Turns the extended INSERT statements written by mysqldump into rows of
+ * Sqoop CSV text. MySQL escapes string literals with the same backslash
+ * sequences as Sqoop CSV, so numbers, strings and NULL are copied as they
+ * are. Only the values mysqldump writes differently are converted:
+ * hexadecimal literals of binary columns, bit literals such as b'1' and
+ * date times without fraction of seconds.
+ */
+public class MysqlDumpParser {
+
+  private static final String INSERT = "INSERT INTO ";
+  private static final String VALUES = " VALUES ";
+  private static final String NULL = "NULL";
+
+  private final Column[] columns;
+  private final StringBuilder row = new StringBuilder();
+
+  public MysqlDumpParser(Schema schema) {
+    columns = schema.getColumnsArray();
+  }
+
+  /**
+   * Whether the values of all the columns of the schema can be read from
+   * the output of mysqldump.
+   */
+  public static boolean supports(Schema schema) {
+    for (Column column : schema.getColumnsArray()) {
+      switch (column.getType()) {
+      case FIXED_POINT:
+      case FLOATING_POINT:
+      case DECIMAL:
+      case BIT:
+      case TEXT:
+      case DATE:
+      case DATE_TIME:
+      case TIME:
+      case BINARY:
+        break;
+      default:
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Write every row of the INSERT statements read, and return the number of
+   * rows written. mysqldump writes each statement on its own line, as line
+   * breaks within strings are escaped.
+   */
+  public long parse(BufferedReader reader, DataWriter writer) throws IOException {
+    long rows = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      // Skip the SET statements and conditional comments around the data
+      if (!line.startsWith(INSERT)) {
+        continue;
+      }
+      int values = line.indexOf(VALUES);
+      if (values < 0) {
+        throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0004,
+            "INSERT statement without VALUES");
+      }
+      rows += parseTuples(line, values + VALUES.length(), writer);
+    }
+    return rows;
+  }
+
+  private long parseTuples(String line, int i, DataWriter writer) {
+    long rows = 0;
+    while (true) {
+      expect(line, i++, '(');
+      row.setLength(0);
+      for (int column = 0; ; column++) {
+        if (column == columns.length) {
+          throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0004,
+              "More values than the " + columns.length + " columns of the schema");
+        }
+        int end = endOfValue(line, i);
+        if (column > 0) {
+          row.append(SqoopIDFUtils.CSV_SEPARATOR_CHARACTER);
+        }
+        appendValue(line, i, end, columns[column]);
+        i = end + 1;
+        if (line.charAt(end) == ')') {
+          if (column + 1 < columns.length) {
+            throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0004,
+                "Fewer values than the " + columns.length + " columns of the schema");
+          }
+          break;
+        }
+      }
+      writer.writeStringRecord(row.toString());
+      rows++;
+
+      if (i < line.length() && line.charAt(i) == ';') {
+        return rows;
+      }
+      expect(line, i++, ',');
+    }
+  }
+
+  /**
+   * Position of the comma or the closing parenthesis after the value
+   * starting at the given position.
+   */
+  private static int endOfValue(String line, int i) {
+    boolean quoted = false;
+    for (; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == SqoopIDFUtils.ESCAPE_CHARACTER) {
+          i++;
+        } else if (c == SqoopIDFUtils.QUOTE_CHARACTER) {
+          quoted = false;
+        }
+      } else if (c == SqoopIDFUtils.QUOTE_CHARACTER) {
+        quoted = true;
+      } else if (c == ',' || c == ')') {
+        return i;
+      }
+    }
+    throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0004,
+        "Unterminated INSERT statement");
+  }
+
+  private void appendValue(String line, int start, int end, Column column) {
+    // Drop character set introducers such as _binary
+    if (line.charAt(start) == '_') {
+      start = line.indexOf(SqoopIDFUtils.QUOTE_CHARACTER, start);
+    }
+    if (end - start == NULL.length() && line.startsWith(NULL, start)) {
+      row.append(SqoopIDFUtils.NULL_VALUE);
+      return;
+    }
+
+    boolean bitLiteral = line.startsWith("b'", start);
+    switch (column.getType()) {
+    case BINARY:
+      if (line.startsWith("0x", start)) {
+        SqoopIDFUtils.appendCSVByteArray(row, parseHex(line, start + 2, end));
+      } else {
+        row.append(line, start, end);
+      }
+      break;
+    case BIT:
+      if (bitLiteral) {
+        row.append(parseBits(line, start, end) != 0 ? '1' : '0');
+      } else {
+        // TINYINT(1) columns are read as bits by the JDBC driver
+        row.append(end - start == 1 && line.charAt(start) == '0' ? '0' : '1');
+      }
+      break;
+    case DATE_TIME:
+      appendDateTime(line, start, end);
+      break;
+    default:
+      if (bitLiteral) {
+        row.append(parseBits(line, start, end));
+      } else {
+        row.append(line, start, end);
+      }
+    }
+  }
+
+  /**
+   * Date times are exchanged with milliseconds, while mysqldump writes as
+   * many digits of fraction of seconds as the column has.
+   */
+  private void appendDateTime(String line, int start, int end) {
+    int dot = indexOf(line, '.', start, end);
+    if (dot < 0) {
+      row.append(line, start, end - 1).append(".000");
+    } else {
+      int fractionEnd = Math.min(end - 1, dot + 4);
+      row.append(line, start, fractionEnd);
+      for (int i = fractionEnd; i < dot + 4; i++) {
+        row.append('0');
+      }
+    }
+    row.append(SqoopIDFUtils.QUOTE_CHARACTER);
+  }
+
+  private static byte[] parseHex(String line, int start, int end) {
+    byte[] bytes = new byte[(end - start) / 2];
+    for (int i = 0; i < bytes.length; i++) {
+      int high = Character.digit(line.charAt(start + 2 * i), 16);
+      int low = Character.digit(line.charAt(start + 2 * i + 1), 16);
+      if (high < 0 || low < 0) {
+        throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0004,
+            "Invalid hexadecimal literal");
+      }
+      bytes[i] = (byte) (high << 4 | low);
+    }
+    return bytes;
+  }
+
+  private static long parseBits(String line, int start, int end) {
+    long value = 0;
+    // b'...' without the prefix and the closing quote
+    for (int i = start + 2; i < end - 1; i++) {
+      value = value << 1 | (line.charAt(i) == '1' ? 1 : 0);
+    }
+    return value;
+  }
+
+  private static int indexOf(String line, char c, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (line.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static void expect(String line, int i, char expected) {
+    if (i >= line.length() || line.charAt(i) != expected) {
+      throw new SqoopException(MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0004,
+          "Expected '" + expected + "' at position " + i + " of an INSERT statement");
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.Set;
+
+import org.apache.sqoop.common.Direction;
+import org.apache.sqoop.common.VersionInfo;
+import org.apache.sqoop.connector.jdbc.GenericJdbcConnectorConstants;
+import org.apache.sqoop.connector.jdbc.GenericJdbcConnectorUpgrader;
+import org.apache.sqoop.connector.jdbc.GenericJdbcPartition;
+import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.jdbc.configuration.ToJobConfiguration;
+import org.apache.sqoop.connector.mysqlfastpath.configuration.MysqlFastPathLinkConfiguration;
+import org.apache.sqoop.connector.spi.ConnectorConfigurableUpgrader;
+import org.apache.sqoop.connector.spi.SqoopConnector;
+import org.apache.sqoop.job.etl.From;
+import org.apache.sqoop.job.etl.To;
+
+/**
+ * MySQL connector reading tables with mysqldump and writing them with
+ * LOAD DATA LOCAL INFILE. The jobs are configured as those of the generic
+ * JDBC connector, which also splits the tables into partitions.
+ */
+public class MysqlFastPathConnector extends SqoopConnector {
+
+  private static final From FROM = new From(
+      MysqlFastPathFromInitializer.class,
+      MysqlFastPathPartitioner.class,
+      GenericJdbcPartition.class,
+      MysqlDumpExtractor.class,
+      MysqlFastPathFromDestroyer.class);
+
+  private static final To TO = new To(
+      MysqlFastPathToInitializer.class,
+      MysqlFastPathLoader.class,
+      MysqlFastPathToDestroyer.class);
+
+  /**
+   * {@inheritDoc}
+   *
+   * As this is built-in connector it will return same version as rest of the
+   * Sqoop code.
+   */
+  @Override
+  public String getVersion() {
+    return VersionInfo.getBuildVersion();
+  }
+
+  @Override
+  public ResourceBundle getBundle(Locale locale) {
+    // The labels of the configs shared with the generic JDBC connector come
+    // from its own bundle
+    return new ChainedResourceBundle(
+        ResourceBundle.getBundle(MysqlFastPathConstants.RESOURCE_BUNDLE_NAME, locale),
+        ResourceBundle.getBundle(GenericJdbcConnectorConstants.RESOURCE_BUNDLE_NAME, locale));
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public Class getLinkConfigurationClass() {
+    return MysqlFastPathLinkConfiguration.class;
+  }
+
+  @SuppressWarnings("rawtypes")
+  @Override
+  public Class getJobConfigurationClass(Direction jobType) {
+    switch (jobType) {
+      case FROM:
+        return FromJobConfiguration.class;
+      case TO:
+        return ToJobConfiguration.class;
+      default:
+        return null;
+    }
+  }
+
+  @Override
+  public From getFrom() {
+    return FROM;
+  }
+
+  @Override
+  public To getTo() {
+    return TO;
+  }
+
+  @Override
+  public ConnectorConfigurableUpgrader getConfigurableUpgrader(String oldConnectorVersion) {
+    return new GenericJdbcConnectorUpgrader();
+  }
+
+  private static class ChainedResourceBundle extends ResourceBundle {
+
+    private final ResourceBundle bundle;
+
+    ChainedResourceBundle(ResourceBundle bundle, ResourceBundle parent) {
+      this.bundle = bundle;
+      setParent(parent);
+    }
+
+    @Override
+    protected Object handleGetObject(String key) {
+      return bundle.containsKey(key) ? bundle.getObject(key) : null;
+    }
+
+    @Override
+    public Enumeration<String> getKeys() {
+      Set<String> keys = new HashSet<String>(bundle.keySet());
+      keys.addAll(parent.keySet());
+      return Collections.enumeration(keys);
+    }
+  }
+}
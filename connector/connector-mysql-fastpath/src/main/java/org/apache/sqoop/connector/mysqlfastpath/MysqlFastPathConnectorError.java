@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import org.apache.sqoop.common.ErrorCode;
+
+/**
+ * Error messages for the MySQL fast path connector.
+ */
+public enum MysqlFastPathConnectorError implements ErrorCode {
+  MYSQL_FASTPATH_CONNECTOR_0000("Unknown error occurred."),
+  MYSQL_FASTPATH_CONNECTOR_0001("Unsupported MySQL connection string"),
+  MYSQL_FASTPATH_CONNECTOR_0002("Can't start mysqldump"),
+  MYSQL_FASTPATH_CONNECTOR_0003("mysqldump failed"),
+  MYSQL_FASTPATH_CONNECTOR_0004("Can't parse the output of mysqldump")
+  ;
+
+  private final String message;
+
+  private MysqlFastPathConnectorError(String message) {
+    this.message = message;
+  }
+
+  public String getCode() {
+    return name();
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import org.apache.sqoop.job.Constants;
+
+/**
+ * Constants for the MySQL fast path connector.
+ */
+public final class MysqlFastPathConstants extends Constants {
+
+  /**
+   * Name of resource bundle for configuring this connector.
+   */
+  public static final String RESOURCE_BUNDLE_NAME = "mysql-fastpath-connector-config";
+
+  /**
+   * Default port of the MySQL server.
+   */
+  public static final int DEFAULT_PORT = 3306;
+
+  /**
+   * Default mysqldump binary, looked up on the PATH of the task.
+   */
+  public static final String DEFAULT_MYSQLDUMP = "mysqldump";
+
+  /**
+   * Character enclosing identifiers unless the link says otherwise.
+   */
+  public static final String DEFAULT_IDENTIFIER_ENCLOSE = "`";
+}
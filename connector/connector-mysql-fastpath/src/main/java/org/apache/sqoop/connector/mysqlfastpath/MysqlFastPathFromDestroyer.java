@@ -0,0 +1,42 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import java.io.Serializable;
+
+import org.apache.sqoop.connector.jdbc.GenericJdbcFromDestroyer;
+import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.mysqlfastpath.configuration.MysqlFastPathLinkConfiguration;
+import org.apache.sqoop.job.etl.Destroyer;
+import org.apache.sqoop.job.etl.DestroyerContext;
+
+public class MysqlFastPathFromDestroyer extends Destroyer<MysqlFastPathLinkConfiguration, FromJobConfiguration>
+    implements Serializable {
+
+  private final GenericJdbcFromDestroyer destroyer = new GenericJdbcFromDestroyer();
+
+  @Override
+  public void destroy(DestroyerContext context, MysqlFastPathLinkConfiguration linkConfig,
+      FromJobConfiguration fromJobConfig) {
+    destroyer.destroy(context, linkConfig.toLinkConfiguration(), fromJobConfig);
+  }
+
+  @Override
+  public void updateConfiguration(DestroyerContext context, MysqlFastPathLinkConfiguration linkConfig,
+      FromJobConfiguration fromJobConfig) {
+    destroyer.updateConfiguration(context, linkConfig.toLinkConfiguration(), fromJobConfig);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.jdbc.GenericJdbcExecutor;
+import org.apache.sqoop.connector.jdbc.GenericJdbcLoader;
+import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.jdbc.configuration.ToJobConfiguration;
+import org.apache.sqoop.connector.mysqlfastpath.configuration.MysqlFastPathLinkConfiguration;
+import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.etl.io.RowBatch;
+import org.apache.sqoop.job.etl.Loader;
+import org.apache.sqoop.job.etl.LoaderContext;
+
+/**
+ * Loads all the rows of the task with one LOAD DATA LOCAL INFILE statement
+ * reading them from a pipe, and commits them at once. Tables with columns
+ * LOAD DATA can't be given as text are loaded by the generic JDBC loader.
+ */
+public class MysqlFastPathLoader extends Loader<MysqlFastPathLinkConfiguration, ToJobConfiguration> {
+
+  private static final Logger LOG = Logger.getLogger(MysqlFastPathLoader.class);
+
+  // Connector/J refuses LOAD DATA LOCAL unless allowed on the connection
+  private static final String ALLOW_LOAD_LOCAL_INFILE = "allowLoadLocalInfile";
+
+  private long rowsWritten = 0;
+
+  @Override
+  public void load(LoaderContext context, MysqlFastPathLinkConfiguration linkConfig,
+      ToJobConfiguration toJobConfig) throws Exception {
+    LinkConfiguration linkConfiguration = linkConfig.toLinkConfiguration();
+    MysqlLoadDataStreamWriter writer = new MysqlLoadDataStreamWriter();
+    if (!writer.supports(context.getSchema())) {
+      LOG.info("Loading through the generic JDBC loader, as LOAD DATA can't be used for this schema");
+      GenericJdbcLoader loader = new GenericJdbcLoader();
+      try {
+        loader.load(context, linkConfiguration, toJobConfig);
+      } finally {
+        rowsWritten = loader.getRowsWritten();
+      }
+      return;
+    }
+
+    Map<String, String> jdbcProperties = new HashMap<String, String>();
+    if (linkConfiguration.linkConfig.jdbcProperties != null) {
+      jdbcProperties.putAll(linkConfiguration.linkConfig.jdbcProperties);
+    }
+    if (!jdbcProperties.containsKey(ALLOW_LOAD_LOCAL_INFILE)) {
+      jdbcProperties.put(ALLOW_LOAD_LOCAL_INFILE, "true");
+    }
+    linkConfiguration.linkConfig.jdbcProperties = jdbcProperties;
+
+    GenericJdbcExecutor executor = new GenericJdbcExecutor(linkConfiguration);
+    executor.setAutoCommit(false);
+    try {
+      writer.initialize(executor, context, GenericJdbcLoader.DEFAULT_ROWS_PER_BATCH);
+
+      DataReader reader = context.getDataReader();
+      RowBatch batch = new RowBatch(context.getSchema());
+      long rows = 0;
+      while (reader.readBatch(batch) > 0) {
+        for (int row = 0; row < batch.size(); row++) {
+          writer.write(batch, row);
+          rows++;
+        }
+        writer.flush();
+      }
+
+      // Fails unless the statement loaded every row without a warning
+      writer.finish();
+      executor.commit();
+      rowsWritten = rows;
+    } finally {
+      writer.destroy();
+      executor.close();
+    }
+  }
+
+  @Override
+  public long getRowsWritten() {
+    return rowsWritten;
+  }
+}
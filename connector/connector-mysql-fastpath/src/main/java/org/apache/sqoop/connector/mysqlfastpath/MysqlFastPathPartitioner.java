@@ -0,0 +1,40 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.sqoop.connector.jdbc.GenericJdbcPartitioner;
+import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.mysqlfastpath.configuration.MysqlFastPathLinkConfiguration;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.job.etl.Partitioner;
+import org.apache.sqoop.job.etl.PartitionerContext;
+
+/**
+ * Splits the table into the ranges of the generic JDBC connector, each of
+ * them read by one mysqldump run.
+ */
+public class MysqlFastPathPartitioner extends Partitioner<MysqlFastPathLinkConfiguration, FromJobConfiguration>
+    implements Serializable {
+
+  @Override
+  public List<Partition> getPartitions(PartitionerContext context, MysqlFastPathLinkConfiguration linkConfig,
+      FromJobConfiguration fromJobConfig) {
+    return new GenericJdbcPartitioner().getPartitions(context, linkConfig.toLinkConfiguration(), fromJobConfig);
+  }
+}
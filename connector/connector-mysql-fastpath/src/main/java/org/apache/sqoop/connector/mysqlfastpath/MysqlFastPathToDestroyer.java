@@ -0,0 +1,36 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import java.io.Serializable;
+
+import org.apache.sqoop.connector.jdbc.GenericJdbcToDestroyer;
+import org.apache.sqoop.connector.jdbc.configuration.ToJobConfiguration;
+import org.apache.sqoop.connector.mysqlfastpath.configuration.MysqlFastPathLinkConfiguration;
+import org.apache.sqoop.job.etl.Destroyer;
+import org.apache.sqoop.job.etl.DestroyerContext;
+
+public class MysqlFastPathToDestroyer extends Destroyer<MysqlFastPathLinkConfiguration, ToJobConfiguration>
+    implements Serializable {
+
+  private final GenericJdbcToDestroyer destroyer = new GenericJdbcToDestroyer();
+
+  @Override
+  public void destroy(DestroyerContext context, MysqlFastPathLinkConfiguration linkConfig,
+      ToJobConfiguration toJobConfig) {
+    destroyer.destroy(context, linkConfig.toLinkConfiguration(), toJobConfig);
+  }
+}
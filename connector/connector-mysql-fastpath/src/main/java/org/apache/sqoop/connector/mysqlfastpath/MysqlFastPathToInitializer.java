@@ -0,0 +1,58 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import java.io.Serializable;
+import java.util.Set;
+
+import org.apache.sqoop.connector.jdbc.GenericJdbcConnector;
+import org.apache.sqoop.connector.jdbc.GenericJdbcToInitializer;
+import org.apache.sqoop.connector.jdbc.configuration.ToJobConfiguration;
+import org.apache.sqoop.connector.mysqlfastpath.configuration.MysqlFastPathLinkConfiguration;
+import org.apache.sqoop.job.etl.Initializer;
+import org.apache.sqoop.job.etl.InitializerContext;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.utils.ClassUtils;
+
+/**
+ * Prepares the export as the generic JDBC connector does, including the
+ * stage table, before the rows are loaded with LOAD DATA.
+ */
+public class MysqlFastPathToInitializer extends Initializer<MysqlFastPathLinkConfiguration, ToJobConfiguration>
+    implements Serializable {
+
+  private final GenericJdbcToInitializer initializer = new GenericJdbcToInitializer();
+
+  @Override
+  public void initialize(InitializerContext context, MysqlFastPathLinkConfiguration linkConfig,
+      ToJobConfiguration toJobConfig) {
+    initializer.initialize(context, linkConfig.toLinkConfiguration(), toJobConfig);
+  }
+
+  @Override
+  public Set<String> getJars(InitializerContext context, MysqlFastPathLinkConfiguration linkConfig,
+      ToJobConfiguration toJobConfig) {
+    Set<String> jars = initializer.getJars(context, linkConfig.toLinkConfiguration(), toJobConfig);
+    jars.add(ClassUtils.jarForClass(GenericJdbcConnector.class));
+    return jars;
+  }
+
+  @Override
+  public Schema getSchema(InitializerContext context, MysqlFastPathLinkConfiguration linkConfig,
+      ToJobConfiguration toJobConfig) {
+    return initializer.getSchema(context, linkConfig.toLinkConfiguration(), toJobConfig);
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import org.apache.sqoop.connector.jdbc.bulk.MysqlLoadDataWriter;
+
+/**
+ * Streams all the rows of a loader through a single LOAD DATA LOCAL INFILE
+ * statement, rather than one statement per transaction. Flushes leave the
+ * statement reading the rows, until {@link #finish()} completes it.
+ */
+public class MysqlLoadDataStreamWriter extends MysqlLoadDataWriter {
+
+  @Override
+  public void flush() {
+    // The rows written so far are on their way to the statement already
+  }
+
+  /**
+   * Signal the end of the rows to the statement and wait for it to
+   * complete. The rows are committed by the caller afterwards.
+   */
+  public void finish() {
+    super.flush();
+  }
+}
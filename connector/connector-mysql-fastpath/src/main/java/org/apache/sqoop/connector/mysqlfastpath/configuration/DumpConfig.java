@@ -0,0 +1,41 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath.configuration;
+
+import java.io.Serializable;
+import java.util.List;
+
+import org.apache.sqoop.model.ConfigClass;
+import org.apache.sqoop.model.Input;
+
+/**
+ * How mysqldump is run to read tables.
+ */
+@ConfigClass
+public class DumpConfig implements Serializable {
+  /**
+   * Path of mysqldump on the nodes running the tasks, looked up on the PATH
+   * when not set.
+   */
+  @Input(size = 255)
+  public String mysqldumpPath;
+
+  /**
+   * Options appended to the mysqldump command line.
+   */
+  @Input
+  public List<String> extraArguments;
+}
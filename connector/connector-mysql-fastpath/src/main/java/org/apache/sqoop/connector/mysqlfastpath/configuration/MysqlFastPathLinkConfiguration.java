@@ -0,0 +1,57 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath.configuration;
+
+import java.io.Serializable;
+
+import org.apache.sqoop.connector.jdbc.configuration.LinkConfig;
+import org.apache.sqoop.connector.jdbc.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.jdbc.configuration.SqlDialect;
+import org.apache.sqoop.connector.mysqlfastpath.MysqlFastPathConstants;
+import org.apache.sqoop.model.Config;
+import org.apache.sqoop.model.ConfigurationClass;
+
+/**
+ * Link to a MySQL database: the JDBC link of the generic JDBC connector and
+ * how to run mysqldump against the same server.
+ */
+@ConfigurationClass
+public class MysqlFastPathLinkConfiguration implements Serializable {
+
+  @Config public LinkConfig linkConfig;
+
+  @Config public SqlDialect dialect;
+
+  @Config public DumpConfig dumpConfig;
+
+  public MysqlFastPathLinkConfiguration() {
+    linkConfig = new LinkConfig();
+    dialect = new SqlDialect();
+    dumpConfig = new DumpConfig();
+  }
+
+  /**
+   * Link configuration for the generic JDBC connector classes this
+   * connector delegates to.
+   */
+  public LinkConfiguration toLinkConfiguration() {
+    LinkConfiguration linkConfiguration = new LinkConfiguration();
+    linkConfiguration.linkConfig = linkConfig;
+    linkConfiguration.dialect.identifierEnclose = dialect.identifierEnclose != null
+        ? dialect.identifierEnclose : MysqlFastPathConstants.DEFAULT_IDENTIFIER_ENCLOSE;
+    return linkConfiguration;
+  }
+}
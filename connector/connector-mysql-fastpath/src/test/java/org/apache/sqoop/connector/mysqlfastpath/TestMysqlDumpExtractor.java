@@ -0,0 +1,174 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.jdbc.GenericJdbcPartition;
+import org.apache.sqoop.connector.jdbc.configuration.FromJobConfiguration;
+import org.apache.sqoop.connector.mysqlfastpath.configuration.MysqlFastPathLinkConfiguration;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Runs the extractor against a shell script standing in for mysqldump,
+ * which records its arguments and prints a fixed dump.
+ */
+public class TestMysqlDumpExtractor {
+
+  private static final String DUMP =
+      "INSERT INTO `customers` VALUES (1,'Alice'),(2,'Bob \\'B\\'');\n"
+      + "INSERT INTO `customers` VALUES (3,NULL);\n";
+
+  private Path directory;
+  private Path arguments;
+  private Schema schema;
+  private MysqlFastPathLinkConfiguration linkConfig;
+  private FromJobConfiguration fromJobConfig;
+  private GenericJdbcPartition partition;
+
+  @BeforeMethod(alwaysRun = true)
+  public void setUp() throws Exception {
+    directory = Files.createTempDirectory("mysqldump");
+    arguments = directory.resolve("arguments");
+    Files.write(directory.resolve("dump.sql"), DUMP.getBytes(StandardCharsets.UTF_8));
+
+    schema = new Schema("customers")
+        .addColumn(new FixedPoint("id", 4L, true))
+        .addColumn(new Text("name"));
+
+    linkConfig = new MysqlFastPathLinkConfiguration();
+    linkConfig.linkConfig.connectionString = "jdbc:mysql://dbhost:3307/shop?useSSL=false";
+    linkConfig.linkConfig.username = "sqoop";
+    linkConfig.linkConfig.password = "secret";
+
+    fromJobConfig = new FromJobConfiguration();
+    fromJobConfig.fromJobConfig.tableName = "customers";
+
+    partition = new GenericJdbcPartition();
+    partition.setConditions("id >= 1 AND id < 4");
+  }
+
+  @AfterMethod(alwaysRun = true)
+  public void tearDown() throws Exception {
+    for (File file : directory.toFile().listFiles()) {
+      Files.delete(file.toPath());
+    }
+    Files.delete(directory);
+  }
+
+  private void writeMysqldump(String body) throws Exception {
+    Path script = directory.resolve("mysqldump");
+    String content = "#!/bin/sh\n"
+        + "for argument in \"$@\"; do echo \"$argument\" >> '" + arguments + "'; done\n"
+        + body;
+    Files.write(script, content.getBytes(StandardCharsets.UTF_8));
+    assertTrue(script.toFile().setExecutable(true));
+    linkConfig.dumpConfig.mysqldumpPath = script.toString();
+  }
+
+  private TestMysqlDumpParser.StringWriter extract() {
+    TestMysqlDumpParser.StringWriter writer = new TestMysqlDumpParser.StringWriter();
+    ExtractorContext context = new ExtractorContext(new MutableMapContext(), writer, schema, "test_user");
+    MysqlDumpExtractor extractor = new MysqlDumpExtractor();
+    try {
+      extractor.extract(context, linkConfig, fromJobConfig, partition);
+    } finally {
+      assertEquals(extractor.getRowsRead(), writer.records.size());
+    }
+    return writer;
+  }
+
+  @Test
+  public void testExtract() throws Exception {
+    writeMysqldump("cat '" + directory.resolve("dump.sql") + "'\n");
+
+    TestMysqlDumpParser.StringWriter writer = extract();
+
+    assertEquals(writer.records, Arrays.asList("1,'Alice'", "2,'Bob \\'B\\''", "3,NULL"));
+
+    List<String> command = Files.readAllLines(arguments, StandardCharsets.UTF_8);
+    assertTrue(command.get(0).startsWith("--defaults-extra-file="));
+    assertTrue(command.contains("--host=dbhost"));
+    assertTrue(command.contains("--port=3307"));
+    assertTrue(command.contains("--where=id >= 1 AND id < 4"));
+    assertEquals(command.subList(command.size() - 2, command.size()), Arrays.asList("shop", "customers"));
+    for (String argument : command) {
+      assertFalse(argument.contains("secret"), "The password must not be on the command line");
+    }
+
+    // The credentials are removed once the dump is read
+    Path optionsFile = Paths.get(command.get(0).substring("--defaults-extra-file=".length()));
+    assertFalse(Files.exists(optionsFile));
+  }
+
+  @Test
+  public void testSchemaNameAndExtraArguments() throws Exception {
+    writeMysqldump("cat '" + directory.resolve("dump.sql") + "'\n");
+    fromJobConfig.fromJobConfig.schemaName = "archive";
+    linkConfig.dumpConfig.extraArguments = Arrays.asList("--set-gtid-purged=OFF");
+
+    extract();
+
+    List<String> command = Files.readAllLines(arguments, StandardCharsets.UTF_8);
+    assertTrue(command.contains("--set-gtid-purged=OFF"));
+    assertEquals(command.get(command.size() - 2), "archive");
+  }
+
+  @Test
+  public void testMysqldumpFailure() throws Exception {
+    writeMysqldump("echo \"mysqldump: Got error: 1045: Access denied\" >&2\nexit 2\n");
+
+    try {
+      extract();
+      fail("A failing mysqldump should fail the extraction");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0003);
+      assertTrue(e.getMessage().contains("Access denied"));
+    }
+  }
+
+  @Test
+  public void testUnsupportedConnectionString() throws Exception {
+    writeMysqldump("exit 0\n");
+    linkConfig.linkConfig.connectionString = "jdbc:mysql:replication://dbhost/shop";
+
+    try {
+      extract();
+      fail("Connection strings mysqldump can't be run for should fail");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0001);
+    }
+  }
+}
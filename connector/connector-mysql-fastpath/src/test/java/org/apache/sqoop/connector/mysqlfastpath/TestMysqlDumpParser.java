@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopIDFUtils;
+import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Binary;
+import org.apache.sqoop.schema.type.Bit;
+import org.apache.sqoop.schema.type.DateTime;
+import org.apache.sqoop.schema.type.Decimal;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.apache.sqoop.schema.type.Time;
+import org.apache.sqoop.schema.type.Unknown;
+import org.joda.time.LocalDateTime;
+import org.joda.time.LocalTime;
+import org.testng.annotations.Test;
+
+public class TestMysqlDumpParser {
+
+  private static Schema getSchema() {
+    return new Schema("t")
+        .addColumn(new FixedPoint("id", 4L, true))
+        .addColumn(new Text("txt"))
+        .addColumn(new Binary("bin"))
+        .addColumn(new Bit("flag"))
+        .addColumn(new DateTime("ts", true, false))
+        .addColumn(new Time("tm", true))
+        .addColumn(new Decimal("dec", 10, 2));
+  }
+
+  private static List<String> parse(Schema schema, String dump) throws IOException {
+    StringWriter writer = new StringWriter();
+    long rows = new MysqlDumpParser(schema).parse(new BufferedReader(new StringReader(dump)), writer);
+    assertEquals(rows, writer.records.size());
+    return writer.records;
+  }
+
+  @Test
+  public void testParse() throws Exception {
+    Schema schema = getSchema();
+    List<String> records = parse(schema,
+        "/*!40101 SET @saved_cs_client = @@character_set_client */;\n"
+        + "INSERT INTO `t` VALUES (1,'a,b)\\'c\\\\\\n',0x00FF27,b'1','2020-01-02 03:04:05','10:11:12',1.50),"
+        + "(2,NULL,'',0,'2020-01-02 03:04:05.123456','10:11:12.5',-3.00);\n"
+        + "INSERT INTO `t` VALUES (3,'',NULL,NULL,NULL,NULL,NULL);\n");
+
+    assertEquals(records.size(), 3);
+    assertEquals(records.get(1), "2,NULL,'',0,'2020-01-02 03:04:05.123','10:11:12.5',-3.00");
+    assertEquals(records.get(2), "3,'',NULL,NULL,NULL,NULL,NULL");
+
+    Object[] row = SqoopIDFUtils.fromCSV(records.get(0), schema);
+    assertEquals(row[0], 1);
+    assertEquals(row[1], "a,b)'c\\\n");
+    assertEquals((byte[]) row[2], new byte[] { 0x00, (byte) 0xFF, 0x27 });
+    assertEquals(row[3], true);
+    assertEquals(row[4], new LocalDateTime(2020, 1, 2, 3, 4, 5, 0));
+    assertEquals(row[5], new LocalTime(10, 11, 12));
+    assertEquals(row[6], new BigDecimal("1.50"));
+
+    row = SqoopIDFUtils.fromCSV(records.get(1), schema);
+    assertNull(row[1]);
+    assertEquals(row[3], false);
+    assertEquals(row[4], new LocalDateTime(2020, 1, 2, 3, 4, 5, 123));
+  }
+
+  @Test
+  public void testBitLiteralInNumericColumn() throws Exception {
+    Schema schema = new Schema("t").addColumn(new FixedPoint("bits", 8L, true)).addColumn(new Bit("flag"));
+    List<String> records = parse(schema, "INSERT INTO `t` VALUES (b'101',b'0'),(b'0',2);\n");
+
+    assertEquals(records.get(0), "5,0");
+    assertEquals(records.get(1), "0,1");
+  }
+
+  @Test
+  public void testWrongNumberOfValues() throws Exception {
+    try {
+      parse(getSchema(), "INSERT INTO `t` VALUES (1,'a');\n");
+      fail("Fewer values than columns should fail");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0004);
+    }
+
+    try {
+      parse(new Schema("t").addColumn(new FixedPoint("id", 4L, true)), "INSERT INTO `t` VALUES (1,2);\n");
+      fail("More values than columns should fail");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0004);
+    }
+  }
+
+  @Test
+  public void testTruncatedStatement() throws Exception {
+    try {
+      parse(new Schema("t").addColumn(new Text("txt")), "INSERT INTO `t` VALUES ('a),(\\');\n");
+      fail("Unterminated string should fail");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), MysqlFastPathConnectorError.MYSQL_FASTPATH_CONNECTOR_0004);
+    }
+  }
+
+  @Test
+  public void testSupports() {
+    assertTrue(MysqlDumpParser.supports(getSchema()));
+    assertFalse(MysqlDumpParser.supports(new Schema("t").addColumn(new Unknown("geometry", 1111L))));
+  }
+
+  static class StringWriter extends DataWriter {
+    final List<String> records = new ArrayList<String>();
+
+    @Override
+    public void writeArrayRecord(Object[] array) {
+      fail("This method should not be invoked.");
+    }
+
+    @Override
+    public void writeStringRecord(String text) {
+      records.add(text);
+    }
+
+    @Override
+    public void writeRecord(Object content) {
+      fail("This method should not be invoked.");
+    }
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.mysqlfastpath;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.error.code.GenericJdbcConnectorError;
+import org.apache.sqoop.etl.io.RowBatch;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Text;
+import org.testng.annotations.Test;
+
+public class TestMysqlLoadDataStreamWriter {
+
+  /**
+   * Writer whose statement reads the rows and loads all but the given
+   * number of them.
+   */
+  private static class CountingWriter extends MysqlLoadDataStreamWriter {
+    private final int skipped;
+    private int loads;
+
+    CountingWriter(int skipped) {
+      this.skipped = skipped;
+    }
+
+    @Override
+    protected void initializeDriver() {
+    }
+
+    @Override
+    protected long load(InputStream rows) throws Exception {
+      loads++;
+      BufferedReader reader = new BufferedReader(new InputStreamReader(rows, StandardCharsets.UTF_8));
+      long lines = 0;
+      while (reader.readLine() != null) {
+        lines++;
+      }
+      return lines - skipped;
+    }
+  }
+
+  private static void writeRows(CountingWriter writer) {
+    Schema schema = new Schema("TestMysqlLoadDataStreamWriter").addColumn(new Text("c1"));
+    writer.initialize(null, new LoaderContext(new MutableMapContext(), null, schema, "test_user"), 100);
+    RowBatch batch = new RowBatch(schema);
+    batch.addRow(new Object[] {"a"});
+    batch.addRow(new Object[] {"b"});
+    for (int i = 0; i < 3; i++) {
+      writer.write(batch, 0);
+      writer.write(batch, 1);
+      writer.flush();
+    }
+  }
+
+  @Test
+  public void testSingleLoad() {
+    CountingWriter writer = new CountingWriter(0);
+    try {
+      writeRows(writer);
+      writer.finish();
+      assertEquals(writer.loads, 1);
+    } finally {
+      writer.destroy();
+    }
+  }
+
+  @Test
+  public void testSkippedRowFailsLoad() {
+    CountingWriter writer = new CountingWriter(1);
+    try {
+      writeRows(writer);
+      writer.finish();
+      fail("The skipped row wasn't reported");
+    } catch (SqoopException e) {
+      assertEquals(e.getErrorCode(), GenericJdbcConnectorError.GENERIC_JDBC_CONNECTOR_0028);
+    } finally {
+      writer.destroy();
+    }
+  }
+}
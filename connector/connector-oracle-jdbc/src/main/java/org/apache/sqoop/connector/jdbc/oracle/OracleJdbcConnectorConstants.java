@@ -38,6 +38,9 @@ public final class OracleJdbcConnectorConstants implements Serializable {
   //How many rows to pre-fetch when executing Oracle queries...
   public static final int ORACLE_ROW_FETCH_SIZE_DEFAULT = 5000;
 
+  // How many bytes or characters of each LOB value to fetch with the rows...
+  public static final int ORACLE_LOB_PREFETCH_SIZE_DEFAULT = 32768;
+
   // The name of the Oracle JDBC class...
   public static final String ORACLE_JDBC_DRIVER_CLASS =
       "oracle.jdbc.OracleDriver";
@@ -20,14 +20,17 @@
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.apache.commons.lang.BooleanUtils;
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.ImmutableContext;
+import org.apache.sqoop.connector.jdbc.oracle.configuration.ConnectionConfig;
 import org.apache.sqoop.connector.jdbc.oracle.configuration.FromJobConfig;
 import org.apache.sqoop.connector.jdbc.oracle.configuration.FromJobConfiguration;
 import org.apache.sqoop.connector.jdbc.oracle.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.jdbc.oracle.util.OracleColumnReader;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleConnectionFactory;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleDataChunk;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleQueries;
@@ -38,11 +41,6 @@
 import org.apache.sqoop.job.etl.Extractor;
 import org.apache.sqoop.job.etl.ExtractorContext;
 import org.apache.sqoop.schema.type.Column;
-import org.apache.sqoop.schema.type.ColumnType;
-import org.joda.time.DateTime;
-import org.joda.time.LocalDateTime;
-import org.joda.time.format.DateTimeFormat;
-import org.joda.time.format.DateTimeFormatter;
 
 public class OracleJdbcExtractor extends
     Extractor<LinkConfiguration, FromJobConfiguration, OracleJdbcPartition> implements Serializable {
@@ -81,9 +79,6 @@ public class OracleJdbcExtractor extends
   private long timeSpentInNextKeyValueInNanoSeconds; // <- Total time spent in
                                                      // super.nextKeyValue()
 
-  private static final DateTimeFormatter TIMESTAMP_TIMEZONE =
-      DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSS z");
-
   @Override
   public void extract(ExtractorContext context,
       LinkConfiguration linkConfiguration,
@@ -153,7 +148,15 @@ public void extract(ExtractorContext context,
         this.dbInputSplit.getTotalNumberOfBlocksInThisSplit();
     this.numberOfBlocksProcessedInThisSplit = 0;
 
-    extractData(context, jobConfiguration.fromJobConfig);
+    extractData(context, linkConfiguration.connectionConfig,
+        jobConfiguration.fromJobConfig);
+
+    long estimatedNumberOfRows = this.dbInputSplit.getEstimatedNumberOfRows();
+    if (estimatedNumberOfRows >= 0) {
+      LOG.info(String.format(
+          "Split[%d] read %d rows, where %d rows had been estimated.",
+          this.dbInputSplit.getSplitId(), rowsRead, estimatedNumberOfRows));
+    }
 
     try {
       connection.close();
@@ -165,54 +168,33 @@ public void extract(ExtractorContext context,
     }
   }
 
-  private Object getObjectAtName(ResultSet resultSet,
-      OracleTableColumn column, Column sqoopColumn) throws SQLException {
-    Object result = null;
-    if(sqoopColumn.getType() == ColumnType.TEXT) {
-      result = resultSet.getString(column.getName());
-    } else if (column.getOracleType() == OracleQueries
-        .getOracleType("TIMESTAMP")) {
-      Timestamp timestamp = resultSet.getTimestamp(column.getName());
-      if(timestamp!=null) {
-        result  = LocalDateTime.fromDateFields(timestamp);
-      }
-    } else if (column.getOracleType() == OracleQueries
-            .getOracleType("TIMESTAMPTZ")
-        || column.getOracleType() == OracleQueries
-            .getOracleType("TIMESTAMPLTZ")) {
-      Timestamp timestamp = resultSet.getTimestamp(column.getName());
-      if(timestamp!=null) {
-        //TODO: BC dates
-        String dateTimeStr = resultSet.getString(column.getName());
-        result  = DateTime.parse(dateTimeStr, TIMESTAMP_TIMEZONE);
-      }
-    } else {
-      result = resultSet.getObject(column.getName());
-    }
-    return result;
-  }
-
-  private void extractData(ExtractorContext context, FromJobConfig jobConfig) {
+  private void extractData(ExtractorContext context,
+      ConnectionConfig connectionConfig, FromJobConfig jobConfig) {
     String sql = getSelectQuery(jobConfig, context.getContext());
     Column[] columns = context.getSchema().getColumnsArray();
     int columnCount = columns.length;
-    try {
-      PreparedStatement statement = connection.prepareStatement(sql);
-      ResultSet resultSet = statement.executeQuery();
-
-      while(resultSet.next()) {
-        Object[] array = new Object[columnCount];
-        for(int i = 0; i < columnCount; i++) {
-          OracleTableColumn tableColumn =
-              tableColumns.findColumnByName(columns[i].getName());
-          array[i] = getObjectAtName(resultSet, tableColumn, columns[i]);
+
+    // Bind every Sqoop column to its position in the SELECT list and to the
+    // reader of its type once, rather than looking them up for every value
+    int[] indexes = new int[columnCount];
+    OracleColumnReader[] readers = new OracleColumnReader[columnCount];
+    bindColumns(columns, indexes, readers);
+
+    try (PreparedStatement statement = connection.prepareStatement(sql)) {
+      statement.setFetchSize(
+          OracleQueries.getJdbcFetchSize(connectionConfig.fetchSize));
+      OracleQueries.setLobPrefetchSize(statement, jobConfig.lobPrefetchSize);
+
+      try (ResultSet resultSet = statement.executeQuery()) {
+        while(resultSet.next()) {
+          Object[] array = new Object[columnCount];
+          for(int i = 0; i < columnCount; i++) {
+            array[i] = readers[i].read(resultSet, indexes[i]);
+          }
+          context.getDataWriter().writeArrayRecord(array);
+          rowsRead++;
         }
-        context.getDataWriter().writeArrayRecord(array);
-        rowsRead++;
       }
-
-      resultSet.close();
-      statement.close();
     } catch (SQLException ex) {
       LOG.error(String.format("Error in %s while executing the SQL query:\n"
           + "%s\n\n" + "%s", OracleUtilities.getCurrentMethodName(), sql, ex
@@ -221,6 +203,30 @@ private void extractData(ExtractorContext context, FromJobConfig jobConfig) {
     }
   }
 
+  /**
+   * The SELECT list holds the table columns in order, so a Sqoop column is
+   * read at the position of the table column of the same name.
+   */
+  private void bindColumns(Column[] columns, int[] indexes,
+      OracleColumnReader[] readers) {
+    Map<String, Integer> tableColumnIndexes = new HashMap<String, Integer>();
+    for (int i = 0; i < tableColumns.size(); i++) {
+      tableColumnIndexes.put(tableColumns.get(i).getName(), i);
+    }
+
+    for (int i = 0; i < columns.length; i++) {
+      Integer index = tableColumnIndexes.get(columns[i].getName());
+      if (index == null) {
+        throw new RuntimeException(String.format(
+            "The column %s is not one of the columns read from table %s.",
+            columns[i].getName(), table.toString()));
+      }
+      indexes[i] = index + 1;
+      readers[i] = OracleColumnReader.forColumn(tableColumns.get(index),
+          columns[i]);
+    }
+  }
+
   @Override
   public long getRowsRead() {
     return rowsRead;
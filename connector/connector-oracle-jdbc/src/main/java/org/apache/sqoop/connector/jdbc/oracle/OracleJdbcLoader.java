@@ -16,18 +16,28 @@
 package org.apache.sqoop.connector.jdbc.oracle;
 
 import java.io.Serializable;
-import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
-import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.log4j.Logger;
 import org.apache.sqoop.connector.jdbc.oracle.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.jdbc.oracle.configuration.ToJobConfig;
 import org.apache.sqoop.connector.jdbc.oracle.configuration.ToJobConfiguration;
+import org.apache.sqoop.connector.jdbc.oracle.util.OracleColumnBinder;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleConnectionFactory;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleQueries;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleTable;
@@ -37,17 +47,22 @@
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleUtilities.InsertMode;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleUtilities.UpdateMode;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleVersion;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.job.etl.Loader;
 import org.apache.sqoop.job.etl.LoaderContext;
 import org.apache.sqoop.schema.type.Column;
-import org.joda.time.LocalDateTime;
 
 public class OracleJdbcLoader extends Loader<LinkConfiguration, ToJobConfiguration> implements Serializable {
 
   private static final Logger LOG =
       Logger.getLogger(OracleJdbcToDestroyer.class);
 
-  private long rowsWritten = 0;
+  //TODO: Hardcoded values
+  private static final int ROWS_PER_BATCH = 5000;
+  private static final int ROWS_PER_COMMIT = 5000;
+
+  // Updated by the writer threads as their batches complete
+  private final AtomicLong rowsWritten = new AtomicLong();
   private LoaderContext context;
   private Connection connection;
   private OracleVersion oracleVersion;
@@ -61,9 +76,9 @@ public class OracleJdbcLoader extends Loader<LinkConfiguration, ToJobConfigurati
   private boolean tableHasMapperRowNumberColumn; // <- Whether the export
                                                    // table contain the column
                                                    // SQOOP_MAPPER_ROW
-  private long mapperRowNumber; // <- The 1-based row number being processed
-                                  // by this mapper. It's inserted into the
-                                  // "SQOOP_MAPPER_ROW" column
+  private long mapperRowNumber = 1; // <- The 1-based row number being
+                                    // processed by this mapper. It's inserted
+                                    // into the "SQOOP_MAPPER_ROW" column
   private boolean useAppendValuesOracleHint = false; // <- Whether to use the
                                                      // " /*+APPEND_VALUES*/ " hint
                                                      // within the Oracle SQL
@@ -76,7 +91,27 @@ public class OracleJdbcLoader extends Loader<LinkConfiguration, ToJobConfigurati
   private String[] updateColumnNames;
   private int rowsPerBatch;
   private int rowsPerCommit;
+  private OracleColumnBinder[] columnBinders; // <- The binder, parameter
+  private int[] columnBindIndexes;            // index and Oracle type of
+  private int[] columnOracleTypes;            // each column being inserted
+  private int mapperRowBindIndex; // <- The parameter index of the
+                                  // "SQOOP_MAPPER_ROW" column, or 0
+
+  private static final long QUEUE_POLL_MILLIS = 100;
 
+  public OracleJdbcLoader() {
+    this(null, ROWS_PER_BATCH, ROWS_PER_COMMIT);
+  }
+
+  /**
+   * Create a loader writing rows of the given context in batches of the given
+   * size, outside of {@link #load}.
+   */
+  OracleJdbcLoader(LoaderContext context, int rowsPerBatch, int rowsPerCommit) {
+    this.context = context;
+    this.rowsPerBatch = rowsPerBatch;
+    this.rowsPerCommit = rowsPerCommit;
+  }
 
   private void setupInsert(LinkConfiguration linkConfiguration,
       ToJobConfiguration jobConfiguration) throws SQLException {
@@ -134,9 +169,6 @@ public void load(LoaderContext context, LinkConfiguration linkConfiguration,
 
     //TODO: Mapper ID
     mapperId = 1;
-    //TODO: Hardcoded values
-    rowsPerBatch = 5000;
-    rowsPerCommit = 5000;
 
     // Retrieve the JDBC URL that should be used by this mapper.
     // We achieve this by modifying the JDBC URL property in the
@@ -152,20 +184,7 @@ public void load(LoaderContext context, LinkConfiguration linkConfiguration,
     LOG.debug(String.format("Mapper %d has a JDBC URL of: %s", mapperId,
         mapperJdbcUrl == null ? "<null>" : mapperJdbcUrl));
 
-    connection = OracleConnectionFactory.createOracleJdbcConnection(
-        OracleJdbcConnectorConstants.ORACLE_JDBC_DRIVER_CLASS,
-        mapperJdbcUrl,
-        linkConfiguration.connectionConfig.username,
-        linkConfiguration.connectionConfig.password);
-    String thisOracleInstanceName =
-        OracleQueries.getCurrentOracleInstanceName(connection);
-    LOG.info(String.format(
-        "This record writer is connected to Oracle via the JDBC URL: \n"
-            + "\t\"%s\"\n" + "\tto the Oracle instance: \"%s\"", connection
-            .toString(), thisOracleInstanceName));
-    OracleConnectionFactory.initializeOracleConnection(
-        connection, linkConfiguration.connectionConfig);
-    connection.setAutoCommit(false);
+    connection = createConnection(linkConfiguration, mapperJdbcUrl);
     oracleVersion = OracleQueries.getOracleVersion(connection);
 
     if (jobConfiguration.toJobConfig.updateKey == null ||
@@ -188,16 +207,37 @@ public void load(LoaderContext context, LinkConfiguration linkConfiguration,
             jobConfiguration.toJobConfig,
             useAppendValuesOracleHint);
 
-    insertData();
+    insertData(linkConfiguration, mapperJdbcUrl,
+        jobConfiguration.toJobConfig.writerConnections);
     connection.close();
   }
 
+  Connection createConnection(LinkConfiguration linkConfiguration,
+      String mapperJdbcUrl) throws SQLException {
+    Connection result = OracleConnectionFactory.createOracleJdbcConnection(
+        OracleJdbcConnectorConstants.ORACLE_JDBC_DRIVER_CLASS,
+        mapperJdbcUrl,
+        linkConfiguration.connectionConfig.username,
+        linkConfiguration.connectionConfig.password);
+    String thisOracleInstanceName =
+        OracleQueries.getCurrentOracleInstanceName(result);
+    LOG.info(String.format(
+        "This record writer is connected to Oracle via the JDBC URL: \n"
+            + "\t\"%s\"\n" + "\tto the Oracle instance: \"%s\"", result
+            .toString(), thisOracleInstanceName));
+    OracleConnectionFactory.initializeOracleConnection(
+        result, linkConfiguration.connectionConfig);
+    result.setAutoCommit(false);
+    return result;
+  }
+
   @Override
   public long getRowsWritten() {
-    return rowsWritten;
+    return rowsWritten.get();
   }
 
-  private void insertData() throws Exception {
+  private void insertData(LinkConfiguration linkConfiguration,
+      String mapperJdbcUrl, Integer writerConnections) throws Exception {
     // If using APPEND_VALUES, check the batch size and commit frequency...
     if (useAppendValuesOracleHint) {
       if(rowsPerBatch < OracleJdbcConnectorConstants.
@@ -226,16 +266,16 @@ private void insertData() throws Exception {
 
     mapperRowNumber = 1;
 
-    String sql = getBatchInsertSqlStatement(useAppendValuesOracleHint
-        ? "/*+APPEND_VALUES*/" : "");
-    PreparedStatement statement = connection.prepareStatement(sql);
+    Map<String, Integer> bindIndexes = new HashMap<String, Integer>();
+    String sql = getBatchInsertSqlStatement(context, table, tableColumns,
+        mapperId, useAppendValuesOracleHint ? "/*+APPEND_VALUES*/" : "",
+        bindIndexes);
 
     Column[] columns = context.getSchema().getColumnsArray();
-    Object[] array;
-    boolean checkUpdateColumns = false;
+    bindColumns(columns, bindIndexes);
+
     List<Integer> updateColumnIndexes = null;
     if(updateColumnNames!=null) {
-      checkUpdateColumns = true;
       updateColumnIndexes = new ArrayList<Integer>();
       for (int idx = 0; idx < this.updateColumnNames.length; idx++) {
         for (int i = 0; i < columns.length; i++) {
@@ -246,36 +286,30 @@ private void insertData() throws Exception {
       }
     }
 
-    while ((array = context.getDataReader().readArrayRecord()) != null) {
-      if(checkUpdateColumns) {
-        boolean updateKeyValueIsNull = false;
-        for (Integer i : updateColumnIndexes) {
-          Object updateKeyValue = array[i];
-          if (updateKeyValue == null) {
-            this.numberOfRowsSkipped++;
-            updateKeyValueIsNull = true;
-            break;
-          }
+    if (writerConnections != null && writerConnections > 1) {
+      insertDataParallel(sql, linkConfiguration, mapperJdbcUrl,
+          writerConnections, updateColumnIndexes);
+    } else {
+      PreparedStatement statement = connection.prepareStatement(sql);
+      Object[] array;
+      long rows = 0;
+      while ((array = readRow(updateColumnIndexes)) != null) {
+        rows = rowsWritten.incrementAndGet();
+        bindRow(statement, array, mapperRowNumber++);
+        statement.addBatch();
+        if(rows % rowsPerBatch == 0) {
+          statement.executeBatch();
         }
-
-        if (updateKeyValueIsNull) {
-          continue;
+        if(rows % rowsPerCommit == 0) {
+          connection.commit();
         }
       }
-      rowsWritten++;
-      configurePreparedStatementColumns(statement, columns, array);
-      if(rowsWritten % rowsPerBatch == 0) {
+      if(rows % rowsPerBatch != 0) {
         statement.executeBatch();
       }
-      if(rowsWritten % rowsPerCommit == 0) {
-        connection.commit();
-      }
-    }
-    if(rowsWritten % rowsPerBatch != 0) {
-      statement.executeBatch();
+      connection.commit();
+      statement.close();
     }
-    connection.commit();
-    statement.close();
 
     if (numberOfRowsSkipped > 0) {
       LOG.warn(String.format(
@@ -286,7 +320,183 @@ private void insertData() throws Exception {
     }
   }
 
-  private String getBatchInsertSqlStatement(String oracleHint) {
+  /**
+   * Hands batches of rows from the data reader to several writer threads,
+   * each with its own connection, so that one batch is bound while the
+   * previous one is executing in the database. Every connection commits
+   * after its own rowsPerCommit rows.
+   */
+  void insertDataParallel(String sql,
+      LinkConfiguration linkConfiguration, String mapperJdbcUrl,
+      int writerConnections, List<Integer> updateColumnIndexes)
+      throws Exception {
+    // Batches are recycled between the reader and the writers
+    int numberOfBatches = 2 * writerConnections + 1;
+    BlockingQueue<InsertBatch> freeBatches =
+        new ArrayBlockingQueue<InsertBatch>(numberOfBatches);
+    for (int i = 0; i < numberOfBatches; i++) {
+      freeBatches.add(new InsertBatch(
+          new RowBatch(context.getSchema(), rowsPerBatch)));
+    }
+    BlockingQueue<InsertBatch> filledBatches =
+        new ArrayBlockingQueue<InsertBatch>(writerConnections);
+    InsertBatch endOfData =
+        new InsertBatch(new RowBatch(context.getSchema(), 1));
+
+    ExecutorService writerService =
+        Executors.newFixedThreadPool(writerConnections);
+    try {
+      List<Future<Long>> writers = new ArrayList<Future<Long>>();
+      for (int i = 0; i < writerConnections; i++) {
+        writers.add(writerService.submit(new ConnectionWriter(sql,
+            linkConfiguration, mapperJdbcUrl, filledBatches, freeBatches,
+            endOfData)));
+      }
+
+      InsertBatch batch = takeBatch(freeBatches, writers);
+      batch.reset(mapperRowNumber);
+      Object[] array;
+      while ((array = readRow(updateColumnIndexes)) != null) {
+        batch.rows.addRow(array);
+        mapperRowNumber++;
+        if (batch.rows.isFull()) {
+          putBatch(filledBatches, batch, writers);
+          batch = takeBatch(freeBatches, writers);
+          batch.reset(mapperRowNumber);
+        }
+      }
+      if (!batch.rows.isEmpty()) {
+        putBatch(filledBatches, batch, writers);
+      }
+      for (int i = 0; i < writerConnections; i++) {
+        putBatch(filledBatches, endOfData, writers);
+      }
+
+      for (Future<Long> writer : writers) {
+        getWriterResult(writer);
+      }
+    } finally {
+      // Interrupts the other writers when one of them failed, and waits for
+      // them to close their connections
+      writerService.shutdownNow();
+      writerService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static InsertBatch takeBatch(BlockingQueue<InsertBatch> queue,
+      List<Future<Long>> writers) throws Exception {
+    InsertBatch batch;
+    while ((batch = queue.poll(QUEUE_POLL_MILLIS,
+        TimeUnit.MILLISECONDS)) == null) {
+      checkWriters(writers);
+    }
+    return batch;
+  }
+
+  private static void putBatch(BlockingQueue<InsertBatch> queue,
+      InsertBatch batch, List<Future<Long>> writers) throws Exception {
+    while (!queue.offer(batch, QUEUE_POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+      checkWriters(writers);
+    }
+  }
+
+  /**
+   * Rethrows the failure of any writer, which would otherwise leave the
+   * reading thread waiting on the queues forever.
+   */
+  private static void checkWriters(List<Future<Long>> writers)
+      throws Exception {
+    for (Future<Long> writer : writers) {
+      if (writer.isDone()) {
+        getWriterResult(writer);
+      }
+    }
+  }
+
+  private static long getWriterResult(Future<Long> writer) throws Exception {
+    try {
+      return writer.get();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof Exception) {
+        throw (Exception) e.getCause();
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * Read the next row to insert, skipping the rows that have a NULL value
+   * for (one of) the update-key columns.
+   */
+  private Object[] readRow(List<Integer> updateColumnIndexes)
+      throws Exception {
+    Object[] array;
+    while ((array = context.getDataReader().readArrayRecord()) != null) {
+      boolean updateKeyValueIsNull = false;
+      if (updateColumnIndexes != null) {
+        for (Integer i : updateColumnIndexes) {
+          if (array[i] == null) {
+            updateKeyValueIsNull = true;
+            break;
+          }
+        }
+      }
+
+      if (!updateKeyValueIsNull) {
+        return array;
+      }
+      this.numberOfRowsSkipped++;
+    }
+    return null;
+  }
+
+  /**
+   * Resolve the insert statement parameter and the binder of every column
+   * once, rather than looking the table column up by name for every value.
+   */
+  private void bindColumns(Column[] columns,
+      Map<String, Integer> bindIndexes) {
+    columnBinders = new OracleColumnBinder[columns.length];
+    columnBindIndexes = new int[columns.length];
+    columnOracleTypes = new int[columns.length];
+    for (int i = 0; i < columns.length; i++) {
+      String colName = columns[i].getName();
+      OracleTableColumn oracleTableColumn =
+          tableColumns.findColumnByName(colName);
+      if (oracleTableColumn == null) {
+        throw new RuntimeException(String.format(
+            "The column %s does not exist in the table %s.", colName, table));
+      }
+      columnBinders[i] = OracleColumnBinder.forColumn(oracleTableColumn);
+      columnBindIndexes[i] = bindIndexes.get(colName);
+      columnOracleTypes[i] = oracleTableColumn.getOracleType();
+    }
+
+    mapperRowBindIndex = 0;
+    if (this.tableHasMapperRowNumberColumn) {
+      mapperRowBindIndex = bindIndexes.get(OracleJdbcConnectorConstants.
+          COLUMN_NAME_EXPORT_MAPPER_ROW);
+    }
+  }
+
+  void bindRow(PreparedStatement statement, Object[] array,
+      long rowNumber) throws SQLException {
+    if (mapperRowBindIndex > 0) {
+      statement.setLong(mapperRowBindIndex, rowNumber);
+    }
+    for (int i = 0; i < array.length; i++) {
+      columnBinders[i].bind(statement, columnBindIndexes[i], array[i],
+          columnOracleTypes[i]);
+    }
+  }
+
+  /**
+   * Generate the insert statement of the given table and note the parameter
+   * index of every column bound, by the name of the column.
+   */
+  static String getBatchInsertSqlStatement(LoaderContext context,
+      OracleTable table, OracleTableColumns tableColumns, int mapperId,
+      String oracleHint, Map<String, Integer> bindIndexes) {
 
     // String[] columnNames = this.getColumnNames();
     StringBuilder sqlNames = new StringBuilder();
@@ -308,8 +518,9 @@ private String getBatchInsertSqlStatement(String oracleHint) {
     }
 
     int colCount = 0;
-    for (int idx = 0; idx < this.tableColumns.size(); idx++) {
-      OracleTableColumn oracleTableColumn = this.tableColumns.get(idx);
+    int bindCount = 0;
+    for (int idx = 0; idx < tableColumns.size(); idx++) {
+      OracleTableColumn oracleTableColumn = tableColumns.get(idx);
       String columnName = oracleTableColumn.getName();
       if(columnNamesList.contains(columnName) ||
           OracleJdbcConnectorConstants.COLUMN_NAME_EXPORT_PARTITION
@@ -330,20 +541,17 @@ private String getBatchInsertSqlStatement(String oracleHint) {
         }
 
         String pseudoColumnValue =
-            generateInsertValueForPseudoColumn(columnName);
+            generateInsertValueForPseudoColumn(context, mapperId, columnName);
 
         String bindVarName = null;
 
         if (pseudoColumnValue != null) {
           bindVarName = pseudoColumnValue;
-        } else if (oracleTableColumn.getOracleType() == OracleQueries
-            .getOracleType("STRUCT")) {
-          if (oracleTableColumn.getDataType().equals(
-              OracleJdbcConnectorConstants.Oracle.URITYPE)) {
-            bindVarName =
-                String.format("urifactory.getUri(%s)",
-                    columnNameToBindVariable(columnName));
-          }
+        } else if (oracleTableColumn.getDataType().equals(
+            OracleJdbcConnectorConstants.Oracle.URITYPE)) {
+          // A STRUCT, which is bound as the text of the URI
+          bindVarName =
+              "urifactory.getUri(?)";
           //TODO: Date as string?
         /*} else if (getConf().getBoolean(
             OraOopConstants.ORAOOP_MAP_TIMESTAMP_AS_STRING,
@@ -374,7 +582,10 @@ private String getBatchInsertSqlStatement(String oracleHint) {
         }
 
         if (bindVarName == null) {
-          bindVarName = columnNameToBindVariable(columnName);
+          bindVarName = "?";
+        }
+        if (bindVarName.contains("?")) {
+          bindIndexes.put(columnName, ++bindCount);
         }
 
         sqlValues.append(bindVarName);
@@ -385,14 +596,15 @@ private String getBatchInsertSqlStatement(String oracleHint) {
 
     String sql =
         String.format("insert %s into %s\n" + "(%s)\n" + "values\n"
-            + "(%s)\n", oracleHint, this.table.toString(), sqlNames
+            + "(%s)\n", oracleHint, table.toString(), sqlNames
             .toString(), sqlValues.toString());
 
     LOG.info("Batch-Mode insert statement:\n" + sql);
     return sql;
   }
 
-  private String generateInsertValueForPseudoColumn(String columnName) {
+  private static String generateInsertValueForPseudoColumn(
+      LoaderContext context, int mapperId, String columnName) {
 
     if (columnName.equalsIgnoreCase(
         OracleJdbcConnectorConstants.COLUMN_NAME_EXPORT_PARTITION)) {
@@ -411,140 +623,12 @@ private String generateInsertValueForPseudoColumn(String columnName) {
 
     if (columnName.equalsIgnoreCase(
         OracleJdbcConnectorConstants.COLUMN_NAME_EXPORT_SUBPARTITION)) {
-      return Integer.toString(this.mapperId);
+      return Integer.toString(mapperId);
     }
 
     return null;
   }
 
-  private String columnNameToBindVariable(String columnName) {
-    return ":" + columnName;
-  }
-
-  private void configurePreparedStatementColumns(
-      PreparedStatement statement, Column[] columns, Object[] array)
-      throws SQLException {
-
-    String bindValueName;
-
-    if (this.tableHasMapperRowNumberColumn) {
-      bindValueName = columnNameToBindVariable(OracleJdbcConnectorConstants.
-          COLUMN_NAME_EXPORT_MAPPER_ROW).replaceFirst(":", "");
-      try {
-        OracleQueries.setLongAtName(statement, bindValueName,
-            this.mapperRowNumber);
-      } catch (Exception e) {
-        throw new RuntimeException(e);
-      }
-      this.mapperRowNumber++;
-    }
-
-    for (int i = 0; i < array.length; i++) {
-      String colName = columns[i].getName();
-      bindValueName = columnNameToBindVariable(colName).replaceFirst(":", "");
-      OracleTableColumn oracleTableColumn =
-          tableColumns.findColumnByName(colName);
-      setBindValueAtName(statement, bindValueName, array[i],
-          oracleTableColumn);
-    }
-    statement.addBatch();
-  }
-
-  private void setBindValueAtName(PreparedStatement statement,
-      String bindValueName, Object bindValue, OracleTableColumn column)
-      throws SQLException {
-    if (column.getOracleType()
-        == OracleQueries.getOracleType("NUMBER")) {
-      OracleQueries.setBigDecimalAtName(statement, bindValueName,
-          (BigDecimal) bindValue);
-    } else if (column.getOracleType() == OracleQueries
-        .getOracleType("VARCHAR")) {
-      OracleQueries.setStringAtName(statement, bindValueName,
-          (String) bindValue);
-    } else if (column.getOracleType() == OracleQueries
-        .getOracleType("TIMESTAMP")
-        || column.getOracleType() == OracleQueries
-            .getOracleType("TIMESTAMPTZ")
-        || column.getOracleType() == OracleQueries
-            .getOracleType("TIMESTAMPLTZ")) {
-      Object objValue = bindValue;
-      if (objValue instanceof LocalDateTime) {
-        //TODO: Improve date handling
-        LocalDateTime value = (LocalDateTime) objValue;
-        Timestamp timestampValue =
-            new Timestamp(value.toDateTime().getMillis());
-        OracleQueries.setTimestampAtName(statement, bindValueName,
-            timestampValue);
-      } else {
-        String value = (String) objValue;
-
-        if (value == null || value.equalsIgnoreCase("null")) {
-          value = "";
-        }
-
-        OracleQueries.setStringAtName(statement, bindValueName, value);
-      }
-    } else if (column.getOracleType() == OracleQueries
-        .getOracleType("BINARY_DOUBLE")) {
-      Double value = (Double) bindValue;
-      if (value != null) {
-        OracleQueries.setBinaryDoubleAtName(statement, bindValueName,
-            value);
-      } else {
-        OracleQueries.setObjectAtName(statement, bindValueName, null);
-      }
-    } else if (column.getOracleType() == OracleQueries
-        .getOracleType("BINARY_FLOAT")) {
-      Float value = (Float) bindValue;
-      if (value != null) {
-        OracleQueries.setBinaryFloatAtName(statement, bindValueName,
-            value);
-      } else {
-        OracleQueries.setObjectAtName(statement, bindValueName, null);
-      }
-    } else if (column.getOracleType() == OracleQueries
-        .getOracleType("STRUCT")) { // <- E.g. URITYPE
-      if (column.getDataType().equals(
-          OracleJdbcConnectorConstants.Oracle.URITYPE)) {
-        String value = (String) bindValue;
-        OracleQueries.setStringAtName(statement, bindValueName, value);
-      } else {
-        String msg =
-            String.format(
-                "%s needs to be updated to cope with the data-type: %s "
-                    + "where the Oracle data_type is \"%s\".",
-                OracleUtilities.getCurrentMethodName(), column.getDataType(),
-                column.getOracleType());
-        LOG.error(msg);
-        throw new UnsupportedOperationException(msg);
-      }
-    } else {
-      // LOB data-types are currently not supported during
-      // a Sqoop Export.
-      // JIRA: SQOOP-117
-      // OraOopConstants.SUPPORTED_EXPORT_ORACLE_DATA_TYPES_CLAUSE
-      // will already have excluded all LOB columns.
-
-      // case oracle.jdbc.OracleTypes.CLOB:
-      // {
-      // oracle.sql.CLOB clob = new
-      // oracle.sql.CLOB(connection);
-      // Object value = fieldMap.get(colName);
-      // //clob.set
-      // statement.setCLOBAtName(bindValueName, clob);
-      // break;
-      // }
-      String msg =
-          String.format(
-              "%s may need to be updated to cope with the data-type: %s",
-              OracleUtilities.getCurrentMethodName(), column.getOracleType());
-      LOG.debug(msg);
-
-      OracleQueries
-          .setObjectAtName(statement, bindValueName, bindValue);
-    }
-  }
-
   private boolean canUseOracleAppendValuesHint() {
 
     // Should we use the APPEND_VALUES Oracle hint?...
@@ -621,4 +705,78 @@ protected boolean allowUserToOverrideUseOfTheOracleAppendValuesHint(
     }
     return result;
   }
+
+  /**
+   * A batch of rows together with the mapper row number of its first row.
+   */
+  private static class InsertBatch {
+    private final RowBatch rows;
+    private long firstRowNumber;
+
+    InsertBatch(RowBatch rows) {
+      this.rows = rows;
+    }
+
+    void reset(long firstRowNumber) {
+      this.rows.reset();
+      this.firstRowNumber = firstRowNumber;
+    }
+  }
+
+  /**
+   * Inserts the batches taken from the queue through its own connection and
+   * returns the number of rows written.
+   */
+  private class ConnectionWriter implements Callable<Long> {
+    private final String sql;
+    private final LinkConfiguration linkConfiguration;
+    private final String mapperJdbcUrl;
+    private final BlockingQueue<InsertBatch> filledBatches;
+    private final BlockingQueue<InsertBatch> freeBatches;
+    private final InsertBatch endOfData;
+
+    ConnectionWriter(String sql, LinkConfiguration linkConfiguration,
+        String mapperJdbcUrl, BlockingQueue<InsertBatch> filledBatches,
+        BlockingQueue<InsertBatch> freeBatches, InsertBatch endOfData) {
+      this.sql = sql;
+      this.linkConfiguration = linkConfiguration;
+      this.mapperJdbcUrl = mapperJdbcUrl;
+      this.filledBatches = filledBatches;
+      this.freeBatches = freeBatches;
+      this.endOfData = endOfData;
+    }
+
+    @Override
+    public Long call() throws Exception {
+      long rows = 0;
+      long rowsSinceCommit = 0;
+      Object[] array = new Object[context.getSchema().getColumnsArray().length];
+      try (Connection writerConnection =
+               createConnection(linkConfiguration, mapperJdbcUrl);
+           PreparedStatement statement =
+               writerConnection.prepareStatement(sql)) {
+        InsertBatch batch;
+        while ((batch = filledBatches.take()) != endOfData) {
+          int size = batch.rows.size();
+          for (int row = 0; row < size; row++) {
+            bindRow(statement, batch.rows.getRow(row, array),
+                batch.firstRowNumber + row);
+            statement.addBatch();
+          }
+          freeBatches.put(batch);
+          statement.executeBatch();
+          rowsWritten.addAndGet(size);
+
+          rows += size;
+          rowsSinceCommit += size;
+          if (rowsSinceCommit >= rowsPerCommit) {
+            writerConnection.commit();
+            rowsSinceCommit = 0;
+          }
+        }
+        writerConnection.commit();
+      }
+      return rows;
+    }
+  }
 }
@@ -89,6 +89,27 @@ public int getTotalNumberOfBlocksInThisSplit() {
     return result;
   }
 
+  /**
+   * @return The number of rows estimated for the data-chunks of this split,
+   *         or -1 when they haven't all been estimated
+   */
+  public long getEstimatedNumberOfRows() {
+
+    if (this.getNumberOfDataChunks() == 0) {
+      return 0;
+    }
+
+    long result = 0;
+    for (OracleDataChunk dataChunk : this.getDataChunks()) {
+      if (dataChunk.getEstimatedNumberOfRows() < 0) {
+        return -1;
+      }
+      result += dataChunk.getEstimatedNumberOfRows();
+    }
+
+    return result;
+  }
+
   public OracleDataChunk findDataChunkById(String id) {
 
     for (OracleDataChunk dataChunk : this.getDataChunks()) {
@@ -20,7 +20,10 @@
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.apache.sqoop.connector.jdbc.oracle.configuration.FromJobConfig;
@@ -28,6 +31,7 @@
 import org.apache.sqoop.connector.jdbc.oracle.configuration.LinkConfiguration;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleConnectionFactory;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleDataChunk;
+import org.apache.sqoop.connector.jdbc.oracle.util.OracleDataChunkExtent;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleQueries;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleTable;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleUtilities;
@@ -105,6 +109,14 @@ public List<Partition> getPartitions(PartitionerContext context,
                   .getOracleBlockToSplitAllocationMethod(
                       jobConfiguration.fromJobConfig);
 
+          // Weight the ROWID data-chunks by the rows the table statistics
+          // estimate for them, rather than by their blocks...
+          if (blockAllocationMethod == OracleUtilities
+              .OracleBlockToSplitAllocationMethod.WEIGHTED) {
+            estimateNumberOfRows(dataChunks,
+                OracleQueries.getTableSegmentNumberOfRows(connection, table));
+          }
+
           // Group the Oracle data-chunks into splits...
           splits =
               groupTableDataChunksIntoSplits(dataChunks, desiredNumberOfMappers,
@@ -178,7 +190,7 @@ List<Partition> groupTableDataChunksIntoSplits(
 
   for (int i = 0; i < actualNumberOfSplits; i++) {
     OracleJdbcPartition split = new OracleJdbcPartition();
-    //split.setSplitId(i);
+    split.setSplitId(i);
     //split.setTotalNumberOfBlocksInAllSplits(
     //    totalNumberOfBlocksInAllDataChunks);
     splits.add(split);
@@ -230,11 +242,57 @@ List<Partition> groupTableDataChunksIntoSplits(
       }
       break;
 
+    case WEIGHTED:
+      // Allocate the largest data-chunks first, each to the split with the
+      // least work allocated so far...
+      List<OracleDataChunk> sortedDataChunks =
+          new ArrayList<OracleDataChunk>(dataChunks);
+      Collections.sort(sortedDataChunks, new Comparator<OracleDataChunk>() {
+        @Override
+        public int compare(OracleDataChunk dataChunk1,
+            OracleDataChunk dataChunk2) {
+          long weight1 = getWeight(dataChunk1);
+          long weight2 = getWeight(dataChunk2);
+          return weight1 < weight2 ? 1 : (weight1 > weight2 ? -1 : 0);
+        }
+      });
+
+      long[] splitWeights = new long[splits.size()];
+      for (OracleDataChunk dataChunk : sortedDataChunks) {
+        int idxLightestSplit = 0;
+        for (int idx = 1; idx < splitWeights.length; idx++) {
+          // Ties go to the split with the fewest data-chunks, so that
+          // data-chunks without rows don't leave a split empty...
+          if (splitWeights[idx] < splitWeights[idxLightestSplit]
+              || (splitWeights[idx] == splitWeights[idxLightestSplit]
+                  && ((OracleJdbcPartition) splits.get(idx))
+                      .getNumberOfDataChunks()
+                  < ((OracleJdbcPartition) splits.get(idxLightestSplit))
+                      .getNumberOfDataChunks())) {
+            idxLightestSplit = idx;
+          }
+        }
+        ((OracleJdbcPartition) splits.get(idxLightestSplit)).getDataChunks()
+            .add(dataChunk);
+        splitWeights[idxLightestSplit] += getWeight(dataChunk);
+      }
+      break;
+
     default:
       throw new RuntimeException("Block allocation method not implemented.");
 
   }
 
+  for (Partition split : splits) {
+    OracleJdbcPartition oracleSplit = (OracleJdbcPartition) split;
+    long estimatedNumberOfRows = oracleSplit.getEstimatedNumberOfRows();
+    LOG.info(String.format(
+        "Split[%d] has %d data-chunks with %d blocks and %s estimated rows.",
+        oracleSplit.getSplitId(), oracleSplit.getNumberOfDataChunks(),
+        oracleSplit.getTotalNumberOfBlocksInThisSplit(),
+        estimatedNumberOfRows < 0 ? "no" : Long.toString(estimatedNumberOfRows)));
+  }
+
   if (LOG.isDebugEnabled()) {
     for (int idx = 0; idx < splits.size(); idx++) {
       LOG.debug("\n\t"
@@ -245,4 +303,71 @@ List<Partition> groupTableDataChunksIntoSplits(
   return splits;
   }
 
+  /**
+   * The rows estimated for the data-chunk, or its blocks when its rows
+   * haven't been estimated.
+   */
+  private static long getWeight(OracleDataChunk dataChunk) {
+    long estimatedNumberOfRows = dataChunk.getEstimatedNumberOfRows();
+    return estimatedNumberOfRows < 0 ? dataChunk.getNumberOfBlocks()
+        : estimatedNumberOfRows;
+  }
+
+  /**
+   * Estimate the rows of every ROWID data-chunk by spreading the rows of its
+   * segment over the blocks of the segment's data-chunks. Mostly empty
+   * blocks, chained rows and compressed segments all show in the rows per
+   * block of the segment. Segments without statistics get the average rows
+   * per block of the other segments, and nothing is estimated when no
+   * segment has statistics.
+   */
+  protected static void estimateNumberOfRows(
+      List<? extends OracleDataChunk> dataChunks,
+      Map<Integer, Long> segmentNumberOfRows) {
+
+    Map<Integer, Long> segmentNumberOfBlocks = new HashMap<Integer, Long>();
+    for (OracleDataChunk dataChunk : dataChunks) {
+      if (!(dataChunk instanceof OracleDataChunkExtent)) {
+        LOG.info("Only ROWID data-chunks are weighted by their estimated "
+            + "rows, the others are weighted by their blocks.");
+        return;
+      }
+      int dataObjectId =
+          ((OracleDataChunkExtent) dataChunk).getOracleDataObjectId();
+      Long blocks = segmentNumberOfBlocks.get(dataObjectId);
+      segmentNumberOfBlocks.put(dataObjectId,
+          (blocks == null ? 0 : blocks) + dataChunk.getNumberOfBlocks());
+    }
+
+    long rowsWithStatistics = 0;
+    long blocksWithStatistics = 0;
+    for (Map.Entry<Integer, Long> segment : segmentNumberOfBlocks.entrySet()) {
+      Long rows = segmentNumberOfRows.get(segment.getKey());
+      if (rows != null) {
+        rowsWithStatistics += rows;
+        blocksWithStatistics += segment.getValue();
+      }
+    }
+    if (blocksWithStatistics == 0) {
+      LOG.info("The table has no statistics, so the data-chunks are "
+          + "weighted by their blocks.");
+      return;
+    }
+    double averageRowsPerBlock =
+        rowsWithStatistics / (double) blocksWithStatistics;
+
+    for (OracleDataChunk dataChunk : dataChunks) {
+      int dataObjectId =
+          ((OracleDataChunkExtent) dataChunk).getOracleDataObjectId();
+      Long rows = segmentNumberOfRows.get(dataObjectId);
+      long blocks = segmentNumberOfBlocks.get(dataObjectId);
+      double rowsPerBlock = averageRowsPerBlock;
+      if (rows != null) {
+        rowsPerBlock = blocks == 0 ? 0 : rows / (double) blocks;
+      }
+      dataChunk.setEstimatedNumberOfRows(
+          Math.round(rowsPerBlock * dataChunk.getNumberOfBlocks()));
+    }
+  }
+
 }
@@ -59,6 +59,9 @@ public class FromJobConfig implements Serializable {
   @Input
   public Boolean omitLobColumns;
 
+  @Input
+  public Integer lobPrefetchSize;
+
   @Input(size = 2000)
   public String queryHint;
 
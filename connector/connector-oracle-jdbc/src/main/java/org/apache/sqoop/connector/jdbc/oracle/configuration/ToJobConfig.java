@@ -66,4 +66,7 @@ public class ToJobConfig implements Serializable {
   @Input
   public Boolean parallel;
 
+  @Input
+  public Integer writerConnections;
+
 }
@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.oracle.util;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import org.apache.log4j.Logger;
+import org.apache.sqoop.connector.jdbc.oracle.OracleJdbcConnectorConstants;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDateTime;
+
+/**
+ * Binds the value of one column of the row being inserted, with the setter
+ * suited to its Oracle type. Binders are picked once per column before the
+ * first row is written, and bind the column by its index in the insert
+ * statement.
+ */
+public enum OracleColumnBinder {
+  NUMBER {
+    @Override
+    public void bind(PreparedStatement statement, int index, Object value,
+        int oracleType) throws SQLException {
+      if (value == null || value instanceof BigDecimal) {
+        statement.setBigDecimal(index, (BigDecimal) value);
+      } else {
+        statement.setBigDecimal(index, new BigDecimal(value.toString()));
+      }
+    }
+  },
+  STRING {
+    @Override
+    public void bind(PreparedStatement statement, int index, Object value,
+        int oracleType) throws SQLException {
+      statement.setString(index, (String) value);
+    }
+  },
+  TIMESTAMP {
+    @Override
+    public void bind(PreparedStatement statement, int index, Object value,
+        int oracleType) throws SQLException {
+      //TODO: Improve date handling
+      if (value instanceof LocalDateTime) {
+        statement.setTimestamp(index, new Timestamp(
+            ((LocalDateTime) value).toDateTime().getMillis()));
+      } else if (value instanceof DateTime) {
+        statement.setTimestamp(index,
+            new Timestamp(((DateTime) value).getMillis()));
+      } else {
+        String string = (String) value;
+        if (string == null || string.equalsIgnoreCase("null")) {
+          string = "";
+        }
+        statement.setString(index, string);
+      }
+    }
+  },
+  BINARY_DOUBLE {
+    @Override
+    public void bind(PreparedStatement statement, int index, Object value,
+        int oracleType) throws SQLException {
+      if (value == null) {
+        statement.setNull(index, oracleType);
+      } else {
+        OracleQueries.setBinaryDouble(statement, index,
+            ((Number) value).doubleValue());
+      }
+    }
+  },
+  BINARY_FLOAT {
+    @Override
+    public void bind(PreparedStatement statement, int index, Object value,
+        int oracleType) throws SQLException {
+      if (value == null) {
+        statement.setNull(index, oracleType);
+      } else {
+        OracleQueries.setBinaryFloat(statement, index,
+            ((Number) value).floatValue());
+      }
+    }
+  },
+  OBJECT {
+    @Override
+    public void bind(PreparedStatement statement, int index, Object value,
+        int oracleType) throws SQLException {
+      if (value == null) {
+        statement.setNull(index, oracleType);
+      } else {
+        statement.setObject(index, value);
+      }
+    }
+  };
+
+  private static final Logger LOG =
+      Logger.getLogger(OracleColumnBinder.class);
+
+  /**
+   * Bind the value, which may be null, to the parameter at the given index,
+   * starting at 1. The Oracle type of the column is used to bind nulls.
+   */
+  public abstract void bind(PreparedStatement statement, int index,
+      Object value, int oracleType) throws SQLException;
+
+  /**
+   * Get the binder of the values inserted into a table column.
+   */
+  public static OracleColumnBinder forColumn(OracleTableColumn tableColumn) {
+    int oracleType = tableColumn.getOracleType();
+    if (oracleType == OracleQueries.getOracleType("NUMBER")) {
+      return NUMBER;
+    }
+    if (oracleType == OracleQueries.getOracleType("VARCHAR")) {
+      return STRING;
+    }
+    if (oracleType == OracleQueries.getOracleType("TIMESTAMP")
+        || oracleType == OracleQueries.getOracleType("TIMESTAMPTZ")
+        || oracleType == OracleQueries.getOracleType("TIMESTAMPLTZ")) {
+      return TIMESTAMP;
+    }
+    if (oracleType == OracleQueries.getOracleType("BINARY_DOUBLE")) {
+      return BINARY_DOUBLE;
+    }
+    if (oracleType == OracleQueries.getOracleType("BINARY_FLOAT")) {
+      return BINARY_FLOAT;
+    }
+    if (oracleType == OracleQueries.getOracleType("STRUCT")) { // <- E.g. URITYPE
+      if (tableColumn.getDataType().equals(
+          OracleJdbcConnectorConstants.Oracle.URITYPE)) {
+        return STRING;
+      }
+      String msg = String.format(
+          "%s needs to be updated to cope with the data-type: %s "
+              + "where the Oracle data_type is \"%s\".",
+          OracleUtilities.getCurrentMethodName(), tableColumn.getDataType(),
+          oracleType);
+      LOG.error(msg);
+      throw new UnsupportedOperationException(msg);
+    }
+
+    // LOB data-types are currently not supported during a Sqoop Export.
+    // JIRA: SQOOP-117
+    // OraOopConstants.SUPPORTED_EXPORT_ORACLE_DATA_TYPES_CLAUSE
+    // will already have excluded all LOB columns.
+    LOG.debug(String.format(
+        "%s may need to be updated to cope with the data-type: %s",
+        OracleUtilities.getCurrentMethodName(), oracleType));
+    return OBJECT;
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.oracle.util;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.Decimal;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.joda.time.LocalDateTime;
+import org.joda.time.format.DateTimeFormat;
+import org.joda.time.format.DateTimeFormatter;
+
+/**
+ * Reads the value of one column of the current row of a result set, with
+ * the accessor suited to its Oracle and Sqoop types. Readers are picked once
+ * per column before the first row is read, and read the column by index.
+ */
+public enum OracleColumnReader {
+  STRING {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      return resultSet.getString(index);
+    }
+  },
+  INTEGER {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      int value = resultSet.getInt(index);
+      return resultSet.wasNull() ? null : Integer.valueOf(value);
+    }
+  },
+  LONG {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      long value = resultSet.getLong(index);
+      return resultSet.wasNull() ? null : Long.valueOf(value);
+    }
+  },
+  FLOAT {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      float value = resultSet.getFloat(index);
+      return resultSet.wasNull() ? null : Float.valueOf(value);
+    }
+  },
+  DOUBLE {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      double value = resultSet.getDouble(index);
+      return resultSet.wasNull() ? null : Double.valueOf(value);
+    }
+  },
+  // NUMBER columns without fraction digits that fit into a long, read
+  // without decoding the number into a BigDecimal first
+  LONG_DECIMAL {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      long value = resultSet.getLong(index);
+      return resultSet.wasNull() ? null : BigDecimal.valueOf(value);
+    }
+  },
+  TIMESTAMP {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      Timestamp timestamp = resultSet.getTimestamp(index);
+      return timestamp == null ? null : LocalDateTime.fromDateFields(timestamp);
+    }
+  },
+  // Decoded from the bytes of the oracle.sql.TIMESTAMPTZ value, instead of
+  // formatting and parsing it as text
+  TIMESTAMPTZ {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      Object value = resultSet.getObject(index);
+      if (value == null) {
+        return null;
+      }
+      return timestampTzToDateTime(getDatumBytes(value));
+    }
+  },
+  TIMESTAMPLTZ {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      //TODO: BC dates
+      String dateTimeStr = resultSet.getString(index);
+      return dateTimeStr == null ? null : DateTime.parse(dateTimeStr, TIMESTAMP_TIMEZONE);
+    }
+  },
+  OBJECT {
+    @Override
+    public Object read(ResultSet resultSet, int index) throws SQLException {
+      return resultSet.getObject(index);
+    }
+  };
+
+  private static final DateTimeFormatter TIMESTAMP_TIMEZONE =
+      DateTimeFormat.forPattern("yyyy-MM-dd HH:mm:ss.SSSSSSSSS z");
+
+  // Length of a TIMESTAMP WITH TIME ZONE value in its internal format
+  private static final int TIMESTAMPTZ_LENGTH = 13;
+
+  // oracle.sql.Datum.shareBytes(), found on the first value read
+  private static volatile Method datumBytesMethod;
+
+  // oracle.sql.ZONEIDMAP.getRegion(int), looked up on the first time zone
+  // region read, and whether it was looked up
+  private static volatile Method zoneRegionMethod;
+  private static volatile boolean zoneRegionMethodFound;
+
+  /**
+   * Read the value of the column at the given index, starting at 1.
+   */
+  public abstract Object read(ResultSet resultSet, int index) throws SQLException;
+
+  /**
+   * Get the reader of the values of a table column, given the type of the
+   * Sqoop column they are imported into.
+   */
+  public static OracleColumnReader forColumn(OracleTableColumn tableColumn,
+      Column column) {
+    switch (column.getType()) {
+    case TEXT:
+      return STRING;
+    case FIXED_POINT:
+      Long byteSize = ((FixedPoint) column).getByteSize();
+      return byteSize != null && byteSize <= Integer.SIZE / Byte.SIZE ? INTEGER : LONG;
+    case FLOATING_POINT:
+      byteSize = ((FloatingPoint) column).getByteSize();
+      return byteSize != null && byteSize <= Float.SIZE / Byte.SIZE ? FLOAT : DOUBLE;
+    case DECIMAL:
+      Decimal decimal = (Decimal) column;
+      if (decimal.getScale() != null && decimal.getScale() == 0
+          && decimal.getPrecision() != null && decimal.getPrecision() > 0
+          && decimal.getPrecision() <= 18) {
+        return LONG_DECIMAL;
+      }
+      return OBJECT;
+    default:
+      break;
+    }
+
+    int oracleType = tableColumn.getOracleType();
+    if (oracleType == OracleQueries.getOracleType("TIMESTAMP")) {
+      return TIMESTAMP;
+    }
+    if (oracleType == OracleQueries.getOracleType("TIMESTAMPTZ")) {
+      return TIMESTAMPTZ;
+    }
+    if (oracleType == OracleQueries.getOracleType("TIMESTAMPLTZ")) {
+      return TIMESTAMPLTZ;
+    }
+    return OBJECT;
+  }
+
+  /**
+   * Convert a TIMESTAMP WITH TIME ZONE value in the internal format of Oracle
+   * to a date time in the time zone of the value. The date and time are
+   * stored in UTC, followed by the time zone:
+   * <pre>
+   * century + 100, year of century + 100, month, day,
+   * hour + 1, minute + 1, second + 1, nanoseconds (4 bytes, big endian),
+   * time zone hour + 20 or region, time zone minute + 60 or region
+   * </pre>
+   * A region is named by the driver. Regions unknown to the driver or to
+   * Joda-Time are replaced by the default time zone, keeping the instant.
+   */
+  public static DateTime timestampTzToDateTime(byte[] bytes) {
+    if (bytes.length < TIMESTAMPTZ_LENGTH) {
+      throw new IllegalArgumentException("Invalid TIMESTAMP WITH TIME ZONE of "
+          + bytes.length + " bytes");
+    }
+    int year = ((bytes[0] & 0xFF) - 100) * 100 + (bytes[1] & 0xFF) - 100;
+    int nanos = (bytes[7] & 0xFF) << 24 | (bytes[8] & 0xFF) << 16
+        | (bytes[9] & 0xFF) << 8 | (bytes[10] & 0xFF);
+    DateTime utc = new DateTime(year, bytes[2], bytes[3], bytes[4] - 1,
+        bytes[5] - 1, bytes[6] - 1, nanos / 1000000, DateTimeZone.UTC);
+    return utc.withZone(getTimeZone(bytes[11] & 0xFF, bytes[12] & 0xFF));
+  }
+
+  private static DateTimeZone getTimeZone(int hourByte, int minuteByte) {
+    if ((hourByte & 0x80) == 0) {
+      int offsetMinutes = (hourByte - 20) * 60 + minuteByte - 60;
+      return DateTimeZone.forOffsetMillis(offsetMinutes * 60 * 1000);
+    }
+
+    int region = (hourByte & 0x7F) << 6 | (minuteByte & 0xFC) >> 2;
+    Method method = getZoneRegionMethod();
+    if (method != null) {
+      try {
+        String regionName = (String) method.invoke(null, region);
+        if (regionName != null) {
+          return DateTimeZone.forID(regionName);
+        }
+      } catch (Exception e) {
+        // Not a time zone of Joda-Time
+      }
+    }
+    return DateTimeZone.getDefault();
+  }
+
+  private static Method getZoneRegionMethod() {
+    if (!zoneRegionMethodFound) {
+      try {
+        zoneRegionMethod = Class.forName("oracle.sql.ZONEIDMAP")
+            .getMethod("getRegion", int.class);
+      } catch (Exception e) {
+        // Not available without the driver
+      }
+      zoneRegionMethodFound = true;
+    }
+    return zoneRegionMethod;
+  }
+
+  private static byte[] getDatumBytes(Object datum) throws SQLException {
+    try {
+      Method method = datumBytesMethod;
+      if (method == null) {
+        method = datum.getClass().getMethod("shareBytes");
+        datumBytesMethod = method;
+      }
+      return (byte[]) method.invoke(datum);
+    } catch (Exception e) {
+      throw new SQLException("Unable to read the bytes of "
+          + datum.getClass().getName(), e);
+    }
+  }
+}
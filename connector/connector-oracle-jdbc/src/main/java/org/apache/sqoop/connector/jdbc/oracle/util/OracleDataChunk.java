@@ -25,6 +25,7 @@
 public abstract class OracleDataChunk extends Partition implements Serializable {
 
   private String id;
+  private long estimatedNumberOfRows = -1; // <- -1 when not estimated
 
   public abstract long getNumberOfBlocks();
 
@@ -44,4 +45,16 @@ public void setId(String newId) {
     this.id = newId;
   }
 
+  /**
+   * @return The number of rows estimated from the table statistics, or -1
+   *         when it hasn't been estimated
+   */
+  public long getEstimatedNumberOfRows() {
+    return estimatedNumberOfRows;
+  }
+
+  public void setEstimatedNumberOfRows(long newEstimatedNumberOfRows) {
+    this.estimatedNumberOfRows = newEstimatedNumberOfRows;
+  }
+
 }
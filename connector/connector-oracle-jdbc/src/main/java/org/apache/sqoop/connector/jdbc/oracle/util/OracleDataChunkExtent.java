@@ -69,6 +69,7 @@ public void write(DataOutput output) throws IOException {
     output.writeInt(this.relativeDatafileNumber);
     output.writeLong(this.startBlockNumber);
     output.writeLong(this.finishBlockNumber);
+    output.writeLong(this.getEstimatedNumberOfRows());
   }
 
   @Override
@@ -78,6 +79,11 @@ public void readFields(DataInput input) throws IOException {
     this.relativeDatafileNumber = input.readInt();
     this.startBlockNumber = input.readLong();
     this.finishBlockNumber = input.readLong();
+    this.setEstimatedNumberOfRows(input.readLong());
+  }
+
+  public int getOracleDataObjectId() {
+    return oracleDataObjectId;
   }
 
   @Override
@@ -101,6 +107,8 @@ public String toString() {
         "startBlockNumber", startBlockNumber));
     sb.append(String.format("\n\t%s = %s",
         "finishBlockNumber", finishBlockNumber));
+    sb.append(String.format("\n\t%s = %s",
+        "estimatedNumberOfRows", getEstimatedNumberOfRows()));
     return sb.toString();
   }
 
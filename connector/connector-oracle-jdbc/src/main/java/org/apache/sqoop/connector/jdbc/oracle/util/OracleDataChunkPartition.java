@@ -49,6 +49,7 @@ public void write(DataOutput output) throws IOException {
     output.writeUTF(this.getId());
     output.writeBoolean(this.isSubPartition);
     output.writeLong(this.blocks);
+    output.writeLong(this.getEstimatedNumberOfRows());
   }
 
   @Override
@@ -56,6 +57,7 @@ public void readFields(DataInput input) throws IOException {
     this.setId(input.readUTF());
     this.isSubPartition = input.readBoolean();
     this.blocks = input.readLong();
+    this.setEstimatedNumberOfRows(input.readLong());
   }
 
   @Override
@@ -63,6 +63,8 @@ public final class OracleQueries implements Serializable {
   private static Method methSetObjectAtName;
   private static Method methSetBinaryFloatAtName;
   private static Method methSetIntAtName;
+  private static Method methSetBinaryDouble;
+  private static Method methSetBinaryFloat;
 
   private static final Map<String, Integer> ORACLE_TYPES =
       new HashMap<String, Integer>();
@@ -95,6 +97,12 @@ public final class OracleQueries implements Serializable {
       methSetIntAtName =
           oracleStatementClass.getMethod("setIntAtName", String.class,
               int.class);
+      methSetBinaryDouble =
+          oracleStatementClass.getMethod("setBinaryDouble", int.class,
+              double.class);
+      methSetBinaryFloat =
+          oracleStatementClass.getMethod("setBinaryFloat", int.class,
+              float.class);
 
       oracleResultSetClass = Class.forName("oracle.jdbc.OracleResultSet");
       oracleDateClass = Class.forName("oracle.sql.DATE");
@@ -109,13 +117,16 @@ public final class OracleQueries implements Serializable {
   private OracleQueries() {
   }
 
-  public static void setJdbcFetchSize(Connection connection,
-      Integer fetchSize) {
-    int fetchSizeInt =
-        OracleJdbcConnectorConstants.ORACLE_ROW_FETCH_SIZE_DEFAULT;
+  public static int getJdbcFetchSize(Integer fetchSize) {
     if(fetchSize != null && fetchSize.intValue() > 0) {
-      fetchSizeInt = fetchSize.intValue();
+      return fetchSize.intValue();
     }
+    return OracleJdbcConnectorConstants.ORACLE_ROW_FETCH_SIZE_DEFAULT;
+  }
+
+  public static void setJdbcFetchSize(Connection connection,
+      Integer fetchSize) {
+    int fetchSizeInt = getJdbcFetchSize(fetchSize);
     try {
       Method methSetPrefetch =
           oracleConnectionClass.getMethod("setDefaultRowPrefetch", int.class);
@@ -141,6 +152,31 @@ public static void setJdbcFetchSize(Connection connection,
 
   }
 
+  /**
+   * Set how much of each LOB value is returned along with the rows fetched
+   * by the statement, so that reading small LOBs needs no extra round trip.
+   * Drivers older than 11.1 don't support LOB prefetching.
+   */
+  public static void setLobPrefetchSize(Statement statement,
+      Integer lobPrefetchSize) {
+    int lobPrefetchSizeInt =
+        OracleJdbcConnectorConstants.ORACLE_LOB_PREFETCH_SIZE_DEFAULT;
+    if(lobPrefetchSize != null && lobPrefetchSize.intValue() >= 0) {
+      lobPrefetchSizeInt = lobPrefetchSize.intValue();
+    }
+    try {
+      Method methSetLobPrefetch =
+          oracleStatementClass.getMethod("setLobPrefetchSize", int.class);
+      methSetLobPrefetch.invoke(statement, lobPrefetchSizeInt);
+      LOG.debug("The LOB prefetch size of the statement has been set to : "
+          + lobPrefetchSizeInt);
+    } catch (Exception ex) {
+      LOG.warn(
+          String.format("Unable to configure the LOB prefetch size of the "
+              + "statement in %s.", OracleUtilities.getCurrentMethodName()), ex);
+    }
+  }
+
   public static void setConnectionTimeZone(Connection connection,
       String timeZone) {
     String timeZoneStr = timeZone;
@@ -429,6 +465,55 @@ public static List<OracleDataChunkExtent> getOracleDataChunksExtent(
     return result;
   }
 
+  /**
+   * Get the number of rows of every segment of the table from its optimizer
+   * statistics, by data object id. Segments without statistics are left out.
+   */
+  public static Map<Integer, Long> getTableSegmentNumberOfRows(
+      Connection connection, OracleTable table) throws SQLException {
+
+    Map<Integer, Long> result = new HashMap<Integer, Long>();
+
+    String sql =
+        "SELECT o.data_object_id, "
+          + "s.num_rows "
+          + "FROM dba_objects o, dba_tab_statistics s "
+          + "WHERE o.owner = :owner "
+          + "AND o.object_name = :object_name "
+          + "AND o.data_object_id IS NOT NULL "
+          + "AND s.owner = o.owner "
+          + "AND s.table_name = o.object_name "
+          + "AND s.num_rows IS NOT NULL "
+          + "AND ((o.object_type = 'TABLE' AND s.object_type = 'TABLE') "
+          + "     OR (o.object_type = 'TABLE PARTITION' "
+          + "         AND s.object_type = 'PARTITION' "
+          + "         AND s.partition_name = o.subobject_name) "
+          + "     OR (o.object_type = 'TABLE SUBPARTITION' "
+          + "         AND s.object_type = 'SUBPARTITION' "
+          + "         AND s.subpartition_name = o.subobject_name))";
+
+    PreparedStatement statement = connection.prepareStatement(sql);
+    OracleQueries.setStringAtName(statement, "owner", table.getSchema());
+    OracleQueries.setStringAtName(statement, "object_name", table
+        .getName());
+
+    LOG.debug(String.format("%s SQL Query =\n%s", OracleUtilities
+        .getCurrentMethodName(), sql.replace(":owner",
+        table.getSchema()).replace(":object_name", table.getName())));
+
+    ResultSet resultSet = statement.executeQuery();
+
+    while (resultSet.next()) {
+      result.put(resultSet.getInt("data_object_id"),
+          resultSet.getLong("num_rows"));
+    }
+
+    resultSet.close();
+    statement.close();
+
+    return result;
+  }
+
 //  private static void trace(String message) {
 //
 //    LOG.debug(message);
@@ -1657,6 +1742,32 @@ public static void setBinaryFloatAtName(PreparedStatement statement,
     }
   }
 
+  public static void setBinaryDouble(PreparedStatement statement,
+      int bindIndex, double bindValue) throws SQLException {
+    try {
+      methSetBinaryDouble.invoke(statement, bindIndex, bindValue);
+    } catch (Exception e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      } else {
+        throw new RuntimeException("Could not set bind variable", e);
+      }
+    }
+  }
+
+  public static void setBinaryFloat(PreparedStatement statement,
+      int bindIndex, float bindValue) throws SQLException {
+    try {
+      methSetBinaryFloat.invoke(statement, bindIndex, bindValue);
+    } catch (Exception e) {
+      if (e.getCause() instanceof SQLException) {
+        throw (SQLException) e.getCause();
+      } else {
+        throw new RuntimeException("Could not set bind variable", e);
+      }
+    }
+  }
+
 //  public static void setIntAtName(PreparedStatement statement, String bindName,
 //      int bindValue) throws SQLException {
 //    try {
@@ -81,7 +81,7 @@ public enum OracleDataChunkMethod {
   * How splits should be allocated to the mappers.
   */
   public enum OracleBlockToSplitAllocationMethod {
-    ROUNDROBIN, SEQUENTIAL, RANDOM
+    ROUNDROBIN, SEQUENTIAL, RANDOM, WEIGHTED
   }
 
   /**
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.oracle;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sqoop.connector.jdbc.oracle.util.OracleColumnBinder;
+import org.joda.time.DateTime;
+import org.joda.time.LocalDateTime;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for OracleColumnBinder.
+ */
+public class TestOracleColumnBinder {
+
+  private final List<String> calls = new ArrayList<String>();
+
+  private final PreparedStatement statement = (PreparedStatement) Proxy
+      .newProxyInstance(getClass().getClassLoader(),
+          new Class<?>[] { PreparedStatement.class }, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+              calls.add(method.getName() + Arrays.asList(args));
+              return null;
+            }
+          });
+
+  @BeforeMethod
+  public void clearCalls() {
+    calls.clear();
+  }
+
+  @Test
+  public void testBindNumber() throws Exception {
+    OracleColumnBinder.NUMBER.bind(statement, 1, new BigDecimal("1.5"),
+        Types.NUMERIC);
+    OracleColumnBinder.NUMBER.bind(statement, 2, 42L, Types.NUMERIC);
+    OracleColumnBinder.NUMBER.bind(statement, 3, null, Types.NUMERIC);
+
+    Assert.assertEquals(calls, Arrays.asList("setBigDecimal[1, 1.5]",
+        "setBigDecimal[2, 42]", "setBigDecimal[3, null]"));
+  }
+
+  @Test
+  public void testBindTimestamp() throws Exception {
+    LocalDateTime localDateTime = new LocalDateTime(2015, 6, 30, 12, 34, 56);
+    DateTime dateTime = new DateTime(2015, 6, 30, 12, 34, 56);
+
+    OracleColumnBinder.TIMESTAMP.bind(statement, 1, localDateTime,
+        Types.TIMESTAMP);
+    OracleColumnBinder.TIMESTAMP.bind(statement, 2, dateTime,
+        Types.TIMESTAMP);
+    OracleColumnBinder.TIMESTAMP.bind(statement, 3, "null", Types.TIMESTAMP);
+
+    Timestamp timestamp = new Timestamp(dateTime.getMillis());
+    Assert.assertEquals(calls, Arrays.asList(
+        "setTimestamp[1, " + timestamp + "]",
+        "setTimestamp[2, " + timestamp + "]",
+        "setString[3, ]"));
+  }
+
+  @Test
+  public void testBindNull() throws Exception {
+    OracleColumnBinder.STRING.bind(statement, 1, null, Types.VARCHAR);
+    OracleColumnBinder.OBJECT.bind(statement, 2, null, Types.DATE);
+    OracleColumnBinder.OBJECT.bind(statement, 3, "x", Types.DATE);
+
+    Assert.assertEquals(calls, Arrays.asList("setString[1, null]",
+        "setNull[2, " + Types.DATE + "]", "setObject[3, x]"));
+  }
+}
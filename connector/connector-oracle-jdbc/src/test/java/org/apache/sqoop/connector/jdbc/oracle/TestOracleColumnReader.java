@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.oracle;
+
+import org.apache.sqoop.connector.jdbc.oracle.util.OracleColumnReader;
+import org.apache.sqoop.connector.jdbc.oracle.util.OracleTableColumn;
+import org.apache.sqoop.schema.type.Decimal;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.FloatingPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.joda.time.DateTime;
+import org.joda.time.DateTimeZone;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for OracleColumnReader.
+ */
+public class TestOracleColumnReader {
+
+  @Test
+  public void testForColumn() {
+    OracleTableColumn tableColumn = new OracleTableColumn("C", "NUMBER");
+
+    Assert.assertEquals(OracleColumnReader.forColumn(tableColumn,
+        new Text("C")), OracleColumnReader.STRING);
+    Assert.assertEquals(OracleColumnReader.forColumn(tableColumn,
+        new FixedPoint("C", 4L, true)), OracleColumnReader.INTEGER);
+    Assert.assertEquals(OracleColumnReader.forColumn(tableColumn,
+        new FixedPoint("C", 8L, true)), OracleColumnReader.LONG);
+    Assert.assertEquals(OracleColumnReader.forColumn(tableColumn,
+        new FloatingPoint("C", 4L)), OracleColumnReader.FLOAT);
+    Assert.assertEquals(OracleColumnReader.forColumn(tableColumn,
+        new FloatingPoint("C", 8L)), OracleColumnReader.DOUBLE);
+
+    // Only NUMBERs whose values all fit into a long are read as longs
+    Assert.assertEquals(OracleColumnReader.forColumn(tableColumn,
+        new Decimal("C", 18, 0)), OracleColumnReader.LONG_DECIMAL);
+    Assert.assertEquals(OracleColumnReader.forColumn(tableColumn,
+        new Decimal("C", 19, 0)), OracleColumnReader.OBJECT);
+    Assert.assertEquals(OracleColumnReader.forColumn(tableColumn,
+        new Decimal("C", 10, 2)), OracleColumnReader.OBJECT);
+    Assert.assertEquals(OracleColumnReader.forColumn(tableColumn,
+        new Decimal("C", 0, -127)), OracleColumnReader.OBJECT);
+  }
+
+  @Test
+  public void testTimestampTzToDateTime() {
+    // 2015-06-30 12:34:56.789 UTC, stored with a time zone of +02:00
+    byte[] bytes = new byte[] { 120, 115, 6, 30, 13, 35, 57,
+        0x2F, 0x07, 0x2F, 0x40, 22, 60 };
+    long millis =
+        new DateTime(2015, 6, 30, 12, 34, 56, 789, DateTimeZone.UTC).getMillis();
+
+    DateTime dateTime = OracleColumnReader.timestampTzToDateTime(bytes);
+
+    Assert.assertEquals(dateTime.getZone(), DateTimeZone.forOffsetHours(2));
+    Assert.assertEquals(dateTime.getMillis(), millis);
+    Assert.assertEquals(dateTime.getHourOfDay(), 14);
+
+    // -05:30, whatever the default time zone
+    bytes[11] = 15;
+    bytes[12] = 30;
+    dateTime = OracleColumnReader.timestampTzToDateTime(bytes);
+    Assert.assertEquals(dateTime.getZone(),
+        DateTimeZone.forOffsetMillis(-(5 * 60 + 30) * 60 * 1000));
+    Assert.assertEquals(dateTime.getMillis(), millis);
+    Assert.assertEquals(dateTime.getHourOfDay(), 7);
+    Assert.assertEquals(dateTime.getMinuteOfHour(), 4);
+
+    // Time zone regions need the driver, the instant is kept without it
+    bytes[11] = (byte) 0x85;
+    bytes[12] = (byte) 0x84;
+    Assert.assertEquals(OracleColumnReader.timestampTzToDateTime(bytes)
+        .getMillis(), millis);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testTimestampTzToDateTimeTooShort() {
+    OracleColumnReader.timestampTzToDateTime(new byte[] { 120, 115, 6, 30 });
+  }
+}
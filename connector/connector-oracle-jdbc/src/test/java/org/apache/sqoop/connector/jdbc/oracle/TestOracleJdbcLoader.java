@@ -0,0 +1,305 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.jdbc.oracle;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sqoop.common.MutableMapContext;
+import org.apache.sqoop.connector.jdbc.oracle.configuration.LinkConfiguration;
+import org.apache.sqoop.connector.jdbc.oracle.util.OracleTable;
+import org.apache.sqoop.connector.jdbc.oracle.util.OracleTableColumn;
+import org.apache.sqoop.connector.jdbc.oracle.util.OracleTableColumns;
+import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Unit tests for OracleJdbcLoader.
+ */
+public class TestOracleJdbcLoader {
+
+  private static final int NUMBER_OF_ROWS = 1000;
+
+  private final List<WriterConnection> connections =
+      Collections.synchronizedList(new ArrayList<WriterConnection>());
+
+  @BeforeMethod
+  public void clearConnections() {
+    connections.clear();
+  }
+
+  @Test
+  public void testInsertStatement() {
+    Schema schema = new Schema("TestOracleJdbcLoader")
+        .addColumn(new FixedPoint("ID", 8L, true))
+        .addColumn(new Text("LINK"));
+    MutableMapContext context = new MutableMapContext();
+    context.setString(
+        OracleJdbcConnectorConstants.ORAOOP_EXPORT_PARTITION_DATE_VALUE,
+        "2015-06-30 12:34:56");
+
+    OracleTableColumns tableColumns = new OracleTableColumns();
+    tableColumns.add(new OracleTableColumn("ID", "NUMBER"));
+    tableColumns.add(new OracleTableColumn(
+        OracleJdbcConnectorConstants.COLUMN_NAME_EXPORT_PARTITION, "DATE"));
+    tableColumns.add(new OracleTableColumn(
+        OracleJdbcConnectorConstants.COLUMN_NAME_EXPORT_SUBPARTITION,
+        "NUMBER"));
+    // Not written by the job
+    tableColumns.add(new OracleTableColumn("UNUSED", "VARCHAR2"));
+    tableColumns.add(new OracleTableColumn("LINK",
+        OracleJdbcConnectorConstants.Oracle.URITYPE));
+    tableColumns.add(new OracleTableColumn(
+        OracleJdbcConnectorConstants.COLUMN_NAME_EXPORT_MAPPER_ROW,
+        "NUMBER"));
+
+    Map<String, Integer> bindIndexes = new HashMap<String, Integer>();
+    String sql = OracleJdbcLoader.getBatchInsertSqlStatement(
+        new LoaderContext(context, null, schema, "test_user"),
+        new OracleTable("SQOOP", "EXPORT_TABLE"), tableColumns, 3,
+        "/*+APPEND_VALUES*/", bindIndexes);
+
+    Assert.assertEquals(sql, "insert /*+APPEND_VALUES*/ into "
+        + "\"SQOOP\".\"EXPORT_TABLE\"\n"
+        + "(ID\n,SQOOP_EXPORT_SYSDATE\n,SQOOP_MAPPER_ID\n,LINK\n"
+        + ",SQOOP_MAPPER_ROW)\n"
+        + "values\n"
+        + "(?\n,to_date('2015-06-30 12:34:56', 'yyyy-mm-dd hh24:mi:ss')\n,3\n"
+        + ",urifactory.getUri(?)\n,?)\n");
+
+    // Pseudo-columns other than the mapper row are literals
+    Map<String, Integer> expectedBindIndexes = new HashMap<String, Integer>();
+    expectedBindIndexes.put("ID", 1);
+    expectedBindIndexes.put("LINK", 2);
+    expectedBindIndexes.put(
+        OracleJdbcConnectorConstants.COLUMN_NAME_EXPORT_MAPPER_ROW, 3);
+    Assert.assertEquals(bindIndexes, expectedBindIndexes);
+  }
+
+  @Test(timeOut = 60000)
+  public void testInsertDataParallel() throws Exception {
+    TestLoader loader = new TestLoader(-1);
+    loader.insertDataParallel("insert", null, null, 3, null);
+
+    // Every row is inserted once, numbered in the order read
+    Assert.assertEquals(connections.size(), 3);
+    boolean[] inserted = new boolean[NUMBER_OF_ROWS];
+    for (WriterConnection connection : connections) {
+      Assert.assertTrue(connection.closed);
+      for (List<Long> batch : connection.batches) {
+        Assert.assertTrue(batch.size() <= 10);
+        for (int i = 0; i < batch.size(); i++) {
+          long rowNumber = batch.get(i);
+          Assert.assertEquals(rowNumber, batch.get(0) + i);
+          Assert.assertFalse(inserted[(int) rowNumber - 1]);
+          inserted[(int) rowNumber - 1] = true;
+        }
+      }
+
+      // Every connection commits its own rows, the last ones at the end
+      int rows = connection.getRowsExecuted();
+      for (int i = 0; i < connection.commits.size() - 1; i++) {
+        Assert.assertTrue(connection.commits.get(i) % 50 == 0);
+      }
+      Assert.assertEquals(
+          (int) connection.commits.get(connection.commits.size() - 1), rows);
+    }
+    for (boolean rowInserted : inserted) {
+      Assert.assertTrue(rowInserted);
+    }
+    Assert.assertEquals(loader.getRowsWritten(), NUMBER_OF_ROWS);
+  }
+
+  @Test(timeOut = 60000)
+  public void testInsertDataParallelFailure() throws Exception {
+    // The third batch executed fails, whichever connection it is on
+    TestLoader loader = new TestLoader(3);
+    try {
+      loader.insertDataParallel("insert", null, null, 3, null);
+      Assert.fail("The failure of the writer wasn't reported");
+    } catch (SQLException e) {
+      Assert.assertEquals(e.getMessage(), "Failed batch");
+    }
+
+    WriterConnection failed = null;
+    int rows = 0;
+    for (WriterConnection connection : connections) {
+      Assert.assertTrue(connection.closed);
+      if (connection.failed) {
+        Assert.assertNull(failed);
+        failed = connection;
+      }
+      rows += connection.getRowsExecuted();
+    }
+    Assert.assertNotNull(failed);
+    // Fewer rows than a commit were executed on it
+    Assert.assertTrue(failed.batches.size() <= 2);
+    Assert.assertTrue(failed.commits.isEmpty());
+
+    // The rows of the completed batches are counted already
+    Assert.assertTrue(rows >= 20);
+    Assert.assertEquals(loader.getRowsWritten(), rows);
+  }
+
+  /**
+   * Loader of NUMBER_OF_ROWS rows, inserting batches of 10 rows through
+   * fake connections and committing every 50 rows.
+   */
+  private class TestLoader extends OracleJdbcLoader {
+    private final int failingBatch;
+    private final AtomicInteger executedBatches = new AtomicInteger();
+
+    TestLoader(int failingBatch) {
+      super(new LoaderContext(new MutableMapContext(), new NumberReader(),
+          new Schema("TestOracleJdbcLoader").addColumn(
+              new FixedPoint("ID", 8L, true)), "test_user"), 10, 50);
+      this.failingBatch = failingBatch;
+    }
+
+    @Override
+    Connection createConnection(LinkConfiguration linkConfiguration,
+        String mapperJdbcUrl) {
+      WriterConnection connection =
+          new WriterConnection(failingBatch, executedBatches);
+      connections.add(connection);
+      return connection.connection;
+    }
+
+    @Override
+    void bindRow(PreparedStatement statement, Object[] array,
+        long rowNumber) throws SQLException {
+      Assert.assertEquals(array[0], rowNumber - 1);
+      statement.setLong(1, rowNumber);
+    }
+  }
+
+  /**
+   * Reads the numbers up to NUMBER_OF_ROWS, one per row.
+   */
+  private static class NumberReader extends DataReader {
+    private long next = 0;
+
+    @Override
+    public Object[] readArrayRecord() {
+      return next < NUMBER_OF_ROWS ? new Object[] { next++ } : null;
+    }
+
+    @Override
+    public String readTextRecord() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object readContent() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  /**
+   * Connection recording the row numbers of the batches it executes, and
+   * how many rows were executed at each commit. The batch of the given
+   * number among those executed by all the connections fails.
+   */
+  private static class WriterConnection {
+    private final List<List<Long>> batches = new ArrayList<List<Long>>();
+    private final List<Integer> commits = new ArrayList<Integer>();
+    private final List<Long> boundRows = new ArrayList<Long>();
+    private long rowNumber;
+    private volatile boolean closed;
+    private volatile boolean failed;
+
+    private final PreparedStatement statement = (PreparedStatement) Proxy
+        .newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] { PreparedStatement.class },
+            new InvocationHandler() {
+              @Override
+              public Object invoke(Object proxy, Method method, Object[] args)
+                  throws SQLException {
+                return invokeStatement(method.getName(), args);
+              }
+            });
+
+    private final Connection connection = (Connection) Proxy
+        .newProxyInstance(getClass().getClassLoader(),
+            new Class<?>[] { Connection.class }, new InvocationHandler() {
+              @Override
+              public Object invoke(Object proxy, Method method, Object[] args) {
+                return invokeConnection(method.getName());
+              }
+            });
+
+    private final int failingBatch;
+    private final AtomicInteger executedBatches;
+
+    WriterConnection(int failingBatch, AtomicInteger executedBatches) {
+      this.failingBatch = failingBatch;
+      this.executedBatches = executedBatches;
+    }
+
+    int getRowsExecuted() {
+      int rows = 0;
+      for (List<Long> batch : batches) {
+        rows += batch.size();
+      }
+      return rows;
+    }
+
+    private Object invokeStatement(String method, Object[] args)
+        throws SQLException {
+      if (method.equals("setLong")) {
+        rowNumber = (Long) args[1];
+      } else if (method.equals("addBatch")) {
+        boundRows.add(rowNumber);
+      } else if (method.equals("executeBatch")) {
+        if (executedBatches.incrementAndGet() == failingBatch) {
+          failed = true;
+          throw new SQLException("Failed batch");
+        }
+        batches.add(new ArrayList<Long>(boundRows));
+        boundRows.clear();
+        return new int[batches.get(batches.size() - 1).size()];
+      }
+      return null;
+    }
+
+    private Object invokeConnection(String method) {
+      if (method.equals("prepareStatement")) {
+        return statement;
+      } else if (method.equals("commit")) {
+        commits.add(getRowsExecuted());
+      } else if (method.equals("close")) {
+        closed = true;
+      }
+      return null;
+    }
+  }
+}
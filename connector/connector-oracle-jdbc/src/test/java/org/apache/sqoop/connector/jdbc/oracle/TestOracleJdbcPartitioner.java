@@ -16,7 +16,9 @@
 package org.apache.sqoop.connector.jdbc.oracle;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleDataChunk;
 import org.apache.sqoop.connector.jdbc.oracle.util.OracleDataChunkExtent;
@@ -88,6 +90,66 @@ public void testgroupTableDataChunksIntoSplits() {
     }
   }
 
+  @Test
+  public void testEstimateNumberOfRows() {
+    List<OracleDataChunk> dataChunks = new ArrayList<OracleDataChunk>();
+    // Segment 1 has 100 blocks holding 1000 rows
+    dataChunks.add(new OracleDataChunkExtent("1", 1, 1, 1, 75));
+    dataChunks.add(new OracleDataChunkExtent("2", 1, 1, 76, 100));
+    // Segment 2 has 100 blocks, but no statistics
+    dataChunks.add(new OracleDataChunkExtent("3", 2, 1, 101, 200));
+    // Segment 3 has 100 empty blocks
+    dataChunks.add(new OracleDataChunkExtent("4", 3, 1, 201, 300));
+
+    Map<Integer, Long> segmentNumberOfRows = new HashMap<Integer, Long>();
+    segmentNumberOfRows.put(1, 1000L);
+    segmentNumberOfRows.put(3, 0L);
+
+    OracleJdbcPartitioner.estimateNumberOfRows(dataChunks,
+        segmentNumberOfRows);
+
+    Assert.assertEquals(dataChunks.get(0).getEstimatedNumberOfRows(), 750);
+    Assert.assertEquals(dataChunks.get(1).getEstimatedNumberOfRows(), 250);
+    // The average of the segments with statistics
+    Assert.assertEquals(dataChunks.get(2).getEstimatedNumberOfRows(), 500);
+    Assert.assertEquals(dataChunks.get(3).getEstimatedNumberOfRows(), 0);
+
+    // Nothing is estimated without any statistics
+    OracleDataChunk dataChunk = new OracleDataChunkExtent("5", 4, 1, 1, 10);
+    List<OracleDataChunk> otherDataChunks = new ArrayList<OracleDataChunk>();
+    otherDataChunks.add(dataChunk);
+    OracleJdbcPartitioner.estimateNumberOfRows(otherDataChunks,
+        segmentNumberOfRows);
+    Assert.assertEquals(dataChunk.getEstimatedNumberOfRows(), -1);
+  }
+
+  @Test
+  public void testWeightedAllocation() {
+    List<OracleDataChunk> dataChunks = new ArrayList<OracleDataChunk>();
+    long[] rows = { 700, 400, 300, 500, 200, 0, 600, 100 };
+    for (int idx = 0; idx < rows.length; idx++) {
+      OracleDataChunk dataChunk = new OracleDataChunkExtent(
+          Integer.toString(idx), 1, 1, idx * 10 + 1, idx * 10 + 10);
+      dataChunk.setEstimatedNumberOfRows(rows[idx]);
+      dataChunks.add(dataChunk);
+    }
+
+    List<Partition> splits =
+        OracleJdbcPartitioner.groupTableDataChunksIntoSplits(dataChunks, 4,
+            OracleBlockToSplitAllocationMethod.WEIGHTED);
+
+    // 2800 rows are spread evenly over the 4 splits, each getting a chunk
+    Assert.assertEquals(splits.size(), 4);
+    int numberOfDataChunks = 0;
+    for (Partition split : splits) {
+      OracleJdbcPartition oracleSplit = (OracleJdbcPartition) split;
+      Assert.assertEquals(oracleSplit.getEstimatedNumberOfRows(), 700);
+      Assert.assertTrue(oracleSplit.getNumberOfDataChunks() > 0);
+      numberOfDataChunks += oracleSplit.getNumberOfDataChunks();
+    }
+    Assert.assertEquals(numberOfDataChunks, rows.length);
+  }
+
   @Test
   public void testLongBlockId() {
     OracleDataChunkExtent chunk =
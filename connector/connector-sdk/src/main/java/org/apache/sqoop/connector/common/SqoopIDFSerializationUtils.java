@@ -0,0 +1,404 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.common;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import org.apache.sqoop.classification.InterfaceAudience;
+import org.apache.sqoop.classification.InterfaceStability;
+
+/**
+ * Binary framing used by the text based intermediate data formats to
+ * serialize one row.
+ * <p>
+ * A frame is made of:
+ * <ul>
+ * <li>one header byte, holding the framing version in the high nibble and the
+ * payload encoding in the low nibble</li>
+ * <li>the payload length in bytes, as an unsigned variable length integer</li>
+ * <li>the payload: the UTF-8 bytes of the text, or, when compression was
+ * requested for rows larger than {@link #COMPRESSION_THRESHOLD} and it pays
+ * off, the length of those bytes as a variable length integer followed by their
+ * deflate compressed form</li>
+ * </ul>
+ * Unlike <code>DataOutput.writeUTF</code> there is no limit on the size of the
+ * text. Unpaired surrogates are kept as three byte sequences, so that every
+ * String round trips as is.
+ */
+@InterfaceAudience.Private
+@InterfaceStability.Unstable
+public final class SqoopIDFSerializationUtils {
+
+  public static final int FRAME_VERSION = 1;
+
+  static final int ENCODING_UTF8 = 0;
+  static final int ENCODING_DEFLATE = 1;
+
+  /**
+   * When compression is requested, rows whose UTF-8 form is at least this
+   * number of bytes are compressed.
+   */
+  public static final int COMPRESSION_THRESHOLD = 16 * 1024;
+
+  private static final int MAX_REUSED_BUFFER_SIZE = 1 << 20;
+
+  private static final ThreadLocal<Buffers> BUFFERS = new ThreadLocal<Buffers>() {
+    @Override
+    protected Buffers initialValue() {
+      return new Buffers();
+    }
+  };
+
+  private SqoopIDFSerializationUtils() {
+    // Disable explicit object creation
+  }
+
+  /**
+   * Serialize the text as one uncompressed frame.
+   */
+  public static void writeText(DataOutput out, String text) throws IOException {
+    writeText(out, text, false);
+  }
+
+  /**
+   * Serialize the text as one frame, deflating large rows when compress is set.
+   * Frames are read back by {@link #readText(DataInput)} either way.
+   */
+  public static void writeText(DataOutput out, String text, boolean compress) throws IOException {
+    Buffers buffers = BUFFERS.get();
+    byte[] bytes = buffers.bytes(text.length() * 3);
+    int length = encode(text, bytes);
+
+    if (compress && length >= COMPRESSION_THRESHOLD) {
+      byte[] compressed = buffers.compressed(length);
+      Deflater deflater = buffers.deflater();
+      deflater.setInput(bytes, 0, length);
+      deflater.finish();
+      int compressedLength = deflater.deflate(compressed, 0, compressed.length);
+      if (deflater.finished()) {
+        out.writeByte(header(ENCODING_DEFLATE));
+        writeVInt(out, sizeOfVInt(length) + compressedLength);
+        writeVInt(out, length);
+        out.write(compressed, 0, compressedLength);
+        buffers.release();
+        return;
+      }
+      // Compression does not pay off, write the plain bytes
+    }
+
+    out.writeByte(header(ENCODING_UTF8));
+    writeVInt(out, length);
+    out.write(bytes, 0, length);
+    buffers.release();
+  }
+
+  /**
+   * Deserialize a frame written by {@link #writeText(DataOutput, String)}.
+   */
+  public static String readText(DataInput in) throws IOException {
+    int encoding = readHeader(in.readByte());
+    int length = readVInt(in);
+    Buffers buffers = BUFFERS.get();
+    try {
+      if (encoding == ENCODING_UTF8) {
+        byte[] bytes = buffers.bytes(length);
+        in.readFully(bytes, 0, length);
+        return decode(bytes, 0, length, buffers);
+      }
+
+      int textLength = readVInt(in);
+      byte[] compressed = buffers.compressed(length);
+      in.readFully(compressed, 0, length - sizeOfVInt(textLength));
+      byte[] bytes = buffers.bytes(textLength);
+      inflate(compressed, 0, length - sizeOfVInt(textLength), bytes, textLength, buffers);
+      return decode(bytes, 0, textLength, buffers);
+    } finally {
+      buffers.release();
+    }
+  }
+
+  /**
+   * Compare two frames without deserializing them. The result has the same
+   * sign as the comparison of the two texts with <code>String.compareTo</code>.
+   */
+  public static int compareText(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+    int encoding1 = readHeader(b1[s1]);
+    int encoding2 = readHeader(b2[s2]);
+    if (encoding1 != ENCODING_UTF8 || encoding2 != ENCODING_UTF8) {
+      return decodeFrame(b1, s1).compareTo(decodeFrame(b2, s2));
+    }
+
+    int length1 = readVInt(b1, s1 + 1);
+    int length2 = readVInt(b2, s2 + 1);
+    int start1 = s1 + 1 + sizeOfVInt(length1);
+    int start2 = s2 + 1 + sizeOfVInt(length2);
+
+    int common = Math.min(length1, length2);
+    int i = 0;
+    while (i < common && b1[start1 + i] == b2[start2 + i]) {
+      i++;
+    }
+    if (i == common) {
+      return length1 - length2;
+    }
+
+    // UTF-8 orders by code point while String orders by UTF-16 unit, which
+    // only differ when a supplementary character is involved
+    int lead1 = b1[start1 + i] & 0xFF;
+    int lead2 = b2[start2 + i] & 0xFF;
+    if (lead1 < 0xED && lead2 < 0xED) {
+      return lead1 - lead2;
+    }
+    int charStart = i;
+    while (charStart > 0 && (b1[start1 + charStart] & 0xC0) == 0x80) {
+      charStart--;
+    }
+    int codePoint1 = decodeCodePoint(b1, start1 + charStart);
+    int codePoint2 = decodeCodePoint(b2, start2 + charStart);
+    if (codePoint1 < Character.MIN_SUPPLEMENTARY_CODE_POINT
+        && codePoint2 < Character.MIN_SUPPLEMENTARY_CODE_POINT) {
+      return codePoint1 - codePoint2;
+    }
+    int unit1 = Character.isSupplementaryCodePoint(codePoint1) ? Character.highSurrogate(codePoint1) : codePoint1;
+    int unit2 = Character.isSupplementaryCodePoint(codePoint2) ? Character.highSurrogate(codePoint2) : codePoint2;
+    if (unit1 != unit2) {
+      return unit1 - unit2;
+    }
+    if (Character.isSupplementaryCodePoint(codePoint1) && Character.isSupplementaryCodePoint(codePoint2)) {
+      return codePoint1 - codePoint2;
+    }
+    // An unpaired high surrogate against a pair starting with it
+    return decodeFrame(b1, s1).compareTo(decodeFrame(b2, s2));
+  }
+
+  private static String decodeFrame(byte[] bytes, int start) {
+    int encoding = readHeader(bytes[start]);
+    int length = readVInt(bytes, start + 1);
+    int payload = start + 1 + sizeOfVInt(length);
+    Buffers buffers = BUFFERS.get();
+    try {
+      if (encoding == ENCODING_UTF8) {
+        return decode(bytes, payload, length, buffers);
+      }
+      int textLength = readVInt(bytes, payload);
+      int compressedStart = payload + sizeOfVInt(textLength);
+      byte[] text = buffers.bytes(textLength);
+      inflate(bytes, compressedStart, length - sizeOfVInt(textLength), text, textLength, buffers);
+      return decode(text, 0, textLength, buffers);
+    } catch (IOException e) {
+      throw new IllegalArgumentException("Corrupted row frame", e);
+    } finally {
+      buffers.release();
+    }
+  }
+
+  private static int header(int encoding) {
+    return (FRAME_VERSION << 4) | encoding;
+  }
+
+  private static int readHeader(byte header) {
+    int version = (header & 0xF0) >>> 4;
+    int encoding = header & 0x0F;
+    if (version != FRAME_VERSION || (encoding != ENCODING_UTF8 && encoding != ENCODING_DEFLATE)) {
+      throw new IllegalArgumentException("Unsupported row frame header " + (header & 0xFF));
+    }
+    return encoding;
+  }
+
+  private static void inflate(byte[] compressed, int offset, int length, byte[] bytes, int textLength,
+      Buffers buffers) throws IOException {
+    Inflater inflater = buffers.inflater();
+    inflater.setInput(compressed, offset, length);
+    try {
+      if (inflater.inflate(bytes, 0, textLength) != textLength || !inflater.finished()) {
+        throw new IOException("Truncated compressed row");
+      }
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupted compressed row", e);
+    }
+  }
+
+  /**
+   * Encode the text as UTF-8, keeping unpaired surrogates as three byte
+   * sequences.
+   *
+   * @param bytes array of at least three times the length of the text
+   * @return number of bytes written
+   */
+  static int encode(String text, byte[] bytes) {
+    int length = 0;
+    int size = text.length();
+    for (int i = 0; i < size; i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        bytes[length++] = (byte) c;
+      } else if (c < 0x800) {
+        bytes[length++] = (byte) (0xC0 | (c >> 6));
+        bytes[length++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < size && Character.isLowSurrogate(text.charAt(i + 1))) {
+        int codePoint = Character.toCodePoint(c, text.charAt(++i));
+        bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+        bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+        bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+        bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+      } else {
+        bytes[length++] = (byte) (0xE0 | (c >> 12));
+        bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        bytes[length++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    return length;
+  }
+
+  static String decode(byte[] bytes, int offset, int length, Buffers buffers) {
+    char[] chars = buffers.chars(length);
+    int size = 0;
+    int end = offset + length;
+    int i = offset;
+    while (i < end) {
+      int b = bytes[i] & 0xFF;
+      if (b < 0x80) {
+        chars[size++] = (char) b;
+        i++;
+      } else if (b < 0xE0) {
+        chars[size++] = (char) (((b & 0x1F) << 6) | (bytes[i + 1] & 0x3F));
+        i += 2;
+      } else if (b < 0xF0) {
+        chars[size++] = (char) (((b & 0x0F) << 12) | ((bytes[i + 1] & 0x3F) << 6) | (bytes[i + 2] & 0x3F));
+        i += 3;
+      } else {
+        int codePoint = decodeCodePoint(bytes, i);
+        chars[size++] = Character.highSurrogate(codePoint);
+        chars[size++] = Character.lowSurrogate(codePoint);
+        i += 4;
+      }
+    }
+    return new String(chars, 0, size);
+  }
+
+  private static int decodeCodePoint(byte[] bytes, int i) {
+    int b = bytes[i] & 0xFF;
+    if (b < 0x80) {
+      return b;
+    } else if (b < 0xE0) {
+      return ((b & 0x1F) << 6) | (bytes[i + 1] & 0x3F);
+    } else if (b < 0xF0) {
+      return ((b & 0x0F) << 12) | ((bytes[i + 1] & 0x3F) << 6) | (bytes[i + 2] & 0x3F);
+    }
+    return ((b & 0x07) << 18) | ((bytes[i + 1] & 0x3F) << 12) | ((bytes[i + 2] & 0x3F) << 6) | (bytes[i + 3] & 0x3F);
+  }
+
+  static void writeVInt(DataOutput out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.writeByte(value);
+  }
+
+  static int readVInt(DataInput in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = in.readByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable length integer");
+  }
+
+  static int readVInt(byte[] bytes, int offset) {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = bytes[offset++];
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("Malformed variable length integer");
+  }
+
+  static int sizeOfVInt(int value) {
+    int size = 1;
+    while ((value & ~0x7F) != 0) {
+      value >>>= 7;
+      size++;
+    }
+    return size;
+  }
+
+  /**
+   * Per thread scratch space, dropped after use when a huge row made it grow.
+   */
+  static final class Buffers {
+    private byte[] bytes = new byte[1024];
+    private byte[] compressed = new byte[0];
+    private char[] chars = new char[1024];
+    private Deflater deflater;
+    private Inflater inflater;
+
+    byte[] bytes(int size) {
+      if (bytes.length < size) {
+        bytes = new byte[size];
+      }
+      return bytes;
+    }
+
+    byte[] compressed(int size) {
+      if (compressed.length < size) {
+        compressed = new byte[size];
+      }
+      return compressed;
+    }
+
+    char[] chars(int size) {
+      if (chars.length < size) {
+        chars = new char[size];
+      }
+      return chars;
+    }
+
+    Deflater deflater() {
+      if (deflater == null) {
+        deflater = new Deflater(Deflater.BEST_SPEED);
+      }
+      deflater.reset();
+      return deflater;
+    }
+
+    Inflater inflater() {
+      if (inflater == null) {
+        inflater = new Inflater();
+      }
+      inflater.reset();
+      return inflater;
+    }
+
+    void release() {
+      if (bytes.length > MAX_REUSED_BUFFER_SIZE || compressed.length > MAX_REUSED_BUFFER_SIZE
+          || chars.length > MAX_REUSED_BUFFER_SIZE) {
+        BUFFERS.remove();
+      }
+    }
+  }
+}
@@ -43,11 +43,9 @@
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.Collections;
 
 /**
@@ -68,30 +66,54 @@ public class SqoopIDFUtils implements Serializable {
   // implementation.
   public static final String BYTE_FIELD_CHARSET = "ISO-8859-1";
 
-  private static final Map<Character, String> ORIGINALS = new TreeMap<Character, String>();
-
   public static final char CSV_SEPARATOR_CHARACTER = ',';
   public static final char ESCAPE_CHARACTER = '\\';
   public static final char QUOTE_CHARACTER = '\'';
 
-  private static final Map<Character, Character> REPLACEMENTS = new TreeMap<Character, Character>();
+  // Indexed by character: the character following the escape character when
+  // encoding it, 0 when the character is written as is
+  private static final char[] ESCAPES = new char[128];
+  // Indexed by character: the original character for an escaped one
+  private static final char[] UNESCAPES = new char[128];
 
   static {
-    ORIGINALS.put(Character.valueOf((char)0x00), new String(new char[] { ESCAPE_CHARACTER, '0' }));
-    ORIGINALS.put(Character.valueOf((char)0x0A), new String(new char[] { ESCAPE_CHARACTER, 'n' }));
-    ORIGINALS.put(Character.valueOf((char)0x0D), new String(new char[] { ESCAPE_CHARACTER, 'r' }));
-    ORIGINALS.put(Character.valueOf((char)0x1A), new String(new char[] { ESCAPE_CHARACTER, 'Z' }));
-    ORIGINALS.put(Character.valueOf((char)0x22), new String(new char[] { ESCAPE_CHARACTER, '"' }));
-    ORIGINALS.put(Character.valueOf((char)0x27), new String(new char[] { ESCAPE_CHARACTER, '\'' }));
+    ESCAPES[ESCAPE_CHARACTER] = ESCAPE_CHARACTER;
+    ESCAPES[0x00] = '0';
+    ESCAPES[0x0A] = 'n';
+    ESCAPES[0x0D] = 'r';
+    ESCAPES[0x1A] = 'Z';
+    ESCAPES[0x22] = '"';
+    ESCAPES[0x27] = '\'';
 
-    REPLACEMENTS.put('0', Character.valueOf((char)0x00));
-    REPLACEMENTS.put('n', Character.valueOf((char)0x0A));
-    REPLACEMENTS.put('r', Character.valueOf((char)0x0D));
-    REPLACEMENTS.put('Z', Character.valueOf((char)0x1A));
-    REPLACEMENTS.put('"', Character.valueOf((char)0x22));
-    REPLACEMENTS.put('\'', Character.valueOf((char)0x27));
+    for (char c = 0; c < UNESCAPES.length; c++) {
+      UNESCAPES[c] = c;
+    }
+    UNESCAPES['0'] = (char) 0x00;
+    UNESCAPES['n'] = (char) 0x0A;
+    UNESCAPES['r'] = (char) 0x0D;
+    UNESCAPES['Z'] = (char) 0x1A;
+    UNESCAPES['"'] = (char) 0x22;
+    UNESCAPES['\''] = (char) 0x27;
   }
 
+  // Builders and separator offsets are reused per thread by toCSV and
+  // parseCSVString, unless a huge row made them grow past this size
+  private static final int MAX_REUSED_BUFFER_SIZE = 1 << 20;
+
+  private static final ThreadLocal<StringBuilder> CSV_BUILDER = new ThreadLocal<StringBuilder>() {
+    @Override
+    protected StringBuilder initialValue() {
+      return new StringBuilder(256);
+    }
+  };
+
+  private static final ThreadLocal<int[]> CSV_SEPARATORS = new ThreadLocal<int[]>() {
+    @Override
+    protected int[] initialValue() {
+      return new int[64];
+    }
+  };
+
   // http://www.joda.org/joda-time/key_format.html provides details on the
   // formatter token
   // can have fraction and or timezone
@@ -135,7 +157,10 @@ public static String toCSVFixedPoint(Object obj, Column column) {
         return Integer.valueOf(obj.toString()).toString();
       }
     } else {
-      if (obj instanceof Number) {
+      if (obj instanceof BigDecimal) {
+        // unsigned 64 bit values beyond the long range
+        return ((BigDecimal) obj).toPlainString();
+      } else if (obj instanceof Number) {
         return Long.toString(((Number) obj).longValue());
       } else {
         return Long.valueOf(obj.toString()).toString();
@@ -147,12 +172,35 @@ public static Object toFixedPoint(String csvString, Column column) {
     Object returnValue;
     if (isInteger(column)) {
       returnValue = Integer.valueOf(csvString);
+    } else if (isUnsignedLong(column)) {
+      returnValue = toUnsignedLong(new BigDecimal(csvString));
     } else {
       returnValue = Long.valueOf(csvString);
     }
     return returnValue;
   }
 
+  /**
+   * Whether the column holds unsigned 64 bit values, which may not fit a long.
+   */
+  public static boolean isUnsignedLong(Column column) {
+    assert column instanceof FixedPoint;
+    Long byteSize = ((FixedPoint) column).getByteSize();
+    Boolean signed = ((FixedPoint) column).isSigned();
+    return signed != null && !signed && (byteSize == null || byteSize >= (Long.SIZE / Byte.SIZE));
+  }
+
+  /**
+   * Value of an unsigned 64 bit column: a Long when it fits, the BigDecimal
+   * otherwise, so that values beyond the long range do not overflow.
+   */
+  public static Object toUnsignedLong(BigDecimal value) {
+    if (value.toBigInteger().bitLength() < Long.SIZE) {
+      return value.longValue();
+    }
+    return value;
+  }
+
   public static String toCSVFloatingPoint(Object obj, Column column) {
     assert column instanceof FloatingPoint;
     Long byteSize = ((FloatingPoint) column).getByteSize();
@@ -457,82 +505,125 @@ public static Object[] toObjectArray(List<Object> list) {
   // ************ TEXT Column Type utils*********
 
   public static String toCSVString(String string) {
-    StringBuilder sb1 = new StringBuilder();
-    StringBuilder sb2 = new StringBuilder();
+    return appendCSVString(new StringBuilder(string.length() + 16), string).toString();
+  }
 
-    // Escape the escape character
-    for (int i = 0; i < string.length(); ++i) {
+  /**
+   * Append the text encoded as a quoted sqoop CSV string, in a single pass and
+   * without intermediate strings.
+   *
+   * @param builder builder receiving the encoded text
+   * @param string text to encode
+   * @return the given builder
+   */
+  public static StringBuilder appendCSVString(StringBuilder builder, CharSequence string) {
+    int length = string.length();
+    int start = 0;
+    builder.append(QUOTE_CHARACTER);
+    for (int i = 0; i < length; i++) {
       char c = string.charAt(i);
-      if (c == ESCAPE_CHARACTER) {
-        sb1.append(ESCAPE_CHARACTER);
-      }
-
-      sb1.append(c);
-    }
-
-    // Encode characters
-    for (char c : sb1.toString().toCharArray()) {
-      if (ORIGINALS.containsKey(c)) {
-        sb2.append(ORIGINALS.get(c));
-      } else {
-        sb2.append(c);
+      if (c < ESCAPES.length && ESCAPES[c] != 0) {
+        builder.append(string, start, i).append(ESCAPE_CHARACTER).append(ESCAPES[c]);
+        start = i + 1;
       }
     }
-
-    return encloseWithQuotes(sb2.toString());
+    return builder.append(string, start, length).append(QUOTE_CHARACTER);
   }
 
   public static String toText(String string) {
-    boolean escaped = false;
-    StringBuilder sb = new StringBuilder();
-    int i;
+    int start = 0;
+    int end = string.length();
+
+    // Skip the trailing and starting quotes.
+    if (isQuoted(string)) {
+      start++;
+      end--;
+    }
 
-    // Remove the trailing and starting quotes.
-    string = removeQuotes(string);
+    int escape = string.indexOf(ESCAPE_CHARACTER, start);
+    if (escape < 0 || escape >= end) {
+      return string.substring(start, end);
+    }
 
     // Decode
-    for (i = 0; i < string.length(); ++i) {
+    StringBuilder sb = new StringBuilder(end - start);
+    sb.append(string, start, escape);
+    for (int i = escape; i < end; ++i) {
       char c = string.charAt(i);
-
-      if (escaped) {
-        escaped = false;
-
-        if (REPLACEMENTS.containsKey(c)) {
-          c = REPLACEMENTS.get(c);
-        }
-
-        sb.append(c);
-      } else {
-        switch(c) {
-          case ESCAPE_CHARACTER:
-            escaped = true;
-            break;
-
-          default:
-            sb.append(c);
-            break;
+      if (c == ESCAPE_CHARACTER) {
+        // A dangling escape character at the end is dropped
+        if (++i == end) {
+          break;
         }
+        c = unescape(string.charAt(i));
       }
+      sb.append(c);
     }
 
     return sb.toString();
   }
 
+  private static char unescape(char c) {
+    return c < UNESCAPES.length ? UNESCAPES[c] : c;
+  }
+
   // ************ BINARY Column type utils*********
 
   public static String toCSVByteArray(Object obj) {
     byte[] bytes = (byte[]) obj;
-    try {
-      return toCSVString(new String(bytes, BYTE_FIELD_CHARSET));
-    } catch (UnsupportedEncodingException e) {
-      // We should never hit this case.
-      // This character set should be distributed with Java.
-      throw new SqoopException(CSVIntermediateDataFormatError.CSV_INTERMEDIATE_DATA_FORMAT_0001, "The character set "
-          + BYTE_FIELD_CHARSET + " is not available.");
+    return appendCSVByteArray(new StringBuilder(bytes.length + 16), bytes).toString();
+  }
+
+  /**
+   * Append the bytes, read as BYTE_FIELD_CHARSET characters, encoded as a quoted
+   * sqoop CSV string.
+   *
+   * @param builder builder receiving the encoded bytes
+   * @param bytes bytes to encode
+   * @return the given builder
+   */
+  public static StringBuilder appendCSVByteArray(StringBuilder builder, byte[] bytes) {
+    builder.append(QUOTE_CHARACTER);
+    for (int i = 0; i < bytes.length; i++) {
+      // BYTE_FIELD_CHARSET maps every byte to the character of the same value
+      char c = (char) (bytes[i] & 0xFF);
+      if (c < ESCAPES.length && ESCAPES[c] != 0) {
+        builder.append(ESCAPE_CHARACTER).append(ESCAPES[c]);
+      } else {
+        builder.append(c);
+      }
     }
+    return builder.append(QUOTE_CHARACTER);
   }
 
   public static byte[] toByteArray(String csvString) {
+    int start = 0;
+    int end = csvString.length();
+    if (isQuoted(csvString)) {
+      start++;
+      end--;
+    }
+
+    byte[] bytes = new byte[end - start];
+    int length = 0;
+    for (int i = start; i < end; ++i) {
+      char c = csvString.charAt(i);
+      if (c == ESCAPE_CHARACTER) {
+        if (++i == end) {
+          break;
+        }
+        c = unescape(csvString.charAt(i));
+      }
+      if (c > 0xFF) {
+        // Not produced by toCSVByteArray, let the charset decide how to map it
+        return toByteArrayWithCharset(csvString);
+      }
+      bytes[length++] = (byte) c;
+    }
+    return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+  }
+
+  private static byte[] toByteArrayWithCharset(String csvString) {
     // Always encoded in BYTE_FIELD_CHARSET.
     try {
       return toText(csvString).getBytes(BYTE_FIELD_CHARSET);
@@ -547,19 +638,24 @@ public static byte[] toByteArray(String csvString) {
   // *********** SQOOP CSV standard encoding utils********************
 
   public static String encloseWithQuotes(String string) {
-    StringBuilder builder = new StringBuilder();
+    StringBuilder builder = new StringBuilder(string.length() + 2);
     builder.append(QUOTE_CHARACTER).append(string).append(QUOTE_CHARACTER);
     return builder.toString();
   }
 
   public static String removeQuotes(String string) {
     // validate that the string has quotes
-    if (string.startsWith(String.valueOf(QUOTE_CHARACTER)) && string.endsWith(String.valueOf(QUOTE_CHARACTER))) {
+    if (isQuoted(string)) {
       return string.substring(1, string.length() - 1);
     }
     return string;
   }
 
+  private static boolean isQuoted(String string) {
+    int length = string.length();
+    return length > 0 && string.charAt(0) == QUOTE_CHARACTER && string.charAt(length - 1) == QUOTE_CHARACTER;
+  }
+
   // ********* utility methods for column type classification ***********
   public static boolean isColumnListType(Column listType) {
     return listType.getType().equals(ColumnType.ARRAY) || listType.getType().equals(ColumnType.SET);
@@ -581,7 +677,8 @@ public static boolean isColumnStringType(Column stringType) {
   public static String toCSV(Object[] objectArray, Schema schema) {
     Column[] columns = schema.getColumnsArray();
 
-    StringBuilder csvString = new StringBuilder();
+    StringBuilder csvString = CSV_BUILDER.get();
+    csvString.setLength(0);
     for (int i = 0; i < columns.length; i++) {
       if (objectArray[i] == null && !columns[i].isNullable()) {
         throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
@@ -600,11 +697,11 @@ public static String toCSV(Object[] objectArray, Schema schema) {
             break;
           case ENUM:
           case TEXT:
-            csvString.append(toCSVString(objectArray[i].toString()));
+            appendCSVString(csvString, objectArray[i].toString());
             break;
           case BINARY:
           case UNKNOWN:
-            csvString.append(toCSVByteArray((byte[]) objectArray[i]));
+            appendCSVByteArray(csvString, (byte[]) objectArray[i]);
             break;
           case FIXED_POINT:
             csvString.append(toCSVFixedPoint(objectArray[i], columns[i]));
@@ -646,11 +743,19 @@ public static String toCSV(Object[] objectArray, Schema schema) {
 
     }
 
-    return csvString.toString();
+    String csv = csvString.toString();
+    if (csvString.capacity() > MAX_REUSED_BUFFER_SIZE) {
+      CSV_BUILDER.remove();
+    }
+    return csv;
   }
 
   /**
    * Custom CSV Text parser that honors quoting and escaped quotes.
+   * <p>
+   * The fields are returned as is, still quoted and escaped. They are located
+   * in a single pass and then cut out of the text, without copying every
+   * character through a builder.
    *
    * @return String[]
    */
@@ -659,16 +764,44 @@ public static String[] parseCSVString(String csvText) {
       return null;
     }
 
+    int[] separators = CSV_SEPARATORS.get();
+    int count = findCSVSeparators(csvText, separators);
+    if (count > separators.length) {
+      separators = new int[Math.max(count, separators.length * 2)];
+      findCSVSeparators(csvText, separators);
+      if (separators.length <= MAX_REUSED_BUFFER_SIZE) {
+        CSV_SEPARATORS.set(separators);
+      }
+    }
+
+    String[] parsedData = new String[count + 1];
+    int start = 0;
+    for (int field = 0; field < count; field++) {
+      parsedData[field] = csvText.substring(start, separators[field]);
+      start = separators[field] + 1;
+    }
+    parsedData[count] = csvText.substring(start);
+    return parsedData;
+  }
+
+  /**
+   * Locate the separators between the fields of a CSV text, honoring quoting
+   * and escaped quotes. The text has one more field than separators.
+   *
+   * @param csvText csv text to scan
+   * @param separators array receiving the offsets of the separators, as many
+   *          as it can hold
+   * @return number of separators in the text; when it is larger than the array
+   *         the text has to be scanned again with a large enough array
+   */
+  public static int findCSVSeparators(String csvText, int[] separators) {
     boolean quoted = false;
     boolean escaped = false;
 
-    List<String> parsedData = new LinkedList<String>();
-    StringBuilder builder = new StringBuilder();
+    int count = 0;
     for (int i = 0; i < csvText.length(); ++i) {
-      char c = csvText.charAt(i);
-      switch (c) {
+      switch (csvText.charAt(i)) {
       case QUOTE_CHARACTER:
-        builder.append(c);
         if (escaped) {
           escaped = false;
         } else {
@@ -676,28 +809,24 @@ public static String[] parseCSVString(String csvText) {
         }
         break;
       case ESCAPE_CHARACTER:
-        builder.append(ESCAPE_CHARACTER);
         escaped = !escaped;
         break;
       case CSV_SEPARATOR_CHARACTER:
-        if (quoted) {
-          builder.append(c);
-        } else {
-          parsedData.add(builder.toString());
-          builder = new StringBuilder();
+        if (!quoted) {
+          if (count < separators.length) {
+            separators[count] = i;
+          }
+          count++;
         }
         break;
       default:
         if (escaped) {
           escaped = false;
         }
-        builder.append(c);
         break;
       }
     }
-    parsedData.add(builder.toString());
-
-    return parsedData.toArray(new String[parsedData.size()]);
+    return count;
   }
 
   private static Object toObject(String csvString, Column column) {
@@ -770,17 +899,26 @@ public static Object[] fromCSV(String csvText, Schema schema) {
 
     Object[] objectArray = new Object[csvArray.length];
     for (int i = 0; i < csvArray.length; i++) {
-      if (csvArray[i].equals(NULL_VALUE) && !columns[i].isNullable()) {
-        throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
-            columns[i].getName() + " does not support null values");
-      }
-      if (csvArray[i].equals(NULL_VALUE)) {
-        objectArray[i] = null;
-        continue;
-      }
-      objectArray[i] = toObject(csvArray[i], columns[i]);
+      objectArray[i] = fromCSVField(csvArray[i], columns[i]);
     }
 
     return objectArray;
   }
+
+  /**
+   * Parse a single field of CSV text data
+   * @param csvField field as returned by {@link #parseCSVString(String)}
+   * @param column column of the field
+   * @return Object
+   */
+  public static Object fromCSVField(String csvField, Column column) {
+    if (csvField.equals(NULL_VALUE)) {
+      if (!column.isNullable()) {
+        throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
+            column.getName() + " does not support null values");
+      }
+      return null;
+    }
+    return toObject(csvField, column);
+  }
 }
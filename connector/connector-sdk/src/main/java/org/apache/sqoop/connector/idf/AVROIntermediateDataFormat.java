@@ -23,10 +23,10 @@
 import org.apache.avro.generic.GenericDatumReader;
 import org.apache.avro.generic.GenericDatumWriter;
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.BinaryEncoder;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DatumWriter;
-import org.apache.avro.io.Decoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.io.EncoderFactory;
 import org.apache.avro.util.Utf8;
@@ -35,6 +35,7 @@
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.error.code.IntermediateDataFormatError;
 import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.ColumnType;
 import org.apache.sqoop.utils.ClassUtils;
 import org.joda.time.LocalDate;
 import org.joda.time.LocalTime;
@@ -47,7 +48,9 @@
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -62,6 +65,16 @@ public class AVROIntermediateDataFormat extends IntermediateDataFormat<GenericRe
 
   private Schema avroSchema;
 
+  // Kept across rows so that converting and (de)serializing a row does not
+  // allocate a reader, a writer, a coder and a record every time
+  private transient DatumWriter<GenericRecord> datumWriter;
+  private transient DatumReader<GenericRecord> datumReader;
+  private transient BinaryEncoder encoder;
+  private transient BinaryDecoder decoder;
+  // Record owned by this instance, filled in place for every row. It is never
+  // a record given through setData, which is not ours to modify.
+  private transient GenericData.Record reusedRecord;
+
   // need this default constructor for reflection magic used in execution engine
   public AVROIntermediateDataFormat() {
   }
@@ -69,7 +82,57 @@ public AVROIntermediateDataFormat() {
   // We need schema at all times
   public AVROIntermediateDataFormat(org.apache.sqoop.schema.Schema schema) {
     setSchema(schema);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void setSchema(org.apache.sqoop.schema.Schema schema) {
+    super.setSchema(schema);
     avroSchema = createAvroSchema(schema);
+    datumWriter = null;
+    datumReader = null;
+    reusedRecord = null;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The returned record is owned by this instance when the row was set from
+   * CSV text, an object array, another IDF or read from a stream: it is
+   * refilled in place by the next row. Callers must copy it if they need it
+   * beyond the current row.
+   */
+  @Override
+  public GenericRecord getData() {
+    return super.getData();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The values of the other instance are copied into the record of this
+   * instance, since the record of the other instance is filled in place by the
+   * next row while this one may still be used by a loader.
+   */
+  @Override
+  public void setDataFrom(IntermediateDataFormat<?> other) {
+    if (other.getClass() == getClass()) {
+      GenericRecord source = (GenericRecord) other.data;
+      if (source == null || avroSchema == null || !avroSchema.equals(source.getSchema())) {
+        setData(copyRecord(source));
+        return;
+      }
+      validateSchema(schema);
+      GenericRecord record = reusableRecord();
+      for (Schema.Field field : avroSchema.getFields()) {
+        record.put(field.pos(), copyValueInto(record.get(field.pos()), source.get(field.pos())));
+      }
+      this.data = record;
+    } else {
+      super.setDataFrom(other);
+    }
   }
 
   /**
@@ -112,16 +175,32 @@ public Object[] getObjectData() {
     return toObject(data);
   }
 
+  /**
+   * Only the requested field of the record is converted.
+   */
+  @Override
+  public Object getObjectData(int column) {
+    super.validateSchema(schema);
+    if (data == null) {
+      return null;
+    }
+    Column col = schema.getColumnsArray()[column];
+    return toObject(data.get(col.getName()), col);
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void write(DataOutput out) throws IOException {
     // do we need to write the schema?
-    DatumWriter<GenericRecord> writer = new GenericDatumWriter<GenericRecord>(avroSchema);
+    if (datumWriter == null) {
+      datumWriter = new GenericDatumWriter<GenericRecord>(avroSchema);
+    }
     assert out instanceof DataOutputStream;
-    BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder((DataOutputStream) out, null);
-    writer.write(data, encoder);
+    // the direct encoder does not buffer, hence nothing is left to flush
+    encoder = EncoderFactory.get().directBinaryEncoder((DataOutputStream) out, encoder);
+    datumWriter.write(data, encoder);
   }
 
   /**
@@ -129,10 +208,15 @@ public void write(DataOutput out) throws IOException {
    */
   @Override
   public void read(DataInput in) throws IOException {
-    DatumReader<GenericRecord> reader = new GenericDatumReader<GenericRecord>(avroSchema);
+    if (datumReader == null) {
+      datumReader = new GenericDatumReader<GenericRecord>(avroSchema);
+    }
     assert in instanceof InputStream;
-    Decoder decoder = DecoderFactory.get().binaryDecoder((InputStream) in, null);
-    data = reader.read(null, decoder);
+    // the direct decoder does not read ahead, so the rows that follow in the
+    // stream are left for the next call
+    decoder = DecoderFactory.get().directBinaryDecoder((InputStream) in, decoder);
+    reusedRecord = (GenericData.Record) datumReader.read(reusedRecord, decoder);
+    data = reusedRecord;
   }
 
   /**
@@ -158,17 +242,21 @@ private GenericRecord toAVRO(String csv) {
       throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
           "The data " + csv + " has the wrong number of fields.");
     }
-    GenericRecord avroObject = new GenericData.Record(avroSchema);
+    GenericRecord avroObject = reusableRecord();
     for (int i = 0; i < csvStringArray.length; i++) {
       if (csvStringArray[i].equals(NULL_VALUE) && !columns[i].isNullable()) {
         throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
             columns[i].getName() + " does not support null values");
       }
       if (csvStringArray[i].equals(NULL_VALUE)) {
-        avroObject.put(columns[i].getName(), null);
+        avroObject.put(i, null);
         continue;
       }
-      avroObject.put(columns[i].getName(), toAVRO(csvStringArray[i], columns[i]));
+      if (columns[i].getType() == ColumnType.TEXT) {
+        avroObject.put(i, toUtf8(avroObject.get(i), removeQuotes(csvStringArray[i])));
+        continue;
+      }
+      avroObject.put(i, toAVRO(csvStringArray[i], columns[i]));
     }
     return avroObject;
   }
@@ -241,63 +329,64 @@ private GenericRecord toAVRO(Object[] objectArray) {
       throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
           "The data " + Arrays.toString(objectArray) + " has the wrong number of fields.");
     }
-    // get avro schema from sqoop schema
-    GenericRecord avroObject = new GenericData.Record(avroSchema);
+    GenericRecord avroObject = reusableRecord();
     for (int i = 0; i < objectArray.length; i++) {
       if (objectArray[i] == null && !columns[i].isNullable()) {
         throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
             columns[i].getName() + " does not support null values");
       }
       if (objectArray[i] == null) {
-        avroObject.put(columns[i].getName(), null);
+        avroObject.put(i, null);
         continue;
       }
 
       switch (columns[i].getType()) {
       case ARRAY:
       case SET:
-        avroObject.put(columns[i].getName(), toList((Object[]) objectArray[i]));
+        avroObject.put(i, toList((Object[]) objectArray[i]));
         break;
       case ENUM:
         GenericData.EnumSymbol enumValue = new GenericData.EnumSymbol(createEnumSchema(columns[i]),
             (String) objectArray[i]);
-        avroObject.put(columns[i].getName(), enumValue);
+        avroObject.put(i, enumValue);
         break;
       case TEXT:
-        avroObject.put(columns[i].getName(), new Utf8((String) objectArray[i]));
+        avroObject.put(i, toUtf8(avroObject.get(i), (String) objectArray[i]));
         break;
       case BINARY:
       case UNKNOWN:
-        avroObject.put(columns[i].getName(), ByteBuffer.wrap((byte[]) objectArray[i]));
+        avroObject.put(i, ByteBuffer.wrap((byte[]) objectArray[i]));
         break;
       case MAP:
       case FIXED_POINT:
       case FLOATING_POINT:
-        avroObject.put(columns[i].getName(), objectArray[i]);
+        avroObject.put(i, objectArray[i]);
         break;
       case DECIMAL:
         // TODO: store as FIXED in SQOOP-16161
-        avroObject.put(columns[i].getName(), ((BigDecimal) objectArray[i]).toPlainString());
+        avroObject.put(i, ((BigDecimal) objectArray[i]).toPlainString());
         break;
       case DATE_TIME:
         if (objectArray[i] instanceof org.joda.time.DateTime) {
-          avroObject.put(columns[i].getName(), ((org.joda.time.DateTime) objectArray[i]).toDate()
+          avroObject.put(i, ((org.joda.time.DateTime) objectArray[i]).toDate()
               .getTime());
         } else if (objectArray[i] instanceof org.joda.time.LocalDateTime) {
-          avroObject.put(columns[i].getName(), ((org.joda.time.LocalDateTime) objectArray[i])
+          avroObject.put(i, ((org.joda.time.LocalDateTime) objectArray[i])
               .toDate().getTime());
+        } else {
+          avroObject.put(i, null);
         }
         break;
       case TIME:
-        avroObject.put(columns[i].getName(), ((org.joda.time.LocalTime) objectArray[i])
+        avroObject.put(i, ((org.joda.time.LocalTime) objectArray[i])
             .toDateTimeToday().getMillis());
         break;
       case DATE:
-        avroObject.put(columns[i].getName(), ((org.joda.time.LocalDate) objectArray[i]).toDate()
+        avroObject.put(i, ((org.joda.time.LocalDate) objectArray[i]).toDate()
             .getTime());
         break;
       case BIT:
-        avroObject.put(columns[i].getName(), Boolean.valueOf(objectArray[i].toString()));
+        avroObject.put(i, Boolean.valueOf(objectArray[i].toString()));
         break;
       default:
         throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
@@ -308,6 +397,96 @@ private GenericRecord toAVRO(Object[] objectArray) {
     return avroObject;
   }
 
+  /**
+   * Record of this instance to fill with the next row. A record given through
+   * setData is left untouched.
+   */
+  private GenericRecord reusableRecord() {
+    if (reusedRecord == null) {
+      reusedRecord = new GenericData.Record(avroSchema);
+    }
+    return reusedRecord;
+  }
+
+  private static GenericRecord copyRecord(GenericRecord record) {
+    if (record == null) {
+      return null;
+    }
+    // field by field, as the values are not always those of the avro schema (e.g. maps)
+    GenericRecord copy = new GenericData.Record(record.getSchema());
+    for (Schema.Field field : record.getSchema().getFields()) {
+      copy.put(field.pos(), copyValue(record.get(field.pos())));
+    }
+    return copy;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Object copyValue(Object value) {
+    if (value instanceof Utf8) {
+      return new Utf8((Utf8) value);
+    } else if (value instanceof ByteBuffer) {
+      ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+      ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+      copy.put(buffer).flip();
+      return copy;
+    } else if (value instanceof List) {
+      List<Object> list = (List<Object>) value;
+      List<Object> copy = new ArrayList<Object>(list.size());
+      for (Object element : list) {
+        copy.add(copyValue(element));
+      }
+      return copy;
+    } else if (value instanceof Map) {
+      Map<Object, Object> map = (Map<Object, Object>) value;
+      Map<Object, Object> copy = new HashMap<Object, Object>(map.size() * 2);
+      for (Map.Entry<Object, Object> entry : map.entrySet()) {
+        copy.put(copyValue(entry.getKey()), copyValue(entry.getValue()));
+      }
+      return copy;
+    } else if (value instanceof GenericRecord) {
+      return copyRecord((GenericRecord) value);
+    } else if (value instanceof Object[]) {
+      Object[] array = (Object[]) value;
+      Object[] copy = new Object[array.length];
+      for (int i = 0; i < array.length; i++) {
+        copy[i] = copyValue(array[i]);
+      }
+      return copy;
+    }
+    // strings, numbers, booleans and enum symbols are immutable
+    return value;
+  }
+
+  /**
+   * Copy of the value, reusing the storage of the previous value of the field
+   * for strings and bytes.
+   */
+  private static Object copyValueInto(Object previous, Object value) {
+    if (value instanceof Utf8 && previous instanceof Utf8 && previous != value) {
+      Utf8 source = (Utf8) value;
+      Utf8 target = (Utf8) previous;
+      target.setByteLength(source.getByteLength());
+      System.arraycopy(source.getBytes(), 0, target.getBytes(), 0, source.getByteLength());
+      return target;
+    } else if (value instanceof ByteBuffer && previous instanceof ByteBuffer && previous != value) {
+      ByteBuffer source = ((ByteBuffer) value).duplicate();
+      ByteBuffer target = (ByteBuffer) previous;
+      if (target.capacity() >= source.remaining()) {
+        target.clear();
+        target.put(source).flip();
+        return target;
+      }
+    }
+    return copyValue(value);
+  }
+
+  private static Utf8 toUtf8(Object previous, String value) {
+    if (previous instanceof Utf8) {
+      return ((Utf8) previous).set(value);
+    }
+    return new Utf8(value);
+  }
+
   @SuppressWarnings("unchecked")
   private String toCSV(GenericRecord record) {
     Column[] columns = this.schema.getColumnsArray();
@@ -336,11 +515,11 @@ private String toCSV(GenericRecord record) {
           break;
         case ENUM:
         case TEXT:
-          csvString.append(toCSVString(obj.toString()));
+          appendCSVString(csvString, obj.toString());
           break;
         case BINARY:
         case UNKNOWN:
-          csvString.append(toCSVByteArray(getBytesFromByteBuffer(obj)));
+          appendCSVByteArray(csvString, getBytesFromByteBuffer(obj));
           break;
         case FIXED_POINT:
           csvString.append(toCSVFixedPoint(obj, columns[i]));
@@ -350,7 +529,7 @@ private String toCSV(GenericRecord record) {
           break;
         case DECIMAL:
           // stored as string
-          csvString.append(toCSVDecimal(obj));
+          csvString.append(toCSVDecimal(new BigDecimal(obj.toString())));
           break;
         case DATE:
           // stored as long
@@ -384,7 +563,6 @@ private String toCSV(GenericRecord record) {
     return csvString.toString();
   }
 
-  @SuppressWarnings("unchecked")
   private Object[] toObject(GenericRecord record) {
 
     if (record == null) {
@@ -394,67 +572,62 @@ private Object[] toObject(GenericRecord record) {
     Object[] object = new Object[columns.length];
 
     for (int i = 0; i < columns.length; i++) {
-      Object obj = record.get(columns[i].getName());
       Integer nameIndex = schema.getColumnNameIndex(columns[i].getName());
       Column column = columns[nameIndex];
-      // null is a possible value
-      if (obj == null && !column.isNullable()) {
-        throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
-            column.getName() + " does not support null values");
-      }
-      if (obj == null) {
-        object[nameIndex] = null;
-        continue;
-      }
-      switch (column.getType()) {
-      case ARRAY:
-      case SET:
-        object[nameIndex] = toObjectArray((List<Object>) obj);
-        break;
-      case ENUM:
-        // stored as enum symbol
-      case TEXT:
-        // stored as UTF8
-      case DECIMAL:
-          // stored as string
-        object[nameIndex] = obj.toString();
-        break;
-      case BINARY:
-      case UNKNOWN:
-        // stored as byte buffer
-        object[nameIndex] = getBytesFromByteBuffer(obj);
-        break;
-      case MAP:
-      case FIXED_POINT:
-      case FLOATING_POINT:
-        // stored as java objects in avro as well
-        object[nameIndex] = obj;
-        break;
-      case DATE:
-        Long dateInMillis = (Long) obj;
-        object[nameIndex] = new org.joda.time.LocalDate(dateInMillis);
-        break;
-      case TIME:
-        Long timeInMillis = (Long) obj;
-        object[nameIndex] = new org.joda.time.LocalTime(timeInMillis);
-        break;
-      case DATE_TIME:
-        Long dateTimeInMillis = (Long) obj;
-        if (((org.apache.sqoop.schema.type.DateTime) column).hasTimezone()) {
-          object[nameIndex] = new org.joda.time.DateTime(dateTimeInMillis);
-        } else {
-          object[nameIndex] = new org.joda.time.LocalDateTime(dateTimeInMillis);
-        }
-        break;
-      case BIT:
-        object[nameIndex] = toBit(obj.toString());
-        break;
-      default:
-        throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
-            "Column type from schema was not recognized for " + column.getType());
-      }
-
+      object[nameIndex] = toObject(record.get(column.getName()), column);
     }
     return object;
   }
+
+  @SuppressWarnings("unchecked")
+  private Object toObject(Object obj, Column column) {
+    // null is a possible value
+    if (obj == null && !column.isNullable()) {
+      throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
+          column.getName() + " does not support null values");
+    }
+    if (obj == null) {
+      return null;
+    }
+    switch (column.getType()) {
+    case ARRAY:
+    case SET:
+      return toObjectArray((List<Object>) obj);
+    case ENUM:
+      // stored as enum symbol
+    case TEXT:
+      // stored as UTF8
+      return obj.toString();
+    case DECIMAL:
+      // stored as string
+      return toDecimal(obj.toString(), column);
+    case BINARY:
+    case UNKNOWN:
+      // stored as byte buffer
+      return getBytesFromByteBuffer(obj);
+    case MAP:
+    case FIXED_POINT:
+    case FLOATING_POINT:
+      // stored as java objects in avro as well
+      return obj;
+    case DATE:
+      Long dateInMillis = (Long) obj;
+      return new org.joda.time.LocalDate(dateInMillis);
+    case TIME:
+      Long timeInMillis = (Long) obj;
+      return new org.joda.time.LocalTime(timeInMillis);
+    case DATE_TIME:
+      Long dateTimeInMillis = (Long) obj;
+      if (((org.apache.sqoop.schema.type.DateTime) column).hasTimezone()) {
+        return new org.joda.time.DateTime(dateTimeInMillis);
+      } else {
+        return new org.joda.time.LocalDateTime(dateTimeInMillis);
+      }
+    case BIT:
+      return toBit(obj.toString());
+    default:
+      throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
+          "Column type from schema was not recognized for " + column.getType());
+    }
+  }
 }
@@ -18,13 +18,17 @@
 import org.apache.sqoop.classification.InterfaceAudience;
 import org.apache.sqoop.classification.InterfaceStability;
 import org.apache.log4j.Logger;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopIDFSerializationUtils;
 import org.apache.sqoop.connector.common.SqoopIDFUtils;
+import org.apache.sqoop.error.code.IntermediateDataFormatError;
 import org.apache.sqoop.schema.Schema;
 
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Set;
 
 /**
@@ -42,6 +46,15 @@ public class CSVIntermediateDataFormat extends IntermediateDataFormat<String> im
 
   public static final Logger LOG = Logger.getLogger(CSVIntermediateDataFormat.class);
 
+  // Index of the fields of the current row, built the first time a single
+  // column is requested and thrown away as soon as the row or schema changes
+  private transient String indexedData;
+  private transient Schema indexedSchema;
+  private transient int[] fieldStarts;
+  private transient int[] fieldEnds;
+  private transient Object[] fieldValues;
+  private transient boolean[] fieldDecoded;
+
   // need this default constructor for reflection magic used in execution engine
   public CSVIntermediateDataFormat() {
   }
@@ -75,6 +88,59 @@ public Object[] getObjectData() {
     return SqoopIDFUtils.fromCSV(data, schema);
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * The boundaries of all the fields are located once per row and only the
+   * requested column is decoded, so that narrow projections of wide rows skip
+   * most of the conversion cost.
+   */
+  @Override
+  public Object getObjectData(int column) {
+    super.validateSchema(schema);
+    if (data == null) {
+      return null;
+    }
+    if (indexedData != data || indexedSchema != schema) {
+      indexFields();
+    }
+    if (!fieldDecoded[column]) {
+      fieldValues[column] = SqoopIDFUtils.fromCSVField(data.substring(fieldStarts[column], fieldEnds[column]),
+          schema.getColumnsArray()[column]);
+      fieldDecoded[column] = true;
+    }
+    return fieldValues[column];
+  }
+
+  private void indexFields() {
+    int columnsCount = schema.getColumnsCount();
+    if (fieldValues == null || fieldValues.length != columnsCount) {
+      fieldStarts = new int[columnsCount];
+      fieldEnds = new int[columnsCount];
+      fieldValues = new Object[columnsCount];
+      fieldDecoded = new boolean[columnsCount];
+    } else {
+      Arrays.fill(fieldValues, null);
+      Arrays.fill(fieldDecoded, false);
+    }
+
+    // the separator closing a field is its end offset
+    int separators = SqoopIDFUtils.findCSVSeparators(data, fieldEnds);
+    if (separators != columnsCount - 1) {
+      indexedData = null;
+      throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
+          "The data " + data + " has the wrong number of fields.");
+    }
+    fieldEnds[columnsCount - 1] = data.length();
+    fieldStarts[0] = 0;
+    for (int i = 1; i < columnsCount; i++) {
+      fieldStarts[i] = fieldEnds[i - 1] + 1;
+    }
+
+    indexedData = data;
+    indexedSchema = schema;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -91,7 +157,7 @@ public void setObjectData(Object[] data) {
    */
   @Override
   public void write(DataOutput out) throws IOException {
-    out.writeUTF(this.data);
+    SqoopIDFSerializationUtils.writeText(out, this.data, compressRows);
   }
 
   /**
@@ -100,7 +166,23 @@ public void write(DataOutput out) throws IOException {
    */
   @Override
   public void read(DataInput in) throws IOException {
-    data = in.readUTF();
+    data = SqoopIDFSerializationUtils.readText(in);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isRawComparable() {
+    return true;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int compareRaw(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+    return SqoopIDFSerializationUtils.compareText(b1, s1, l1, b2, s2, l2);
   }
 
   /**
@@ -60,6 +60,8 @@
 
     protected Schema schema;
 
+    protected boolean compressRows;
+
     /**
      * Get one row of data.
      *
@@ -82,6 +84,27 @@ public void setData(T obj) {
         this.data = obj;
     }
 
+    /**
+     * Set one row of data from another intermediate data format instance.
+     * When both instances are of the same class the native representation
+     * is handed over as is, skipping the CSV text serialization that would
+     * otherwise be needed to move the row between two IDF objects.
+     * <p>
+     * Implementations that reuse a mutable native object across rows must
+     * override this method and copy the data instead of sharing it.
+     *
+     * @param other - IDF holding the row to be moved.
+     */
+    @SuppressWarnings("unchecked")
+    public void setDataFrom(IntermediateDataFormat<?> other) {
+        if (other.getClass() == getClass()) {
+            // the source may not carry a schema, e.g. when it was deserialized by a SqoopWritable
+            setData((T) other.data);
+        } else {
+            setCSVTextData(other.getCSVTextData());
+        }
+    }
+
     /**
      * Get one row of data as CSV text. Use {@link #SqoopIDFUtils} for reading and writing
      * into the sqoop specified CSV text format for each {@link #ColumnType} field in the row
@@ -120,6 +143,20 @@ public void setData(T obj) {
      */
     public abstract Object[] getObjectData();
 
+    /**
+     * Get the value of a single column of the row, in the object representation
+     * used by {@link #getObjectData()}. Implementations able to decode columns
+     * independently should override it, so that callers only interested in a
+     * few columns do not pay for converting the whole row.
+     *
+     * @param column - index of the column in the schema
+     * @return - value of the column
+     */
+    public Object getObjectData(int column) {
+        Object[] row = getObjectData();
+        return row == null ? null : row[column];
+    }
+
     /**
      * Set one row of data as an Object array.
      * It also should construct the data representation
@@ -169,6 +206,44 @@ protected void validateSchema(Schema schema) {
      */
     public abstract void read(DataInput in) throws IOException;
 
+    /**
+     * Ask {@link #write(DataOutput)} to compress large rows. Formats that have
+     * no compressed serialization ignore it, rows are read back by
+     * {@link #read(DataInput)} whether they were compressed or not.
+     *
+     * @param compressRows - true to compress large rows
+     */
+    public void setCompressRows(boolean compressRows) {
+        this.compressRows = compressRows;
+    }
+
+    /**
+     * Tell whether rows serialized by {@link #write(DataOutput)} can be compared
+     * with {@link #compareRaw(byte[], int, int, byte[], int, int)}, which lets
+     * the execution engine sort rows without deserializing them.
+     *
+     * @return true if compareRaw is supported
+     */
+    public boolean isRawComparable() {
+        return false;
+    }
+
+    /**
+     * Compare two rows serialized by {@link #write(DataOutput)} in the same
+     * order as {@link #compareTo(Object)}.
+     *
+     * @param b1 - bytes holding the first row
+     * @param s1 - offset of the first row
+     * @param l1 - length of the first row
+     * @param b2 - bytes holding the second row
+     * @param s2 - offset of the second row
+     * @param l2 - length of the second row
+     * @return - negative, zero or positive as the first row sorts before, with or after the second
+     */
+    public int compareRaw(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+        throw new UnsupportedOperationException(getClass().getName() + " does not compare serialized rows");
+    }
+
     /**
      * Provide the external jars that the IDF depends on
      *
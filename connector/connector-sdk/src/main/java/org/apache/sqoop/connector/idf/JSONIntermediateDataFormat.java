@@ -21,6 +21,7 @@
 import org.apache.sqoop.classification.InterfaceAudience;
 import org.apache.sqoop.classification.InterfaceStability;
 import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.common.SqoopIDFSerializationUtils;
 import org.apache.sqoop.error.code.IntermediateDataFormatError;
 import org.apache.sqoop.error.code.JSONIntermediateDataFormatError;
 import org.apache.sqoop.schema.Schema;
@@ -96,12 +97,25 @@ public Object[] getObjectData() {
     return toObject(data);
   }
 
+  /**
+   * Only the requested attribute of the JSON object is converted.
+   */
+  @Override
+  public Object getObjectData(int column) {
+    super.validateSchema(schema);
+    if (data == null) {
+      return null;
+    }
+    Column col = schema.getColumnsArray()[column];
+    return toObject(data.get(col.getName()), col);
+  }
+
   /**
    * {@inheritDoc}
    */
   @Override
   public void write(DataOutput out) throws IOException {
-    out.writeUTF(this.data.toJSONString());
+    SqoopIDFSerializationUtils.writeText(out, this.data.toJSONString(), compressRows);
   }
 
   /**
@@ -110,7 +124,7 @@ public void write(DataOutput out) throws IOException {
   @Override
   public void read(DataInput in) throws IOException {
     try {
-      data = (JSONObject) new JSONParser().parse(in.readUTF());
+      data = (JSONObject) new JSONParser().parse(SqoopIDFSerializationUtils.readText(in));
     } catch (ParseException e) {
       throw new SqoopException(JSONIntermediateDataFormatError.JSON_INTERMEDIATE_DATA_FORMAT_0002, e);
     }
@@ -266,7 +280,11 @@ private JSONObject toJSON(Object[] objectArray) {
       // stored in JSON as the same format as csv strings in the joda time
       // format
       case DATE_TIME:
-        json.put(columns[i].getName(), removeQuotes(toCSVDateTime(objectArray[i], columns[i])));
+        if (objectArray[i] instanceof org.joda.time.LocalDateTime) {
+          json.put(columns[i].getName(), removeQuotes(toCSVLocalDateTime(objectArray[i], columns[i])));
+        } else {
+          json.put(columns[i].getName(), removeQuotes(toCSVDateTime(objectArray[i], columns[i])));
+        }
         break;
       case TIME:
         json.put(columns[i].getName(), removeQuotes(toCSVTime(objectArray[i], columns[i])));
@@ -312,11 +330,11 @@ private String toCSV(JSONObject json) {
           break;
         case ENUM:
         case TEXT:
-          csvString.append(toCSVString(obj.toString()));
+          appendCSVString(csvString, obj.toString());
           break;
         case BINARY:
         case UNKNOWN:
-          csvString.append(toCSVByteArray(Base64.decodeBase64(obj.toString())));
+          appendCSVByteArray(csvString, Base64.decodeBase64(obj.toString()));
           break;
         case FIXED_POINT:
           csvString.append(toCSVFixedPoint(obj, columns[i]));
@@ -353,7 +371,6 @@ private String toCSV(JSONObject json) {
     return csvString.toString();
   }
 
-  @SuppressWarnings("unchecked")
   private Object[] toObject(JSONObject json) {
 
     if (json == null) {
@@ -361,67 +378,57 @@ private Object[] toObject(JSONObject json) {
     }
     Column[] columns = schema.getColumnsArray();
     Object[] object = new Object[columns.length];
+    @SuppressWarnings("unchecked")
     Set<Map.Entry<String,Object>> entrySet = json.entrySet();
     for (Map.Entry<String,Object> entry : entrySet) {
       Integer nameIndex = schema.getColumnNameIndex(entry.getKey());
-      Column column = columns[nameIndex];
-
-      Object obj = entry.getValue();
-      // null is a possible value
-      if (obj == null && !column.isNullable()) {
-        throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
-            column.getName() + " does not support null values");
-      }
-      if (obj == null) {
-        object[nameIndex] = null;
-        continue;
-      }
-      switch (column.getType()) {
-      case ARRAY:
-      case SET:
-        object[nameIndex] = toList((JSONArray) obj).toArray();
-        break;
-      case MAP:
-        object[nameIndex] = toMap((JSONObject) obj);
-        break;
-      case ENUM:
-      case TEXT:
-        object[nameIndex] = toText(obj.toString());
-        break;
-      case BINARY:
-      case UNKNOWN:
-        // JSON spec is to store byte array as base64 encoded
-        object[nameIndex] = Base64.decodeBase64(obj.toString());
-        break;
-      case FIXED_POINT:
-        object[nameIndex] = toFixedPoint(obj.toString(), column);
-        break;
-      case FLOATING_POINT:
-        object[nameIndex] = toFloatingPoint(obj.toString(), column);
-        break;
-      case DECIMAL:
-        object[nameIndex] = toDecimal(obj.toString(), column);
-        break;
-      case DATE:
-        object[nameIndex] = toDate(obj.toString(), column);
-        break;
-      case TIME:
-        object[nameIndex] = toTime(obj.toString(), column);
-        break;
-      case DATE_TIME:
-        object[nameIndex] = toDateTime(obj.toString(), column);
-        break;
-      case BIT:
-        object[nameIndex] = toBit(obj.toString());
-        break;
-      default:
-        throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
-            "Column type from schema was not recognized for " + column.getType());
-      }
+      object[nameIndex] = toObject(entry.getValue(), columns[nameIndex]);
     }
     return object;
   }
 
+  private Object toObject(Object obj, Column column) {
+    // null is a possible value
+    if (obj == null && !column.isNullable()) {
+      throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0005,
+          column.getName() + " does not support null values");
+    }
+    if (obj == null) {
+      return null;
+    }
+    switch (column.getType()) {
+    case ARRAY:
+    case SET:
+      return toList((JSONArray) obj).toArray();
+    case MAP:
+      return toMap((JSONObject) obj);
+    case ENUM:
+    case TEXT:
+      return toText(obj.toString());
+    case BINARY:
+    case UNKNOWN:
+      // JSON spec is to store byte array as base64 encoded
+      return Base64.decodeBase64(obj.toString());
+    case FIXED_POINT:
+      return toFixedPoint(obj.toString(), column);
+    case FLOATING_POINT:
+      return toFloatingPoint(obj.toString(), column);
+    case DECIMAL:
+      return toDecimal(obj.toString(), column);
+    case DATE:
+      return toDate(obj.toString(), column);
+    case TIME:
+      return toTime(obj.toString(), column);
+    case DATE_TIME:
+      return toDateTime(obj.toString(), column);
+    case BIT:
+      return toBit(obj.toString());
+    default:
+      throw new SqoopException(IntermediateDataFormatError.INTERMEDIATE_DATA_FORMAT_0001,
+          "Column type from schema was not recognized for " + column.getType());
+    }
+  }
+
   @Override
   public String toString() {
     return this.data.toJSONString();
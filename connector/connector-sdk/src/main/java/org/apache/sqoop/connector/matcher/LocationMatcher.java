@@ -20,7 +20,6 @@
 import org.apache.sqoop.classification.InterfaceAudience;
 import org.apache.sqoop.classification.InterfaceStability;
 import org.apache.sqoop.schema.Schema;
-import org.apache.sqoop.schema.type.Column;
 
 /**
  * Convert data according to FROM schema to data according to TO schema. This is
@@ -35,29 +34,12 @@ public class LocationMatcher extends Matcher implements Serializable {
 
   public LocationMatcher(Schema from, Schema to) {
     super(from, to);
-  }
-
-  @Override
-  public Object[] getMatchingData(Object[] fields) {
-    if (getToSchema().isEmpty()) {
-      // No destination schema found. No need to convert anything.
-      return fields;
-    }
-
-    Object[] out = new Object[getToSchema().getColumnsCount()];
-    int i = 0;
 
-    for (Column col : getToSchema().getColumnsList()) {
-      if (i < fields.length) {
-        out[i] = fields[i];
-      }
-      // We ran out of fields before we ran out of schema
-      else {
-        tryFillNullInArrayForUnexpectedColumn(col, out, i);
-      }
-      i++;
+    int[] fromIndexes = new int[getToSchema().getColumnsCount()];
+    for (int i = 0; i < fromIndexes.length; i++) {
+      fromIndexes[i] = i;
     }
-    return out;
+    setFromIndexes(fromIndexes);
   }
 
-}
\ No newline at end of file
+}
@@ -21,6 +21,7 @@
 import org.apache.sqoop.classification.InterfaceStability;
 import org.apache.log4j.Logger;
 import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
 import org.apache.sqoop.schema.ByteArraySchema;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.schema.SchemaError;
@@ -31,9 +32,19 @@
 public abstract class Matcher implements Serializable {
 
   private static final Logger LOG = Logger.getLogger(Matcher.class);
+
+  // Values of fromIndexes for the TO columns without source column
+  private static final int NULL_SOURCE = -1;
+  private static final int NO_SOURCE = -2;
+
   private final Schema fromSchema;
   private final Schema toSchema;
 
+  // FROM column index of every TO column, or NULL_SOURCE/NO_SOURCE
+  private int[] fromIndexes;
+  private Column[] toColumns;
+  private transient Object[] outputBuffer;
+
   public Matcher(Schema fromSchema, Schema toSchema) {
     if (fromSchema.isEmpty() && toSchema.isEmpty()) {
       this.fromSchema = ByteArraySchema.getInstance();
@@ -54,9 +65,50 @@ public Matcher(Schema fromSchema, Schema toSchema) {
    *
    * @param fields
    * @return Return the data in "fields" converted from matching the fromSchema to matching the toSchema.
-   * Right not "converted" means re-ordering if needed and handling nulls.
+   * Right not "converted" means re-ordering if needed and handling nulls. The returned array is
+   * reused by the next call.
+   */
+  public Object[] getMatchingData(Object[] fields) {
+    if (toSchema.isEmpty()) {
+      // No destination schema found. No need to convert anything.
+      return fields;
+    }
+
+    Object[] out = getOutputBuffer();
+    for (int i = 0; i < fromIndexes.length; i++) {
+      int fromIndex = fromIndexes[i];
+      if (fromIndex >= 0 && fromIndex < fields.length) {
+        out[i] = fields[fromIndex];
+      } else {
+        fillUnmatched(out, i);
+      }
+    }
+    return out;
+  }
+
+  /**
+   *
+   * @param fromIDF
+   * @return Same as {@link #getMatchingData(Object[])} for the row held by "fromIDF", fetching
+   * only the FROM columns that are copied into the TO row.
    */
-  abstract public Object[] getMatchingData(Object[] fields);
+  public Object[] getMatchingData(IntermediateDataFormat<?> fromIDF) {
+    if (toSchema.isEmpty()) {
+      // No destination schema found. No need to convert anything.
+      return fromIDF.getObjectData();
+    }
+
+    Object[] out = getOutputBuffer();
+    for (int i = 0; i < fromIndexes.length; i++) {
+      int fromIndex = fromIndexes[i];
+      if (fromIndex >= 0) {
+        out[i] = fromIDF.getObjectData(fromIndex);
+      } else {
+        fillUnmatched(out, i);
+      }
+    }
+    return out;
+  }
 
   public Schema getFromSchema() {
     return fromSchema;
@@ -66,6 +118,49 @@ public Schema getToSchema() {
     return toSchema;
   }
 
+  /**
+   * Compile the projection applied to every row, called once by the matchers
+   * when they are created.
+   *
+   * @param fromIndexes FROM column index of every TO column, or a negative
+   *          value for the TO columns without source column
+   */
+  protected void setFromIndexes(int[] fromIndexes) {
+    Column[] toColumns = toSchema.getColumnsArray();
+    this.toColumns = toColumns;
+    this.fromIndexes = new int[toColumns.length];
+    int fromCount = fromSchema.getColumnsCount();
+    for (int i = 0; i < toColumns.length; i++) {
+      int fromIndex = (i < fromIndexes.length) ? fromIndexes[i] : NO_SOURCE;
+      if (fromIndex < 0 || fromIndex >= fromCount) {
+        if (toColumns[i].isNullable()) {
+          LOG.warn("Column " + toColumns[i] +
+              " has no matching source column. Will be ignored.");
+          fromIndex = NULL_SOURCE;
+        } else {
+          // reported when the first row is matched
+          fromIndex = NO_SOURCE;
+        }
+      }
+      this.fromIndexes[i] = fromIndex;
+    }
+  }
+
+  private Object[] getOutputBuffer() {
+    if (outputBuffer == null) {
+      outputBuffer = new Object[fromIndexes.length];
+    }
+    return outputBuffer;
+  }
+
+  private void fillUnmatched(Object[] out, int index) {
+    if (fromIndexes[index] == NULL_SOURCE) {
+      out[index] = null;
+    } else {
+      tryFillNullInArrayForUnexpectedColumn(toColumns[index], out, index);
+    }
+  }
+
   protected void tryFillNullInArrayForUnexpectedColumn(Column column,
       Object[] array, int index) throws SqoopException {
     if (!column.isNullable()) {
@@ -22,6 +22,7 @@
 
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.Map;
 
 /**
  * Convert data according to FROM schema to data according to TO schema. This is
@@ -33,40 +34,26 @@
 @InterfaceStability.Unstable
 public class NameMatcher extends Matcher implements Serializable {
 
-  private HashMap<String, Integer> fromColNameIndexMap;
-
   public NameMatcher(Schema from, Schema to) {
     super(from, to);
 
-    fromColNameIndexMap = new HashMap<String, Integer>();
+    Map<String, Integer> fromColNameIndexMap = new HashMap<String, Integer>();
     int fromIndex = 0;
 
     for (Column fromCol : getFromSchema().getColumnsList()) {
       fromColNameIndexMap.put(fromCol.getName(), fromIndex);
       fromIndex++;
     }
-  }
-
-  @Override
-  public Object[] getMatchingData(Object[] fields) {
-    if (getToSchema().isEmpty()) {
-      // No destination schema found. No need to convert anything.
-      return fields;
-    }
 
-    Object[] out = new Object[getToSchema().getColumnsCount()];
+    int[] fromIndexes = new int[getToSchema().getColumnsCount()];
     int i = 0;
 
     for (Column toCol : getToSchema().getColumnsList()) {
-      Integer fromIndex = fromColNameIndexMap.get(toCol.getName());
-      if (fromIndex != null && fromIndex < fields.length) {
-          out[i] = fields[fromIndex];
-      } else {
-        tryFillNullInArrayForUnexpectedColumn(toCol, out, i);
-      }
+      Integer index = fromColNameIndexMap.get(toCol.getName());
+      fromIndexes[i] = (index != null) ? index : -1;
       i++;
     }
-    return out;
+    setFromIndexes(fromIndexes);
   }
 
-}
\ No newline at end of file
+}
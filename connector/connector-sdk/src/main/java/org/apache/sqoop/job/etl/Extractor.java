@@ -16,6 +16,8 @@
 package org.apache.sqoop.job.etl;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 
 import org.apache.sqoop.classification.InterfaceAudience;
 import org.apache.sqoop.classification.InterfaceStability;
@@ -54,4 +56,16 @@ public abstract void extract(ExtractorContext context,
    */
   public abstract long getRowsRead();
 
+  /**
+   * Return connector specific counters of the last call to
+   * {@linkplain Extractor#extract(org.apache.sqoop.job.etl.ExtractorContext, java.lang.Object, java.lang.Object, Partition) }
+   * method, keyed by counter name. Execution engines report them next to the
+   * number of rows read, grouped by extractor class.
+   *
+   * @return counter values of the last call, empty by default
+   */
+  public Map<String, Long> getCounters() {
+    return Collections.emptyMap();
+  }
+
 }
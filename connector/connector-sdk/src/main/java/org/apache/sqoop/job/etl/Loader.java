@@ -16,6 +16,8 @@
 package org.apache.sqoop.job.etl;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 
 import org.apache.sqoop.classification.InterfaceAudience;
 import org.apache.sqoop.classification.InterfaceStability;
@@ -50,4 +52,16 @@ public abstract void load(LoaderContext context, LinkConfiguration linkConfigura
    */
   public abstract long getRowsWritten();
 
+  /**
+   * Return connector specific counters of the last call to
+   * {@linkplain Loader#load(org.apache.sqoop.job.etl.LoaderContext, java.lang.Object, java.lang.Object) }
+   * method, keyed by counter name. Execution engines report them next to the
+   * number of rows written, grouped by loader class.
+   *
+   * @return counter values of the last call, empty by default
+   */
+  public Map<String, Long> getCounters() {
+    return Collections.emptyMap();
+  }
+
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.common;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Column;
+import org.apache.sqoop.schema.type.ColumnType;
+
+/**
+ * Text related part of the CSV codec as it was before the single pass
+ * rewrite, for TEXT and FIXED_POINT columns.
+ */
+final class LegacyCSVCodec {
+
+  private static final Map<Character, String> ORIGINALS = new HashMap<Character, String>();
+  private static final Map<Character, Character> REPLACEMENTS = new HashMap<Character, Character>();
+
+  static {
+    ORIGINALS.put((char) 0x00, "\\0");
+    ORIGINALS.put((char) 0x0A, "\\n");
+    ORIGINALS.put((char) 0x0D, "\\r");
+    ORIGINALS.put((char) 0x1A, "\\Z");
+    ORIGINALS.put((char) 0x22, "\\\"");
+    ORIGINALS.put((char) 0x27, "\\'");
+
+    REPLACEMENTS.put('0', (char) 0x00);
+    REPLACEMENTS.put('n', (char) 0x0A);
+    REPLACEMENTS.put('r', (char) 0x0D);
+    REPLACEMENTS.put('Z', (char) 0x1A);
+    REPLACEMENTS.put('"', (char) 0x22);
+    REPLACEMENTS.put('\'', (char) 0x27);
+  }
+
+  private LegacyCSVCodec() {
+  }
+
+  static String toCSV(Object[] objectArray, Schema schema) {
+    Column[] columns = schema.getColumnsArray();
+    StringBuilder csvString = new StringBuilder();
+    for (int i = 0; i < columns.length; i++) {
+      if (objectArray[i] == null) {
+        csvString.append(SqoopIDFUtils.NULL_VALUE);
+      } else if (columns[i].getType() == ColumnType.TEXT) {
+        csvString.append(toCSVString(objectArray[i].toString()));
+      } else {
+        csvString.append(SqoopIDFUtils.toCSVFixedPoint(objectArray[i], columns[i]));
+      }
+      if (i < columns.length - 1) {
+        csvString.append(SqoopIDFUtils.CSV_SEPARATOR_CHARACTER);
+      }
+    }
+    return csvString.toString();
+  }
+
+  static String toCSVString(String string) {
+    StringBuilder sb1 = new StringBuilder();
+    StringBuilder sb2 = new StringBuilder();
+    for (int i = 0; i < string.length(); ++i) {
+      char c = string.charAt(i);
+      if (c == SqoopIDFUtils.ESCAPE_CHARACTER) {
+        sb1.append(SqoopIDFUtils.ESCAPE_CHARACTER);
+      }
+      sb1.append(c);
+    }
+    for (char c : sb1.toString().toCharArray()) {
+      if (ORIGINALS.containsKey(c)) {
+        sb2.append(ORIGINALS.get(c));
+      } else {
+        sb2.append(c);
+      }
+    }
+    return new StringBuilder().append(SqoopIDFUtils.QUOTE_CHARACTER).append(sb2.toString())
+        .append(SqoopIDFUtils.QUOTE_CHARACTER).toString();
+  }
+
+  static String toText(String string) {
+    boolean escaped = false;
+    StringBuilder sb = new StringBuilder();
+    String quote = String.valueOf(SqoopIDFUtils.QUOTE_CHARACTER);
+    if (string.startsWith(quote) && string.endsWith(quote)) {
+      string = string.substring(1, string.length() - 1);
+    }
+    for (int i = 0; i < string.length(); ++i) {
+      char c = string.charAt(i);
+      if (escaped) {
+        escaped = false;
+        if (REPLACEMENTS.containsKey(c)) {
+          c = REPLACEMENTS.get(c);
+        }
+        sb.append(c);
+      } else if (c == SqoopIDFUtils.ESCAPE_CHARACTER) {
+        escaped = true;
+      } else {
+        sb.append(c);
+      }
+    }
+    return sb.toString();
+  }
+
+  static String[] parseCSVString(String csvText) {
+    boolean quoted = false;
+    boolean escaped = false;
+    List<String> parsedData = new LinkedList<String>();
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < csvText.length(); ++i) {
+      char c = csvText.charAt(i);
+      switch (c) {
+      case SqoopIDFUtils.QUOTE_CHARACTER:
+        builder.append(c);
+        if (escaped) {
+          escaped = false;
+        } else {
+          quoted = !quoted;
+        }
+        break;
+      case SqoopIDFUtils.ESCAPE_CHARACTER:
+        builder.append(c);
+        escaped = !escaped;
+        break;
+      case SqoopIDFUtils.CSV_SEPARATOR_CHARACTER:
+        if (quoted) {
+          builder.append(c);
+        } else {
+          parsedData.add(builder.toString());
+          builder = new StringBuilder();
+        }
+        break;
+      default:
+        escaped = false;
+        builder.append(c);
+        break;
+      }
+    }
+    parsedData.add(builder.toString());
+    return parsedData.toArray(new String[parsedData.size()]);
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.connector.common;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.testng.annotations.Test;
+
+public class TestSqoopIDFSerializationUtils {
+
+  private static byte[] write(String text) throws IOException {
+    return write(text, true);
+  }
+
+  private static byte[] write(String text, boolean compress) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SqoopIDFSerializationUtils.writeText(new DataOutputStream(bytes), text, compress);
+    return bytes.toByteArray();
+  }
+
+  private static String read(byte[] frame) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+    String text = SqoopIDFSerializationUtils.readText(in);
+    assertEquals(in.available(), 0);
+    return text;
+  }
+
+  private static String randomText(Random random, int length, String alphabet) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return builder.toString();
+  }
+
+  @Test
+  public void testRoundTrip() throws IOException {
+    String[] texts = new String[] {
+        "",
+        "1,'text',NULL",
+        "caf\u00e9 \u20ac \ud83d\ude00",
+        // unpaired surrogates
+        "\ud83d,\ude00,\ud83d",
+        "\u0000\u007f\u0080\u07ff\u0800\uffff"
+    };
+    for (String text : texts) {
+      byte[] frame = write(text);
+      assertEquals(frame[0], (byte) 0x10);
+      assertEquals(read(frame), text);
+    }
+  }
+
+  @Test
+  public void testRoundTripOfLargeRows() throws IOException {
+    Random random = new Random(1);
+    // compressible, larger than the 64KB limit of writeUTF
+    String text = randomText(random, 200000, "abc,'");
+    byte[] frame = write(text);
+    assertEquals(frame[0], (byte) 0x11);
+    assertTrue(frame.length < text.length() / 2);
+    assertEquals(read(frame), text);
+
+    // hardly compressible
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100000; i++) {
+      builder.append((char) (0x20 + random.nextInt(0x7000)));
+    }
+    text = builder.toString();
+    frame = write(text);
+    assertEquals(read(frame), text);
+  }
+
+  @Test
+  public void testLargeRowsAreNotCompressedByDefault() throws IOException {
+    String text = randomText(new Random(3), 200000, "abc,'");
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    SqoopIDFSerializationUtils.writeText(new DataOutputStream(bytes), text);
+    byte[] frame = bytes.toByteArray();
+    assertEquals(frame[0], (byte) 0x10);
+    assertTrue(frame.length > text.length());
+    assertEquals(read(frame), text);
+
+    frame = write(text, false);
+    assertEquals(frame[0], (byte) 0x10);
+    assertEquals(read(frame), text);
+  }
+
+  @Test
+  public void testCompareMatchesStringOrder() throws IOException {
+    Random random = new Random(2);
+    String alphabet = "ab\u00e9\ud7ff\ue000\uffff\ud83d\ude00\ud800\udc00";
+    for (int i = 0; i < 5000; i++) {
+      String text1 = randomText(random, random.nextInt(6), alphabet);
+      String text2 = random.nextBoolean() ? text1 + randomText(random, random.nextInt(3), alphabet)
+          : randomText(random, random.nextInt(6), alphabet);
+      byte[] frame1 = write(text1);
+      byte[] frame2 = write(text2);
+      int expected = Integer.signum(text1.compareTo(text2));
+      assertEquals(Integer.signum(SqoopIDFSerializationUtils.compareText(frame1, 0, frame1.length, frame2, 0,
+          frame2.length)), expected, text1 + " <> " + text2);
+    }
+  }
+
+  @Test
+  public void testCompareCompressedRows() throws IOException {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 50000; i++) {
+      builder.append('a');
+    }
+    String large = builder.toString();
+    byte[] frame1 = write(large + "b");
+    byte[] frame2 = write("ab");
+    assertEquals(frame1[0], (byte) 0x11);
+    assertTrue(SqoopIDFSerializationUtils.compareText(frame1, 0, frame1.length, frame2, 0, frame2.length) < 0);
+    assertTrue(SqoopIDFSerializationUtils.compareText(frame2, 0, frame2.length, frame1, 0, frame1.length) > 0);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testUnsupportedVersion() throws IOException {
+    read(new byte[] { 0x20, 0 });
+  }
+}
@@ -34,6 +34,7 @@
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 public class TestSqoopIDFUtils {
 
@@ -190,6 +191,16 @@ public void testToCSVFixedPointWithIntUnSignedAsLong() {
     assertTrue(Long.valueOf(encodedText) instanceof Long);
   }
 
+  @Test
+  public void testUnsignedLongBeyondLongRange() {
+    Column col = new FixedPoint("ft", 8L, false);
+    BigDecimal max = new BigDecimal("18446744073709551615");
+    String encodedText = toCSVFixedPoint(max, col);
+    assertEquals(encodedText, "18446744073709551615");
+    assertEquals(toFixedPoint(encodedText, col), max);
+    assertEquals(toFixedPoint("42", col), 42L);
+  }
+
   @Test
   public void testToCSVFixedPointWithLongAsInt() {
     Column col = new FixedPoint("ft", 2L, false);
@@ -384,4 +395,81 @@ public void testEscaping() {
       assertEquals(SqoopIDFUtils.toText(csvData), testDatum[0]);
     }
   }
+
+  @Test
+  public void testByteArrayRoundTrip() throws UnsupportedEncodingException {
+    byte[] bytes = new byte[256];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) i;
+    }
+    String csvData = toCSVByteArray(bytes);
+    assertEquals(csvData, toCSVString(new String(bytes, BYTE_FIELD_CHARSET)));
+    assertEquals(toByteArray(csvData), bytes);
+  }
+
+  @Test
+  public void testToByteArrayWithCharacterOutsideCharset() throws UnsupportedEncodingException {
+    String csvData = "'a\u20ACb'";
+    assertEquals(toByteArray(csvData), toText(csvData).getBytes(BYTE_FIELD_CHARSET));
+  }
+
+  @Test
+  public void testAppendCSVString() {
+    StringBuilder builder = new StringBuilder("prefix,");
+    appendCSVString(builder, "a'b\\c");
+    assertEquals(builder.toString(), "prefix,'a\\'b\\\\c'");
+  }
+
+  @Test
+  public void testParseCSVStringWithEscapedQuotesAndSeparators() {
+    String csv = "'it\\'s, quoted',NULL,'\\\\',''";
+    String[] arr = parseCSVString(csv);
+    assertEquals(arr.length, 4);
+    assertEquals(arr[0], "'it\\'s, quoted'");
+    assertEquals(arr[1], "NULL");
+    assertEquals(arr[2], "'\\\\'");
+    assertEquals(arr[3], "''");
+  }
+
+  @Test
+  public void testParseCSVStringWithManyFields() {
+    StringBuilder csv = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      if (i > 0) {
+        csv.append(CSV_SEPARATOR_CHARACTER);
+      }
+      csv.append(toCSVString("field," + i));
+    }
+    String[] arr = parseCSVString(csv.toString());
+    assertEquals(arr.length, 1000);
+    for (int i = 0; i < arr.length; i++) {
+      assertEquals(toText(arr[i]), "field," + i);
+    }
+    // the parser state is reused by the next call
+    assertEquals(parseCSVString("1,2").length, 2);
+  }
+
+  @Test
+  public void testSameEncodingAsLegacyCodec() {
+    Random random = new Random(7);
+    char[] alphabet = "ab,'\"\\\n\r\0\u001A0nrZ\u00E9\u20AC".toCharArray();
+    for (int n = 0; n < 1000; n++) {
+      StringBuilder builder = new StringBuilder();
+      int length = random.nextInt(20);
+      for (int i = 0; i < length; i++) {
+        builder.append(alphabet[random.nextInt(alphabet.length)]);
+      }
+      String text = builder.toString();
+      String csvData = toCSVString(text);
+      assertEquals(csvData, LegacyCSVCodec.toCSVString(text));
+      assertEquals(toText(csvData), LegacyCSVCodec.toText(csvData));
+      // a lone quote is not a valid field for either codec
+      if (!text.equals("'")) {
+        assertEquals(toText(text), LegacyCSVCodec.toText(text));
+      }
+
+      String csvRow = text + "," + csvData + ",1";
+      assertEquals(parseCSVString(csvRow), LegacyCSVCodec.parseCSVString(csvRow));
+    }
+  }
 }
@@ -20,6 +20,8 @@
 import static org.apache.sqoop.connector.common.TestSqoopIDFUtils.getByteFieldString;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertSame;
 
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
@@ -38,6 +40,12 @@
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -168,6 +176,20 @@ private void assertObjectArray() {
 
   }
 
+  @Test
+  public void testSingleColumnOut() {
+    String csvText = "10,34,'54','random data',"
+        + getByteFieldString(new byte[] { (byte) -112, (byte) 54 }) + ",'" + String.valueOf(0x0A)
+        + "','ENUM'," + csvArray + "," + map + ",true," + csvDateTime + "," + csvTime + ","
+        + csvDate + ",13.44," + csvSet;
+    dataFormat.setCSVTextData(csvText);
+    Object[] expected = dataFormat.getObjectData();
+    for (int i = expected.length - 1; i >= 0; i--) {
+      assertEquals(Arrays.deepToString(new Object[] { dataFormat.getObjectData(i) }),
+          Arrays.deepToString(new Object[] { expected[i] }));
+    }
+  }
+
   @Test
   public void testInputAsCSVTextInCSVTextOut() {
     String csvText = "10,34,'54','random data',"
@@ -254,6 +276,32 @@ public void testInputAsDataInAndDataOut() {
     assertEquals(avroObject, dataFormat.getData());
   }
 
+  /**
+   * setDataFrom with an AVRO and a CSV source IDF
+   */
+  @Test
+  public void testInputAsAVRODataFromAndDataOut() {
+    GenericRecord avroObject = createAvroGenericRecord();
+    AVROIntermediateDataFormat source = new AVROIntermediateDataFormat(dataFormat.getSchema());
+    source.setData(avroObject);
+    dataFormat.setDataFrom(source);
+    // the record is copied, records holding maps can only be compared through their text
+    assertNotSame(avroObject, dataFormat.getData());
+    assertEquals(avroObject.toString(), dataFormat.getData().toString());
+  }
+
+  @Test
+  public void testInputAsCSVDataFromAndDataOut() {
+    String csvText = "10,34,'54','random data',"
+        + getByteFieldString(new byte[] { (byte) -112, (byte) 54 }) + ",'" + String.valueOf(0x0A)
+        + "','ENUM'," + csvArray + "," + map + ",true," + csvDateTime + "," + csvTime + ","
+        + csvDate + ",13.44," + csvSet;
+    CSVIntermediateDataFormat source = new CSVIntermediateDataFormat(dataFormat.getSchema());
+    source.setCSVTextData(csvText);
+    dataFormat.setDataFrom(source);
+    assertEquals(createAvroGenericRecord().toString(), dataFormat.getData().toString());
+  }
+
   private Object[] createObjectArray() {
     Object[] out = new Object[15];
     out[0] = 10L;
@@ -333,6 +381,90 @@ public void testInputAsObjectArrayInAndObjectArrayOut() {
     assertObjectArray();
   }
 
+  @Test
+  public void testWriteAndReadRowsThroughOneStream() throws IOException {
+    // maps are left out, their avro schema does not match the java maps stored in the records
+    Object[] row = createObjectArray();
+    row[8] = null;
+    Object[][] rows = new Object[][] {
+        row,
+        { 20L, 21, "a", null, new byte[] { 1 }, "b", "NUME", null, null, false, null, null, null,
+            1.5f, null },
+        row };
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    for (Object[] values : rows) {
+      dataFormat.setObjectData(values);
+      dataFormat.write(out);
+    }
+
+    // as created by the execution engine
+    AVROIntermediateDataFormat readFormat = new AVROIntermediateDataFormat();
+    readFormat.setSchema(dataFormat.getSchema());
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    for (Object[] values : rows) {
+      dataFormat.setObjectData(values);
+      readFormat.read(in);
+      assertEquals(readFormat.getCSVTextData(), dataFormat.getCSVTextData());
+    }
+    assertEquals(in.available(), 0);
+  }
+
+  @Test
+  public void testRecordIsReusedAcrossRows() {
+    dataFormat.setObjectData(createObjectArray());
+    GenericRecord first = dataFormat.getData();
+    Utf8 text = (Utf8) first.get("three");
+    Object[] row = createObjectArray();
+    row[2] = "other";
+    dataFormat.setObjectData(row);
+    assertSame(dataFormat.getData(), first);
+    assertSame(first.get("three"), text);
+    assertEquals(text.toString(), "other");
+  }
+
+  @Test
+  public void testGivenRecordIsNotModified() {
+    GenericRecord given = new GenericData.Record(avroSchema);
+    given.put("three", new Utf8("given"));
+    dataFormat.setData(given);
+    dataFormat.setObjectData(createObjectArray());
+    assertNotSame(dataFormat.getData(), given);
+    assertEquals(given.get("three").toString(), "given");
+    assertNull(given.get("one"));
+  }
+
+  @Test
+  public void testSetDataFromCopiesTheRecord() {
+    AVROIntermediateDataFormat copy = new AVROIntermediateDataFormat(dataFormat.getSchema());
+    dataFormat.setObjectData(createObjectArray());
+    String expected = dataFormat.getCSVTextData();
+    copy.setDataFrom(dataFormat);
+    Object[] row = createObjectArray();
+    row[2] = "other";
+    dataFormat.setObjectData(row);
+    assertEquals(copy.getCSVTextData(), expected);
+  }
+
+  @Test
+  public void testSetDataFromRefillsTheRecordInPlace() {
+    AVROIntermediateDataFormat copy = new AVROIntermediateDataFormat(dataFormat.getSchema());
+    dataFormat.setObjectData(createObjectArray());
+    copy.setDataFrom(dataFormat);
+    GenericRecord first = copy.getData();
+    Object text = first.get("three");
+    assertNotSame(text, dataFormat.getData().get("three"));
+
+    Object[] row = createObjectArray();
+    row[2] = "a longer value than before";
+    dataFormat.setObjectData(row);
+    String expected = dataFormat.getCSVTextData();
+    copy.setDataFrom(dataFormat);
+    assertSame(copy.getData(), first);
+    assertSame(first.get("three"), text);
+    assertEquals(copy.getCSVTextData(), expected);
+  }
+
   // **************test cases for empty and null schema*******************
   @Test(expectedExceptions = SqoopException.class)
   public void testEmptySchema() {
@@ -540,4 +672,21 @@ public void testSchemaNotNullableWithAvro() {
     dataFormat.getData();
   }
 
+  @Test
+  public void testDecimalInputAsObjectArrayInAndCSVOut() {
+    Schema decimalSchema = new Schema("Test").addColumn(new org.apache.sqoop.schema.type.Decimal("one", 10, 2));
+    AVROIntermediateDataFormat dataFormat = new AVROIntermediateDataFormat(decimalSchema);
+    dataFormat.setObjectData(new Object[] { new BigDecimal("12.34") });
+    assertEquals("12.34", dataFormat.getCSVTextData());
+  }
+
+  @Test
+  public void testDecimalInputAsObjectArrayInAndObjectArrayOut() {
+    Schema decimalSchema = new Schema("Test").addColumn(new org.apache.sqoop.schema.type.Decimal("one", 10, 2));
+    AVROIntermediateDataFormat dataFormat = new AVROIntermediateDataFormat(decimalSchema);
+    dataFormat.setObjectData(new Object[] { new BigDecimal("12.34") });
+    assertEquals(new BigDecimal("12.34"), dataFormat.getObjectData()[0]);
+    assertEquals(new BigDecimal("12.34"), dataFormat.getObjectData(0));
+  }
+
 }
@@ -22,6 +22,11 @@
 import static org.apache.sqoop.connector.common.SqoopIDFUtils.*;
 import static org.apache.sqoop.connector.common.TestSqoopIDFUtils.getByteFieldString;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -223,6 +228,46 @@ public void testInputAsCSVTextInObjectOutWithSingleColumn() {
     assertEquals("\"hello, world\"",out[0]);
   }
 
+  @Test
+  public void testInputAsCSVTextInSingleColumnOut() {
+    String testData = "10,34,'54','random data'," + getByteFieldString(new byte[] { (byte) -112, (byte) 54})
+      + ",'\\n','TEST_ENUM',NULL";
+    Schema schema = new Schema("test");
+    schema.addColumn(new FixedPoint("1", 8L, true))
+        .addColumn(new FixedPoint("2", 4L, true))
+        .addColumn(new Text("3"))
+        .addColumn(new Text("4"))
+        .addColumn(new Binary("5"))
+        .addColumn(new Text("6"))
+        .addColumn(new org.apache.sqoop.schema.type.Enum("7"))
+        .addColumn(new FloatingPoint("ft", 2L));
+
+    dataFormat = new CSVIntermediateDataFormat(schema);
+    dataFormat.setCSVTextData(testData);
+    Object[] expected = dataFormat.getObjectData();
+
+    // decode in reverse order and twice, from the index of the row
+    for (int i = expected.length - 1; i >= 0; i--) {
+      assertEquals(dataFormat.getObjectData(i), expected[i]);
+      assertEquals(dataFormat.getObjectData(i), expected[i]);
+    }
+
+    // a new row replaces the index
+    dataFormat.setCSVTextData("11,35,'55','other data','','','TEST_ENUM',1.5");
+    assertEquals(dataFormat.getObjectData(0), 11L);
+    assertEquals(dataFormat.getObjectData(3), "other data");
+    assertEquals(dataFormat.getObjectData(7), 1.5f);
+  }
+
+  @Test(expectedExceptions = SqoopException.class)
+  public void testInputAsCSVTextWithWrongNumberOfFieldsInSingleColumnOut() {
+    Schema schema = new Schema("test");
+    schema.addColumn(new Text("1")).addColumn(new Text("2"));
+    dataFormat = new CSVIntermediateDataFormat(schema);
+    dataFormat.setCSVTextData("'a','b','c'");
+    dataFormat.getObjectData(0);
+  }
+
   @Test
   public void testInputAsCSVTextInObjectOut() {
 
@@ -1176,4 +1221,45 @@ public void testSchemaNotNullable() {
     out[0] = null;
     dataFormat.setObjectData(out);
   }
+
+  //**************test cases for serialization*******************
+
+  @Test
+  public void testWriteAndReadRowLargerThan64KB() throws IOException {
+    Schema schema = new Schema("test");
+    schema.addColumn(new FixedPoint("1", 8L, true)).addColumn(new Text("2"));
+    dataFormat = new CSVIntermediateDataFormat(schema);
+    dataFormat.setObjectData(new Object[] { 1L, StringUtils.repeat("\u00e9 text, ", 20000) });
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    dataFormat.write(new DataOutputStream(bytes));
+
+    CSVIntermediateDataFormat other = new CSVIntermediateDataFormat(schema);
+    other.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    assertEquals(other.getCSVTextData(), dataFormat.getCSVTextData());
+  }
+
+  @Test
+  public void testCompareRawLikeCompareTo() throws IOException {
+    Schema schema = new Schema("test");
+    schema.addColumn(new Text("1"));
+    String[] values = new String[] { "a", "b", "ab", "", "\ud83d\ude00", "\uffff" };
+    for (String value1 : values) {
+      for (String value2 : values) {
+        CSVIntermediateDataFormat first = new CSVIntermediateDataFormat(schema);
+        first.setObjectData(new Object[] { value1 });
+        CSVIntermediateDataFormat second = new CSVIntermediateDataFormat(schema);
+        second.setObjectData(new Object[] { value2 });
+
+        ByteArrayOutputStream bytes1 = new ByteArrayOutputStream();
+        first.write(new DataOutputStream(bytes1));
+        ByteArrayOutputStream bytes2 = new ByteArrayOutputStream();
+        second.write(new DataOutputStream(bytes2));
+
+        assertTrue(first.isRawComparable());
+        assertEquals(Integer.signum(first.compareRaw(bytes1.toByteArray(), 0, bytes1.size(),
+            bytes2.toByteArray(), 0, bytes2.size())), Integer.signum(first.compareTo(second)));
+      }
+    }
+  }
 }
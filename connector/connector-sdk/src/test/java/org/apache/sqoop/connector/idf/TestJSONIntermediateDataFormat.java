@@ -321,6 +321,17 @@ public void testInputAsObjectArrayInAndCSVOut() {
     assertEquals(csvText, dataFormat.getCSVTextData());
   }
 
+  @Test
+  public void testSingleColumnOut() {
+    Object[] out = createObjectArray();
+    dataFormat.setObjectData(out);
+    Object[] expected = dataFormat.getObjectData();
+    for (int i = expected.length - 1; i >= 0; i--) {
+      assertEquals(Arrays.deepToString(new Object[] { dataFormat.getObjectData(i) }),
+          Arrays.deepToString(new Object[] { expected[i] }));
+    }
+  }
+
   @Test
   public void testInputAsObjectArrayInAndObjectArrayOut() {
     Object[] out = createObjectArray();
@@ -328,6 +339,19 @@ public void testInputAsObjectArrayInAndObjectArrayOut() {
     assertObjectArray();
   }
 
+  @Test
+  public void testInputAsObjectArrayWithLocalDateTimeInAndCSVOut() {
+    Object[] out = createObjectArray();
+    out[10] = new org.joda.time.LocalDateTime(2014, 10, 01, 12, 0, 0);
+    dataFormat.setObjectData(out);
+    String csvText = "10,34,'54','random data',"
+        + getByteFieldString(new byte[] { (byte) -112, (byte) 54 }) + ",'" + String.valueOf(0x0A)
+        + "','ENUM'," + csvArray + "," + map + ",true," + dateTime + "," + time + "," + date
+        + ",13.44," + csvSet;
+    assertEquals(csvText, dataFormat.getCSVTextData());
+    assertEquals(out[10], dataFormat.getObjectData()[10]);
+  }
+
   // **************test cases for empty and null schema*******************
   @Test(expectedExceptions = SqoopException.class)
   public void testEmptySchema() {
@@ -16,6 +16,7 @@
 package org.apache.sqoop.connector.matcher;
 
 import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
 import org.apache.sqoop.schema.NullSchema;
 import org.apache.sqoop.schema.Schema;
 import org.testng.annotations.BeforeMethod;
@@ -91,4 +92,20 @@ public void testConvertWhenToSchemaIsLongerThanFromSchemaFail() {
     matcher.getMatchingData(fields);
   }
 
-}
\ No newline at end of file
+  /**
+   * Only the FROM columns present in the TO schema are read from the IDF.
+   */
+  @Test
+  public void testProjectionFromIDF() {
+    Schema from = SchemaFixture.createSchema("from", 3);
+    matcher = new LocationMatcher(from, SchemaFixture.createSchema("to", 2));
+    CSVIntermediateDataFormat fromIDF = new CSVIntermediateDataFormat(from);
+    fromIDF.setCSVTextData("'t1','t2','t3'");
+
+    // the matcher reuses its output array
+    Object[] actual = matcher.getMatchingData(fromIDF).clone();
+    assertEquals(actual, new Object[] {"t1", "t2"});
+    assertEquals(actual, matcher.getMatchingData(fromIDF.getObjectData()));
+  }
+
+}
@@ -16,12 +16,14 @@
 package org.apache.sqoop.connector.matcher;
 
 import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
 import org.apache.sqoop.schema.NullSchema;
 import org.apache.sqoop.schema.Schema;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 public class TestNameMatcher {
 
@@ -95,4 +97,41 @@ public void testConvertWhenToSchemaIsLongerThanFromSchemaFail() {
     matcher.getMatchingData(fields);
   }
 
-}
\ No newline at end of file
+  /**
+   * Only the FROM columns present in the TO schema are read from the IDF.
+   */
+  @Test
+  public void testProjectionFromIDF() {
+    Schema from = SchemaFixture.createSchema("from",
+        new String[]{"text1", "text2", "text3"});
+    matcher = new NameMatcher(from,
+        SchemaFixture.createSchema("to",
+            new String[]{"text4", "text3", "text1"}));
+    CSVIntermediateDataFormat fromIDF = new CSVIntermediateDataFormat(from);
+    fromIDF.setCSVTextData("'t1','t2','t3'");
+
+    // the matcher reuses its output array
+    Object[] actual = matcher.getMatchingData(fromIDF).clone();
+    assertEquals(actual, new Object[] {null, "t3", "t1"});
+    assertEquals(actual, matcher.getMatchingData(fromIDF.getObjectData()));
+  }
+
+  /**
+   * The same output array is filled for every row.
+   */
+  @Test
+  public void testOutputIsReused() {
+    matcher = new NameMatcher(
+        SchemaFixture.createSchema("from",
+            new String[]{"text1", "text2"}),
+        SchemaFixture.createSchema("to",
+            new String[]{"text2", "text3", "text1"}));
+
+    Object[] first = matcher.getMatchingData(new Object[] {"a1", "a2"});
+    assertEquals(first, new Object[] {"a2", null, "a1"});
+    Object[] second = matcher.getMatchingData(new Object[] {"b1", "b2"});
+    assertSame(second, first);
+    assertEquals(second, new Object[] {"b2", null, "b1"});
+  }
+
+}
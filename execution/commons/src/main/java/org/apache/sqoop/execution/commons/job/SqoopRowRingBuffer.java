@@ -0,0 +1,230 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.execution.commons.job;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.utils.ClassUtils;
+
+/**
+ * Bounded single-producer/single-consumer ring of pre-allocated row slots used
+ * by the execution engines to hand rows from the extractor thread over to the
+ * loader thread.
+ *
+ * Every slot is an intermediate data format instance created once up front, so
+ * the producer fills a slot in place and the consumer reads it in place. The
+ * two sides only coordinate through the head and tail sequence counters, which
+ * lets the extractor run ahead of the loader by up to {@link #getCapacity()} rows
+ * instead of waking the other thread on every row.
+ *
+ * NOTE: Exactly one thread may call {@link #claim()}/{@link #publish()}/{@link #finish()}
+ * and exactly one other thread may call {@link #take()}/{@link #release()}/{@link #abort()}.
+ */
+public final class SqoopRowRingBuffer {
+
+  // Number of busy-wait rounds before falling back to parking the thread
+  private static final int SPIN_LIMIT = 128;
+
+  private static final long PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final IntermediateDataFormat<?>[] slots;
+  private final int mask;
+
+  // Sequence of the next slot to be read, advanced by the consumer only
+  private final AtomicLong head = new AtomicLong(0);
+  // Sequence of the next slot to be written, advanced by the producer only
+  private final AtomicLong tail = new AtomicLong(0);
+
+  private volatile boolean producerFinished = false;
+  private volatile boolean consumerFinished = false;
+
+  // Producer owned state
+  private long cachedHead = 0;
+  private long producerStallNanos = 0;
+  private long depthTotal = 0;
+
+  // Consumer owned state
+  private long cachedTail = 0;
+  private long consumerStallNanos = 0;
+
+  /**
+   * @param prototype IDF whose class and schema are used for all the slots
+   * @param capacity requested number of slots, rounded up to a power of two
+   */
+  public SqoopRowRingBuffer(IntermediateDataFormat<?> prototype, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Ring buffer capacity must be positive: " + capacity);
+    }
+    int size = Integer.highestOneBit(capacity);
+    if (size < capacity) {
+      size <<= 1;
+    }
+    slots = new IntermediateDataFormat<?>[size];
+    mask = size - 1;
+    slots[0] = prototype;
+    for (int i = 1; i < size; i++) {
+      IntermediateDataFormat<?> slot = (IntermediateDataFormat<?>) ClassUtils.instantiate(prototype.getClass());
+      slot.setSchema(prototype.getSchema());
+      slots[i] = slot;
+    }
+  }
+
+  public int getCapacity() {
+    return slots.length;
+  }
+
+  /**
+   * Return the next free slot for the producer to fill, waiting while the ring
+   * is full.
+   *
+   * @return free slot or null if the consumer has stopped reading
+   * @throws InterruptedException
+   */
+  public IntermediateDataFormat<?> claim() throws InterruptedException {
+    long sequence = tail.get();
+    if (sequence - cachedHead >= slots.length) {
+      cachedHead = head.get();
+      if (sequence - cachedHead >= slots.length) {
+        long start = System.nanoTime();
+        int spins = 0;
+        do {
+          if (consumerFinished) {
+            return null;
+          }
+          idle(spins++);
+          cachedHead = head.get();
+        } while (sequence - cachedHead >= slots.length);
+        producerStallNanos += System.nanoTime() - start;
+      }
+    }
+    return slots[(int) sequence & mask];
+  }
+
+  /**
+   * Make the slot returned by the last {@link #claim()} visible to the consumer.
+   */
+  public void publish() {
+    long sequence = tail.get() + 1;
+    tail.lazySet(sequence);
+    depthTotal += sequence - cachedHead;
+  }
+
+  /**
+   * Signal that the producer will not publish any more rows.
+   */
+  public void finish() {
+    producerFinished = true;
+  }
+
+  /**
+   * Return the next filled slot for the consumer to read, waiting while the
+   * ring is empty.
+   *
+   * @return filled slot or null if the producer has finished and all rows were read
+   * @throws InterruptedException
+   */
+  public IntermediateDataFormat<?> take() throws InterruptedException {
+    long sequence = head.get();
+    if (sequence >= cachedTail) {
+      cachedTail = tail.get();
+      if (sequence >= cachedTail) {
+        long start = System.nanoTime();
+        int spins = 0;
+        do {
+          if (producerFinished) {
+            // The final publish happens before the finish flag is raised
+            cachedTail = tail.get();
+            if (sequence >= cachedTail) {
+              consumerStallNanos += System.nanoTime() - start;
+              return null;
+            }
+            break;
+          }
+          idle(spins++);
+          cachedTail = tail.get();
+        } while (sequence >= cachedTail);
+        consumerStallNanos += System.nanoTime() - start;
+      }
+    }
+    return slots[(int) sequence & mask];
+  }
+
+  /**
+   * Return the next filled slot for the consumer to read without waiting.
+   *
+   * @return filled slot or null if the ring is currently empty
+   */
+  public IntermediateDataFormat<?> poll() {
+    long sequence = head.get();
+    if (sequence >= cachedTail) {
+      cachedTail = tail.get();
+      if (sequence >= cachedTail) {
+        return null;
+      }
+    }
+    return slots[(int) sequence & mask];
+  }
+
+  /**
+   * Hand the slot returned by the last {@link #take()} or {@link #poll()} back to the producer.
+   */
+  public void release() {
+    head.lazySet(head.get() + 1);
+  }
+
+  /**
+   * Signal that the consumer will not read any more rows, unblocking the producer.
+   */
+  public void abort() {
+    consumerFinished = true;
+  }
+
+  /**
+   * @return true if the producer has finished and every published row was read
+   */
+  public boolean isDrained() {
+    return producerFinished && head.get() == tail.get();
+  }
+
+  /**
+   * @return sum of the ring depth observed after every publish
+   */
+  public long getDepthTotal() {
+    return depthTotal;
+  }
+
+  public long getProducerStallNanos() {
+    return producerStallNanos;
+  }
+
+  public long getConsumerStallNanos() {
+    return consumerStallNanos;
+  }
+
+  private static void idle(int spins) throws InterruptedException {
+    if (spins < SPIN_LIMIT) {
+      Thread.yield();
+    } else {
+      LockSupport.parkNanos(PARK_NANOS);
+    }
+    if (Thread.interrupted()) {
+      throw new InterruptedException();
+    }
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.execution.commons.job;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotSame;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Text;
+import org.testng.annotations.Test;
+
+public class TestSqoopRowRingBuffer {
+
+  private IntermediateDataFormat<?> getIDF() {
+    return new CSVIntermediateDataFormat(new Schema("test").addColumn(new Text("t")));
+  }
+
+  @Test
+  public void testCapacityIsRoundedToPowerOfTwo() {
+    assertEquals(new SqoopRowRingBuffer(getIDF(), 1).getCapacity(), 1);
+    assertEquals(new SqoopRowRingBuffer(getIDF(), 5).getCapacity(), 8);
+    assertEquals(new SqoopRowRingBuffer(getIDF(), 64).getCapacity(), 64);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void testInvalidCapacity() {
+    new SqoopRowRingBuffer(getIDF(), 0);
+  }
+
+  @Test
+  public void testSlotsArePreallocated() throws Exception {
+    SqoopRowRingBuffer buffer = new SqoopRowRingBuffer(getIDF(), 2);
+    IntermediateDataFormat<?> first = buffer.claim();
+    buffer.publish();
+    IntermediateDataFormat<?> second = buffer.claim();
+    assertNotSame(first, second);
+    assertEquals(second.getSchema(), first.getSchema());
+  }
+
+  @Test
+  public void testDrainAfterFinish() throws Exception {
+    SqoopRowRingBuffer buffer = new SqoopRowRingBuffer(getIDF(), 4);
+    for (int i = 0; i < 3; i++) {
+      buffer.claim().setCSVTextData(String.valueOf(i));
+      buffer.publish();
+    }
+    buffer.finish();
+    assertFalse(buffer.isDrained());
+    for (int i = 0; i < 3; i++) {
+      assertEquals(buffer.take().getCSVTextData(), String.valueOf(i));
+      buffer.release();
+    }
+    assertNull(buffer.take());
+    assertTrue(buffer.isDrained());
+    assertEquals(buffer.getDepthTotal(), 6);
+  }
+
+  @Test
+  public void testClaimReturnsNullAfterAbort() throws Exception {
+    SqoopRowRingBuffer buffer = new SqoopRowRingBuffer(getIDF(), 1);
+    buffer.claim().setCSVTextData("'a'");
+    buffer.publish();
+    buffer.abort();
+    assertNull(buffer.claim());
+  }
+
+  @Test
+  public void testConcurrentTransfer() throws Exception {
+    final int rows = 100000;
+    final SqoopRowRingBuffer buffer = new SqoopRowRingBuffer(getIDF(), 8);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      Future<Long> consumer = executor.submit(new Callable<Long>() {
+        @Override
+        public Long call() throws Exception {
+          long expected = 0;
+          IntermediateDataFormat<?> slot;
+          while ((slot = buffer.take()) != null) {
+            assertEquals(Long.parseLong(slot.getCSVTextData()), expected++);
+            buffer.release();
+          }
+          return expected;
+        }
+      });
+      for (int i = 0; i < rows; i++) {
+        buffer.claim().setCSVTextData(String.valueOf(i));
+        buffer.publish();
+      }
+      buffer.finish();
+      assertEquals(consumer.get(1, TimeUnit.MINUTES).longValue(), rows);
+      assertTrue(buffer.isDrained());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -50,10 +50,37 @@ public final class MRJobConstants extends Constants {
   public static final String JOB_MR_OUTPUT_CODEC = PREFIX_JOB_CONFIG
       + "mr.output.codec";
 
+  /**
+   * Number of rows that can be queued between the mapper and the loader thread.
+   */
+  public static final String JOB_MR_LOADER_BUFFER_CAPACITY = PREFIX_JOB_CONFIG
+      + "mr.loader.buffer.capacity";
+
+  public static final int DEFAULT_JOB_MR_LOADER_BUFFER_CAPACITY = 64;
+
+  /**
+   * Whether the TO intermediate data format compresses large rows when they
+   * are serialized between the map and the reduce phase.
+   */
+  public static final String JOB_MR_COMPRESS_ROWS = PREFIX_JOB_CONFIG
+      + "mr.compress.rows";
+
+  public static final boolean DEFAULT_JOB_MR_COMPRESS_ROWS = false;
+
 
   public static final String JOB_ETL_EXTRACTOR_NUM = PREFIX_JOB_CONFIG
     + "etl.extractor.count";
 
+  /**
+   * Number of partitions requested from the partitioner per extractor. Values
+   * above one put the partitions in a queue in the job staging directory, from
+   * which the mappers claim them until it is empty.
+   */
+  public static final String JOB_MR_PARTITIONS_PER_EXTRACTOR = PREFIX_JOB_CONFIG
+    + "mr.partitions.per.extractor";
+
+  public static final int DEFAULT_JOB_MR_PARTITIONS_PER_EXTRACTOR = 1;
+
   public static final String SUBMITTING_USER = PREFIX_JOB_CONFIG
     + "submission.user";
 
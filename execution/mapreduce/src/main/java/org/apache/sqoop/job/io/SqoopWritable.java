@@ -17,7 +17,9 @@
 
 import org.apache.hadoop.conf.Configurable;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.DataInputBuffer;
 import org.apache.hadoop.io.WritableComparable;
+import org.apache.hadoop.io.WritableComparator;
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
 import org.apache.sqoop.job.MRJobConstants;
 import org.apache.sqoop.utils.ClassUtils;
@@ -36,6 +38,10 @@ public class SqoopWritable implements Configurable, WritableComparable<SqoopWrit
   private IntermediateDataFormat<?> toIDF;
   private Configuration conf;
 
+  static {
+    WritableComparator.define(SqoopWritable.class, new Comparator());
+  }
+
   // NOTE: You have to provide an empty default constructor in your key class
   // Hadoop is using reflection and it can not guess any parameters to feed
   public SqoopWritable() {
@@ -51,6 +57,13 @@ void setString(String data) {
     this.toIDF.setCSVTextData(data);
   }
 
+  /**
+   * @return the intermediate data format holding the row of this writable
+   */
+  public IntermediateDataFormat<?> getIDF() {
+    return toIDF;
+  }
+
   @Override
   public void write(DataOutput out) throws IOException {
     //delegate
@@ -81,6 +94,10 @@ public void setConf(Configuration conf) {
       String toIDFClass = conf.get(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT);
       this.toIDF = (IntermediateDataFormat<?>) ClassUtils.instantiate(toIDFClass);
     }
+    if (toIDF != null) {
+      toIDF.setCompressRows(conf.getBoolean(MRJobConstants.JOB_MR_COMPRESS_ROWS,
+          MRJobConstants.DEFAULT_JOB_MR_COMPRESS_ROWS));
+    }
   }
 
   @Override
@@ -88,6 +105,70 @@ public Configuration getConf() {
     return conf;
   }
 
+  /**
+   * Raw comparator sorting serialized writables in the same order as
+   * {@link SqoopWritable#compareTo(SqoopWritable)}. Rows are compared as bytes
+   * when the TO intermediate data format supports it, otherwise they are
+   * deserialized into two IDF instances owned by the calling thread, as Hadoop
+   * shares one comparator instance between all the threads of a task. Without
+   * a configured TO intermediate data format rows are compared byte by byte.
+   */
+  public static class Comparator extends WritableComparator {
+    private volatile String toIDFClass;
+
+    private final ThreadLocal<ComparatorState> state = new ThreadLocal<ComparatorState>();
+
+    public Comparator() {
+      super(SqoopWritable.class);
+    }
+
+    @Override
+    public void setConf(Configuration conf) {
+      super.setConf(conf);
+      if (conf != null && conf.get(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT) != null) {
+        toIDFClass = conf.get(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT);
+      }
+    }
+
+    @Override
+    public int compare(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2) {
+      String idfClass = toIDFClass;
+      if (idfClass == null) {
+        return compareBytes(b1, s1, l1, b2, s2, l2);
+      }
+      ComparatorState current = state.get();
+      if (current == null || !current.idfClass.equals(idfClass)) {
+        current = new ComparatorState(idfClass);
+        state.set(current);
+      }
+      if (current.idf1.isRawComparable()) {
+        return current.idf1.compareRaw(b1, s1, l1, b2, s2, l2);
+      }
+      try {
+        current.buffer.reset(b1, s1, l1);
+        current.idf1.read(current.buffer);
+        current.buffer.reset(b2, s2, l2);
+        current.idf2.read(current.buffer);
+      } catch (IOException e) {
+        throw new IllegalArgumentException(e);
+      }
+      return current.idf1.compareTo(current.idf2);
+    }
+  }
+
+  private static class ComparatorState {
+    private final String idfClass;
+    private final IntermediateDataFormat<?> idf1;
+    private final IntermediateDataFormat<?> idf2;
+    private final DataInputBuffer buffer = new DataInputBuffer();
+
+    ComparatorState(String idfClass) {
+      this.idfClass = idfClass;
+      this.idf1 = (IntermediateDataFormat<?>) ClassUtils.instantiate(idfClass);
+      this.idf2 = (IntermediateDataFormat<?>) ClassUtils.instantiate(idfClass);
+    }
+  }
+
   /* (non-Javadoc)
    * @see java.lang.Object#hashCode()
    */
@@ -66,22 +66,37 @@ public List<InputSplit> getSplits(JobContext context)
     Object connectorFromJobConfig = MRConfigurationUtils.getConnectorJobConfig(Direction.FROM, conf);
     Schema fromSchema = MRConfigurationUtils.getConnectorSchema(Direction.FROM, conf);
 
-    long maxPartitions = conf.getLong(MRJobConstants.JOB_ETL_EXTRACTOR_NUM, 10);
+    long maxExtractors = conf.getLong(MRJobConstants.JOB_ETL_EXTRACTOR_NUM, 10);
+    int partitionsPerExtractor = conf.getInt(MRJobConstants.JOB_MR_PARTITIONS_PER_EXTRACTOR,
+        MRJobConstants.DEFAULT_JOB_MR_PARTITIONS_PER_EXTRACTOR);
+    long maxPartitions = maxExtractors * Math.max(partitionsPerExtractor, 1);
     PartitionerContext partitionerContext = new PartitionerContext(connectorContext, maxPartitions, fromSchema, conf.get(MRJobConstants.SUBMITTING_USER));
 
     List<Partition> partitions = partitioner.getPartitions(partitionerContext, connectorLinkConfig, connectorFromJobConfig);
-    List<InputSplit> splits = new LinkedList<InputSplit>();
     for (Partition partition : partitions) {
       LOG.debug("Partition: " + partition);
-      SqoopSplit split = new SqoopSplit(partition);
-      splits.add(split);
     }
 
     //SQOOP-2382: Need to skip this check in case extractors is set to 1
     // and null values are allowed in partitioning column
-    if(splits.size() > maxPartitions && (false == partitionerContext.getSkipMaxPartitionCheck())) {
+    if(partitions.size() > maxPartitions && (false == partitionerContext.getSkipMaxPartitionCheck())) {
       throw new SqoopException(MRExecutionError.MAPRED_EXEC_0025,
-        String.format("Got %d, max was %d", splits.size(), maxPartitions));
+        String.format("Got %d, max was %d", partitions.size(), maxPartitions));
+    }
+
+    List<InputSplit> splits = new LinkedList<InputSplit>();
+    if (partitionsPerExtractor > 1) {
+      // Mappers claim the partitions from a shared queue
+      new SqoopPartitionQueue(conf).write(partitions);
+      long mappers = Math.min(maxExtractors, partitions.size());
+      for (int i = 0; i < mappers; i++) {
+        splits.add(new SqoopQueueSplit((int) (i * partitions.size() / mappers)));
+      }
+      LOG.info("Queued " + partitions.size() + " partitions for " + mappers + " mappers");
+    } else {
+      for (Partition partition : partitions) {
+        splits.add(new SqoopSplit(partition));
+      }
     }
 
     return splits;
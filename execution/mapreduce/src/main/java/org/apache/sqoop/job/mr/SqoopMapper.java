@@ -16,6 +16,8 @@
 package org.apache.sqoop.job.mr;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -35,7 +37,9 @@
 import org.apache.sqoop.job.PrefixContext;
 import org.apache.sqoop.job.etl.Extractor;
 import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.job.etl.Partition;
 import org.apache.sqoop.etl.io.DataWriter;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.job.io.SqoopWritable;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.submission.counter.SqoopCounters;
@@ -65,7 +69,6 @@ public void run(Context context) throws IOException, InterruptedException {
     Configuration conf = context.getConfiguration();
 
     String extractorName = conf.get(MRJobConstants.JOB_ETL_EXTRACTOR);
-    Extractor extractor = (Extractor) ClassUtils.instantiate(extractorName);
 
     Schema fromSchema = MRConfigurationUtils.getConnectorSchema(Direction.FROM, conf);
     Schema toSchema = MRConfigurationUtils.getConnectorSchema(Direction.TO, conf);
@@ -77,6 +80,8 @@ public void run(Context context) throws IOException, InterruptedException {
     String toIDFClass = conf.get(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT);
     toIDF = (IntermediateDataFormat<Object>) ClassUtils.instantiate(toIDFClass);
     toIDF.setSchema(matcher.getToSchema());
+    toIDF.setCompressRows(conf.getBoolean(MRJobConstants.JOB_MR_COMPRESS_ROWS,
+        MRJobConstants.DEFAULT_JOB_MR_COMPRESS_ROWS));
 
     // Objects that should be passed to the Executor execution
     PrefixContext subContext = new PrefixContext(conf, MRJobConstants.PREFIX_CONNECTOR_FROM_CONTEXT);
@@ -90,10 +95,21 @@ public void run(Context context) throws IOException, InterruptedException {
       LOG.info("Starting progress service");
       progressService.scheduleAtFixedRate(new SqoopProgressRunnable(context), 0, 2, TimeUnit.MINUTES);
 
-      LOG.info("Running extractor class " + extractorName);
-      extractor.extract(extractorContext, fromConfig, fromJob, split.getPartition());
-      LOG.info("Extractor has finished");
-      context.getCounter(SqoopCounters.ROWS_READ).increment(extractor.getRowsRead());
+      if (split instanceof SqoopQueueSplit) {
+        SqoopPartitionQueue queue = new SqoopPartitionQueue(conf);
+        List<Partition> partitions = queue.read();
+        String owner = context.getTaskAttemptID().getTaskID().toString();
+        int start = ((SqoopQueueSplit) split).getStart();
+        for (int i = 0; i < partitions.size(); i++) {
+          int index = (start + i) % partitions.size();
+          if (queue.claim(index, owner)) {
+            LOG.info("Claimed partition " + index + " of the queue");
+            extract(context, extractorName, extractorContext, fromConfig, fromJob, partitions.get(index));
+          }
+        }
+      } else {
+        extract(context, extractorName, extractorContext, fromConfig, fromJob, split.getPartition());
+      }
     } catch (Exception e) {
       throw new SqoopException(MRExecutionError.MAPRED_EXEC_0017, e);
     } finally {
@@ -106,6 +122,20 @@ public void run(Context context) throws IOException, InterruptedException {
     }
   }
 
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private void extract(Context context, String extractorName, ExtractorContext extractorContext,
+      Object fromConfig, Object fromJob, Partition partition) {
+    Extractor extractor = (Extractor) ClassUtils.instantiate(extractorName);
+    LOG.info("Running extractor class " + extractorName);
+    extractor.extract(extractorContext, fromConfig, fromJob, partition);
+    LOG.info("Extractor has finished");
+    context.getCounter(SqoopCounters.ROWS_READ).increment(extractor.getRowsRead());
+    Map<String, Long> extractorCounters = extractor.getCounters();
+    for (Map.Entry<String, Long> counter : extractorCounters.entrySet()) {
+      context.getCounter(extractorName, counter.getKey()).increment(counter.getValue());
+    }
+  }
+
   // There are two IDF objects we carry around in memory during the sqoop job execution.
   // The fromIDF has the fromSchema in it, the toIDF has the toSchema in it.
   // Before we do the writing to the toIDF object we do the matching process to negotiate between
@@ -137,6 +167,16 @@ public void writeRecord(Object obj) {
       writeContent();
     }
 
+    @Override
+    public void writeBatch(RowBatch batch) {
+      // The fromIDF converts the row as soon as it is set, so a single array is reused
+      Object[] row = new Object[batch.getColumnCount()];
+      for (int i = 0; i < batch.size(); i++) {
+        fromIDF.setObjectData(batch.getRow(i, row));
+        writeContent();
+      }
+    }
+
     private void writeContent() {
       try {
         if (LOG.isDebugEnabled()) {
@@ -145,7 +185,7 @@ private void writeContent() {
         // NOTE: The fromIDF and the corresponding fromSchema is used only for the matching process
         // The output of the mappers is finally written to the toIDF object after the matching process
         // since the writable encapsulates the toIDF ==> new SqoopWritable(toIDF)
-        toIDF.setObjectData(matcher.getMatchingData(fromIDF.getObjectData()));
+        toIDF.setObjectData(matcher.getMatchingData(fromIDF));
         // NOTE: We do not use the reducer to do the writing (a.k.a LOAD in ETL). Hence the mapper sets up the writable
         context.write(writable, NullWritable.get());
       } catch (RuntimeException | IOException | InterruptedException e) {
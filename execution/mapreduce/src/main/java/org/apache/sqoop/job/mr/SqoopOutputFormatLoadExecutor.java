@@ -18,6 +18,7 @@
 import com.google.common.base.Throwables;
 
 import java.io.IOException;
+import java.util.Map;
 import java.util.concurrent.*;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
@@ -31,6 +32,7 @@
 import org.apache.sqoop.common.Direction;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.execution.commons.job.SqoopRowRingBuffer;
 import org.apache.sqoop.connector.matcher.Matcher;
 import org.apache.sqoop.connector.matcher.MatcherFactory;
 import org.apache.sqoop.job.MRJobConstants;
@@ -39,6 +41,7 @@
 import org.apache.sqoop.job.etl.Loader;
 import org.apache.sqoop.job.etl.LoaderContext;
 import org.apache.sqoop.etl.io.DataReader;
+import org.apache.sqoop.etl.io.RowBatch;
 import org.apache.sqoop.submission.counter.SqoopCounters;
 import org.apache.sqoop.job.io.SqoopWritable;
 import org.apache.sqoop.utils.ClassUtils;
@@ -50,22 +53,24 @@ public class SqoopOutputFormatLoadExecutor {
     Logger.getLogger(SqoopOutputFormatLoadExecutor.class);
 
   private volatile boolean readerFinished = false;
-  private volatile boolean writerFinished = false;
-  private volatile IntermediateDataFormat<? extends Object> toDataFormat;
+  private SqoopRowRingBuffer rowBuffer;
   private Matcher matcher;
   private JobContext context;
   private SqoopRecordWriter writer;
   private Future<?> consumerFuture;
-  private Semaphore filled = new Semaphore(0, true);
-  private Semaphore free = new Semaphore(1, true);
   private String loaderName;
 
   // NOTE: This method is only exposed for test cases
   SqoopOutputFormatLoadExecutor(JobContext jobctx, String loaderName, IntermediateDataFormat<?> toDataFormat, Matcher matcher) {
+    this(jobctx, loaderName, toDataFormat, matcher, MRJobConstants.DEFAULT_JOB_MR_LOADER_BUFFER_CAPACITY);
+  }
+
+  // NOTE: This method is only exposed for test cases
+  SqoopOutputFormatLoadExecutor(JobContext jobctx, String loaderName, IntermediateDataFormat<?> toDataFormat, Matcher matcher, int bufferCapacity) {
     context = jobctx;
     this.loaderName = loaderName;
     this.matcher = matcher;
-    this.toDataFormat = toDataFormat;
+    rowBuffer = new SqoopRowRingBuffer(toDataFormat, bufferCapacity);
     writer = new SqoopRecordWriter();
   }
 
@@ -76,46 +81,65 @@ public SqoopOutputFormatLoadExecutor(JobContext jobctx) {
     matcher = MatcherFactory.getMatcher(
         MRConfigurationUtils.getConnectorSchema(Direction.FROM, context.getConfiguration()),
         MRConfigurationUtils.getConnectorSchema(Direction.TO, context.getConfiguration()));
-    toDataFormat = (IntermediateDataFormat<?>) ClassUtils.instantiate(context
+    IntermediateDataFormat<?> toDataFormat = (IntermediateDataFormat<?>) ClassUtils.instantiate(context
         .getConfiguration().get(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT));
     // Using the TO schema since the SqoopDataWriter in the SqoopMapper encapsulates the toDataFormat
     toDataFormat.setSchema(matcher.getToSchema());
+    rowBuffer = new SqoopRowRingBuffer(toDataFormat, context.getConfiguration().getInt(
+        MRJobConstants.JOB_MR_LOADER_BUFFER_CAPACITY, MRJobConstants.DEFAULT_JOB_MR_LOADER_BUFFER_CAPACITY));
+    LOG.info("Using a ring buffer of " + rowBuffer.getCapacity() + " rows between mapper and loader");
   }
 
   public RecordWriter<SqoopWritable, NullWritable> getRecordWriter() {
-    consumerFuture = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat
-        ("OutputFormatLoader-consumer").build()).submit(
-            new ConsumerThread(context));
+    ExecutorService consumerExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat
+        ("OutputFormatLoader-consumer").build());
+    consumerFuture = consumerExecutor.submit(new ConsumerThread(context));
+    // Let the consumer thread die once the loader is done instead of idling until the JVM exits
+    consumerExecutor.shutdown();
     return writer;
   }
 
   /*
-   * This is a reader-writer problem and can be solved
-   * with two semaphores.
+   * This is a single producer, single consumer problem solved with
+   * a bounded ring of pre-allocated row slots.
    */
   private class SqoopRecordWriter extends RecordWriter<SqoopWritable, NullWritable> {
 
     @Override
     public void write(SqoopWritable key, NullWritable value) throws InterruptedException {
-      free.acquire();
       checkIfConsumerThrew();
+      IntermediateDataFormat<?> slot = rowBuffer.claim();
+      if (slot == null) {
+        // The consumer stopped reading while the ring was full
+        waitForConsumer();
+        throw new SqoopException(MRExecutionError.MAPRED_EXEC_0019);
+      }
       // NOTE: this is the place where data written from SqoopMapper writable is available to the SqoopOutputFormat
-      toDataFormat.setCSVTextData(key.toString());
-      filled.release();
+      // The native IDF payload is passed through, there is no CSV text round trip when both IDFs match
+      slot.setDataFrom(key.getIDF());
+      rowBuffer.publish();
     }
 
     @Override
     public void close(TaskAttemptContext context)
             throws InterruptedException, IOException {
       LOG.info("SqoopOutputFormatLoadExecutor::SqoopRecordWriter is about to be closed");
-      free.acquire();
-      writerFinished = true;
-      filled.release();
+      rowBuffer.finish();
       waitForConsumer();
+      reportBufferCounters();
       LOG.info("SqoopOutputFormatLoadExecutor::SqoopRecordWriter is closed");
     }
   }
 
+  private void reportBufferCounters() {
+    TaskAttemptContext taskContext = (TaskAttemptContext) context;
+    taskContext.getCounter(SqoopCounters.ROW_BUFFER_DEPTH_TOTAL).increment(rowBuffer.getDepthTotal());
+    taskContext.getCounter(SqoopCounters.ROW_BUFFER_WRITE_STALL_MILLIS).increment(
+        TimeUnit.NANOSECONDS.toMillis(rowBuffer.getProducerStallNanos()));
+    taskContext.getCounter(SqoopCounters.ROW_BUFFER_READ_STALL_MILLIS).increment(
+        TimeUnit.NANOSECONDS.toMillis(rowBuffer.getConsumerStallNanos()));
+  }
+
   private void checkIfConsumerThrew() {
     if(readerFinished) {
       waitForConsumer();
@@ -135,14 +159,6 @@ private void waitForConsumer() {
       // In almost all cases, the exception will be SqoopException,
       // because all exceptions are caught and propagated as
       // SqoopExceptions
-
-      //There are race conditions with exceptions where the free sema is
-      //no released.  So sense we are in single threaded mode at this point
-      //we can ask if there are availablePermits and release if needed
-      if (free.availablePermits() == 0) {
-        free.release();
-      }
-
       Throwable t = ex.getCause();
       if (t instanceof SqoopException) {
         throw (SqoopException) t;
@@ -150,14 +166,6 @@ private void waitForConsumer() {
       //In the rare case, it was not a SqoopException
       Throwables.propagate(t);
     } catch (Exception ex) {
-
-      //There are race conditions with exceptions where the free sema is
-      //no released.  So sense we are in single threaded mode at this point
-      //we can ask if there are availablePermits and release if needed
-      if (free.availablePermits() == 0) {
-        free.release();
-      }
-
       throw new SqoopException(MRExecutionError.MAPRED_EXEC_0019, ex);
     }
   }
@@ -166,54 +174,76 @@ private class SqoopOutputFormatDataReader extends DataReader {
 
     @Override
     public Object[] readArrayRecord() throws InterruptedException {
-      acquireSema();
+      IntermediateDataFormat<?> slot = takeSlot();
       // If the writer has finished, there is definitely no data remaining
-      if (writerFinished) {
+      if (slot == null) {
         return null;
       }
       try {
-        return toDataFormat.getObjectData();
+        return slot.getObjectData();
       } finally {
-        releaseSema();
+        rowBuffer.release();
       }
     }
 
     @Override
     public String readTextRecord() throws InterruptedException {
-      acquireSema();
+      IntermediateDataFormat<?> slot = takeSlot();
       // If the writer has finished, there is definitely no data remaining
-      if (writerFinished) {
+      if (slot == null) {
         return null;
       }
       try {
-        return toDataFormat.getCSVTextData();
+        return slot.getCSVTextData();
       } finally {
-        releaseSema();
+        rowBuffer.release();
       }
     }
 
     @Override
     public Object readContent() throws InterruptedException {
-      acquireSema();
-      if (writerFinished) {
+      IntermediateDataFormat<?> slot = takeSlot();
+      if (slot == null) {
         return null;
       }
       try {
-        return toDataFormat.getData();
+        return slot.getData();
       } catch (Throwable t) {
         readerFinished = true;
         LOG.error("Caught exception e while getting content ", t);
         throw new SqoopException(MRExecutionError.MAPRED_EXEC_0018, t);
       } finally {
-        releaseSema();
+        rowBuffer.release();
+      }
+    }
+
+    /**
+     * Wait for the first row only, then drain the rows already queued in the
+     * ring so that the loader gets whatever the mapper produced in one go.
+     */
+    @Override
+    public int readBatch(RowBatch batch) throws InterruptedException {
+      batch.reset();
+      IntermediateDataFormat<?> slot = takeSlot();
+      while (slot != null) {
+        try {
+          batch.addRow(slot.getObjectData());
+        } finally {
+          rowBuffer.release();
+        }
+        if (batch.isFull()) {
+          break;
+        }
+        slot = rowBuffer.poll();
       }
+      return batch.size();
     }
 
-    private void acquireSema() throws InterruptedException {
+    private IntermediateDataFormat<?> takeSlot() throws InterruptedException {
       // Has any more data been produced after I last consumed.
       // If no, wait for the producer to produce.
       try {
-        filled.acquire();
+        return rowBuffer.take();
       } catch (InterruptedException ex) {
         //Really at this point, there is nothing to do. Just throw and get out
         LOG.error("Interrupted while waiting for data to be available from " +
@@ -221,10 +251,6 @@ private void acquireSema() throws InterruptedException {
         throw ex;
       }
     }
-
-    private void releaseSema(){
-      free.release();
-    }
   }
 
   private class ConsumerThread implements Runnable {
@@ -265,30 +291,35 @@ public void run() {
         LOG.info("Loader has finished");
         ((TaskAttemptContext) jobctx).getCounter(SqoopCounters.ROWS_WRITTEN).increment(
             loader.getRowsWritten());
+        Map<String, Long> loaderCounters = loader.getCounters();
+        for (Map.Entry<String, Long> counter : loaderCounters.entrySet()) {
+          ((TaskAttemptContext) jobctx).getCounter(loaderName, counter.getKey()).increment(counter.getValue());
+        }
 
       } catch (Throwable t) {
         readerFinished = true;
         LOG.error("Error while loading data out of MR job.", t);
-        // Release so that the writer can tell Sqoop something went
+        // Abort so that the writer can tell Sqoop something went
         // wrong.
-        free.release();
+        rowBuffer.abort();
         throw new SqoopException(MRExecutionError.MAPRED_EXEC_0018, t);
       }
 
       // if no exception happens yet and reader finished before writer,
       // something went wrong
-      if (!writerFinished) {
+      if (!rowBuffer.isDrained()) {
         // throw exception if data are not all consumed
         readerFinished = true;
         LOG.error("Reader terminated, but writer is still running!");
-        // Release so that the writer can tell Sqoop something went
+        // Abort so that the writer can tell Sqoop something went
         // wrong.
-        free.release();
+        rowBuffer.abort();
         throw new SqoopException(MRExecutionError.MAPRED_EXEC_0019);
 
       }
       // inform writer that reader is finished
       readerFinished = true;
+      rowBuffer.abort();
     }
   }
 }
@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.job.mr;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.mapreduce.MRJobConfig;
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.error.code.MRExecutionError;
+import org.apache.sqoop.job.etl.Partition;
+
+/**
+ * Queue of partitions shared by all mappers of a job, kept in the job staging
+ * directory.
+ *
+ * A mapper claims a partition by writing its claim to a file of its own and
+ * then moving it in place atomically, which fails when the partition was
+ * claimed already. Mappers that finish early thereby take over partitions the
+ * slower ones haven't reached yet. A claim records the task that made it, so
+ * that a retried task attempt extracts again the partitions of its failed
+ * predecessor. As claims are complete once in place, an attempt dying while
+ * writing its claim leaves the partition unclaimed.
+ */
+public class SqoopPartitionQueue {
+
+  private static final String QUEUE_DIR = "sqoop-partition-queue";
+  private static final String PARTITIONS_FILE = "partitions";
+  private static final String CLAIMS_DIR = "claims";
+
+  private final FileSystem fs;
+  private final Path dir;
+
+  public SqoopPartitionQueue(Configuration conf) throws IOException {
+    String jobDir = conf.get(MRJobConfig.MAPREDUCE_JOB_DIR);
+    if (jobDir == null) {
+      throw new SqoopException(MRExecutionError.MAPRED_EXEC_0026);
+    }
+    dir = new Path(jobDir, QUEUE_DIR);
+    fs = dir.getFileSystem(conf);
+  }
+
+  public void write(List<Partition> partitions) throws IOException {
+    try (FSDataOutputStream out = fs.create(new Path(dir, PARTITIONS_FILE), true)) {
+      out.writeInt(partitions.size());
+      for (Partition partition : partitions) {
+        new SqoopSplit(partition).write(out);
+      }
+    }
+  }
+
+  public List<Partition> read() throws IOException {
+    try (FSDataInputStream in = fs.open(new Path(dir, PARTITIONS_FILE))) {
+      int size = in.readInt();
+      List<Partition> partitions = new ArrayList<Partition>(size);
+      SqoopSplit split = new SqoopSplit();
+      for (int i = 0; i < size; i++) {
+        split.readFields(in);
+        partitions.add(split.getPartition());
+      }
+      return partitions;
+    }
+  }
+
+  /**
+   * Claims the partition at the given index of the queue.
+   *
+   * @param index Index of the partition
+   * @param owner Id of the claiming task
+   * @return True if the partition is now owned by the task
+   */
+  public boolean claim(int index, String owner) throws IOException {
+    Path claim = new Path(dir, CLAIMS_DIR + Path.SEPARATOR + index);
+    Path pending = new Path(dir, CLAIMS_DIR + Path.SEPARATOR + "." + index + "." + UUID.randomUUID());
+    try {
+      try (FSDataOutputStream out = fs.create(pending, false)) {
+        out.writeUTF(owner);
+      }
+      if (publish(pending, claim)) {
+        return true;
+      }
+      // Claimed already, maybe by an earlier attempt of the same task
+      try (FSDataInputStream in = fs.open(claim)) {
+        return owner.equals(in.readUTF());
+      }
+    } finally {
+      fs.delete(pending, false);
+    }
+  }
+
+  /**
+   * Moves the pending claim in place unless there is a claim already.
+   */
+  private boolean publish(Path pending, Path claim) throws IOException {
+    if ("file".equals(fs.getUri().getScheme())) {
+      // Local renames replace the target, unlike links
+      try {
+        Files.createLink(new File(fs.makeQualified(claim).toUri()).toPath(),
+            new File(fs.makeQualified(pending).toUri()).toPath());
+        return true;
+      } catch (FileAlreadyExistsException e) {
+        return false;
+      }
+    }
+    // Renames of distributed file systems fail when the target exists
+    return fs.rename(pending, claim);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.job.mr;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Split of a job whose partitions are in a {@link SqoopPartitionQueue}. The
+ * mapper of the split starts claiming partitions at its own offset of the
+ * queue, so mappers only compete for partitions once their own share is done.
+ */
+public class SqoopQueueSplit extends SqoopSplit {
+
+  private int start;
+
+  public SqoopQueueSplit() {}
+
+  public SqoopQueueSplit(int start) {
+    this.start = start;
+  }
+
+  public int getStart() {
+    return start;
+  }
+
+  @Override
+  public void readFields(DataInput in) throws IOException {
+    start = in.readInt();
+  }
+
+  @Override
+  public void write(DataOutput out) throws IOException {
+    out.writeInt(start);
+  }
+}
@@ -16,6 +16,8 @@
 package org.apache.sqoop.job;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
 
 import java.io.DataInput;
 import java.io.DataOutput;
@@ -28,6 +30,7 @@
 import org.apache.hadoop.mapreduce.InputSplit;
 import org.apache.hadoop.mapreduce.Job;
 import org.apache.hadoop.mapreduce.JobContext;
+import org.apache.hadoop.mapreduce.MRJobConfig;
 import org.apache.hadoop.mapreduce.OutputCommitter;
 import org.apache.hadoop.mapreduce.OutputFormat;
 import org.apache.hadoop.mapreduce.RecordWriter;
@@ -50,10 +53,14 @@
 import org.apache.sqoop.job.mr.SqoopInputFormat;
 import org.apache.sqoop.job.mr.SqoopMapper;
 import org.apache.sqoop.job.mr.SqoopNullOutputFormat;
+import org.apache.sqoop.job.mr.SqoopPartitionQueue;
+import org.apache.sqoop.job.mr.SqoopQueueSplit;
 import org.apache.sqoop.job.mr.SqoopSplit;
 import org.apache.sqoop.job.util.MRJobTestUtil;
 import org.testng.annotations.Test;
 
+import com.google.common.io.Files;
+
 public class TestMapReduce {
 
   private static final int START_PARTITION = 1;
@@ -80,6 +87,61 @@ public void testSqoopInputFormat() throws Exception {
     }
   }
 
+  @Test
+  public void testSqoopInputFormatWithQueue() throws Exception {
+    Configuration conf = new Configuration();
+    conf.set(MRJobConstants.JOB_ETL_PARTITIONER, DummyPartitioner.class.getName());
+    conf.set(MRJobConstants.FROM_INTERMEDIATE_DATA_FORMAT, CSVIntermediateDataFormat.class.getName());
+    conf.set(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT, CSVIntermediateDataFormat.class.getName());
+    conf.setInt(MRJobConstants.JOB_ETL_EXTRACTOR_NUM, 3);
+    conf.setInt(MRJobConstants.JOB_MR_PARTITIONS_PER_EXTRACTOR, 3);
+    conf.set(MRJobConfig.MAPREDUCE_JOB_DIR, Files.createTempDir().getAbsolutePath());
+
+    Job job = new Job(conf);
+
+    SqoopInputFormat inputformat = new SqoopInputFormat();
+    List<InputSplit> splits = inputformat.getSplits(job);
+    assertEquals(3, splits.size());
+    for (int i = 0; i < splits.size(); i++) {
+      assertEquals(i * 3, ((SqoopQueueSplit) splits.get(i)).getStart());
+    }
+
+    SqoopPartitionQueue queue = new SqoopPartitionQueue(job.getConfiguration());
+    List<Partition> partitions = queue.read();
+    assertEquals(NUMBER_OF_PARTITIONS, partitions.size());
+    for (int id = START_PARTITION; id <= NUMBER_OF_PARTITIONS; id++) {
+      assertEquals(id, ((DummyPartition) partitions.get(id - 1)).getId());
+    }
+
+    // A partition is claimed once, unless by a later attempt of the same task
+    assertTrue(queue.claim(0, "task_0"));
+    assertFalse(queue.claim(0, "task_1"));
+    assertTrue(queue.claim(0, "task_0"));
+    assertTrue(queue.claim(1, "task_1"));
+  }
+
+  @Test
+  public void testSqoopMapperWithQueue() throws Exception {
+    Configuration conf = new Configuration();
+    conf.set(MRJobConstants.JOB_ETL_PARTITIONER, DummyPartitioner.class.getName());
+    conf.set(MRJobConstants.JOB_ETL_EXTRACTOR, DummyExtractor.class.getName());
+    conf.set(MRJobConstants.FROM_INTERMEDIATE_DATA_FORMAT, CSVIntermediateDataFormat.class.getName());
+    conf.set(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT, CSVIntermediateDataFormat.class.getName());
+    conf.setInt(MRJobConstants.JOB_ETL_EXTRACTOR_NUM, 3);
+    conf.setInt(MRJobConstants.JOB_MR_PARTITIONS_PER_EXTRACTOR, 3);
+
+    Job job = new Job(conf);
+    // from and to have the same schema in this test case
+    MRConfigurationUtils.setConnectorSchema(Direction.FROM, job, MRJobTestUtil.getTestSchema());
+    MRConfigurationUtils.setConnectorSchema(Direction.TO, job, MRJobTestUtil.getTestSchema());
+    // The local runner runs one mapper at a time, so the first one takes the whole queue
+    boolean success = MRJobTestUtil.runJob(job.getConfiguration(),
+                                      SqoopInputFormat.class,
+                                      SqoopMapper.class,
+                                      DummyOutputFormat.class);
+    assertEquals(true, success, "Job failed!");
+  }
+
   @Test
   public void testSqoopMapper() throws Exception {
     Configuration conf = new Configuration();
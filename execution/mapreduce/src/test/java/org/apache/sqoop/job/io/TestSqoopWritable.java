@@ -19,6 +19,7 @@
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
@@ -28,9 +29,20 @@
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.io.WritableComparator;
 import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.connector.idf.JSONIntermediateDataFormat;
+import org.apache.sqoop.connector.common.SqoopIDFSerializationUtils;
+import org.apache.sqoop.job.MRJobConstants;
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.schema.type.Text;
 import org.testng.annotations.BeforeMethod;
@@ -94,4 +106,125 @@ public void testWriteAndReadFields() throws IOException {
     instream.close();
   }
 
+  private static byte[] serialize(SqoopWritable writable) throws IOException {
+    ByteArrayOutputStream ostream = new ByteArrayOutputStream();
+    writable.write(new DataOutputStream(ostream));
+    return ostream.toByteArray();
+  }
+
+  private void assertComparatorMatchesCompareTo(Class<? extends IntermediateDataFormat<?>> idfClass)
+      throws Exception {
+    Schema schema = new Schema("test").addColumn(new Text("t"));
+    Configuration conf = new Configuration();
+    conf.set(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT, idfClass.getName());
+    WritableComparator comparator = WritableComparator.get(SqoopWritable.class, conf);
+    assertTrue(comparator instanceof SqoopWritable.Comparator);
+
+    String[] values = new String[] { "a", "b", "ab", "" };
+    for (String value1 : values) {
+      for (String value2 : values) {
+        IntermediateDataFormat<?> idf1 = idfClass.newInstance();
+        idf1.setSchema(schema);
+        idf1.setObjectData(new Object[] { value1 });
+        IntermediateDataFormat<?> idf2 = idfClass.newInstance();
+        idf2.setSchema(schema);
+        idf2.setObjectData(new Object[] { value2 });
+        SqoopWritable writable1 = new SqoopWritable(idf1);
+        SqoopWritable writable2 = new SqoopWritable(idf2);
+
+        byte[] bytes1 = serialize(writable1);
+        byte[] bytes2 = serialize(writable2);
+        assertEquals(Integer.signum(comparator.compare(bytes1, 0, bytes1.length, bytes2, 0, bytes2.length)),
+            Integer.signum(writable1.compareTo(writable2)));
+      }
+    }
+  }
+
+  @Test
+  public void testRawComparatorWithRawComparableIDF() throws Exception {
+    assertComparatorMatchesCompareTo(CSVIntermediateDataFormat.class);
+  }
+
+  @Test
+  public void testRawComparatorWithOtherIDF() throws Exception {
+    assertComparatorMatchesCompareTo(JSONIntermediateDataFormat.class);
+  }
+
+  @Test
+  public void testRawComparatorWithoutConfiguration() throws Exception {
+    SqoopWritable.Comparator comparator = new SqoopWritable.Comparator();
+    byte[] bytes1 = new byte[] { 1, 2 };
+    byte[] bytes2 = new byte[] { 1, 3 };
+    assertTrue(comparator.compare(bytes1, 0, 2, bytes2, 0, 2) < 0);
+
+    comparator.setConf(new Configuration());
+    assertTrue(comparator.compare(bytes2, 0, 2, bytes1, 0, 2) > 0);
+  }
+
+  @Test
+  public void testRawComparatorFromSeveralThreads() throws Exception {
+    final Schema schema = new Schema("test").addColumn(new Text("t"));
+    Configuration conf = new Configuration();
+    conf.set(MRJobConstants.TO_INTERMEDIATE_DATA_FORMAT, JSONIntermediateDataFormat.class.getName());
+    final SqoopWritable.Comparator comparator = new SqoopWritable.Comparator();
+    comparator.setConf(conf);
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<Void>> futures = new ArrayList<Future<Void>>();
+      for (int t = 0; t < 4; t++) {
+        final String prefix = String.valueOf((char) ('a' + t));
+        futures.add(executor.submit(new Callable<Void>() {
+          @Override
+          public Void call() throws Exception {
+            for (int i = 0; i < 2000; i++) {
+              IntermediateDataFormat<?> idf1 = new JSONIntermediateDataFormat(schema);
+              idf1.setObjectData(new Object[] { prefix + i });
+              IntermediateDataFormat<?> idf2 = new JSONIntermediateDataFormat(schema);
+              idf2.setObjectData(new Object[] { prefix + (i + 1) });
+              byte[] bytes1 = serialize(new SqoopWritable(idf1));
+              byte[] bytes2 = serialize(new SqoopWritable(idf2));
+              assertEquals(Integer.signum(comparator.compare(bytes1, 0, bytes1.length, bytes2, 0, bytes2.length)),
+                  Integer.signum(idf1.compareTo(idf2)));
+            }
+            return null;
+          }
+        }));
+      }
+      for (Future<Void> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testCompressRowsFromConfiguration() throws Exception {
+    Schema schema = new Schema("test").addColumn(new Text("t"));
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < SqoopIDFSerializationUtils.COMPRESSION_THRESHOLD; i++) {
+      builder.append('a');
+    }
+    Object[] row = new Object[] { builder.toString() };
+
+    CSVIntermediateDataFormat plain = new CSVIntermediateDataFormat(schema);
+    plain.setObjectData(row);
+    SqoopWritable plainWritable = new SqoopWritable(plain);
+    plainWritable.setConf(new Configuration());
+    byte[] plainBytes = serialize(plainWritable);
+
+    Configuration conf = new Configuration();
+    conf.setBoolean(MRJobConstants.JOB_MR_COMPRESS_ROWS, true);
+    CSVIntermediateDataFormat compressed = new CSVIntermediateDataFormat(schema);
+    compressed.setObjectData(row);
+    SqoopWritable compressedWritable = new SqoopWritable(compressed);
+    compressedWritable.setConf(conf);
+    byte[] compressedBytes = serialize(compressedWritable);
+
+    assertTrue(compressedBytes.length < plainBytes.length / 10);
+    SqoopWritable read = new SqoopWritable(new CSVIntermediateDataFormat(schema));
+    read.readFields(new DataInputStream(new ByteArrayInputStream(compressedBytes)));
+    assertEquals(read.toString(), plainWritable.toString());
+  }
 }
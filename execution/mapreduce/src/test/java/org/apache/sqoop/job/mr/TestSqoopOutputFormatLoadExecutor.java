@@ -160,6 +160,12 @@ public void setUp() {
     jobContextMock = mock(TaskAttemptContext.class);
     GenericCounter counter = new GenericCounter("test", "test-me");
     when(((TaskAttemptContext) jobContextMock).getCounter(SqoopCounters.ROWS_WRITTEN)).thenReturn(counter);
+    when(jobContextMock.getCounter(SqoopCounters.ROW_BUFFER_DEPTH_TOTAL))
+        .thenReturn(new GenericCounter("test", "depth"));
+    when(jobContextMock.getCounter(SqoopCounters.ROW_BUFFER_WRITE_STALL_MILLIS))
+        .thenReturn(new GenericCounter("test", "write-stall"));
+    when(jobContextMock.getCounter(SqoopCounters.ROW_BUFFER_READ_STALL_MILLIS))
+        .thenReturn(new GenericCounter("test", "read-stall"));
     org.apache.hadoop.mapred.JobConf testConf = new org.apache.hadoop.mapred.JobConf();
     when(jobContextMock.getConfiguration()).thenReturn(testConf);
   }
@@ -217,6 +223,30 @@ public void testSuccessfulContinuousLoader() throws Throwable {
     Assert.assertFalse(exceptionThrown, "Exception Thrown during writing");
   }
 
+  @Test
+  public void testSuccessfulContinuousLoaderWithSingleSlot() throws Throwable {
+    SqoopOutputFormatLoadExecutor executor = new SqoopOutputFormatLoadExecutor(jobContextMock,
+        GoodContinuousLoader.class.getName(), getIDF(), getMatcher(), 1);
+    RecordWriter<SqoopWritable, NullWritable> writer = executor.getRecordWriter();
+
+    IntermediateDataFormat<?> dataFormat = MRJobTestUtil.getTestIDF();
+    SqoopWritable writable = new SqoopWritable(dataFormat);
+    for (int i = 0; i < 10; i++) {
+      StringBuilder builder = new StringBuilder();
+      for (int count = 0; count < 100; count++) {
+        builder.append(String.valueOf(count));
+        if (count != 99) {
+          builder.append(",");
+        }
+      }
+      dataFormat.setCSVTextData(builder.toString());
+      writer.write(writable, null);
+    }
+    writer.close(null);
+    verify(jobContextMock, times(1)).getCounter(SqoopCounters.ROWS_WRITTEN);
+    verify(jobContextMock, times(1)).getCounter(SqoopCounters.ROW_BUFFER_DEPTH_TOTAL);
+  }
+
   @Test(expectedExceptions = SqoopException.class)
   public void testSuccessfulLoader() throws Throwable {
     SqoopOutputFormatLoadExecutor executor = new SqoopOutputFormatLoadExecutor(jobContextMock,
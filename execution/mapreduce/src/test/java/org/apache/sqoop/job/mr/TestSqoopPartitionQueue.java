@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.job.mr;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.MRJobConfig;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import com.google.common.io.Files;
+
+public class TestSqoopPartitionQueue {
+
+  private File jobDir;
+  private SqoopPartitionQueue queue;
+
+  @BeforeMethod(alwaysRun = true)
+  public void setUp() throws Exception {
+    jobDir = Files.createTempDir();
+    Configuration conf = new Configuration();
+    conf.set(MRJobConfig.MAPREDUCE_JOB_DIR, jobDir.getAbsolutePath());
+    queue = new SqoopPartitionQueue(conf);
+  }
+
+  @Test
+  public void testClaimIsHeldByItsOwner() throws Exception {
+    assertTrue(queue.claim(0, "task_0"));
+    assertFalse(queue.claim(0, "task_1"));
+    assertTrue(queue.claim(0, "task_0"));
+    assertTrue(queue.claim(1, "task_1"));
+  }
+
+  @Test
+  public void testTruncatedClaimDoesNotBlockRetry() throws Exception {
+    // An attempt died while writing its claim
+    File claims = new File(jobDir, "sqoop-partition-queue/claims");
+    assertTrue(claims.mkdirs());
+    new FileOutputStream(new File(claims, ".0.dead")).close();
+
+    assertTrue(queue.claim(0, "task_0"));
+    assertTrue(queue.claim(0, "task_0"));
+    assertFalse(queue.claim(0, "task_1"));
+  }
+
+  @Test
+  public void testConcurrentClaimsHaveOneWinner() throws Exception {
+    int claimers = 8;
+    ExecutorService executor = Executors.newFixedThreadPool(claimers);
+    try {
+      for (int index = 0; index < 20; index++) {
+        final int partition = index;
+        List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+        for (int i = 0; i < claimers; i++) {
+          final String owner = "task_" + i;
+          results.add(executor.submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() throws Exception {
+              return queue.claim(partition, owner);
+            }
+          }));
+        }
+        int winners = 0;
+        for (Future<Boolean> result : results) {
+          if (result.get()) {
+            winners++;
+          }
+        }
+        assertEquals(winners, 1);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -26,6 +26,15 @@ public final class SparkJobConstants extends JobConstants {
     public static final String PREFIX_CONNECTOR_DRIVER_CONTEXT =
             PREFIX_JOB_CONFIG + "connector.driver.context.";
 
+    /**
+     * Number of rows that can be queued between the extractor and the loader
+     * or the shuffle of a Spark task.
+     */
+    public static final String JOB_SPARK_ROW_BUFFER_CAPACITY = PREFIX_JOB_CONFIG
+            + "spark.row.buffer.capacity";
+
+    public static final int DEFAULT_JOB_SPARK_ROW_BUFFER_CAPACITY = 1024;
+
 
     private SparkJobConstants() {
         // Disable explicit object creation
@@ -0,0 +1,176 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.spark;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.error.code.SparkExecutionError;
+import org.apache.sqoop.execution.commons.job.SqoopRowRingBuffer;
+
+/**
+ * Extraction of one partition by a separate thread, which hands the rows over
+ * to the Spark task thread through a {@link SqoopRowRingBuffer}. The extractor
+ * is therefore never more than the ring capacity ahead, whatever the size of
+ * the partition.
+ *
+ * NOTE: Only the Spark task thread may read the rows.
+ */
+final class PartitionExtraction {
+
+    private final SqoopRowRingBuffer rowBuffer;
+    private final FutureTask<Long> task;
+
+    /**
+     * @param rowBuffer ring the extractor publishes its rows to
+     * @param extractor extraction of the partition, returning the number of rows read
+     */
+    PartitionExtraction(SqoopRowRingBuffer rowBuffer, final Callable<Long> extractor) {
+        this.rowBuffer = rowBuffer;
+        this.task = new FutureTask<Long>(new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                try {
+                    return extractor.call();
+                } finally {
+                    // the final publish happens before the ring is finished
+                    PartitionExtraction.this.rowBuffer.finish();
+                }
+            }
+        });
+    }
+
+    SqoopRowRingBuffer getRowBuffer() {
+        return rowBuffer;
+    }
+
+    /**
+     * Run the extractor in a new daemon thread.
+     */
+    void start() {
+        Thread thread = new Thread(task, "sqoop-extractor");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Return the next extracted row, waiting while there is none. The row must
+     * be given back with {@link #release()} before the next call.
+     *
+     * @return next row or null once the extractor has successfully finished
+     *         and all its rows were read
+     * @throws SqoopException if the extractor has failed
+     */
+    IntermediateDataFormat<?> take() throws InterruptedException {
+        IntermediateDataFormat<?> slot = rowBuffer.take();
+        if (slot == null) {
+            // surface a failure of the extractor instead of a premature end of data
+            getRowsRead();
+        }
+        return slot;
+    }
+
+    /**
+     * Give the row returned by the last {@link #take()} back to the extractor.
+     */
+    void release() {
+        rowBuffer.release();
+    }
+
+    /**
+     * Stop reading the rows, unblocking the extractor if it is still running.
+     */
+    void abort() {
+        rowBuffer.abort();
+    }
+
+    /**
+     * Stop the extractor if it is still running: unblock it and interrupt its
+     * thread, so that it releases its resources.
+     */
+    void cancel() {
+        rowBuffer.abort();
+        task.cancel(true);
+    }
+
+    /**
+     * Wait for the extractor to finish.
+     *
+     * @return number of rows read by the extractor
+     * @throws SqoopException if the extractor has failed
+     */
+    long getRowsRead() throws InterruptedException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SqoopException) {
+                throw (SqoopException) e.getCause();
+            }
+            throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, e.getCause());
+        }
+    }
+
+    /**
+     * Iterate over the extracted rows. Every row remains valid until the next
+     * call to the iterator, when its slot is given back to the extractor.
+     */
+    Iterator<IntermediateDataFormat<?>> iterator() {
+        return new Iterator<IntermediateDataFormat<?>>() {
+            private boolean holding;
+            private IntermediateDataFormat<?> next;
+            private boolean done;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !done) {
+                    if (holding) {
+                        release();
+                        holding = false;
+                    }
+                    try {
+                        next = take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, e);
+                    }
+                    done = (next == null);
+                }
+                return next != null;
+            }
+
+            @Override
+            public IntermediateDataFormat<?> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                IntermediateDataFormat<?> current = next;
+                next = null;
+                holding = true;
+                return current;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+}
@@ -22,12 +22,20 @@
 
 public class SparkDataReader extends DataReader {
 
-    private Iterator<IntermediateDataFormat<?>> dataIterator = null;
+    private Iterator<? extends IntermediateDataFormat<?>> dataIterator = null;
 
     public SparkDataReader(List<IntermediateDataFormat<?>> data) {
         this.dataIterator = (data).iterator();
     }
 
+    /**
+     * @param rows rows to read, every IDF returned by the iterator only needs
+     *          to remain valid until the next call to the iterator
+     */
+    public SparkDataReader(Iterator<? extends IntermediateDataFormat<?>> rows) {
+        this.dataIterator = rows;
+    }
+
     @Override
     public Object[] readArrayRecord() throws InterruptedException {
         if (dataIterator.hasNext()) {
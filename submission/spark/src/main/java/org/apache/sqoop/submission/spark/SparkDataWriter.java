@@ -19,32 +19,24 @@
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
 import org.apache.sqoop.connector.matcher.Matcher;
-import org.apache.sqoop.driver.JobRequest;
 import org.apache.sqoop.error.code.MRExecutionError;
+import org.apache.sqoop.error.code.SparkExecutionError;
 import org.apache.sqoop.etl.io.DataWriter;
-import org.apache.sqoop.execution.spark.SparkJobRequest;
-import org.apache.sqoop.job.SparkJobConstants;
-import org.apache.sqoop.utils.ClassUtils;
+import org.apache.sqoop.etl.io.RowBatch;
+import org.apache.sqoop.execution.commons.job.SqoopRowRingBuffer;
 
 public class SparkDataWriter extends DataWriter {
 
     public static final Logger LOG = Logger.getLogger(SparkDataWriter.class);
 
-    private SparkJobRequest request;
-
     private IntermediateDataFormat<Object> fromIDF;
-    private IntermediateDataFormat<Object> toIDF;
     private Matcher matcher;
+    private SqoopRowRingBuffer rowBuffer;
 
-    public SparkDataWriter(JobRequest request, IntermediateDataFormat<Object> f,
-            IntermediateDataFormat<Object> t, Matcher m) {
-        assert request instanceof SparkJobRequest;
-
-        this.request = (SparkJobRequest) request;
+    SparkDataWriter(IntermediateDataFormat<Object> f, Matcher m, SqoopRowRingBuffer buffer) {
         fromIDF = f;
-        toIDF = t;
         matcher = m;
-
+        rowBuffer = buffer;
     }
 
     @Override
@@ -65,6 +57,16 @@ public void writeRecord(Object obj) {
         writeContent();
     }
 
+    @Override
+    public void writeBatch(RowBatch batch) {
+        // The fromIDF converts the row as soon as it is set, so a single array is reused
+        Object[] row = new Object[batch.getColumnCount()];
+        for (int i = 0; i < batch.size(); i++) {
+            fromIDF.setObjectData(batch.getRow(i, row));
+            writeContent();
+        }
+    }
+
     private void writeContent() {
         try {
             if (LOG.isDebugEnabled()) {
@@ -72,30 +74,21 @@ private void writeContent() {
             }
             // NOTE: The fromIDF and the corresponding fromSchema is used only
             // for the matching process
-            // The output of the mappers is finally written to the toIDF object
-            // after the matching process
-            // since the writable encapsulates the toIDF ==> new
-            // SqoopWritable(toIDF)
-            toIDF.setObjectData(matcher.getMatchingData(fromIDF.getObjectData()));
-            // NOTE: We do not use the reducer to do the writing (a.k.a LOAD in
-            // ETL).
-            // Hence the mapper sets up the writable
-            String toIDFClass = request.getDriverContext().getString(
-                    SparkJobConstants.TO_INTERMEDIATE_DATA_FORMAT);
-            IntermediateDataFormat<Object> newIDF = (IntermediateDataFormat<Object>) ClassUtils
-                    .instantiate(toIDFClass);
-            newIDF.setSchema(toIDF.getSchema());
-
-
-            newIDF.setCSVTextData(toIDF.getCSVTextData());
-            newIDF.setData(toIDF.getData());
-            newIDF.setObjectData(toIDF.getObjectData());
-            request.addData(newIDF);
-
-
+            // The output of the extractor is written to a free TO IDF slot of
+            // the row ring after the matching process, the slot is handed
+            // back once the loader or the shuffle has consumed the row
+            IntermediateDataFormat<?> slot = rowBuffer.claim();
+            if (slot == null) {
+                throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000,
+                        "The consumer of the extracted rows has stopped");
+            }
+            slot.setObjectData(matcher.getMatchingData(fromIDF));
+            rowBuffer.publish();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SqoopException(MRExecutionError.MAPRED_EXEC_0013, e);
         } catch (Exception e) {
             throw new SqoopException(MRExecutionError.MAPRED_EXEC_0013, e);
         }
     }
 }
-
@@ -16,16 +16,21 @@
 package org.apache.sqoop.submission.spark;
 
 import java.io.Serializable;
-import java.util.List;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
 
 import org.apache.log4j.Logger;
-import org.apache.spark.api.java.function.Function;
+import org.apache.spark.TaskContext;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.spark.util.TaskCompletionListener;
 import org.apache.sqoop.common.Direction;
 import org.apache.sqoop.common.SqoopException;
 import org.apache.sqoop.connector.idf.IntermediateDataFormat;
 import org.apache.sqoop.connector.matcher.Matcher;
 import org.apache.sqoop.connector.matcher.MatcherFactory;
 import org.apache.sqoop.error.code.SparkExecutionError;
+import org.apache.sqoop.execution.commons.job.SqoopRowRingBuffer;
 import org.apache.sqoop.execution.spark.SparkJobRequest;
 import org.apache.sqoop.job.SparkJobConstants;
 import org.apache.sqoop.job.SparkPrefixContext;
@@ -35,17 +40,90 @@
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.utils.ClassUtils;
 
-public class SqoopExtractFunction implements Function<Partition, List<IntermediateDataFormat<?>>>,
+/**
+ * Extract the partitions of a Spark partition as a stream of rows in the CSV
+ * text format of the TO intermediate data format, for them to be shuffled to
+ * the loaders. The extractor runs in its own thread and is never more than
+ * the row buffer capacity ahead of the consumer of the stream. It is stopped
+ * when the task completes, even if the stream was not read to its end.
+ */
+@SuppressWarnings("serial")
+public class SqoopExtractFunction implements FlatMapFunction<Iterator<Partition>, String>,
         Serializable {
     private SparkJobRequest req;
+    private SqoopSparkCounters counters;
     public static final Logger LOG = Logger.getLogger(SqoopExtractFunction.class);
 
-    public SqoopExtractFunction(SparkJobRequest request) {
+    public SqoopExtractFunction(SparkJobRequest request, SqoopSparkCounters counters) {
         req = request;
+        this.counters = counters;
     }
 
     @Override
-    public List<IntermediateDataFormat<?>> call(Partition p) throws Exception {
+    public Iterable<String> call(final Iterator<Partition> partitions) throws Exception {
+        return new Iterable<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                final ExtractedRowIterator rows = new ExtractedRowIterator(partitions);
+                TaskContext taskContext = TaskContext.get();
+                if (taskContext != null) {
+                    // the task may be cancelled or stop reading the rows early
+                    taskContext.addTaskCompletionListener(new TaskCompletionListener() {
+                        @Override
+                        public void onTaskCompletion(TaskContext context) {
+                            rows.abort();
+                        }
+                    });
+                }
+                return rows;
+            }
+        };
+    }
+
+    /**
+     * Create the ring receiving the rows extracted for the given request.
+     */
+    static SqoopRowRingBuffer createRowBuffer(SparkJobRequest req) {
+        Schema fromSchema = req.getJobSubmission().getFromSchema();
+        Schema toSchema = req.getJobSubmission().getToSchema();
+        Matcher matcher = MatcherFactory.getMatcher(fromSchema, toSchema);
+
+        String toIDFClass = req.getDriverContext().getString(
+                SparkJobConstants.TO_INTERMEDIATE_DATA_FORMAT);
+        IntermediateDataFormat<?> toIDF = (IntermediateDataFormat<?>) ClassUtils
+                .instantiate(toIDFClass);
+        toIDF.setSchema(matcher.getToSchema());
+
+        int capacity = req.getDriverContext().getInt(SparkJobConstants.JOB_SPARK_ROW_BUFFER_CAPACITY,
+                SparkJobConstants.DEFAULT_JOB_SPARK_ROW_BUFFER_CAPACITY);
+        return new SqoopRowRingBuffer(toIDF, capacity);
+    }
+
+    /**
+     * Run the extractor of a partition in a new thread, filling a new row ring.
+     */
+    static PartitionExtraction startExtractor(final SparkJobRequest req, final Partition p,
+            final SqoopSparkCounters counters) {
+        final SqoopRowRingBuffer rowBuffer = createRowBuffer(req);
+        PartitionExtraction extraction = new PartitionExtraction(rowBuffer, new Callable<Long>() {
+            @Override
+            public Long call() {
+                try {
+                    long rowsRead = extract(req, p, rowBuffer);
+                    counters.getRowsRead().add(rowsRead);
+                    return rowsRead;
+                } catch (RuntimeException e) {
+                    LOG.error("Error while extracting data", e);
+                    throw e;
+                }
+            }
+        });
+        extraction.start();
+        return extraction;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long extract(SparkJobRequest req, Partition p, SqoopRowRingBuffer rowBuffer) {
 
         long mapTime = System.currentTimeMillis();
         String extractorName = req.getDriverContext().getString(SparkJobConstants.JOB_ETL_EXTRACTOR);
@@ -64,12 +142,6 @@ public List<IntermediateDataFormat<?>> call(Partition p) throws Exception {
                 .instantiate(fromIDFClass);
         fromIDF.setSchema(matcher.getFromSchema());
 
-        String toIDFClass = req.getDriverContext().getString(
-                SparkJobConstants.TO_INTERMEDIATE_DATA_FORMAT);
-        IntermediateDataFormat<Object> toIDF = (IntermediateDataFormat<Object>) ClassUtils
-                .instantiate(toIDFClass);
-        toIDF.setSchema(matcher.getToSchema());
-
         // Objects that should be passed to the Executor execution
         SparkPrefixContext subContext = new SparkPrefixContext(req.getConf(),
                 SparkJobConstants.PREFIX_CONNECTOR_FROM_CONTEXT);
@@ -78,7 +150,7 @@ public List<IntermediateDataFormat<?>> call(Partition p) throws Exception {
         Object fromJobConfig = req.getJobConfig(Direction.FROM);
 
         ExtractorContext extractorContext = new ExtractorContext(subContext, new SparkDataWriter(
-                req, fromIDF, toIDF, matcher), fromSchema, SparkJobConstants.SUBMITTING_USER);
+                fromIDF, matcher, rowBuffer), fromSchema, SparkJobConstants.SUBMITTING_USER);
 
         try {
             LOG.info("Starting extractor... ");
@@ -91,9 +163,97 @@ public List<IntermediateDataFormat<?>> call(Partition p) throws Exception {
 
         LOG.info("Extractor has finished");
         LOG.info(">>> MAP time ms:" + (System.currentTimeMillis() - mapTime));
-        req.getConf().put("mapTime",""+(System.currentTimeMillis() - mapTime));
+        return extractor.getRowsRead();
+    }
+
+    /**
+     * Size of the UTF-8 encoding of the given text.
+     */
+    static long utf8Length(String text) {
+        long length = text.length();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 0x800) {
+                // surrogate pairs take 4 bytes for 2 chars
+                length += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                length += 1;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Rows of the partitions, extracted one partition after the other.
+     */
+    private class ExtractedRowIterator implements Iterator<String> {
+
+        private final Iterator<Partition> partitions;
+        private PartitionExtraction extraction;
+        private long bytes;
+        private String next;
 
-        return req.getData();
+        ExtractedRowIterator(Iterator<Partition> partitions) {
+            this.partitions = partitions;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (next == null) {
+                    if (extraction == null) {
+                        if (!partitions.hasNext()) {
+                            return false;
+                        }
+                        extraction = startExtractor(req, partitions.next(), counters);
+                    }
+                    IntermediateDataFormat<?> slot = extraction.take();
+                    if (slot == null) {
+                        // the partition is done
+                        extraction = null;
+                        counters.getBytesShuffled().add(bytes);
+                        bytes = 0;
+                        continue;
+                    }
+                    try {
+                        next = slot.getCSVTextData();
+                    } finally {
+                        extraction.release();
+                    }
+                    bytes += utf8Length(next);
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abort();
+                throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, e);
+            } catch (RuntimeException e) {
+                abort();
+                throw e;
+            }
+        }
+
+        private void abort() {
+            if (extraction != null) {
+                extraction.cancel();
+                extraction = null;
+            }
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String row = next;
+            next = null;
+            return row;
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
     }
 
 }
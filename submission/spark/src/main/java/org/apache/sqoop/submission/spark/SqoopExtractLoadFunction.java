@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.spark;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.apache.log4j.Logger;
+import org.apache.spark.api.java.function.FlatMapFunction;
+import org.apache.sqoop.execution.spark.SparkJobRequest;
+import org.apache.sqoop.job.etl.Partition;
+
+/**
+ * Extract and load the partitions of a Spark partition in the same task, when
+ * the loaders do not need the rows to be redistributed. The extractor runs in
+ * its own thread and hands its rows over to the loader through a bounded
+ * buffer of TO intermediate data format slots, without any serialization.
+ */
+@SuppressWarnings("serial")
+public class SqoopExtractLoadFunction implements FlatMapFunction<Iterator<Partition>, Void>,
+        Serializable {
+
+    public static final Logger LOG = Logger.getLogger(SqoopExtractLoadFunction.class);
+
+    private SparkJobRequest req;
+    private SqoopSparkCounters counters;
+
+    public SqoopExtractLoadFunction(SparkJobRequest request, SqoopSparkCounters counters) {
+        req = request;
+        this.counters = counters;
+    }
+
+    @Override
+    public Iterable<Void> call(Iterator<Partition> partitions) throws Exception {
+        while (partitions.hasNext()) {
+            PartitionExtraction extraction = SqoopExtractFunction.startExtractor(req,
+                    partitions.next(), counters);
+            boolean loaded = false;
+            try {
+                SqoopLoadFunction.load(req, new SparkDataReader(extraction.iterator()), counters);
+                loaded = true;
+            } finally {
+                // unblock the extractor if the loader did not read all the rows
+                extraction.abort();
+            }
+            if (loaded) {
+                extraction.getRowsRead();
+            }
+        }
+        return Collections.singletonList(null);
+    }
+
+}
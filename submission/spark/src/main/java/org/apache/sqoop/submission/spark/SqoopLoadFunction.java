@@ -18,7 +18,6 @@
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.List;
 
 import org.apache.log4j.Logger;
 import org.apache.spark.api.java.function.FlatMapFunction;
@@ -37,20 +36,62 @@
 import org.apache.sqoop.schema.Schema;
 import org.apache.sqoop.utils.ClassUtils;
 
+/**
+ * Load the rows of a Spark partition, given in the CSV text format of the TO
+ * intermediate data format. The rows are streamed to the loader one by one.
+ */
 @SuppressWarnings("serial")
 public class SqoopLoadFunction implements
-        FlatMapFunction<Iterator<List<IntermediateDataFormat<?>>>, Void>, Serializable {
+        FlatMapFunction<Iterator<String>, Void>, Serializable {
 
     private SparkJobRequest reqLoad;
+    private SqoopSparkCounters counters;
 
     public static final Logger LOG = Logger.getLogger(SqoopLoadFunction.class);
 
-    public SqoopLoadFunction(SparkJobRequest request) {
+    public SqoopLoadFunction(SparkJobRequest request, SqoopSparkCounters counters) {
         reqLoad =  request;
+        this.counters = counters;
     }
 
     @Override
-    public Iterable<Void> call(Iterator<List<IntermediateDataFormat<?>>> data) throws Exception {
+    public Iterable<Void> call(final Iterator<String> data) throws Exception {
+        Schema fromSchema = reqLoad.getJobSubmission().getFromSchema();
+        Schema toSchema = reqLoad.getJobSubmission().getToSchema();
+        Matcher matcher = MatcherFactory.getMatcher(fromSchema, toSchema);
+
+        String toIDFClass = reqLoad.getDriverContext().getString(
+                SparkJobConstants.TO_INTERMEDIATE_DATA_FORMAT);
+        final IntermediateDataFormat<?> toIDF = (IntermediateDataFormat<?>) ClassUtils
+                .instantiate(toIDFClass);
+        toIDF.setSchema(matcher.getToSchema());
+
+        // a single IDF holds the current row
+        Iterator<IntermediateDataFormat<?>> rows = new Iterator<IntermediateDataFormat<?>>() {
+            @Override
+            public boolean hasNext() {
+                return data.hasNext();
+            }
+
+            @Override
+            public IntermediateDataFormat<?> next() {
+                toIDF.setCSVTextData(data.next());
+                return toIDF;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+        load(reqLoad, new SparkDataReader(rows), counters);
+        return Collections.singletonList(null);
+    }
+
+    /**
+     * Run the loader of the request on the rows of the given reader.
+     */
+    static void load(SparkJobRequest reqLoad, DataReader reader, SqoopSparkCounters counters) {
 
         long reduceTime = System.currentTimeMillis();
 
@@ -61,34 +102,26 @@ public Iterable<Void> call(Iterator<List<IntermediateDataFormat<?>>> data) throw
 
         LOG.info("Sqoop Load Function is  starting");
         try {
-            while (data.hasNext()) {
-                DataReader reader = new SparkDataReader(data.next());
-
-                Loader loader = (Loader) ClassUtils.instantiate(loaderName);
-
-                SparkPrefixContext subContext = new SparkPrefixContext(reqLoad.getConf(),
-                        SparkJobConstants.PREFIX_CONNECTOR_TO_CONTEXT);
+            Loader loader = (Loader) ClassUtils.instantiate(loaderName);
 
-                Object toLinkConfig = reqLoad.getConnectorLinkConfig(Direction.TO);
-                Object toJobConfig = reqLoad.getJobConfig(Direction.TO);
+            SparkPrefixContext subContext = new SparkPrefixContext(reqLoad.getConf(),
+                    SparkJobConstants.PREFIX_CONNECTOR_TO_CONTEXT);
 
-                // Create loader context
-                LoaderContext loaderContext = new LoaderContext(subContext, reader, matcher.getToSchema(),SparkJobConstants.SUBMITTING_USER);
+            Object toLinkConfig = reqLoad.getConnectorLinkConfig(Direction.TO);
+            Object toJobConfig = reqLoad.getJobConfig(Direction.TO);
 
-                LOG.info("Running loader class " + loaderName);
-                loader.load(loaderContext, toLinkConfig, toJobConfig);
-                LOG.info("Loader has finished");
-                LOG.info(">>> REDUCE time ms:" + (System.currentTimeMillis() - reduceTime));
+            // Create loader context
+            LoaderContext loaderContext = new LoaderContext(subContext, reader, matcher.getToSchema(),SparkJobConstants.SUBMITTING_USER);
 
-                reqLoad.getConf().put("reduceTime",""+(System.currentTimeMillis() - reduceTime));
-            }
+            LOG.info("Running loader class " + loaderName);
+            loader.load(loaderContext, toLinkConfig, toJobConfig);
+            counters.getRowsWritten().add(loader.getRowsWritten());
+            LOG.info("Loader has finished");
+            LOG.info(">>> REDUCE time ms:" + (System.currentTimeMillis() - reduceTime));
         } catch (Throwable t) {
             LOG.error("Error while loading data out of MR job.", t);
             throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, t);
         }
-
-        return Collections.singletonList(null);
-
     }
 
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.spark;
+
+import java.io.Serializable;
+
+import org.apache.spark.Accumulator;
+import org.apache.spark.AccumulatorParam;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.sqoop.submission.counter.Counter;
+import org.apache.sqoop.submission.counter.CounterGroup;
+import org.apache.sqoop.submission.counter.Counters;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+
+/**
+ * Spark accumulators behind the Sqoop counters of a job. The functions run by
+ * the executors add to them, the driver reads them once the job is done.
+ */
+public class SqoopSparkCounters implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Accumulator<Long> rowsRead;
+    private final Accumulator<Long> rowsWritten;
+    private final Accumulator<Long> bytesShuffled;
+
+    public SqoopSparkCounters(JavaSparkContext sc) {
+        rowsRead = sc.accumulator(0L, "Sqoop rows read", new LongAccumulatorParam());
+        rowsWritten = sc.accumulator(0L, "Sqoop rows written", new LongAccumulatorParam());
+        bytesShuffled = sc.accumulator(0L, "Sqoop bytes shuffled", new LongAccumulatorParam());
+    }
+
+    public Accumulator<Long> getRowsRead() {
+        return rowsRead;
+    }
+
+    public Accumulator<Long> getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * @return UTF-8 size of the rows sent from the extractors to the loaders
+     *         through a Spark shuffle
+     */
+    public Accumulator<Long> getBytesShuffled() {
+        return bytesShuffled;
+    }
+
+    /**
+     * Convert the accumulated values, only available on the driver.
+     */
+    public Counters toCounters() {
+        CounterGroup group = new CounterGroup(SqoopCounters.class.getName());
+        group.addCounter(new Counter(SqoopCounters.ROWS_READ.name(), rowsRead.value()));
+        group.addCounter(new Counter(SqoopCounters.ROWS_WRITTEN.name(), rowsWritten.value()));
+        group.addCounter(new Counter(SqoopCounters.BYTES_SHUFFLED.name(), bytesShuffled.value()));
+        return new Counters().addCounterGroup(group);
+    }
+
+    @SuppressWarnings("serial")
+    private static class LongAccumulatorParam implements AccumulatorParam<Long> {
+
+        @Override
+        public Long addAccumulator(Long t1, Long t2) {
+            return t1 + t2;
+        }
+
+        @Override
+        public Long addInPlace(Long r1, Long r2) {
+            return r1 + r2;
+        }
+
+        @Override
+        public Long zero(Long initialValue) {
+            return 0L;
+        }
+    }
+}
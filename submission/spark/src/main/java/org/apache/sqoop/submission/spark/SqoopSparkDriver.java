@@ -24,7 +24,6 @@
 import org.apache.spark.api.java.JavaSparkContext;
 import org.apache.sqoop.common.Direction;
 import org.apache.sqoop.common.SqoopException;
-import org.apache.sqoop.connector.idf.IntermediateDataFormat;
 import org.apache.sqoop.driver.JobRequest;
 import org.apache.sqoop.error.code.SparkExecutionError;
 import org.apache.sqoop.execution.spark.SparkJobRequest;
@@ -65,21 +64,27 @@ public static void execute(JobRequest request, SparkConf conf, JavaSparkContext
         LOG.info(">>> Partition size:" + sp.size());
 
         JavaRDD<Partition> rdd = sc.parallelize(sp, sp.size());
+        SqoopSparkCounters counters = new SqoopSparkCounters(sc);
 
-        SqoopExtractFunction extractFunction= new SqoopExtractFunction(sparkJobRequest);
-        JavaRDD<List<IntermediateDataFormat<?>>> mapRDD = rdd.map(extractFunction);
-              // if max loaders or num loaders is given repartition to adjust the max
+        // if max loaders or num loaders is given repartition to adjust the max
         // loader parallelism
-        if (numLoaders != numExtractors) {
-            JavaRDD<List<IntermediateDataFormat<?>>> reParitionedRDD = mapRDD.repartition(numLoaders);
+        if (numLoaders != sp.size()) {
+            // the extracted rows are streamed to the shuffle, which spills to disk as needed
+            JavaRDD<String> rowRDD = rdd.mapPartitions(new SqoopExtractFunction(sparkJobRequest, counters));
+            JavaRDD<String> reParitionedRDD = rowRDD.repartition(numLoaders);
             LOG.info(">>> RePartition RDD size:" + reParitionedRDD.partitions().size());
-            reParitionedRDD.mapPartitions(new SqoopLoadFunction(sparkJobRequest)).collect();
+            reParitionedRDD.mapPartitions(new SqoopLoadFunction(sparkJobRequest, counters)).collect();
             //            sparkJobRequest.getJobSubmission().setStatus(SubmissionStatus.RUNNING);
         } else {
-            LOG.info(">>> Mapped RDD size:" + mapRDD.partitions().size());
-            mapRDD.mapPartitions(new SqoopLoadFunction(sparkJobRequest)).collect();
+            // every loader consumes the rows of one extractor within the same task
+            LOG.info(">>> Mapped RDD size:" + rdd.partitions().size());
+            rdd.mapPartitions(new SqoopExtractLoadFunction(sparkJobRequest, counters)).collect();
         }
 
+        sparkJobRequest.getJobSubmission().setCounters(counters.toCounters());
+        LOG.info(">>> Rows read:" + counters.getRowsRead().value() + ", rows written:"
+                + counters.getRowsWritten().value() + ", bytes shuffled:"
+                + counters.getBytesShuffled().value());
         LOG.info(">>> TOTAL time ms:" + (System.currentTimeMillis() - totalTime));
         //Change status when job has finished
         //        sparkJobRequest.getJobSubmission().setStatus(SubmissionStatus.SUCCEEDED);
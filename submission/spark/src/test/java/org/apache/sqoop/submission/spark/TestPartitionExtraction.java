@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.spark;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+
+import org.apache.sqoop.common.SqoopException;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
+import org.apache.sqoop.connector.idf.IntermediateDataFormat;
+import org.apache.sqoop.error.code.SparkExecutionError;
+import org.apache.sqoop.execution.commons.job.SqoopRowRingBuffer;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.Text;
+import org.testng.annotations.Test;
+
+public class TestPartitionExtraction {
+
+    private static SqoopRowRingBuffer createRowBuffer(int capacity) {
+        return new SqoopRowRingBuffer(new CSVIntermediateDataFormat(
+                new Schema("test").addColumn(new Text("t"))), capacity);
+    }
+
+    /**
+     * Publish the given number of rows, failing afterwards if requested.
+     */
+    private static Callable<Long> producer(final SqoopRowRingBuffer rowBuffer, final int rows,
+            final boolean fail) {
+        return new Callable<Long>() {
+            @Override
+            public Long call() throws Exception {
+                long published = 0;
+                for (int i = 0; i < rows; i++) {
+                    IntermediateDataFormat<?> slot = rowBuffer.claim();
+                    if (slot == null) {
+                        return published;
+                    }
+                    slot.setCSVTextData("'" + i + "'");
+                    rowBuffer.publish();
+                    published++;
+                }
+                if (fail) {
+                    throw new SqoopException(SparkExecutionError.SPARK_EXEC_0000, "extractor failure");
+                }
+                return published;
+            }
+        };
+    }
+
+    @Test
+    public void testRowsAreStreamedInOrder() throws Exception {
+        SqoopRowRingBuffer rowBuffer = createRowBuffer(4);
+        PartitionExtraction extraction = new PartitionExtraction(rowBuffer, producer(rowBuffer, 1000, false));
+        extraction.start();
+
+        Iterator<IntermediateDataFormat<?>> rows = extraction.iterator();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(rows.hasNext());
+            assertEquals(rows.next().getCSVTextData(), "'" + i + "'");
+        }
+        assertFalse(rows.hasNext());
+        assertEquals(extraction.getRowsRead(), 1000);
+        assertTrue(rowBuffer.isDrained());
+    }
+
+    @Test
+    public void testExtractorFailureIsNotAnEndOfData() throws Exception {
+        SqoopRowRingBuffer rowBuffer = createRowBuffer(4);
+        PartitionExtraction extraction = new PartitionExtraction(rowBuffer, producer(rowBuffer, 3, true));
+        extraction.start();
+
+        Iterator<IntermediateDataFormat<?>> rows = extraction.iterator();
+        for (int i = 0; i < 3; i++) {
+            assertEquals(rows.next().getCSVTextData(), "'" + i + "'");
+        }
+        try {
+            rows.hasNext();
+            fail("The failure of the extractor was not reported");
+        } catch (SqoopException e) {
+            assertEquals(e.getErrorCode(), SparkExecutionError.SPARK_EXEC_0000);
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testAbortUnblocksTheExtractor() throws Exception {
+        SqoopRowRingBuffer rowBuffer = createRowBuffer(1);
+        PartitionExtraction extraction = new PartitionExtraction(rowBuffer, producer(rowBuffer, 1000, false));
+        extraction.start();
+
+        Iterator<IntermediateDataFormat<?>> rows = extraction.iterator();
+        assertEquals(rows.next().getCSVTextData(), "'0'");
+        extraction.abort();
+        assertTrue(extraction.getRowsRead() < 1000);
+    }
+}
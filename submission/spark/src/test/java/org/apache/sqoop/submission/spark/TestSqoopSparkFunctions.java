@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2016 Stratio (http://stratio.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.sqoop.submission.spark;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.spark.SparkConf;
+import org.apache.spark.SparkException;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.sqoop.connector.idf.CSVIntermediateDataFormat;
+import org.apache.sqoop.execution.spark.SparkJobRequest;
+import org.apache.sqoop.job.SparkJobConstants;
+import org.apache.sqoop.job.etl.Extractor;
+import org.apache.sqoop.job.etl.ExtractorContext;
+import org.apache.sqoop.job.etl.Loader;
+import org.apache.sqoop.job.etl.LoaderContext;
+import org.apache.sqoop.job.etl.Partition;
+import org.apache.sqoop.model.MSubmission;
+import org.apache.sqoop.schema.Schema;
+import org.apache.sqoop.schema.type.FixedPoint;
+import org.apache.sqoop.schema.type.Text;
+import org.apache.sqoop.submission.counter.SqoopCounters;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class TestSqoopSparkFunctions {
+
+    private static final int PARTITIONS = 4;
+    private static final int ROWS_PER_PARTITION = 500;
+
+    // rows given to the loaders, Spark runs them in this JVM in local mode
+    private static final List<String> LOADED = Collections.synchronizedList(new ArrayList<String>());
+
+    private JavaSparkContext sc;
+
+    @BeforeClass(alwaysRun = true)
+    public void startSpark() {
+        sc = new JavaSparkContext(new SparkConf().setAppName("TestSqoopSparkFunctions")
+                .setMaster("local[2]").set("spark.ui.enabled", "false"));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopSpark() {
+        if (sc != null) {
+            sc.stop();
+        }
+    }
+
+    @BeforeMethod(alwaysRun = true)
+    public void setUp() {
+        LOADED.clear();
+    }
+
+    private static SparkJobRequest createRequest() {
+        Schema schema = new Schema("test").addColumn(new FixedPoint("id", 8L, true))
+                .addColumn(new Text("txt"));
+        MSubmission submission = new MSubmission();
+        submission.setFromSchema(schema);
+        submission.setToSchema(schema);
+
+        SparkJobRequest request = new SparkJobRequest();
+        request.setJobSubmission(submission);
+        request.getDriverContext().setString(SparkJobConstants.JOB_ETL_EXTRACTOR,
+                DummyExtractor.class.getName());
+        request.getDriverContext().setString(SparkJobConstants.JOB_ETL_LOADER,
+                DummyLoader.class.getName());
+        request.getDriverContext().setString(SparkJobConstants.FROM_INTERMEDIATE_DATA_FORMAT,
+                CSVIntermediateDataFormat.class.getName());
+        request.getDriverContext().setString(SparkJobConstants.TO_INTERMEDIATE_DATA_FORMAT,
+                CSVIntermediateDataFormat.class.getName());
+        request.getDriverContext().setInteger(SparkJobConstants.JOB_SPARK_ROW_BUFFER_CAPACITY, 16);
+        return request;
+    }
+
+    private JavaRDD<Partition> createPartitions(boolean failing) {
+        List<Partition> partitions = new ArrayList<Partition>();
+        for (int i = 0; i < PARTITIONS; i++) {
+            partitions.add(new DummyPartition(i, failing && i == PARTITIONS - 1));
+        }
+        return sc.parallelize(partitions, PARTITIONS);
+    }
+
+    private static List<String> expectedRows() {
+        List<String> rows = new ArrayList<String>();
+        for (int p = 0; p < PARTITIONS; p++) {
+            for (int i = 0; i < ROWS_PER_PARTITION; i++) {
+                rows.add(DummyExtractor.row(p, i));
+            }
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private static List<String> loadedRows() {
+        List<String> rows = new ArrayList<String>(LOADED);
+        Collections.sort(rows);
+        return rows;
+    }
+
+    @Test
+    public void testExtractLoadFunction() {
+        SqoopSparkCounters counters = new SqoopSparkCounters(sc);
+        createPartitions(false).mapPartitions(new SqoopExtractLoadFunction(createRequest(), counters))
+                .collect();
+
+        assertEquals(loadedRows(), expectedRows());
+        assertEquals(counters.getRowsRead().value().longValue(), PARTITIONS * ROWS_PER_PARTITION);
+        assertEquals(counters.getRowsWritten().value().longValue(), PARTITIONS * ROWS_PER_PARTITION);
+        // rows never leave the tasks
+        assertEquals(counters.getBytesShuffled().value().longValue(), 0L);
+    }
+
+    @Test
+    public void testExtractAndLoadFunctionsWithShuffle() {
+        SqoopSparkCounters counters = new SqoopSparkCounters(sc);
+        SparkJobRequest request = createRequest();
+        createPartitions(false).mapPartitions(new SqoopExtractFunction(request, counters))
+                .repartition(3).mapPartitions(new SqoopLoadFunction(request, counters)).collect();
+
+        List<String> expected = expectedRows();
+        assertEquals(loadedRows(), expected);
+        long bytes = 0;
+        for (String row : expected) {
+            bytes += row.getBytes(StandardCharsets.UTF_8).length;
+        }
+        assertEquals(counters.getRowsRead().value().longValue(), PARTITIONS * ROWS_PER_PARTITION);
+        assertEquals(counters.getRowsWritten().value().longValue(), PARTITIONS * ROWS_PER_PARTITION);
+        assertEquals(counters.getBytesShuffled().value().longValue(), bytes);
+        assertEquals(counters.toCounters().getCounterGroup(SqoopCounters.class.getName())
+                .getCounter(SqoopCounters.BYTES_SHUFFLED.name()).getValue(), bytes);
+    }
+
+    @Test
+    public void testExtractorFailureFailsTheJob() {
+        SqoopSparkCounters counters = new SqoopSparkCounters(sc);
+        try {
+            createPartitions(true).mapPartitions(new SqoopExtractLoadFunction(createRequest(), counters))
+                    .collect();
+            fail("The job did not fail");
+        } catch (Exception e) {
+            // thrown by Scala code, hence not declared
+            assertTrue(e instanceof SparkException, e.toString());
+            assertTrue(e.getMessage().contains("SPARK_EXEC_0000"), e.getMessage());
+        }
+        // the loader of the failing partition never saw the end of its data
+        assertTrue(LOADED.size() < PARTITIONS * ROWS_PER_PARTITION);
+    }
+
+    @Test(timeOut = 60000)
+    public void testExtractorStopsWhenRowsAreNotRead() throws Exception {
+        SqoopSparkCounters counters = new SqoopSparkCounters(sc);
+        // the extractor fills the buffer long before the first row is taken
+        List<String> rows = createPartitions(false)
+                .mapPartitions(new SqoopExtractFunction(createRequest(), counters)).take(1);
+        assertEquals(rows, Collections.singletonList(DummyExtractor.row(0, 0)));
+
+        while (isExtractorRunning()) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static boolean isExtractorRunning() {
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("sqoop-extractor") && thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testUtf8Length() {
+        for (String text : new String[] { "", "abc", "caf\u00e9", "\u20ac", "\ud83d\ude00", "a\u07ff\u0800" }) {
+            assertEquals(SqoopExtractFunction.utf8Length(text),
+                    text.getBytes(StandardCharsets.UTF_8).length, text);
+        }
+    }
+
+    @SuppressWarnings("serial")
+    public static class DummyPartition extends Partition implements Serializable {
+        private int id;
+        private boolean failing;
+
+        public DummyPartition() {
+        }
+
+        DummyPartition(int id, boolean failing) {
+            this.id = id;
+            this.failing = failing;
+        }
+
+        @Override
+        public void readFields(DataInput in) throws IOException {
+            id = in.readInt();
+            failing = in.readBoolean();
+        }
+
+        @Override
+        public void write(DataOutput out) throws IOException {
+            out.writeInt(id);
+            out.writeBoolean(failing);
+        }
+
+        @Override
+        public String toString() {
+            return "DummyPartition[" + id + "]";
+        }
+    }
+
+    @SuppressWarnings("serial")
+    public static class DummyExtractor extends Extractor<Object, Object, DummyPartition> {
+        private long rowsRead;
+
+        static String row(int partition, int i) {
+            return (partition * ROWS_PER_PARTITION + i) + ",'row é " + i + "'";
+        }
+
+        @Override
+        public void extract(ExtractorContext context, Object linkConfiguration, Object jobConfiguration,
+                DummyPartition partition) {
+            for (int i = 0; i < ROWS_PER_PARTITION; i++) {
+                if (partition.failing && i == ROWS_PER_PARTITION / 2) {
+                    throw new IllegalStateException("extractor failure");
+                }
+                context.getDataWriter().writeStringRecord(row(partition.id, i));
+                rowsRead++;
+            }
+        }
+
+        @Override
+        public long getRowsRead() {
+            return rowsRead;
+        }
+    }
+
+    @SuppressWarnings("serial")
+    public static class DummyLoader extends Loader<Object, Object> {
+        private long rowsWritten;
+
+        @Override
+        public void load(LoaderContext context, Object linkConfiguration, Object jobConfiguration)
+                throws Exception {
+            String row;
+            while ((row = context.getDataReader().readTextRecord()) != null) {
+                LOADED.add(row);
+                rowsWritten++;
+            }
+        }
+
+        @Override
+        public long getRowsWritten() {
+            return rowsWritten;
+        }
+    }
+}